@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.impl.pdf417.PDF417Bean;
+import org.krysalis.barcode4j.impl.qr.QRCodeBean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
+import org.krysalis.barcode4j.output.bitmap.ImageIOBitmapEncoder;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
+import org.krysalis.barcode4j.tools.MimeTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the complete generation of a barcode with each output format, and the
+ * encoding of an already painted bitmap with ImageIO.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanvasProviderBenchmark {
+
+    /** Pixels per millimeter of the Java2D target (about 300 dpi) */
+    private static final double JAVA2D_SCALE = 300 / 25.4;
+
+    @Param({"code128", "datamatrix", "pdf417", "qr"})
+    private String symbology;
+
+    @Param({"10", "100"})
+    private int length;
+
+    @Param({"300"})
+    private int resolution;
+
+    private BarcodeGenerator generator;
+    private String msg;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    private BufferedImage java2dImage;
+    private BufferedImage bitmapImage;
+    private ImageIOBitmapEncoder imageIOEncoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("code128".equals(symbology)) {
+            generator = new Code128Bean();
+        } else if ("datamatrix".equals(symbology)) {
+            generator = new DataMatrixBean();
+        } else if ("pdf417".equals(symbology)) {
+            generator = new PDF417Bean();
+        } else if ("qr".equals(symbology)) {
+            generator = new QRCodeBean();
+        } else {
+            throw new IllegalArgumentException("Unknown symbology: " + symbology);
+        }
+        msg = Messages.create("text", length);
+
+        final BarcodeDimension dim = generator.calcDimensions(msg);
+        java2dImage = new BufferedImage(
+                (int)Math.ceil(dim.getWidthPlusQuiet() * JAVA2D_SCALE),
+                (int)Math.ceil(dim.getHeightPlusQuiet() * JAVA2D_SCALE),
+                BufferedImage.TYPE_BYTE_GRAY);
+
+        final BitmapCanvasProvider bitmap = new BitmapCanvasProvider(resolution,
+                BufferedImage.TYPE_BYTE_BINARY, false, Orientation.ZERO);
+        generator.generateBarcode(bitmap, msg);
+        bitmap.finish();
+        bitmapImage = bitmap.getBufferedImage();
+        imageIOEncoder = new ImageIOBitmapEncoder();
+    }
+
+    @Benchmark
+    public int svgStream() throws Exception {
+        out.reset();
+        final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(out, Orientation.ZERO);
+        generator.generateBarcode(svg, msg);
+        svg.finish();
+        return out.size();
+    }
+
+    @Benchmark
+    public int svgStreamCompact() throws Exception {
+        out.reset();
+        final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(out, Orientation.ZERO);
+        svg.setCompactPath(true);
+        generator.generateBarcode(svg, msg);
+        svg.finish();
+        return out.size();
+    }
+
+    @Benchmark
+    public Object svgDom() {
+        final SVGCanvasProvider svg = new SVGCanvasProvider(Orientation.ZERO);
+        generator.generateBarcode(svg, msg);
+        return svg.getDOM();
+    }
+
+    @Benchmark
+    public int eps() throws Exception {
+        out.reset();
+        final EPSCanvasProvider eps = new EPSCanvasProvider(out, Orientation.ZERO);
+        generator.generateBarcode(eps, msg);
+        eps.finish();
+        return out.size();
+    }
+
+    @Benchmark
+    public int epsCompact() throws Exception {
+        out.reset();
+        final EPSCanvasProvider eps = new EPSCanvasProvider(out, Orientation.ZERO);
+        eps.setCompactEncoding(true);
+        generator.generateBarcode(eps, msg);
+        eps.finish();
+        return out.size();
+    }
+
+    @Benchmark
+    public Object java2d() {
+        final Graphics2D g2d = java2dImage.createGraphics();
+        try {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, java2dImage.getWidth(), java2dImage.getHeight());
+            g2d.scale(JAVA2D_SCALE, JAVA2D_SCALE);
+            g2d.setColor(Color.BLACK);
+            final Java2DCanvasProvider java2d = new Java2DCanvasProvider(g2d, Orientation.ZERO);
+            generator.generateBarcode(java2d, msg);
+        } finally {
+            g2d.dispose();
+        }
+        return java2dImage;
+    }
+
+    /** Paints the bitmap without encoding it. */
+    @Benchmark
+    public Object bitmap() throws Exception {
+        final BitmapCanvasProvider bitmap = new BitmapCanvasProvider(resolution,
+                BufferedImage.TYPE_BYTE_BINARY, false, Orientation.ZERO);
+        generator.generateBarcode(bitmap, msg);
+        bitmap.finish();
+        return bitmap.getBufferedImage();
+    }
+
+    @Benchmark
+    public int bitmapGrayscale() throws Exception {
+        out.reset();
+        final BitmapCanvasProvider bitmap = new BitmapCanvasProvider(out, MimeTypes.MIME_PNG,
+                resolution, BufferedImage.TYPE_BYTE_GRAY, true, Orientation.ZERO);
+        generator.generateBarcode(bitmap, msg);
+        bitmap.finish();
+        return out.size();
+    }
+
+    @Benchmark
+    public int bitmapPng() throws Exception {
+        out.reset();
+        final BitmapCanvasProvider bitmap = new BitmapCanvasProvider(out, MimeTypes.MIME_PNG,
+                resolution, BufferedImage.TYPE_BYTE_BINARY, false, Orientation.ZERO);
+        generator.generateBarcode(bitmap, msg);
+        bitmap.finish();
+        return out.size();
+    }
+
+    @Benchmark
+    public int imageIOPng() throws Exception {
+        out.reset();
+        imageIOEncoder.encode(bitmapImage, out, MimeTypes.MIME_PNG, resolution);
+        return out.size();
+    }
+
+    @Benchmark
+    public int imageIOJpeg() throws Exception {
+        out.reset();
+        imageIOEncoder.encode(bitmapImage, out, MimeTypes.MIME_JPEG, resolution);
+        return out.size();
+    }
+}
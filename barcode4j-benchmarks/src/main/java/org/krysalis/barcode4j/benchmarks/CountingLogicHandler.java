@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.benchmarks;
+
+import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+
+/**
+ * Logic handler which only sums up the events, so the benchmarks measure the barcode logic
+ * without any output.
+ *
+ * @version 1.0
+ */
+final class CountingLogicHandler implements TwoDimBarcodeLogicHandler {
+
+    private int count;
+
+    /**
+     * Returns the checksum of the events received so far (to be consumed by a Blackhole).
+     * @return the checksum
+     */
+    int getCount() {
+        return this.count;
+    }
+
+    @Override
+    public void startBarcode(String msg, String formattedMsg) {
+        count++;
+    }
+
+    @Override
+    public void endBarcode() {
+        count++;
+    }
+
+    @Override
+    public void startBarGroup(BarGroup type, String submsg) {
+        count++;
+    }
+
+    @Override
+    public void endBarGroup() {
+        count++;
+    }
+
+    @Override
+    public void addBar(boolean black, int weight) {
+        count += black ? weight : -weight;
+    }
+
+    @Override
+    public void startRow() {
+        count++;
+    }
+
+    @Override
+    public void endRow() {
+        count++;
+    }
+}
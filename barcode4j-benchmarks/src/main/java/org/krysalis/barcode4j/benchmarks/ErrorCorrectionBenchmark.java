@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixErrorCorrection;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixSymbolInfo;
+import org.krysalis.barcode4j.impl.datamatrix.SymbolShapeHint;
+import org.krysalis.barcode4j.impl.pdf417.ErrorCorrectionLevel;
+import org.krysalis.barcode4j.impl.pdf417.PDF417ErrorCorrection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the Reed-Solomon error correction stages.
+ *
+ * @version 1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorCorrectionBenchmark {
+
+    private static String createCodewords(int count, int max) {
+        final Random random = new Random(count);
+        final StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append((char)random.nextInt(max));
+        }
+        return sb.toString();
+    }
+
+    /** DataMatrix: the smallest square symbol for the given number of data codewords. */
+    @State(Scope.Thread)
+    public static class DataMatrixState {
+
+        @Param({"3", "44", "204", "1558"})
+        private int dataCodewords;
+
+        private DataMatrixSymbolInfo symbolInfo;
+        private String codewords;
+        /** Data codewords followed by room for the error correction codewords */
+        private byte[] buffer;
+
+        @Setup
+        public void setUp() {
+            symbolInfo = DataMatrixSymbolInfo.lookup(dataCodewords,
+                    SymbolShapeHint.FORCE_SQUARE, true);
+            codewords = createCodewords(symbolInfo.getDataCapacity(), 256);
+            buffer = new byte[symbolInfo.getCodewordCount()];
+            for (int i = 0; i < codewords.length(); i++) {
+                buffer[i] = (byte)codewords.charAt(i);
+            }
+        }
+    }
+
+    /** PDF417: a fixed number of data codewords with different error correction levels. */
+    @State(Scope.Thread)
+    public static class PDF417State {
+
+        @Param({"2", "5", "8"})
+        private int level;
+
+        @Param({"50", "400"})
+        private int dataCodewords;
+
+        private ErrorCorrectionLevel errorCorrectionLevel;
+        private String codewords;
+        /** Data codewords followed by room for the error correction codewords */
+        private int[] buffer;
+
+        @Setup
+        public void setUp() {
+            errorCorrectionLevel = ErrorCorrectionLevel.fromInt(level);
+            codewords = createCodewords(dataCodewords, 929);
+            buffer = new int[dataCodewords
+                    + PDF417ErrorCorrection.getErrorCorrectionCodewordCount(errorCorrectionLevel)];
+            for (int i = 0; i < dataCodewords; i++) {
+                buffer[i] = codewords.charAt(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public String dataMatrix(DataMatrixState state) {
+        return DataMatrixErrorCorrection.encodeECC200(state.codewords, state.symbolInfo);
+    }
+
+    @Benchmark
+    public byte[] dataMatrixInPlace(DataMatrixState state) {
+        return DataMatrixErrorCorrection.encodeECC200(state.buffer, state.symbolInfo);
+    }
+
+    @Benchmark
+    public String pdf417(PDF417State state) {
+        return PDF417ErrorCorrection.generateErrorCorrection(state.codewords,
+                state.errorCorrectionLevel);
+    }
+
+    @Benchmark
+    public int[] pdf417InPlace(PDF417State state) {
+        PDF417ErrorCorrection.generateErrorCorrection(state.buffer, state.dataCodewords,
+                state.errorCorrectionLevel);
+        return state.buffer;
+    }
+}
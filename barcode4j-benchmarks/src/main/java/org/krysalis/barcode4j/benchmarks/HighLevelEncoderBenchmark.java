@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.krysalis.barcode4j.impl.code128.Code128Encoder;
+import org.krysalis.barcode4j.impl.code128.MinimalCode128Encoder;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixHighLevelEncoder;
+import org.krysalis.barcode4j.impl.pdf417.CompactionStrategy;
+import org.krysalis.barcode4j.impl.pdf417.PDF417HighLevelEncoder;
+import org.krysalis.barcode4j.impl.qr.QRLogicImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the high-level encoders (message to codewords).
+ *
+ * @version 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighLevelEncoderBenchmark {
+
+    @Param({"numeric", "text"})
+    private String content;
+
+    @Param({"10", "100", "1000"})
+    private int length;
+
+    private String msg;
+    private final Code128Encoder code128Encoder = new Code128Encoder();
+    private final Code128Encoder code128MinimalEncoder = new MinimalCode128Encoder();
+    private int[] code128Buffer;
+
+    @Setup
+    public void setUp() {
+        msg = Messages.create(content, length);
+        code128Buffer = new int[Code128Encoder.getMaxEncodedLength(msg.length())];
+    }
+
+    @Benchmark
+    public String dataMatrix() throws Exception {
+        return DataMatrixHighLevelEncoder.encodeHighLevel(msg);
+    }
+
+    @Benchmark
+    public String pdf417() {
+        return PDF417HighLevelEncoder.encodeHighLevel(msg);
+    }
+
+    @Benchmark
+    public String pdf417Minimal() {
+        return PDF417HighLevelEncoder.encodeHighLevel(msg, "Cp437", false,
+                CompactionStrategy.MINIMAL);
+    }
+
+    @Benchmark
+    public int[] code128() {
+        return code128Encoder.encode(msg);
+    }
+
+    /** Encodes into a reused buffer, i.e. without allocations. */
+    @Benchmark
+    public int code128Buffer() {
+        return code128Encoder.encode(msg, code128Buffer);
+    }
+
+    @Benchmark
+    public int code128Minimal() {
+        return code128MinimalEncoder.encode(msg, code128Buffer);
+    }
+
+    /** QR Code encoding is done by ZXing in one step, including the error correction. */
+    @Benchmark
+    public Object qr() throws Exception {
+        return QRLogicImpl.encode(msg, "ISO-8859-1", 'M');
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.krysalis.barcode4j.impl.code128.Code128LogicImpl;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixLogicImpl;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixSymbol;
+import org.krysalis.barcode4j.impl.datamatrix.SymbolShapeHint;
+import org.krysalis.barcode4j.impl.pdf417.PDF417Bean;
+import org.krysalis.barcode4j.impl.pdf417.PDF417LogicImpl;
+import org.krysalis.barcode4j.impl.pdf417.PDF417Symbol;
+import org.krysalis.barcode4j.impl.qr.QRLogicImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.zxing.qrcode.encoder.QRCode;
+
+/**
+ * Benchmarks the barcode logic: the complete encoding of a message into logic handler events
+ * and, for the 2D symbologies, the module placement of an already encoded symbol. The
+ * events are only counted, so no output is produced.
+ *
+ * @version 1.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogicHandlerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int length;
+
+    private String msg;
+    private final Code128LogicImpl code128 = new Code128LogicImpl();
+    private final DataMatrixLogicImpl dataMatrix = new DataMatrixLogicImpl();
+    private final PDF417Bean pdf417Bean = new PDF417Bean();
+    private final QRLogicImpl qr = new QRLogicImpl();
+    private DataMatrixSymbol dataMatrixSymbol;
+    private PDF417Symbol pdf417Symbol;
+    private QRCode qrCode;
+
+    @Setup
+    public void setUp() throws Exception {
+        msg = Messages.create("text", length);
+        //Long messages don't fit into the default number of columns
+        pdf417Bean.setMaxCols(30);
+        dataMatrixSymbol = dataMatrix.encode(msg, SymbolShapeHint.FORCE_NONE, null, null);
+        pdf417Symbol = PDF417LogicImpl.encode(msg, pdf417Bean);
+        qrCode = QRLogicImpl.encode(msg, "ISO-8859-1", 'M');
+    }
+
+    @Benchmark
+    public int code128() {
+        final CountingLogicHandler handler = new CountingLogicHandler();
+        code128.generateBarcodeLogic(handler, msg);
+        return handler.getCount();
+    }
+
+    @Benchmark
+    public int code128Pattern() {
+        return code128.createBarPattern(msg).getBarCount();
+    }
+
+    @Benchmark
+    public int dataMatrix() {
+        final CountingLogicHandler handler = new CountingLogicHandler();
+        dataMatrix.generateBarcodeLogic(handler, msg, SymbolShapeHint.FORCE_NONE, null, null);
+        return handler.getCount();
+    }
+
+    @Benchmark
+    public int dataMatrixPlacement() {
+        final CountingLogicHandler handler = new CountingLogicHandler();
+        dataMatrix.generateBarcodeLogic(handler, msg, dataMatrixSymbol);
+        return handler.getCount();
+    }
+
+    @Benchmark
+    public int pdf417() {
+        final CountingLogicHandler handler = new CountingLogicHandler();
+        PDF417LogicImpl.generateBarcodeLogic(handler, msg, pdf417Bean);
+        return handler.getCount();
+    }
+
+    @Benchmark
+    public int pdf417Placement() {
+        final CountingLogicHandler handler = new CountingLogicHandler();
+        PDF417LogicImpl.generateBarcodeLogic(handler, msg, pdf417Symbol);
+        return handler.getCount();
+    }
+
+    @Benchmark
+    public int qrPlacement() {
+        final CountingLogicHandler handler = new CountingLogicHandler();
+        qr.generateBarcodeLogic(handler, msg, qrCode);
+        return handler.getCount();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Creates reproducible benchmark messages.
+ *
+ * @version 1.0
+ */
+final class Messages {
+
+    private static final String TEXT_CHARS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789 .,-/:";
+
+    private Messages() {
+        // hide default public constructor
+    }
+
+    /**
+     * Creates a message.
+     * @param content the type of content: "numeric", "text" (mixed case text with some
+     *          digit runs) or "binary" (Latin-1 characters)
+     * @param length the length of the message
+     * @return the message
+     */
+    static String create(String content, int length) {
+        final Random random = new Random(length * 31L + content.hashCode());
+        final StringBuilder sb = new StringBuilder(length);
+        if ("numeric".equals(content)) {
+            for (int i = 0; i < length; i++) {
+                sb.append((char)('0' + random.nextInt(10)));
+            }
+        } else if ("text".equals(content)) {
+            while (sb.length() < length) {
+                if (random.nextInt(8) == 0) {
+                    //a run of digits, as in order or product numbers
+                    for (int i = 4 + random.nextInt(8); i > 0; i--) {
+                        sb.append((char)('0' + random.nextInt(10)));
+                    }
+                } else {
+                    sb.append(TEXT_CHARS.charAt(random.nextInt(TEXT_CHARS.length())));
+                }
+            }
+            sb.setLength(length);
+        } else if ("binary".equals(content)) {
+            for (int i = 0; i < length; i++) {
+                sb.append((char)random.nextInt(256));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown content: " + content);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * This package contains the <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ * benchmarks for the encoders, the error correction, the barcode logic and the output
+ * formats. Build them with <code>mvn -Pbenchmarks package</code> and run them with
+ * <code>java -jar barcode4j-benchmarks/target/benchmarks.jar</code>.
+ */
+package org.krysalis.barcode4j.benchmarks;
@@ -116,6 +116,7 @@ public class BarcodeXMLHandler implements XMLHandler, RendererContextConstants {
         final PSGenerator gen = (PSGenerator)context.getProperty(PS_GENERATOR);
         final ByteArrayOutputStream baout = new ByteArrayOutputStream(1024);
         final EPSCanvasProvider canvas = new EPSCanvasProvider(baout, orientation);
+        canvas.setCompactEncoding(true);
         bargen.generateBarcode(canvas, msg);
         canvas.finish();
 
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Immutable sequence of bars as produced by the linear (1D) symbologies, together with the
+ * bar groups (characters, guards etc.) and the human-readable message. Each bar is packed into
+ * a single int holding its weight and color, so a whole symbol fits into one small array that
+ * can be painted in a tight loop, cached and compared. Instances are created through
+ * {@link BarPattern.Builder}.
+ * <p>
+ * Like the <code>addBar()</code> events of {@link ClassicBarcodeLogicHandler} the weights are
+ * logical: it's up to the barcode bean to turn them into widths (or heights). There is no
+ * quiet zone.
+ *
+ * @version 1.1
+ */
+public final class BarPattern implements Serializable {
+
+    private static final long serialVersionUID = -2893447145262409385L;
+
+    private final String message;
+    private final String formattedMessage;
+    /** The bars: weight shifted left by one, the lowest bit set for dark bars */
+    private final int[] bars;
+    /** Index of the bar before which a bar group event occurs */
+    private final int[] groupPositions;
+    /** The type of a started bar group, null for the end of a bar group */
+    private final BarGroup[] groupTypes;
+    private final String[] groupTexts;
+
+    private BarPattern(String message, String formattedMessage, int[] bars,
+            int[] groupPositions, BarGroup[] groupTypes, String[] groupTexts) {
+        this.message = message;
+        this.formattedMessage = formattedMessage;
+        this.bars = bars;
+        this.groupPositions = groupPositions;
+        this.groupTypes = groupTypes;
+        this.groupTexts = groupTexts;
+    }
+
+    /** @return the message as passed to {@link BarcodeLogicHandler#startBarcode} */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /** @return the human-readable message */
+    public String getFormattedMessage() {
+        return this.formattedMessage;
+    }
+
+    /** @return the number of bars (dark and light) */
+    public int getBarCount() {
+        return this.bars.length;
+    }
+
+    /**
+     * Indicates whether a bar is dark.
+     * @param index the index of the bar
+     * @return true for a dark bar, false for a light bar
+     */
+    public boolean isDark(int index) {
+        return (bars[index] & 1) != 0;
+    }
+
+    /**
+     * Returns the logical weight of a bar, see
+     * {@link ClassicBarcodeLogicHandler#addBar(boolean, int)}.
+     * @param index the index of the bar
+     * @return the weight
+     */
+    public int getWeight(int index) {
+        return bars[index] >> 1;
+    }
+
+    /** @return the number of bar group events (starts and ends) */
+    public int getGroupEventCount() {
+        return this.groupPositions.length;
+    }
+
+    /**
+     * Sends the bar groups and bars of this pattern to a logic handler, in the order they
+     * were produced by the symbology. This is used for logic handlers that don't support
+     * bar patterns, see {@link #isSupported(ClassicBarcodeLogicHandler)}.
+     * @param logic the logic handler
+     */
+    public void writeBars(ClassicBarcodeLogicHandler logic) {
+        int event = 0;
+        for (int i = 0; i <= bars.length; i++) {
+            while (event < groupPositions.length && groupPositions[event] == i) {
+                if (groupTypes[event] == null) {
+                    logic.endBarGroup();
+                } else {
+                    logic.startBarGroup(groupTypes[event], groupTexts[event]);
+                }
+                event++;
+            }
+            if (i < bars.length) {
+                logic.addBar(isDark(i), getWeight(i));
+            }
+        }
+    }
+
+    /**
+     * Indicates whether a logic handler wants to receive whole bar patterns.
+     * @param logic the logic handler
+     * @return true if the handler is a {@link BarPatternLogicHandler} which supports them
+     */
+    public static boolean isSupported(ClassicBarcodeLogicHandler logic) {
+        return logic instanceof BarPatternLogicHandler
+                && ((BarPatternLogicHandler)logic).isBarPatternSupported();
+    }
+
+    /**
+     * Sends the whole symbol to a logic handler. Logic handlers supporting bar patterns
+     * receive the pattern in one call, all others receive the individual bar groups and bars.
+     * @param logic the logic handler
+     */
+    public void generate(ClassicBarcodeLogicHandler logic) {
+        logic.startBarcode(message, formattedMessage);
+        if (isSupported(logic)) {
+            ((BarPatternLogicHandler)logic).addBarPattern(this);
+        } else {
+            writeBars(logic);
+        }
+        logic.endBarcode();
+    }
+
+    private static boolean equals(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BarPattern)) {
+            return false;
+        }
+        final BarPattern other = (BarPattern)obj;
+        return Arrays.equals(this.bars, other.bars)
+                && equals(this.message, other.message)
+                && equals(this.formattedMessage, other.formattedMessage)
+                && Arrays.equals(this.groupPositions, other.groupPositions)
+                && Arrays.equals(this.groupTypes, other.groupTypes)
+                && Arrays.equals(this.groupTexts, other.groupTexts);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Arrays.hashCode(this.bars);
+        hash = 31 * hash + (this.message != null ? this.message.hashCode() : 0);
+        hash = 31 * hash + Arrays.hashCode(this.groupPositions);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(bars.length * 3);
+        for (int i = 0; i < bars.length; i++) {
+            sb.append(isDark(i) ? 'B' : 'W').append(getWeight(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builder for {@link BarPattern} instances. The builder receives the events of a linear
+     * symbology as a logic handler. It is not thread-safe.
+     */
+    public static final class Builder implements ClassicBarcodeLogicHandler {
+
+        private String message;
+        private String formattedMessage;
+        private int[] bars = new int[64];
+        private int barCount;
+        private int[] groupPositions = new int[16];
+        private BarGroup[] groupTypes = new BarGroup[16];
+        private String[] groupTexts = new String[16];
+        private int groupEventCount;
+        private boolean built;
+
+        @Override
+        public void startBarcode(String msg, String formattedMsg) {
+            this.message = msg;
+            this.formattedMessage = formattedMsg;
+        }
+
+        @Override
+        public void startBarGroup(BarGroup type, String submsg) {
+            if (type == null) {
+                throw new NullPointerException("type must not be null");
+            }
+            addGroupEvent(type, submsg);
+        }
+
+        @Override
+        public void addBar(boolean black, int weight) {
+            checkNotBuilt();
+            if (barCount == bars.length) {
+                bars = Arrays.copyOf(bars, barCount * 2);
+            }
+            bars[barCount++] = (weight << 1) | (black ? 1 : 0);
+        }
+
+        @Override
+        public void endBarGroup() {
+            addGroupEvent(null, null);
+        }
+
+        @Override
+        public void endBarcode() {
+            //nop
+        }
+
+        private void addGroupEvent(BarGroup type, String submsg) {
+            checkNotBuilt();
+            if (groupEventCount == groupPositions.length) {
+                final int size = groupEventCount * 2;
+                groupPositions = Arrays.copyOf(groupPositions, size);
+                groupTypes = Arrays.copyOf(groupTypes, size);
+                groupTexts = Arrays.copyOf(groupTexts, size);
+            }
+            groupPositions[groupEventCount] = barCount;
+            groupTypes[groupEventCount] = type;
+            groupTexts[groupEventCount] = submsg;
+            groupEventCount++;
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("build() has already been called");
+            }
+        }
+
+        /**
+         * Creates the immutable pattern. The builder cannot be used anymore afterwards.
+         * @return the new pattern
+         */
+        public BarPattern build() {
+            checkNotBuilt();
+            built = true;
+            return new BarPattern(message, formattedMessage,
+                    Arrays.copyOf(bars, barCount),
+                    Arrays.copyOf(groupPositions, groupEventCount),
+                    Arrays.copyOf(groupTypes, groupEventCount),
+                    Arrays.copyOf(groupTexts, groupEventCount));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+/**
+ * Logic handler for 1D barcodes that can receive the whole symbol as a {@link BarPattern}
+ * instead of individual bar groups and bars. The linear symbologies always stream their bars.
+ * A caller that already has a pattern (for example a cached one, see the
+ * <code>createBarPattern()</code> methods of the logic implementations) replays it with
+ * {@link BarPattern#generate(ClassicBarcodeLogicHandler)}. If the handler returns true from
+ * {@link #isBarPatternSupported()}, that calls {@link #addBarPattern(BarPattern)} between
+ * {@link #startBarcode(String, String)} and {@link #endBarcode()} instead of the
+ * <code>startBarGroup()</code>/<code>addBar()</code>/<code>endBarGroup()</code> sequence.
+ *
+ * @version 1.1
+ */
+public interface BarPatternLogicHandler extends ClassicBarcodeLogicHandler {
+
+    /**
+     * Passes the complete bar pattern of the symbol to the handler.
+     * @param pattern the bar pattern
+     */
+    void addBarPattern(BarPattern pattern);
+
+    /**
+     * Indicates whether this handler wants to receive the bar pattern. Handlers returning
+     * false receive the individual bar groups and bars, so subclasses of a handler which only
+     * override <code>addBar()</code> and the bar group methods keep working.
+     * @return true if {@link #addBarPattern(BarPattern)} should be called
+     */
+    boolean isBarPatternSupported();
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.FrozenBarcodeGenerator;
+
+import com.github.mbhk.barcode4j.Configuration;
+
+/**
+ * Thread-safe cache of immutable barcode generators keyed by their configuration.
+ * Configurations which only differ in the order of their attributes and child elements
+ * share the same generator, so the barcode class is resolved, instantiated and configured
+ * only once per distinct configuration.
+ * <p>
+ * Only generators based on {@link AbstractBarcodeBean} (or already frozen generators) are
+ * cached as only those can be made immutable. Other generators are created anew on every
+ * call. The number of cached generators is limited because configurations may come from
+ * untrusted sources (like request parameters). When the limit is reached, the least recently
+ * used generator is evicted to make room for a new one.
+ *
+ * @version 1.2
+ */
+public class BarcodeGeneratorCache {
+
+    /** Default maximum number of cached generators */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /**
+     * Creates the barcode generators for the cache.
+     */
+    public interface Factory {
+
+        /**
+         * Creates and configures a new barcode generator.
+         * @param cfg the configuration
+         * @return the new barcode generator
+         * @throws BarcodeException if setting up the BarcodeGenerator fails
+         */
+        BarcodeGenerator createBarcodeGenerator(Configuration cfg) throws BarcodeException;
+    }
+
+    private static final Comparator<Configuration> BY_NAME = new Comparator<Configuration>() {
+        @Override
+        public int compare(Configuration c1, Configuration c2) {
+            return c1.getName().compareTo(c2.getName());
+        }
+    };
+
+    /** Map in access order which drops the least recently used entry when it grows too big */
+    private static class LRUMap extends LinkedHashMap<String, BarcodeGenerator> {
+
+        private static final long serialVersionUID = 4137522845325376489L;
+
+        private final int maxSize;
+
+        LRUMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BarcodeGenerator> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private final Factory factory;
+    /** The cached generators, guarded by synchronizing on the map itself */
+    private final LRUMap generators;
+
+    /**
+     * Creates a new cache holding up to {@link #DEFAULT_MAX_SIZE} generators.
+     * @param factory the factory for new generators
+     */
+    public BarcodeGeneratorCache(Factory factory) {
+        this(factory, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new cache.
+     * @param factory the factory for new generators
+     * @param maxSize the maximum number of cached generators
+     */
+    public BarcodeGeneratorCache(Factory factory, int maxSize) {
+        if (factory == null) {
+            throw new NullPointerException("factory must not be null");
+        }
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.factory = factory;
+        this.generators = new LRUMap(maxSize);
+    }
+
+    /**
+     * Returns an immutable barcode generator for the given configuration. The configuration
+     * must not be changed while this method runs.
+     * @param cfg the configuration
+     * @return the barcode generator (thread-safe if it is a {@link FrozenBarcodeGenerator})
+     * @throws BarcodeException if setting up the BarcodeGenerator fails
+     */
+    public BarcodeGenerator getBarcodeGenerator(Configuration cfg) throws BarcodeException {
+        final String key = createKey(cfg);
+        synchronized (generators) {
+            final BarcodeGenerator gen = generators.get(key);
+            if (gen != null) {
+                return gen;
+            }
+        }
+        //The generator is created outside the lock, so other configurations aren't blocked
+        BarcodeGenerator gen = factory.createBarcodeGenerator(cfg);
+        if (gen instanceof AbstractBarcodeBean) {
+            gen = ((AbstractBarcodeBean)gen).freeze();
+        }
+        if (gen instanceof FrozenBarcodeGenerator) {
+            synchronized (generators) {
+                final BarcodeGenerator existing = generators.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+                generators.put(key, gen);
+            }
+        }
+        return gen;
+    }
+
+    /**
+     * Returns the number of cached generators.
+     * @return the number of cached generators
+     */
+    public int size() {
+        synchronized (generators) {
+            return generators.size();
+        }
+    }
+
+    /**
+     * Removes all cached generators.
+     */
+    public void clear() {
+        synchronized (generators) {
+            generators.clear();
+        }
+    }
+
+    /**
+     * Creates the normalized cache key for a configuration: a string representation with
+     * all attributes and child elements sorted by name. Equivalent configurations produce
+     * the same key, so it can also be used to detect changes of a configuration.
+     * @param cfg the configuration
+     * @return the cache key
+     */
+    public static String createKey(Configuration cfg) {
+        final StringBuilder sb = new StringBuilder(128);
+        appendKey(cfg, sb);
+        return sb.toString();
+    }
+
+    private static void appendKey(Configuration cfg, StringBuilder sb) {
+        sb.append('<');
+        appendEscaped(cfg.getName(), sb);
+        final String[] attributeNames = cfg.getAttributeNames();
+        Arrays.sort(attributeNames);
+        for (String name : attributeNames) {
+            sb.append(' ');
+            appendEscaped(name, sb);
+            final String value = cfg.getAttribute(name, null);
+            if (value != null) {
+                sb.append('=');
+                appendEscaped(value, sb);
+            }
+        }
+        sb.append('>');
+        final String value = cfg.getValue(null);
+        if (value != null) {
+            sb.append('"');
+            appendEscaped(value, sb);
+        }
+        final Configuration[] children = cfg.getChildren();
+        Arrays.sort(children, BY_NAME);
+        for (Configuration child : children) {
+            appendKey(child, sb);
+        }
+        sb.append('/');
+    }
+
+    private static void appendEscaped(String s, StringBuilder sb) {
+        for (int i = 0, c = s.length(); i < c; i++) {
+            final char ch = s.charAt(i);
+            switch (ch) {
+            case '\\':
+            case '<':
+            case '>':
+            case '/':
+            case ' ':
+            case '=':
+            case '"':
+                sb.append('\\');
+                break;
+            default:
+                //nop
+            }
+            sb.append(ch);
+        }
+    }
+}
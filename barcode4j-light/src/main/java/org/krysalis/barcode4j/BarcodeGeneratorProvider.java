@@ -27,11 +27,14 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.github.mbhk.barcode4j.Configuration;
+import com.github.mbhk.barcode4j.ConfigurationException;
+
 /**
  * Loading of implementation classes through SPI.
  *
  * @author mk
- * @version 1.1
+ * @version 1.2
  * @since 2.1.2
  */
 public class BarcodeGeneratorProvider {
@@ -40,6 +43,7 @@ public class BarcodeGeneratorProvider {
     private static final Logger LOGGER = Logger.getLogger(BarcodeGeneratorProvider.class.getName());
     private final ServiceLoader<BarcodeGenerator> loader;
     private final ConcurrentMap<String, Class<BarcodeGenerator>> barcodeGenerators;
+    private final BarcodeGeneratorCache cache;
 
     /**
      * Initialize this singleton.
@@ -48,6 +52,12 @@ public class BarcodeGeneratorProvider {
         this.barcodeGenerators = new ConcurrentHashMap<String, Class<BarcodeGenerator>>();
         loader = ServiceLoader.load(BarcodeGenerator.class);
         initialize();
+        this.cache = new BarcodeGeneratorCache(new BarcodeGeneratorCache.Factory() {
+            @Override
+            public BarcodeGenerator createBarcodeGenerator(Configuration cfg) throws BarcodeException {
+                return createConfiguredBarcodeGenerator(cfg);
+            }
+        });
     }
 
     /**
@@ -99,6 +109,32 @@ public class BarcodeGeneratorProvider {
         return res;
     }
 
+    /**
+     * Returns a configured, immutable BarcodeGenerator. The barcode is identified by the
+     * name of the configuration element. Generators are cached, so equivalent configurations
+     * result in the same instance which may be shared by several threads.
+     *
+     * @param cfg the configuration of the barcode
+     * @return the configured BarcodeGenerator (must not be configured again)
+     * @throws BarcodeException if the barcode is not available or cannot be configured
+     */
+    public BarcodeGenerator getBarcodeGenerator(Configuration cfg) throws BarcodeException {
+        return cache.getBarcodeGenerator(cfg);
+    }
+
+    private BarcodeGenerator createConfiguredBarcodeGenerator(Configuration cfg) throws BarcodeException {
+        final BarcodeGenerator res = getBarcodeGenerator(cfg.getName());
+        if (res == null) {
+            throw new BarcodeException("BarcodeGenerator " + cfg.getName() + " could not be instantiated.");
+        }
+        try {
+            res.configure(cfg);
+        } catch (ConfigurationException ce) {
+            throw new BarcodeException("Cannot configure barcode generator: " + ce.getMessage());
+        }
+        return res;
+    }
+
     /**
      * Loads all implementing Classes through ServiceLoader interface.
      */
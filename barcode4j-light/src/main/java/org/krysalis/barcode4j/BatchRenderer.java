@@ -0,0 +1,382 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
+import org.krysalis.barcode4j.output.bitmap.BitmapEncoderRegistry;
+import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+import com.github.mbhk.barcode4j.Configuration;
+
+/**
+ * Renders many barcodes with the same settings in parallel. The messages are distributed
+ * over a pool of worker threads, and the results are handed to a {@link Sink} in the order
+ * of the messages. Only a limited number of barcodes is rendered ahead of the sink, so
+ * arbitrarily long sequences of messages can be processed with constant memory.
+ * <p>
+ * The barcode generator is shared by all worker threads. Barcode beans are frozen
+ * (see {@link AbstractBarcodeBean#freeze()}) so later changes to them don't have an effect.
+ * Other generators must be thread-safe. Every worker reuses its own output buffer.
+ * <p>
+ * The settings must not be changed while {@link #render(Iterable, Sink)} runs. Apart from
+ * that, instances can be used by several threads.
+ *
+ * @version 1.2
+ */
+public class BatchRenderer {
+
+    /** Number of barcodes per worker thread that may be rendered ahead of the sink */
+    private static final int PENDING_PER_THREAD = 4;
+
+    /**
+     * Receives the rendered barcodes. The methods are called by the thread calling
+     * {@link BatchRenderer#render(Iterable, Sink)}, once per message and in the order of
+     * the messages, so implementations don't need to be thread-safe.
+     */
+    public interface Sink {
+
+        /**
+         * Called when a barcode has been rendered.
+         * @param index the index of the message (starting at 0)
+         * @param msg the message
+         * @param data the rendered barcode
+         * @throws IOException if an I/O error occurs (aborts the batch)
+         */
+        void barcodeRendered(int index, String msg, byte[] data) throws IOException;
+
+        /**
+         * Called when a barcode could not be rendered, usually because the message is
+         * invalid for the symbology.
+         * @param index the index of the message (starting at 0)
+         * @param msg the message
+         * @param e the exception that occurred
+         * @throws IOException if an I/O error occurs (aborts the batch)
+         */
+        void barcodeFailed(int index, String msg, Exception e) throws IOException;
+    }
+
+    private final BarcodeGenerator generator;
+    private final String format;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private Orientation orientation = Orientation.ZERO;
+    private int resolution = 300;
+    private boolean grayscale;
+    private double moduleWidth;
+    private boolean compact;
+    private boolean deterministic;
+    private boolean useNamespace = true;
+
+    private final ThreadLocal<ByteArrayOutputStream> buffers = new ThreadLocal<ByteArrayOutputStream>() {
+        @Override
+        protected ByteArrayOutputStream initialValue() {
+            return new ByteArrayOutputStream(4096);
+        }
+    };
+
+    /**
+     * Creates a new batch renderer.
+     * @param generator the barcode generator
+     * @param format the output format (MIME type or file extension)
+     * @throws IllegalArgumentException if the output format is not supported
+     */
+    public BatchRenderer(BarcodeGenerator generator, String format) {
+        if (generator == null) {
+            throw new NullPointerException("generator must not be null");
+        }
+        this.generator = generator instanceof AbstractBarcodeBean
+                ? ((AbstractBarcodeBean)generator).freeze() : generator;
+        this.format = MimeTypes.expandFormat(format);
+        if (this.format == null) {
+            throw new IllegalArgumentException("No output format given");
+        }
+        if (!isVectorFormat() && !BitmapEncoderRegistry.supports(this.format)) {
+            throw new IllegalArgumentException("Unsupported output format: " + format);
+        }
+    }
+
+    /**
+     * Creates a new batch renderer.
+     * @param cfg the barcode configuration
+     * @param format the output format (MIME type or file extension)
+     * @throws BarcodeException if the barcode generator cannot be set up
+     * @throws IllegalArgumentException if the output format is not supported
+     * @see BarcodeGeneratorProvider#getBarcodeGenerator(Configuration)
+     */
+    public BatchRenderer(Configuration cfg, String format) throws BarcodeException {
+        this(BarcodeGeneratorProvider.getInstance().getBarcodeGenerator(cfg), format);
+    }
+
+    private boolean isVectorFormat() {
+        return MimeTypes.MIME_SVG.equals(format) || MimeTypes.MIME_EPS.equals(format);
+    }
+
+    /**
+     * Returns the output format.
+     * @return the MIME type of the output format
+     */
+    public String getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Sets the number of worker threads. With one thread, all barcodes are rendered by the
+     * calling thread. The default is the number of available processors.
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Sets the orientation of the barcodes.
+     * @param orientation the orientation
+     */
+    public void setOrientation(Orientation orientation) {
+        this.orientation = orientation;
+    }
+
+    /**
+     * Sets the resolution (used when creating bitmap output). Default: 300dpi
+     * @param resolution the resolution in dpi
+     */
+    public void setResolution(int resolution) {
+        this.resolution = resolution;
+    }
+
+    /**
+     * Controls whether to generate anti-aliased grayscale (8 bit) images instead of
+     * monochrome (1 bit) images. Only applicable when generating bitmap formats.
+     * @param grayscale true for grayscale images
+     */
+    public void setGrayscale(boolean grayscale) {
+        this.grayscale = grayscale;
+    }
+
+    /**
+     * Sets the module width of the barcodes, which enables the pixel grid mode for bitmap
+     * output. Only applicable when generating bitmap formats.
+     * @param moduleWidth the module width (in mm), or 0 to disable the pixel grid mode
+     * @see BitmapCanvasProvider#setModuleWidth(double)
+     */
+    public void setModuleWidth(double moduleWidth) {
+        if (moduleWidth < 0) {
+            throw new IllegalArgumentException("moduleWidth must not be negative");
+        }
+        this.moduleWidth = moduleWidth;
+    }
+
+    /**
+     * Enables the compact path mode for SVG and the compact encoding for EPS output.
+     * @param compact true for compact output
+     * @see SVGStreamCanvasProvider#setCompactPath(boolean)
+     * @see EPSCanvasProvider#setCompactEncoding(boolean)
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * Enables the deterministic output mode.
+     * @param deterministic true for deterministic output
+     * @see org.krysalis.barcode4j.output.AbstractCanvasProvider#setDeterministic(boolean)
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Controls whether the SVG namespace is declared in SVG output. The default is true.
+     * @param useNamespace true to declare the SVG namespace
+     * @see SVGStreamCanvasProvider#SVGStreamCanvasProvider(java.io.OutputStream, boolean,
+     *          Orientation)
+     */
+    public void setUseNamespace(boolean useNamespace) {
+        this.useNamespace = useNamespace;
+    }
+
+    /**
+     * Renders a single barcode.
+     * @param msg the message
+     * @return the rendered barcode
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the message is invalid for the symbology
+     */
+    public byte[] render(String msg) throws IOException {
+        final ByteArrayOutputStream out = buffers.get();
+        out.reset();
+        if (MimeTypes.MIME_SVG.equals(format)) {
+            final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(out, useNamespace,
+                    orientation);
+            svg.setCompactPath(compact);
+            svg.setDeterministic(deterministic);
+            generator.generateBarcode(svg, msg);
+            svg.finish();
+        } else if (MimeTypes.MIME_EPS.equals(format)) {
+            final EPSCanvasProvider eps = new EPSCanvasProvider(out, orientation);
+            eps.setCompactEncoding(compact);
+            eps.setDeterministic(deterministic);
+            generator.generateBarcode(eps, msg);
+            eps.finish();
+        } else {
+            final BitmapCanvasProvider bitmap = new BitmapCanvasProvider(out, format, resolution,
+                    grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_BYTE_BINARY,
+                    grayscale, orientation);
+            bitmap.setDeterministic(deterministic);
+            bitmap.setModuleWidth(moduleWidth);
+            generator.generateBarcode(bitmap, msg);
+            bitmap.finish();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Renders a barcode for every message and passes the results to the sink in the order
+     * of the messages. Failures of single barcodes are reported to the sink and don't stop
+     * the batch.
+     * @param messages the messages (iterated by the calling thread only)
+     * @param sink the sink receiving the results
+     * @return the number of barcodes rendered successfully
+     * @throws IOException if the sink throws an IOException or the calling thread is
+     *          interrupted
+     */
+    public int render(Iterable<String> messages, Sink sink) throws IOException {
+        if (threads == 1) {
+            return renderSequentially(messages, sink);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new WorkerFactory());
+        try {
+            final int maxPending = threads * PENDING_PER_THREAD;
+            final LinkedList<Job> pending = new LinkedList<Job>();
+            int count = 0;
+            int index = 0;
+            for (final String msg : messages) {
+                if (pending.size() >= maxPending) {
+                    count += deliver(pending.removeFirst(), sink);
+                }
+                final Job job = new Job(index++, msg);
+                job.future = executor.submit(job);
+                pending.add(job);
+            }
+            while (!pending.isEmpty()) {
+                count += deliver(pending.removeFirst(), sink);
+            }
+            return count;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int renderSequentially(Iterable<String> messages, Sink sink) throws IOException {
+        int count = 0;
+        int index = 0;
+        for (final String msg : messages) {
+            final byte[] data;
+            try {
+                data = render(msg);
+            } catch (RuntimeException e) {
+                sink.barcodeFailed(index++, msg, e);
+                continue;
+            } catch (IOException ioe) {
+                sink.barcodeFailed(index++, msg, ioe);
+                continue;
+            }
+            sink.barcodeRendered(index++, msg, data);
+            count++;
+        }
+        return count;
+    }
+
+    private int deliver(Job job, Sink sink) throws IOException {
+        final byte[] data;
+        try {
+            data = job.future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering barcodes");
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            sink.barcodeFailed(job.index, job.msg, (Exception)cause);
+            return 0;
+        }
+        sink.barcodeRendered(job.index, job.msg, data);
+        return 1;
+    }
+
+    /** Renders a single message on a worker thread. */
+    private class Job implements Callable<byte[]> {
+
+        private final int index;
+        private final String msg;
+        private Future<byte[]> future;
+
+        Job(int index, String msg) {
+            this.index = index;
+            this.msg = msg;
+        }
+
+        @Override
+        public byte[] call() throws IOException {
+            return render(msg);
+        }
+    }
+
+    /** Creates daemon threads so an abandoned batch doesn't keep the JVM alive. */
+    private static class WorkerFactory implements ThreadFactory {
+
+        private static final AtomicInteger BATCH_COUNT = new AtomicInteger();
+        private final int batch = BATCH_COUNT.incrementAndGet();
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r,
+                    "barcode4j-batch-" + batch + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Immutable matrix of modules as produced by the 2D symbologies. Each module is stored as a
+ * single bit (set = dark module), packed row by row into an int array. Instances are created
+ * through {@link BitMatrix.Builder}.
+ * <p>
+ * The matrix only represents the logical symbol: it contains no quiet zone and no
+ * information about module widths or row heights. These are applied by the logic handler
+ * painting the matrix.
+ *
+ * @version 1.0
+ */
+public final class BitMatrix implements Serializable {
+
+    private static final long serialVersionUID = 4219657138546214780L;
+
+    private final int width;
+    private final int height;
+    private final int rowSize;
+    private final int[] bits;
+
+    private BitMatrix(int width, int height, int rowSize, int[] bits) {
+        this.width = width;
+        this.height = height;
+        this.rowSize = rowSize;
+        this.bits = bits;
+    }
+
+    /** @return the width of the matrix (in modules) */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /** @return the height of the matrix (in modules or rows) */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Indicates whether a module is dark.
+     * @param x the column
+     * @param y the row
+     * @return true if the module is dark
+     */
+    public boolean get(int x, int y) {
+        checkBounds(x, y);
+        return (bits[y * rowSize + (x >> 5)] & (1 << (x & 0x1f))) != 0;
+    }
+
+    /**
+     * Returns the column of the next module in a row which has the given color, starting at
+     * a given column (inclusive). Combined, this method allows to iterate over the runs of
+     * dark and light modules without looking at each module individually.
+     * @param y the row
+     * @param fromX the column to start searching at
+     * @param dark true to look for a dark module, false for a light module
+     * @return the column of the next module with the given color, or the width of the matrix
+     *          if there is no such module
+     */
+    public int nextModule(int y, int fromX, boolean dark) {
+        if (fromX >= width) {
+            return width;
+        }
+        checkBounds(fromX, y);
+        final int rowOffset = y * rowSize;
+        int wordIndex = fromX >> 5;
+        int word = bits[rowOffset + wordIndex];
+        if (!dark) {
+            word = ~word;
+        }
+        word &= -1 << (fromX & 0x1f);
+        while (word == 0) {
+            wordIndex++;
+            if (wordIndex == rowSize) {
+                return width;
+            }
+            word = bits[rowOffset + wordIndex];
+            if (!dark) {
+                word = ~word;
+            }
+        }
+        final int x = (wordIndex << 5) + Integer.numberOfTrailingZeros(word);
+        return Math.min(x, width);
+    }
+
+    /**
+     * Indicates whether two rows of this matrix are identical.
+     * @param y1 the first row
+     * @param y2 the second row
+     * @return true if both rows contain the same modules
+     */
+    public boolean isRowEqual(int y1, int y2) {
+        checkBounds(0, y1);
+        checkBounds(0, y2);
+        final int offset1 = y1 * rowSize;
+        final int offset2 = y2 * rowSize;
+        for (int i = 0; i < rowSize; i++) {
+            if (bits[offset1 + i] != bits[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends the modules of this matrix row by row to a logic handler, one bar with
+     * weight 1 per module. This is used for logic handlers that don't implement
+     * {@link MatrixBarcodeLogicHandler}.
+     * @param logic the logic handler
+     */
+    public void writeModules(TwoDimBarcodeLogicHandler logic) {
+        for (int y = 0; y < height; y++) {
+            logic.startRow();
+            for (int x = 0; x < width; x++) {
+                logic.addBar(get(x, y), 1);
+            }
+            logic.endRow();
+        }
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("Module (" + x + ", " + y
+                    + ") is outside the matrix (" + width + " x " + height + ")");
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BitMatrix)) {
+            return false;
+        }
+        final BitMatrix other = (BitMatrix)obj;
+        return this.width == other.width && this.height == other.height
+                && Arrays.equals(this.bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + this.width;
+        hash = 31 * hash + this.height;
+        hash = 31 * hash + Arrays.hashCode(this.bits);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder((width + 1) * height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                sb.append(get(x, y) ? 'X' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builder for {@link BitMatrix} instances. The builder is not thread-safe.
+     */
+    public static final class Builder {
+
+        private final int width;
+        private final int height;
+        private final int rowSize;
+        private int[] bits;
+
+        /**
+         * Creates a new builder for a matrix where all modules are light.
+         * @param width the width of the matrix (in modules)
+         * @param height the height of the matrix (in modules or rows)
+         */
+        public Builder(int width, int height) {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("width and height must be > 0");
+            }
+            this.width = width;
+            this.height = height;
+            this.rowSize = (width + 31) >> 5;
+            this.bits = new int[rowSize * height];
+        }
+
+        /**
+         * Sets the color of a module.
+         * @param x the column
+         * @param y the row
+         * @param dark true for a dark module
+         * @return this builder
+         */
+        public Builder set(int x, int y, boolean dark) {
+            if (x < 0 || x >= width || y < 0 || y >= height) {
+                throw new IndexOutOfBoundsException("Module (" + x + ", " + y
+                        + ") is outside the matrix (" + width + " x " + height + ")");
+            }
+            final int offset = y * rowSize + (x >> 5);
+            if (dark) {
+                bits[offset] |= 1 << (x & 0x1f);
+            } else {
+                bits[offset] &= ~(1 << (x & 0x1f));
+            }
+            return this;
+        }
+
+        /**
+         * Creates the immutable matrix. The builder cannot be used anymore afterwards.
+         * @return the new matrix
+         */
+        public BitMatrix build() {
+            if (bits == null) {
+                throw new IllegalStateException("build() has already been called");
+            }
+            final BitMatrix matrix = new BitMatrix(width, height, rowSize, bits);
+            bits = null;
+            return matrix;
+        }
+    }
+}
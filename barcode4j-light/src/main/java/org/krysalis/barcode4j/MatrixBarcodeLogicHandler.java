@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j;
+
+/**
+ * Logic handler for 2D barcodes that can receive the whole symbol as a {@link BitMatrix}
+ * instead of individual rows and bars. The 2D symbologies check for this interface and, if
+ * it is implemented and {@link #isMatrixSupported()} returns true, call
+ * {@link #addMatrix(BitMatrix)} between
+ * {@link #startBarcode(String, String)} and {@link #endBarcode()} instead of the
+ * <code>startRow()</code>/<code>addBar()</code>/<code>endRow()</code> sequence.
+ *
+ * @version 1.0
+ */
+public interface MatrixBarcodeLogicHandler extends TwoDimBarcodeLogicHandler {
+
+    /**
+     * Passes the complete module matrix of the symbol to the handler.
+     * @param matrix the module matrix
+     */
+    void addMatrix(BitMatrix matrix);
+
+    /**
+     * Indicates whether the handler currently wants to receive the symbol through
+     * {@link #addMatrix(BitMatrix)}. If false, the symbologies send rows and bars instead.
+     * @return true if the symbol is to be passed as a module matrix
+     */
+    boolean isMatrixSupported();
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+/**
+ * Enumeration for the way the dark modules of a 2D symbol are combined into rectangles
+ * before they are painted on a canvas. Fewer rectangles mean smaller SVG and EPS files and
+ * less painting work for Java2D.
+ *
+ * @version 1.0
+ */
+public enum ModuleMerging {
+
+    /**
+     * Every dark module is painted as a separate rectangle.
+     */
+    NONE("none"),
+    /**
+     * Horizontally adjacent dark modules in a row are painted as a single rectangle.
+     */
+    ROWS("rows"),
+    /**
+     * Like {@link #ROWS} but identical consecutive rows are painted together, i.e. each
+     * run of dark modules is painted once with the combined height of the rows.
+     */
+    BLOCKS("blocks");
+
+    private final String name;
+
+    /**
+     * Creates a new ModuleMerging instance.
+     *
+     * @param name the name for the instance
+     */
+    private ModuleMerging(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the instance.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns a ModuleMerging instance by name.
+     *
+     * @param name the name of the instance
+     * @return the requested instance
+     */
+    public static ModuleMerging byName(String name) {
+        for (final ModuleMerging m : ModuleMerging.values()) {
+            if (m.getName().equalsIgnoreCase(name)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Invalid ModuleMerging: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
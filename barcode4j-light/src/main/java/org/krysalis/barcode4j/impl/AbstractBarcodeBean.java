@@ -27,10 +27,14 @@ import com.github.mbhk.barcode4j.ConfigurationException;
 
 /**
  * Base class for most barcode implementations.
+ * <p>
+ * Barcode beans are mutable and therefore not safe to be configured and used by several
+ * threads at the same time. Once configured, a bean can be turned into an immutable,
+ * thread-safe generator using {@link #freeze()}.
  *
  * @version $Id$
  */
-public abstract class AbstractBarcodeBean implements BarcodeGenerator {
+public abstract class AbstractBarcodeBean implements BarcodeGenerator, Cloneable {
 
     /** Net height of bars in mm. Defaults to 15mm */
     protected double height = 15.0;
@@ -360,4 +364,28 @@ public abstract class AbstractBarcodeBean implements BarcodeGenerator {
             setFontName(cfg.getChild("human-readable-font").getValue("Helvetica"));
         }
     }
+
+    /**
+     * Creates an immutable and thread-safe generator with the current settings of this
+     * bean. Later changes to this bean don't affect the returned generator.
+     *
+     * @return the immutable generator
+     */
+    public FrozenBarcodeGenerator freeze() {
+        return new FrozenBarcodeGenerator(copy());
+    }
+
+    /**
+     * Creates an independent copy of this bean. Subclasses holding mutable state other than
+     * their settings must override this method to make sure the copy doesn't share it.
+     *
+     * @return the copy
+     */
+    protected AbstractBarcodeBean copy() {
+        try {
+            return (AbstractBarcodeBean)clone();
+        } catch (CloneNotSupportedException cnse) {
+            throw new AssertionError(cnse);
+        }
+    }
 }
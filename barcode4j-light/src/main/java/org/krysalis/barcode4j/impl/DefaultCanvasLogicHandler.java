@@ -16,8 +16,9 @@
 package org.krysalis.barcode4j.impl;
 
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
+import org.krysalis.barcode4j.BarPatternLogicHandler;
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 import org.krysalis.barcode4j.HumanReadablePlacement;
 import org.krysalis.barcode4j.TextAlignment;
 import org.krysalis.barcode4j.output.Canvas;
@@ -25,10 +26,14 @@ import org.krysalis.barcode4j.tools.MessagePatternUtil;
 
 /**
  * Default Logic Handler implementation for painting on a Canvas.
+ * <p>
+ * When a {@link BarPattern} is replayed, only this class itself receives it as a whole (see
+ * {@link #isBarPatternSupported()}). Subclasses get the individual bar groups and bars unless
+ * they opt in by overriding {@link #isBarPatternSupported()}.
  *
  * @version $Id$
  */
-public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
+public class DefaultCanvasLogicHandler implements BarPatternLogicHandler {
 
     /**
      * the barcode bean.
@@ -42,6 +47,7 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
      * the barcode dimensions.
      */
     protected BarcodeDimension dimensions;
+    private final BarcodeDimension presetDimensions;
     private double x = 0.0;
     private double y;
     private String formattedMsg;
@@ -53,8 +59,25 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
      * @param canvas the canvas to paint to
      */
     public DefaultCanvasLogicHandler(AbstractBarcodeBean bcBean, Canvas canvas) {
+        this(bcBean, canvas, null);
+    }
+
+    /**
+     * Constructor for the case where the barcode dimensions are already known, for example
+     * because the message has already been encoded by the barcode bean. This avoids having
+     * to call {@link AbstractBarcodeBean#calcDimensions(String)} again in
+     * {@link #startBarcode(String, String)}.
+     *
+     * @param bcBean the barcode implementation class
+     * @param canvas the canvas to paint to
+     * @param dimensions the precalculated barcode dimensions (or null to calculate them
+     *          from the message)
+     */
+    public DefaultCanvasLogicHandler(AbstractBarcodeBean bcBean, Canvas canvas,
+            BarcodeDimension dimensions) {
         this.bcBean = bcBean;
         this.canvas = canvas;
+        this.presetDimensions = dimensions;
     }
 
     /**
@@ -92,13 +115,27 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
                 formattedMsg, bcBean.getPattern());
 
         //Calculate extents
-        this.dimensions = bcBean.calcDimensions(msg);
+        this.dimensions = calcDimensions(msg);
 
         canvas.establishDimensions(dimensions);
         x = getStartX();
         y = getStartY();
     }
 
+    /**
+     * Returns the barcode dimensions for the given message. If the dimensions have been
+     * passed in at construction time, they are returned without calling the barcode bean.
+     *
+     * @param msg the message
+     * @return the barcode dimensions
+     */
+    protected BarcodeDimension calcDimensions(String msg) {
+        if (this.presetDimensions != null) {
+            return this.presetDimensions;
+        }
+        return bcBean.calcDimensions(msg);
+    }
+
     @Override
     public void startBarGroup(BarGroup type, String submsg) {
         //nop
@@ -113,6 +150,48 @@ public class DefaultCanvasLogicHandler implements ClassicBarcodeLogicHandler {
         x += w;
     }
 
+    /**
+     * Returns true only for this class, so subclasses overriding
+     * {@link #addBar(boolean, int)} or the bar group methods keep receiving these events.
+     * @return true if {@link #addBarPattern(BarPattern)} should be called
+     */
+    @Override
+    public boolean isBarPatternSupported() {
+        return getClass() == DefaultCanvasLogicHandler.class;
+    }
+
+    /**
+     * Paints all bars of the pattern in one go. The bar widths are looked up once per weight
+     * and the bar groups are skipped as {@link #startBarGroup(BarGroup, String)} doesn't do
+     * anything.
+     * @param pattern the bar pattern
+     */
+    @Override
+    public void addBarPattern(BarPattern pattern) {
+        final int count = pattern.getBarCount();
+        int minWeight = 0;
+        int maxWeight = 0;
+        for (int i = 0; i < count; i++) {
+            minWeight = Math.min(minWeight, pattern.getWeight(i));
+            maxWeight = Math.max(maxWeight, pattern.getWeight(i));
+        }
+        final double[] widths = new double[maxWeight - minWeight + 1];
+        final boolean[] known = new boolean[widths.length];
+        final double h = bcBean.getBarHeight();
+        for (int i = 0; i < count; i++) {
+            final int idx = pattern.getWeight(i) - minWeight;
+            if (!known[idx]) {
+                widths[idx] = bcBean.getBarWidth(pattern.getWeight(i));
+                known[idx] = true;
+            }
+            final double w = widths[idx];
+            if (pattern.isDark(i)) {
+                canvas.drawRectWH(x, y, w, h);
+            }
+            x += w;
+        }
+    }
+
     @Override
     public void endBarGroup() {
         //nop
@@ -16,7 +16,9 @@
 package org.krysalis.barcode4j.impl;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.BitMatrix;
+import org.krysalis.barcode4j.MatrixBarcodeLogicHandler;
+import org.krysalis.barcode4j.ModuleMerging;
 import org.krysalis.barcode4j.output.Canvas;
 
 /**
@@ -25,10 +27,14 @@ import org.krysalis.barcode4j.output.Canvas;
  * @author Jeremias Maerki
  * @version 1.3
  */
-public class DefaultTwoDimCanvasLogicHandler extends DefaultCanvasLogicHandler implements TwoDimBarcodeLogicHandler {
+public class DefaultTwoDimCanvasLogicHandler extends DefaultCanvasLogicHandler
+        implements MatrixBarcodeLogicHandler {
 
     private double x = 0.0;
     private double y = 0.0;
+    private ModuleMerging moduleMerging = ModuleMerging.NONE;
+    /** Start position of the pending run of dark bars (only used when merging) */
+    private double runStart = Double.NaN;
 
     /**
      * Main constructor.
@@ -40,6 +46,39 @@ public class DefaultTwoDimCanvasLogicHandler extends DefaultCanvasLogicHandler i
         super(bcBean, canvas);
     }
 
+    /**
+     * Constructor for the case where the barcode dimensions are already known.
+     *
+     * @param bcBean the barcode implementation class
+     * @param canvas the canvas to paint to
+     * @param dimensions the precalculated barcode dimensions (or null to calculate them
+     *          from the message)
+     */
+    public DefaultTwoDimCanvasLogicHandler(AbstractBarcodeBean bcBean, Canvas canvas,
+            BarcodeDimension dimensions) {
+        super(bcBean, canvas, dimensions);
+    }
+
+    /**
+     * Sets the way dark modules are combined into rectangles before they are painted on the
+     * canvas. The default is {@link ModuleMerging#NONE}.
+     * @param moduleMerging the module merging mode
+     */
+    public void setModuleMerging(ModuleMerging moduleMerging) {
+        if (moduleMerging == null) {
+            throw new NullPointerException("moduleMerging must not be null");
+        }
+        this.moduleMerging = moduleMerging;
+    }
+
+    /**
+     * Returns the way dark modules are combined into rectangles.
+     * @return the module merging mode
+     */
+    public ModuleMerging getModuleMerging() {
+        return this.moduleMerging;
+    }
+
     @Override
     protected double getStartY() {
         if (bcBean.hasQuietZone()) {
@@ -52,28 +91,96 @@ public class DefaultTwoDimCanvasLogicHandler extends DefaultCanvasLogicHandler i
     @Override
     public void startBarcode(String msg, String formattedMsg) {
         //Calculate extents
-        final BarcodeDimension dim = bcBean.calcDimensions(msg);
+        this.dimensions = calcDimensions(msg);
 
-        canvas.establishDimensions(dim);
+        canvas.establishDimensions(this.dimensions);
         y = getStartY();
     }
 
     @Override
     public void startRow() {
         x = getStartX();
+        runStart = Double.NaN;
     }
 
     @Override
     public void addBar(boolean black, int width) {
         final double w = bcBean.getBarWidth(width);
-        if (black) {
-            canvas.drawRectWH(x, y, w, bcBean.getBarHeight());
+        if (moduleMerging == ModuleMerging.NONE) {
+            if (black) {
+                canvas.drawRectWH(x, y, w, bcBean.getBarHeight());
+            }
+        } else {
+            //Bars arrive one by one here, so only adjacent bars in a row can be combined
+            if (black) {
+                if (Double.isNaN(runStart)) {
+                    runStart = x;
+                }
+            } else {
+                flushRun();
+            }
         }
         x += w;
     }
 
+    private void flushRun() {
+        if (!Double.isNaN(runStart)) {
+            canvas.drawRectWH(runStart, y, x - runStart, bcBean.getBarHeight());
+            runStart = Double.NaN;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only a merging mode other than {@link ModuleMerging#NONE} needs the matrix. Otherwise
+     * the bars are painted as the symbology produces them.
+     */
+    @Override
+    public boolean isMatrixSupported() {
+        return moduleMerging != ModuleMerging.NONE;
+    }
+
+    @Override
+    public void addMatrix(BitMatrix matrix) {
+        final double moduleWidth = bcBean.getBarWidth(1);
+        final double rowHeight = bcBean.getBarHeight();
+        final double startX = getStartX();
+        final int width = matrix.getWidth();
+        final int height = matrix.getHeight();
+        int row = 0;
+        while (row < height) {
+            int rowCount = 1;
+            if (moduleMerging == ModuleMerging.BLOCKS) {
+                while (row + rowCount < height && matrix.isRowEqual(row, row + rowCount)) {
+                    rowCount++;
+                }
+            }
+            final double h = rowCount * rowHeight;
+            if (moduleMerging == ModuleMerging.NONE) {
+                for (int col = 0; col < width; col++) {
+                    if (matrix.get(col, row)) {
+                        canvas.drawRectWH(startX + col * moduleWidth, y, moduleWidth, h);
+                    }
+                }
+            } else {
+                //Paint each run of dark modules as a single rectangle
+                int start = matrix.nextModule(row, 0, true);
+                while (start < width) {
+                    final int end = matrix.nextModule(row, start, false);
+                    canvas.drawRectWH(startX + start * moduleWidth, y,
+                            (end - start) * moduleWidth, h);
+                    start = matrix.nextModule(row, end, true);
+                }
+            }
+            y += h;
+            row += rowCount;
+        }
+    }
+
     @Override
     public void endRow() {
+        flushRun();
         y += bcBean.getBarHeight(); //=row height
     }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl;
+
+import java.util.Collection;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.output.CanvasProvider;
+
+import com.github.mbhk.barcode4j.Configuration;
+
+/**
+ * Immutable barcode generator wrapping a private copy of a configured barcode bean. The
+ * settings cannot be changed anymore, so a single instance can be shared and used by any
+ * number of threads at the same time (as long as every thread uses its own
+ * CanvasProvider).
+ * <p>
+ * Instances are created through {@link AbstractBarcodeBean#freeze()}.
+ *
+ * @version 1.0
+ */
+public final class FrozenBarcodeGenerator implements BarcodeGenerator {
+
+    private final AbstractBarcodeBean bean;
+
+    /**
+     * Creates a new generator.
+     * @param bean the bean to wrap (must not be accessible by anyone else)
+     */
+    FrozenBarcodeGenerator(AbstractBarcodeBean bean) {
+        this.bean = bean;
+    }
+
+    @Override
+    public void generateBarcode(CanvasProvider canvas, String msg) {
+        bean.generateBarcode(canvas, msg);
+    }
+
+    @Override
+    public BarcodeDimension calcDimensions(String msg) {
+        return bean.calcDimensions(msg);
+    }
+
+    /**
+     * Not supported as the generator is immutable.
+     * @param cfg the configuration
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void configure(Configuration cfg) {
+        throw new UnsupportedOperationException(
+                "A frozen barcode generator cannot be configured");
+    }
+
+    @Override
+    public String getId() {
+        return bean.getId();
+    }
+
+    @Override
+    public Collection<String> getAdditionalNames() {
+        return bean.getAdditionalNames();
+    }
+
+    /**
+     * Returns a mutable copy of the barcode bean with the settings of this generator.
+     * Changes to the returned bean don't affect this generator.
+     * @return a new barcode bean
+     */
+    public AbstractBarcodeBean getBean() {
+        return bean.copy();
+    }
+}
@@ -19,10 +19,11 @@ import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
 
 /**
- * Proxy class for logging.
+ * Proxy class for logging. It is meant for debugging the barcode logic; to find out where
+ * time is spent, use the instrumentation in {@link org.krysalis.barcode4j.metrics} instead.
  * 
  * @author Jeremias Maerki
- * @version 1.1
+ * @version 1.2
  */
 public class LoggingLogicHandlerProxy implements ClassicBarcodeLogicHandler {
 
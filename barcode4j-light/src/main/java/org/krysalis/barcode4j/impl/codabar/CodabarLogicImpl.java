@@ -18,8 +18,11 @@ package org.krysalis.barcode4j.impl.codabar;
 import java.util.Set;
 import java.util.TreeSet;
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * This class is an implementation of the Codabar barcode.
@@ -190,6 +193,18 @@ public class CodabarLogicImpl {
         }
     }
 
+    /**
+     * Creates the bar pattern for a message. The pattern contains the same bar groups and bars
+     * {@link #generateBarcodeLogic(ClassicBarcodeLogicHandler, String)} produces.
+     * @param msg the message to encode
+     * @return the bar pattern
+     */
+    public BarPattern createBarPattern(String msg) {
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        generateBarcodeLogic(builder, msg);
+        return builder.build();
+    }
+
     /**
      * Generates the barcode logic.
      *
@@ -197,6 +212,7 @@ public class CodabarLogicImpl {
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final StringBuilder sb = new StringBuilder(msg);
 
         handleChecksum();
@@ -226,5 +242,6 @@ public class CodabarLogicImpl {
         }
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "codabar", start);
     }
 }
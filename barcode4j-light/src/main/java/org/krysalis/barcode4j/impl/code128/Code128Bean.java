@@ -42,6 +42,9 @@ public class Code128Bean extends AbstractBarcodeBean {
     /** Codeset used to encode the message. */
     private Code128Constants codeset = DEFAULT_CODESET;
 
+    /** Algorithm selecting the codesets for the message. */
+    private CodesetSelection codesetSelection = CodesetSelection.LOOK_AHEAD;
+
     /** Create a new instance. */
     public Code128Bean() {
         this.moduleWidth = DEFAULT_MODULE_WIDTH;
@@ -69,6 +72,27 @@ public class Code128Bean extends AbstractBarcodeBean {
         return this.codeset;
     }
 
+    /**
+     * Sets the way the codesets, codeset changes and shifts are selected for the message.
+     * {@link CodesetSelection#MINIMAL} produces the smallest possible number of symbol
+     * characters and therefore the narrowest symbol.
+     * @param codesetSelection the codeset selection algorithm
+     */
+    public void setCodesetSelection(CodesetSelection codesetSelection) {
+        if (codesetSelection == null) {
+            throw new NullPointerException("codesetSelection must not be null");
+        }
+        this.codesetSelection = codesetSelection;
+    }
+
+    /**
+     * Returns the way the codesets are selected for the message.
+     * @return the codeset selection algorithm
+     */
+    public CodesetSelection getCodesetSelection() {
+        return this.codesetSelection;
+    }
+
     @Override
     protected boolean hasFontDescender() {
         return true;
@@ -98,7 +122,7 @@ public class Code128Bean extends AbstractBarcodeBean {
     }
 
     private Code128LogicImpl createLogicImpl() {
-        return new Code128LogicImpl(getCodeset());
+        return new Code128LogicImpl(getCodeset(), getCodesetSelection());
     }
 
     @Override
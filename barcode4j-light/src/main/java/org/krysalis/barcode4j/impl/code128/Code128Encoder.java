@@ -21,22 +21,22 @@ import org.krysalis.barcode4j.tools.CheckUtil;
 /**
  * Default encoder algorithm for Code128 barcode messages.
  *
- * @version 1.2
+ * @version 1.3
  */
 public class Code128Encoder {
 
-    private static final int START_A = 103;
-    private static final int START_B = 104;
-    private static final int START_C = 105;
-    private static final int GOTO_A = 101;
-    private static final int GOTO_B = 100;
-    private static final int GOTO_C = 99;
-    private static final int FNC_1 = 102;
-    private static final int FNC_2 = 97;
-    private static final int FNC_3 = 96;
-    private static final int FNC_4 = 100;
-    private static final int FNC_4_A = 101;
-    private static final int SHIFT = 98;
+    static final int START_A = 103;
+    static final int START_B = 104;
+    static final int START_C = 105;
+    static final int GOTO_A = 101;
+    static final int GOTO_B = 100;
+    static final int GOTO_C = 99;
+    static final int FNC_1 = 102;
+    static final int FNC_2 = 97;
+    static final int FNC_3 = 96;
+    static final int FNC_4 = 100;
+    static final int FNC_4_A = 101;
+    static final int SHIFT = 98;
 
     private final Code128Constants codeset;
 
@@ -127,18 +127,59 @@ public class Code128Encoder {
         return res;
     }
 
+    /**
+     * Returns the codesets the encoder may use.
+     * @return the allowed codesets
+     */
+    protected Code128Constants getCodeset() {
+        return this.codeset;
+    }
+
+    /**
+     * Returns the maximum number of character set indexes (including the start character)
+     * the encoder produces for a message.
+     * @param messageLength the length of the message
+     * @return the maximum number of character set indexes
+     */
+    public static int getMaxEncodedLength(int messageLength) {
+        return messageLength * 2;
+    }
+
+    /**
+     * Checks that a buffer is large enough for any encoding of a message.
+     * @param messageLength the length of the message
+     * @param encoded the buffer
+     */
+    protected static void checkBuffer(int messageLength, int[] encoded) {
+        if (encoded.length < getMaxEncodedLength(messageLength)) {
+            throw new IllegalArgumentException("The buffer must have room for at least "
+                    + getMaxEncodedLength(messageLength) + " character set indexes");
+        }
+    }
+
     /**
      * Encodes message using code set A, B and C. 
      * 
      * Tries to use as few characters as possible.
      * @param message to encoded
      * @return array of code set caracters
-     * @see org.krysalis.barcode4j.impl.code128.Code128Encoder#encode(java.lang.String)
+     * @see #encode(CharSequence, int[])
      */
     public int[] encode(String message) {
+        final int[] encoded = new int[getMaxEncodedLength(message.length())];
+        return Arrays.copyOf(encoded, encode(message, encoded));
+    }
 
-        // Allocate enough space
-        final int[] encoded = new int[message.length() * 2];
+    /**
+     * Encodes message using code set A, B and C into a buffer supplied by the caller, so the
+     * buffer can be reused for many messages.
+     * @param message to encoded
+     * @param encoded receives the code set characters, must have room for at least
+     *          {@link #getMaxEncodedLength(int)} values
+     * @return the number of code set characters written to the buffer
+     */
+    public int encode(CharSequence message, int[] encoded) {
+        checkBuffer(message.length(), encoded);
         int encodedPos = 0;
         int startAorBPos = 0;
         final int messageLength = message.length();
@@ -190,7 +231,7 @@ public class Code128Encoder {
                 if (extraDigitAtEnd) {
 
                     // section should not contain FNC_1
-                    final int fnc1Pos = message.indexOf(Code128LogicImpl.FNC_1, messagePos);
+                    final int fnc1Pos = indexOf(message, Code128LogicImpl.FNC_1, messagePos);
                     if (fnc1Pos < 0 || fnc1Pos > messagePos + countC) {
                         messagePos++;
                     }
@@ -217,7 +258,16 @@ public class Code128Encoder {
         encodedPos += encodeAordB(message, startAorBPos, messageLength,
                 encoded, encodedPos);
 
-        return Arrays.copyOf(encoded, encodedPos);
+        return encodedPos;
+    }
+
+    private static int indexOf(CharSequence message, char c, int fromIndex) {
+        for (int i = fromIndex; i < message.length(); i++) {
+            if (message.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -229,7 +279,7 @@ public class Code128Encoder {
      * @param startEncodedPos start index in encoded array
      * @return number of integers added to encoding
      */
-    private int encodeC(String message, int start, int finish, int[] encoded,
+    private int encodeC(CharSequence message, int start, int finish, int[] encoded,
             int startEncodedPos) {
 
         if (start == finish) {
@@ -272,7 +322,7 @@ public class Code128Encoder {
      * @param startEncodedPos start index in encoded array
      * @return number of integers added to encoding
      */
-    private int encodeAordB(String message, int start, int finish,
+    private int encodeAordB(CharSequence message, int start, int finish,
             int[] encoded, int startEncodedPos) {
 
         if (start == finish) {
@@ -16,7 +16,10 @@
 package org.krysalis.barcode4j.impl.code128;
 
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.tools.MessageUtil;
 
 /**
@@ -154,6 +157,7 @@ public class Code128LogicImpl {
     private static final byte[] STOP = {2, 3, 3, 1, 1, 1, 2}; //106, STOP
 
     private Code128Constants codeset;
+    private CodesetSelection codesetSelection;
 
     /**
      * Default constructor.
@@ -168,7 +172,18 @@ public class Code128LogicImpl {
      * @param codeset the enabled codeset
      */
     public Code128LogicImpl(Code128Constants codeset) {
+        this(codeset, CodesetSelection.LOOK_AHEAD);
+    }
+
+    /**
+     * Constructor which also selects the algorithm choosing the codesets.
+     *
+     * @param codeset the enabled codeset
+     * @param codesetSelection the codeset selection algorithm
+     */
+    public Code128LogicImpl(Code128Constants codeset, CodesetSelection codesetSelection) {
         this.codeset = codeset;
+        this.codesetSelection = codesetSelection;
     }
 
     /**
@@ -312,6 +327,9 @@ public class Code128LogicImpl {
      * @return the requested encoder
      */
     protected Code128Encoder getEncoder() {
+        if (this.codesetSelection == CodesetSelection.MINIMAL) {
+            return new MinimalCode128Encoder(this.codeset);
+        }
         return new Code128Encoder(this.codeset);
     }
 
@@ -326,6 +344,18 @@ public class Code128LogicImpl {
         return getEncoder().encode(msg);
     }
 
+    /**
+     * Creates the bar pattern for a message. The pattern contains the same bar groups and bars
+     * {@link #generateBarcodeLogic(ClassicBarcodeLogicHandler, String)} produces.
+     * @param msg the message to encode
+     * @return the bar pattern
+     */
+    public BarPattern createBarPattern(String msg) {
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        generateBarcodeLogic(builder, msg);
+        return builder.build();
+    }
+
     /**
      * Generates the barcode logic
      *
@@ -333,6 +363,7 @@ public class Code128LogicImpl {
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         logic.startBarcode(msg, MessageUtil.filterNonPrintableCharacters(msg));
 
         final int[] encodedMsg = createEncodedMessage(msg);
@@ -351,6 +382,7 @@ public class Code128LogicImpl {
         encodeStop(logic);
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "code128", start);
     }
 
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.code128;
+
+/**
+ * Enumeration for the way the Code 128 encoder selects the code sets (A, B, C) and shifts
+ * for the message.
+ *
+ * @version 1.0
+ */
+public enum CodesetSelection {
+
+    /**
+     * Switches to code set C if at least four consecutive digits (or the whole message) can be
+     * encoded in it and uses code set A or B otherwise, see {@link Code128Encoder}.
+     */
+    LOOK_AHEAD("look-ahead"),
+    /**
+     * Determines the sequence of code sets, code set changes and shifts resulting in the
+     * smallest number of symbol characters (i.e. the narrowest symbol), see
+     * {@link MinimalCode128Encoder}.
+     */
+    MINIMAL("minimal");
+
+    private final String name;
+
+    /**
+     * Creates a new CodesetSelection instance.
+     *
+     * @param name the name for the instance
+     */
+    private CodesetSelection(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the instance.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns an CodesetSelection instance by name.
+     *
+     * @param name the name of the instance
+     * @return the requested instance
+     */
+    public static CodesetSelection byName(String name) {
+        for (final CodesetSelection ref : CodesetSelection.values()) {
+            if (ref.name.equalsIgnoreCase(name)) {
+                return ref;
+            }
+        }
+        throw new IllegalArgumentException("Invalid CodesetSelection: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
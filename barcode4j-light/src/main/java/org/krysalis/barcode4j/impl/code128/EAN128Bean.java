@@ -21,6 +21,7 @@ import java.util.Collection;
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
 import org.krysalis.barcode4j.output.CanvasProvider;
@@ -37,24 +38,72 @@ public class EAN128Bean extends Code128Bean {
     /** Defines the default character for the check digit marker */
     public static final char DEFAULT_CHECK_DIGIT_MARKER = '\u00F0';
 
-    private final EAN128LogicImpl impl;
-
     private ChecksumMode checksumMode = ChecksumMode.CP_AUTO;
     private String template = null;
+    /** The parsed template, null if there is none */
+    private EAN128AI[] ais = null;
     /** GroupSeperator not Code128LogicImpl.FNC_1 */
     private char groupSeparator = DEFAULT_GROUP_SEPARATOR; 
     private char checkDigitMarker = DEFAULT_CHECK_DIGIT_MARKER; 
     private boolean omitBrackets = false;
+    /**
+     * The logic implementation holds the state of the message being encoded, so each thread
+     * gets its own instance and a frozen bean can be shared. The holder is replaced whenever
+     * a setting changes.
+     */
+    private ThreadLocal<EAN128LogicImpl> logicImpl = createLogicImplHolder();
 
     /** Create a new instance. */
     public EAN128Bean() {
         super();
-        impl = new EAN128LogicImpl(checksumMode, template, groupSeparator);
+    }
+
+    private ThreadLocal<EAN128LogicImpl> createLogicImplHolder() {
+        return new ThreadLocal<EAN128LogicImpl>() {
+            @Override
+            protected EAN128LogicImpl initialValue() {
+                return createLogicImpl();
+            }
+        };
+    }
+
+    /**
+     * Creates a logic implementation with the current settings.
+     * @return the new logic implementation
+     */
+    private EAN128LogicImpl createLogicImpl() {
+        final EAN128LogicImpl impl = new EAN128LogicImpl(checksumMode, ais, groupSeparator);
+        impl.setCheckDigitMarker(checkDigitMarker);
+        impl.setOmitBrackets(omitBrackets);
+        impl.setCodesetSelection(getCodesetSelection());
+        return impl;
+    }
+
+    /** Makes the threads create new logic implementations with the changed settings. */
+    private void settingsChanged() {
+        logicImpl = createLogicImplHolder();
+    }
+
+    @Override
+    protected AbstractBarcodeBean copy() {
+        final EAN128Bean copy = (EAN128Bean)super.copy();
+        copy.settingsChanged();
+        return copy;
+    }
+
+    @Override
+    public void setCodesetSelection(CodesetSelection codesetSelection) {
+        super.setCodesetSelection(codesetSelection);
+        settingsChanged();
     }
     
     @Override
     public BarcodeDimension calcDimensions(String msg) {
-        final int msgLen = impl.getEncodedMessage(msg).length + 1; 
+        return calcDimensions(logicImpl.get(), msg);
+    }
+
+    private BarcodeDimension calcDimensions(EAN128LogicImpl impl, String msg) {
+        final int msgLen = impl.getEncodedLength(msg) + 1;
         //TODO If the output is able to calculate text lenghts (e.g. awt, fop), and 
         //the human readable part is longer then barcode the size should be enlarged!
         final double width = ((msgLen * 11) + 13) * getModuleWidth();
@@ -70,18 +119,20 @@ public class EAN128Bean extends Code128Bean {
             throw new NullPointerException("Parameter msg must not be empty");
         }
 
-        final ClassicBarcodeLogicHandler handler = 
-                new DefaultCanvasLogicHandler(this, new Canvas(canvas));
+        //The logic implementation keeps the encoded message, so it is only encoded once
+        final EAN128LogicImpl impl = logicImpl.get();
+        final ClassicBarcodeLogicHandler handler = new DefaultCanvasLogicHandler(this,
+                new Canvas(canvas), calcDimensions(impl, msg));
         impl.generateBarcodeLogic(handler, msg);
     }
-    
+
     /**
      * Sets the checksum mode
      * @param mode the checksum mode
      */
     public void setChecksumMode(ChecksumMode mode) {
         this.checksumMode = mode;
-        impl.setChecksumMode(mode);
+        settingsChanged();
     }
 
     /**
@@ -106,7 +157,7 @@ public class EAN128Bean extends Code128Bean {
      */
     public void setGroupSeparator(char c) {
         groupSeparator = c;
-        impl.setGroupSeparator(c);
+        settingsChanged();
     }
 
     /**
@@ -127,8 +178,10 @@ public class EAN128Bean extends Code128Bean {
      * @param string a template like "(01)n13+cd(421)n3+an1-9(10)an1-20"
      */
     public void setTemplate(String string) {
+        //Parse the template once, so an invalid template is reported right away
+        ais = EAN128LogicImpl.parseTemplate(string);
         template = string;
-        impl.setTemplate(string);
+        settingsChanged();
     }
 
     /**
@@ -144,7 +197,7 @@ public class EAN128Bean extends Code128Bean {
      */
     public void setCheckDigitMarker(char c) {
         checkDigitMarker = c;
-        impl.setCheckDigitMarker(c); 
+        settingsChanged();
     }
     
     /**
@@ -160,7 +213,7 @@ public class EAN128Bean extends Code128Bean {
      */
     public void setOmitBrackets(boolean b) {
         omitBrackets = b;
-        impl.setOmitBrackets(b);
+        settingsChanged();
     }
 
     @Override
@@ -20,8 +20,11 @@ package org.krysalis.barcode4j.impl.code128;
 import java.util.Arrays;
 import java.util.StringTokenizer;
 
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * This class is an implementation of the EAN 128 barcode.
@@ -42,16 +45,31 @@ public class EAN128LogicImpl {
     private String msgCache = null;
     private final StringBuilder code128Msg;
     private final StringBuilder humanReadableMsg;
-    private int[] encodedMsg = new int[]{};
+    /** Character set indexes of the message, only the first encodedLength entries are used */
+    private int[] encodedMsg = new int[MAX_LENGTH * 2];
+    private int encodedLength = 0;
+
+    private Code128Encoder encoder = new Code128Encoder();
+    private final Code128LogicImpl c128 = new Code128LogicImpl();
 
     private boolean checksumADD = true;
     private boolean checksumCHECK = true;
 
     public EAN128LogicImpl(ChecksumMode mode, String template, char fnc1) {
+        this(mode, parseTemplate(template), fnc1);
+    }
+
+    /**
+     * Creates a logic implementation for an already parsed template.
+     * @param mode the checksum mode
+     * @param ais the AIs of the template (see {@link #parseTemplate(String)}) or null
+     * @param fnc1 the group separator
+     */
+    EAN128LogicImpl(ChecksumMode mode, EAN128AI[] ais, char fnc1) {
         this.humanReadableMsg = new StringBuilder(MAX_LENGTH);
         this.code128Msg = new StringBuilder(MAX_LENGTH);
         setChecksumMode(mode);
-        setTemplate(template);
+        this.ais = ais;
         this.groupSeparator = fnc1;
     }
 
@@ -71,8 +89,11 @@ public class EAN128LogicImpl {
                 code128Msg.append(Code128LogicImpl.FNC_1);
                 addAIs(msg);
 
-                final Code128Encoder encoder = new Code128Encoder();
-                encodedMsg = encoder.encode(getCode128Msg());
+                final int maxLength = Code128Encoder.getMaxEncodedLength(code128Msg.length());
+                if (encodedMsg.length < maxLength) {
+                    encodedMsg = new int[maxLength];
+                }
+                encodedLength = encoder.encode(code128Msg, encodedMsg);
             }
         }
     }
@@ -90,7 +111,30 @@ public class EAN128LogicImpl {
      */
     public int[] getEncodedMessage(String msg) {
         setMessage(msg);
-        return Arrays.copyOf(encodedMsg, encodedMsg.length);
+        return Arrays.copyOf(encodedMsg, encodedLength);
+    }
+
+    /**
+     * Returns the number of character set indexes a message is encoded into.
+     * @param msg the message to encode
+     * @return the number of character set indexes (including the start character)
+     * @see #getEncodedMessage(java.lang.String)
+     */
+    public int getEncodedLength(String msg) {
+        setMessage(msg);
+        return encodedLength;
+    }
+
+    /**
+     * Creates the bar pattern for a message. The pattern contains the same bar groups and bars
+     * {@link #generateBarcodeLogic(ClassicBarcodeLogicHandler, String)} produces.
+     * @param msg the message to encode
+     * @return the bar pattern
+     */
+    public BarPattern createBarPattern(String msg) {
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        generateBarcodeLogic(builder, msg);
+        return builder.build();
     }
 
     /**
@@ -99,17 +143,17 @@ public class EAN128LogicImpl {
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         setMessage(msg);
 
-        final Code128LogicImpl c128 = new Code128LogicImpl();
         logic.startBarcode(msg, getHumanReadableMsg());
-        for (int i = 0; i < encodedMsg.length; i++) {
+        for (int i = 0; i < encodedLength; i++) {
             c128.encodeChar(logic, encodedMsg[i]);
         }
 
         //Calculate checksum
         int checksum = encodedMsg[0];
-        for (int i = 1; i < encodedMsg.length; i++) {
+        for (int i = 1; i < encodedLength; i++) {
             checksum += i * encodedMsg[i];
         }
         checksum = checksum % 103;
@@ -118,6 +162,7 @@ public class EAN128LogicImpl {
         c128.encodeStop(logic);
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "ean-128", start);
     }
 
 
@@ -173,8 +218,8 @@ public class EAN128LogicImpl {
         if (!omitBrackets) {
             humanReadableMsg.append('(');
         }
-        humanReadableMsg.append(msg.substring(offset, offset + lenID));
-        code128Msg.append(msg.substring(offset, offset + lenID)); //BUG fixed 15.08!!
+        humanReadableMsg.append(msg, offset, offset + lenID);
+        code128Msg.append(msg, offset, offset + lenID); //BUG fixed 15.08!!
         if (!omitBrackets) {
             humanReadableMsg.append(')');
         }
@@ -309,8 +354,8 @@ public class EAN128LogicImpl {
                 }
             }
         }
-        humanReadableMsg.append(msg.substring(start, end));
-        code128Msg.append(msg.substring(start, end));
+        humanReadableMsg.append(msg, start, end);
+        code128Msg.append(msg, start, end);
     }
 
     private IllegalArgumentException getException(String text) {
@@ -370,9 +415,20 @@ public class EAN128LogicImpl {
     }
 
     public final void setTemplate(String string) {
-        EAN128AI[] newTemplates;
+        final EAN128AI[] newTemplates = parseTemplate(string);
+        if (newTemplates != null) {
+            ais = newTemplates;
+        }
+    }
+
+    /**
+     * Parses a message template.
+     * @param string the template (see {@link EAN128Bean#setTemplate(String)})
+     * @return the AIs of the template or null if the template is empty
+     */
+    static EAN128AI[] parseTemplate(String string) {
         if (string == null || string.trim().length() == 0) {
-            return;
+            return null;
         }
         final StringTokenizer st = new StringTokenizer(string, "()", false);
         int count = st.countTokens();
@@ -380,11 +436,11 @@ public class EAN128LogicImpl {
             throw new IllegalArgumentException("Cannot parse template: \"" + string);
         }
         count /= 2;
-        newTemplates = new EAN128AI[count];
+        final EAN128AI[] newTemplates = new EAN128AI[count];
         for (int i = 0; i < count; i++) {
             newTemplates[i] = EAN128AI.parseSpec(st.nextToken(), st.nextToken());
         }
-        ais = newTemplates;
+        return newTemplates;
     }
 
     public char getCheckDigitMarker() {
@@ -395,6 +451,19 @@ public class EAN128LogicImpl {
         checkDigitMarker = c;
     }
 
+    /**
+     * Sets the way the codesets are selected for the message.
+     * @param codesetSelection the codeset selection algorithm
+     */
+    public void setCodesetSelection(CodesetSelection codesetSelection) {
+        if (codesetSelection == CodesetSelection.MINIMAL) {
+            encoder = new MinimalCode128Encoder();
+        } else {
+            encoder = new Code128Encoder();
+        }
+        msgCache = null;
+    }
+
     public boolean isOmitBrackets() {
         return omitBrackets;
     }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.code128;
+
+import java.util.Arrays;
+
+/**
+ * Encoder for Code128 barcode messages which selects the code sets so the message results in
+ * the smallest possible number of symbol characters.
+ * <p>
+ * The encoder runs a shortest path search over the message: for every character position it
+ * keeps the cheapest way to get there in each code set. Code set changes, shifts between A
+ * and B and digit pairs in code set C are the edges of the search. The number of symbol
+ * characters on the path is known before they are written, so the result is written backwards
+ * into the buffer without an intermediate array. The work arrays are kept between calls, so
+ * instances of this class are not thread-safe.
+ *
+ * @version 1.0
+ */
+public class MinimalCode128Encoder extends Code128Encoder {
+
+    //B first, so it's preferred over A if both result in the same length
+    private static final int B = 0;
+    private static final int A = 1;
+    private static final int C = 2;
+    private static final int STATES = 3;
+
+    private static final int[] START = {START_B, START_A, START_C};
+    /** The code set change characters (the same values in all code sets) */
+    private static final int[] CODE = {GOTO_B, GOTO_A, GOTO_C};
+
+    private static final byte VIA_START = 0;
+    private static final byte VIA_CODE = 1;
+    private static final byte VIA_CHAR = 2;
+    private static final byte VIA_SHIFT = 3;
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final boolean[] allowed = new boolean[STATES];
+
+    /** Number of symbol characters of the cheapest path to every position and code set */
+    private int[] cost = new int[0];
+    /** The preceding node on the cheapest path */
+    private int[] prev = new int[0];
+    /** The way the node was reached on the cheapest path (one of the VIA_* constants) */
+    private byte[] via = new byte[0];
+
+    /**
+     * Create a new encoder
+     * @param codeset the allowed codeset
+     */
+    public MinimalCode128Encoder(Code128Constants codeset) {
+        super(codeset);
+        allowed[A] = codeset.isAIncluded();
+        allowed[B] = codeset.isBIncluded();
+        allowed[C] = codeset.isCIncluded();
+    }
+
+    /**
+     * Default constructor allowing all codesets.
+     */
+    public MinimalCode128Encoder() {
+        this(Code128Constants.CODESET_ALL);
+    }
+
+    private static int node(int pos, int state) {
+        return pos * STATES + state;
+    }
+
+    private static int pos(int node) {
+        return node / STATES;
+    }
+
+    private static int state(int node) {
+        return node % STATES;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Returns the index of a character in code set A or -1 if it isn't part of it. */
+    private static int getValueA(char c) {
+        if (c < 32) {
+            return c + 64;
+        } else if (c < 96) {
+            return c - 32;
+        }
+        return getFunctionValue(c, FNC_4_A);
+    }
+
+    /** Returns the index of a character in code set B or -1 if it isn't part of it. */
+    private static int getValueB(char c) {
+        if (c >= 32 && c < 128) {
+            return c - 32;
+        }
+        return getFunctionValue(c, FNC_4);
+    }
+
+    private static int getFunctionValue(char c, int fnc4) {
+        switch (c) {
+        case Code128LogicImpl.FNC_1:
+            return FNC_1;
+        case Code128LogicImpl.FNC_2:
+            return FNC_2;
+        case Code128LogicImpl.FNC_3:
+            return FNC_3;
+        case Code128LogicImpl.FNC_4:
+            return fnc4;
+        default:
+            return -1;
+        }
+    }
+
+    private void relax(int from, int to, int add, byte how) {
+        final int c = cost[from] + add;
+        if (c < cost[to]) {
+            cost[to] = c;
+            prev[to] = from;
+            via[to] = how;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int encode(CharSequence message, int[] encoded) {
+        checkBuffer(message.length(), encoded);
+        final int len = message.length();
+        if (len == 0) {
+            return 0;
+        }
+        final int nodes = (len + 1) * STATES;
+        if (cost.length < nodes) {
+            cost = new int[nodes];
+            prev = new int[nodes];
+            via = new byte[nodes];
+        }
+        Arrays.fill(cost, 0, nodes, UNREACHED);
+
+        for (int s = 0; s < STATES; s++) {
+            if (allowed[s]) {
+                cost[s] = 1;
+                prev[s] = -1;
+                via[s] = VIA_START;
+            }
+        }
+        for (int i = 0; i < len; i++) {
+            changeCodeset(i);
+            encodeChar(message, i);
+        }
+
+        int last = -1;
+        for (int s = 0; s < STATES; s++) {
+            final int n = node(len, s);
+            if (cost[n] != UNREACHED && (last < 0 || cost[n] < cost[last])) {
+                last = n;
+            }
+        }
+        if (last < 0) {
+            throw createException(message);
+        }
+        return writeCodewords(message, last, encoded);
+    }
+
+    private void changeCodeset(int i) {
+        for (int s = 0; s < STATES; s++) {
+            final int from = node(i, s);
+            if (cost[from] == UNREACHED) {
+                continue;
+            }
+            for (int t = 0; t < STATES; t++) {
+                if (t != s && allowed[t]) {
+                    relax(from, node(i, t), 1, VIA_CODE);
+                }
+            }
+        }
+    }
+
+    private void encodeChar(CharSequence message, int i) {
+        final char c = message.charAt(i);
+        final int valueA = allowed[A] ? getValueA(c) : -1;
+        final int valueB = allowed[B] ? getValueB(c) : -1;
+        final int fromA = node(i, A);
+        if (cost[fromA] != UNREACHED) {
+            if (valueA >= 0) {
+                relax(fromA, node(i + 1, A), 1, VIA_CHAR);
+            } else if (valueB >= 0) {
+                relax(fromA, node(i + 1, A), 2, VIA_SHIFT);
+            }
+        }
+        final int fromB = node(i, B);
+        if (cost[fromB] != UNREACHED) {
+            if (valueB >= 0) {
+                relax(fromB, node(i + 1, B), 1, VIA_CHAR);
+            } else if (valueA >= 0) {
+                relax(fromB, node(i + 1, B), 2, VIA_SHIFT);
+            }
+        }
+        final int fromC = node(i, C);
+        if (cost[fromC] != UNREACHED) {
+            if (c == Code128LogicImpl.FNC_1) {
+                relax(fromC, node(i + 1, C), 1, VIA_CHAR);
+            } else if (isDigit(c) && i + 1 < message.length()
+                    && isDigit(message.charAt(i + 1))) {
+                relax(fromC, node(i + 2, C), 1, VIA_CHAR);
+            }
+        }
+    }
+
+    private int writeCodewords(CharSequence message, int last, int[] encoded) {
+        final int count = cost[last];
+        int idx = count;
+        for (int n = last; n >= 0; n = prev[n]) {
+            final int state = state(n);
+            final int end = pos(n);
+            if (via[n] == VIA_START) {
+                encoded[--idx] = START[state];
+            } else if (via[n] == VIA_CODE) {
+                encoded[--idx] = CODE[state];
+            } else if (via[n] == VIA_SHIFT) {
+                final char c = message.charAt(end - 1);
+                encoded[--idx] = (state == A) ? getValueB(c) : getValueA(c);
+                encoded[--idx] = SHIFT;
+            } else if (state != C) {
+                final char c = message.charAt(end - 1);
+                encoded[--idx] = (state == A) ? getValueA(c) : getValueB(c);
+            } else if (end - pos(prev[n]) == 2) {
+                encoded[--idx] = Character.digit(message.charAt(end - 2), 10) * 10
+                        + Character.digit(message.charAt(end - 1), 10);
+            } else {
+                encoded[--idx] = FNC_1;
+            }
+        }
+        return count;
+    }
+
+    private IllegalArgumentException createException(CharSequence message) {
+        //The character after the last reachable position can't be encoded
+        int pos = message.length();
+        while (pos > 0 && cost[node(pos, A)] == UNREACHED && cost[node(pos, B)] == UNREACHED
+                && cost[node(pos, C)] == UNREACHED) {
+            pos--;
+        }
+        final char c = message.charAt(pos);
+        if (!Code128LogicImpl.isValidChar(c)) {
+            return new IllegalArgumentException("Illegal character: " + c);
+        } else if (isDigit(c) && !allowed[A] && !allowed[B]) {
+            return new IllegalArgumentException("The message has an odd number of digits."
+                    + " The number of digits must be even for Codeset C.");
+        } else if (getValueA(c) >= 0 && getValueB(c) < 0) {
+            return new IllegalArgumentException(
+                    "Invalid characters found for Code 128 Codeset A which is disabled.");
+        } else if (getValueB(c) >= 0 && getValueA(c) < 0) {
+            return new IllegalArgumentException(
+                    "Invalid characters found for Code 128 Codeset B which is disabled.");
+        } else {
+            return new IllegalArgumentException(
+                    "Invalid characters found for Code 128 Codeset A or B which are disabled.");
+        }
+    }
+}
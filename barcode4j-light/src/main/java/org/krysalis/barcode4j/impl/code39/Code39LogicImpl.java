@@ -16,8 +16,11 @@
 package org.krysalis.barcode4j.impl.code39;
 
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * This class is an implementation of the Code39 barcode.
@@ -298,12 +301,25 @@ public class Code39LogicImpl {
         }
     }
 
+    /**
+     * Creates the bar pattern for a message. The pattern contains the same bar groups and bars
+     * {@link #generateBarcodeLogic(ClassicBarcodeLogicHandler, String)} produces.
+     * @param msg the message to encode
+     * @return the bar pattern
+     */
+    public BarPattern createBarPattern(String msg) {
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        generateBarcodeLogic(builder, msg);
+        return builder.build();
+    }
+
     /**
      * Generates the barcode logic
      * @param logic the logic handler to receive generated events
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final StringBuilder sb = prepareMessage(msg);
 
         //Checksum handling as requested
@@ -343,5 +359,6 @@ public class Code39LogicImpl {
         logic.endBarGroup();
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "code39", start);
     }
 }
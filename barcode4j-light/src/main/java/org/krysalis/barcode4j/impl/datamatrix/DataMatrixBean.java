@@ -16,12 +16,11 @@
 package org.krysalis.barcode4j.impl.datamatrix;
 
 import java.awt.Dimension;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.ModuleMerging;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -31,7 +30,7 @@ import org.krysalis.barcode4j.tools.UnitConv;
 /**
  * This class is an implementation of DataMatrix (ISO 16022:2000(E)).
  *
- * @version 1.2
+ * @version 1.3
  */
 public class DataMatrixBean extends AbstractBarcodeBean {
 
@@ -47,6 +46,10 @@ public class DataMatrixBean extends AbstractBarcodeBean {
     private Dimension minSize;
     /** Optional: the maximum size of the symbol. */
     private Dimension maxSize;
+    /** The way the encodation modes are selected. */
+    private EncodationStrategy encodationStrategy = EncodationStrategy.LOOK_AHEAD;
+    /** The way dark modules are combined into rectangles. */
+    private ModuleMerging moduleMerging = ModuleMerging.NONE;
 
     /** Create a new instance. */
     public DataMatrixBean() {
@@ -107,33 +110,93 @@ public class DataMatrixBean extends AbstractBarcodeBean {
         return this.maxSize == null ? null : new Dimension(this.maxSize);
     }
 
-    @Override
-    public void generateBarcode(CanvasProvider canvas, String msg) {
+    /**
+     * Sets the way the high-level encoder selects the encodation modes. The default,
+     * {@link EncodationStrategy#LOOK_AHEAD}, is the algorithm from the specification.
+     * {@link EncodationStrategy#MINIMAL} produces the smallest number of codewords and thus
+     * possibly smaller symbols.
+     * @param encodationStrategy the encodation strategy
+     */
+    public void setEncodationStrategy(EncodationStrategy encodationStrategy) {
+        if (encodationStrategy == null) {
+            throw new NullPointerException("encodationStrategy must not be null");
+        }
+        this.encodationStrategy = encodationStrategy;
+    }
+
+    /**
+     * Returns the way the high-level encoder selects the encodation modes.
+     * @return the encodation strategy
+     */
+    public EncodationStrategy getEncodationStrategy() {
+        return this.encodationStrategy;
+    }
+
+    /**
+     * Sets the way dark modules are combined into rectangles before they are painted. The
+     * default, {@link ModuleMerging#NONE}, paints each dark module as a rectangle of its own;
+     * {@link ModuleMerging#ROWS} paints each horizontal run of dark modules as one rectangle.
+     * @param moduleMerging the module merging mode
+     */
+    public void setModuleMerging(ModuleMerging moduleMerging) {
+        if (moduleMerging == null) {
+            throw new NullPointerException("moduleMerging must not be null");
+        }
+        this.moduleMerging = moduleMerging;
+    }
+
+    /**
+     * Returns the way dark modules are combined into rectangles before they are painted.
+     * @return the module merging mode
+     */
+    public ModuleMerging getModuleMerging() {
+        return this.moduleMerging;
+    }
+
+    /**
+     * Encodes a message into a DataMatrix symbol using the current settings of this bean.
+     * The result can be passed to {@link #calcDimensions(DataMatrixSymbol)} and is used
+     * internally by {@link #generateBarcode(CanvasProvider, String)} so the message only needs
+     * to be encoded once.
+     * @param msg the message to encode
+     * @return the encoded symbol
+     */
+    public DataMatrixSymbol encode(String msg) {
         if ((msg == null)
                 || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
+        final DataMatrixLogicImpl impl = new DataMatrixLogicImpl();
+        return impl.encode(msg, getShape(), getMinSize(), getMaxSize(),
+                getEncodationStrategy());
+    }
 
-        final TwoDimBarcodeLogicHandler handler =
-                new DefaultTwoDimCanvasLogicHandler(this, new Canvas(canvas));
+    @Override
+    public void generateBarcode(CanvasProvider canvas, String msg) {
+        final DataMatrixSymbol symbol = encode(msg);
+
+        final DefaultTwoDimCanvasLogicHandler handler =
+                new DefaultTwoDimCanvasLogicHandler(this, new Canvas(canvas),
+                        calcDimensions(symbol));
+        handler.setModuleMerging(getModuleMerging());
 
         final DataMatrixLogicImpl impl = new DataMatrixLogicImpl();
-        impl.generateBarcodeLogic(handler, msg, getShape(), getMinSize(), getMaxSize());
+        impl.generateBarcodeLogic(handler, msg, symbol);
     }
 
     @Override
     public BarcodeDimension calcDimensions(String msg) {
-        String encoded;
-        try {
-            encoded = DataMatrixHighLevelEncoder.encodeHighLevel(msg,
-                    shape, getMinSize(), getMaxSize());
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Cannot fetch data: " + e.getLocalizedMessage());
-        }
-        final DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(encoded.length(), shape);
+        return calcDimensions(encode(msg));
+    }
 
-        final double symbolWidth = symbolInfo.getSymbolWidth() * getModuleWidth();
-        final double symbolHeight = symbolInfo.getSymbolHeight() * getBarHeight();
+    /**
+     * Calculates the dimensions of an already encoded symbol.
+     * @param symbol the encoded symbol
+     * @return the barcode dimensions
+     */
+    public BarcodeDimension calcDimensions(DataMatrixSymbol symbol) {
+        final double symbolWidth = symbol.getSymbolWidth() * getModuleWidth();
+        final double symbolHeight = symbol.getSymbolHeight() * getBarHeight();
         final double qzh = hasQuietZone() ? getQuietZone() : 0;
         final double qzv = hasQuietZone() ? getVerticalQuietZone() : 0;
         return new BarcodeDimension(symbolWidth, symbolHeight,
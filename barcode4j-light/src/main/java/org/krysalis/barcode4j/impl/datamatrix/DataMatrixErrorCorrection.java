@@ -16,34 +16,27 @@
 
 package org.krysalis.barcode4j.impl.datamatrix;
 
+import org.krysalis.barcode4j.impl.ecc.GaloisField;
+import org.krysalis.barcode4j.impl.ecc.ReedSolomonEncoder;
+
 /**
  * Error Correction Code for ECC200.
  * 
- * @version 1.2
+ * @version 1.4
  */
 public class DataMatrixErrorCorrection {
 
-    private static final int MODULO_VALUE = 0x12d;
+    /** Reed-Solomon encoders for the factor tables in {@link DataMatrixReedSolomonFactors} */
+    private static final ReedSolomonEncoder[] ENCODERS;
 
-    private static final int[] LOG;
-    private static final int[] ALOG;
-    
     static {
-        //Create log and antilog table
-        LOG = new int[256];
-        ALOG = new int[255];
-        
-        int p = 1;
-        for (int i = 0; i < 255; i++) {
-            ALOG[i] = p;
-            LOG[p] = i;
-            p <<= 1;
-            if (p >= 256) {
-                p ^= MODULO_VALUE;
-            }
+        ENCODERS = new ReedSolomonEncoder[DataMatrixReedSolomonFactors.getTableCount()];
+        for (int i = 0; i < ENCODERS.length; i++) {
+            ENCODERS[i] = new ReedSolomonEncoder(GaloisField.DATA_MATRIX_FIELD,
+                    DataMatrixReedSolomonFactors.getFactorTable(i));
         }
     }
-    
+
     /**
      * Creates the ECC200 error correction for an encoded message.
      * @param codewords the codewords
@@ -51,80 +44,63 @@ public class DataMatrixErrorCorrection {
      * @return the codewords with interleaved error correction.
      */
     public static String encodeECC200(String codewords, DataMatrixSymbolInfo symbolInfo) {
-        if (codewords.length() != symbolInfo.getDataCapacity()) {
+        final byte[] data = new byte[codewords.length()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)codewords.charAt(i);
+        }
+        final byte[] result = encodeECC200(data, symbolInfo);
+        final char[] chars = new char[result.length];
+        for (int i = 0; i < result.length; i++) {
+            chars[i] = (char)(result[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Creates the ECC200 error correction for an encoded message. If the array already has
+     * room for the error correction codewords (i.e. its length is the total codeword count
+     * of the symbol), they are written into it and no new array is allocated.
+     * @param codewords the data codewords (one byte per codeword), optionally followed by
+     *          room for the error correction codewords
+     * @param symbolInfo information about the symbol to be encoded
+     * @return the codewords with interleaved error correction.
+     */
+    public static byte[] encodeECC200(byte[] codewords, DataMatrixSymbolInfo symbolInfo) {
+        final int dataCapacity = symbolInfo.getDataCapacity();
+        final int total = symbolInfo.getCodewordCount();
+        final byte[] result;
+        if (codewords.length == total) {
+            result = codewords;
+        } else if (codewords.length == dataCapacity) {
+            result = new byte[total];
+            System.arraycopy(codewords, 0, result, 0, dataCapacity);
+        } else {
             throw new IllegalArgumentException(
                     "The number of codewords does not match the selected symbol");
         }
-        final StringBuilder sb = new StringBuilder(symbolInfo.getDataCapacity() + symbolInfo.getErrorCodewords());
-        sb.append(codewords);
         final int blockCount = symbolInfo.getInterleavedBlockCount();
-        if (blockCount == 1) {
-            final String ecc = createECCBlock(codewords, symbolInfo.getErrorCodewords());
-            sb.append(ecc);
-        } else {
-            sb.setLength(sb.capacity());
-            int[] dataSizes = new int[blockCount];
-            int[] errorSizes = new int[blockCount];
-            int[] startPos = new int[blockCount];
-            for (int i = 0; i < blockCount; i++) {
-                dataSizes[i] = symbolInfo.getDataLengthForInterleavedBlock(i + 1);
-                errorSizes[i] = symbolInfo.getErrorLengthForInterleavedBlock(i + 1);
-                startPos[i] = 0;
-                if (i > 0) {
-                    startPos[i] = startPos[i - 1] + dataSizes[i];
-                }
-            }
-            for (int block = 0; block < blockCount; block++) {
-                final StringBuilder temp = new StringBuilder(dataSizes[block]);
-                for (int d = block; d < symbolInfo.getDataCapacity(); d += blockCount) {
-                    temp.append(codewords.charAt(d));
-                }
-                final String ecc = createECCBlock(temp.toString(), errorSizes[block]);
-                int pos = 0;
-                for (int e = block; e < errorSizes[block] * blockCount; e += blockCount) {
-                    sb.setCharAt(symbolInfo.getDataCapacity() + e, ecc.charAt(pos++));
-                }
-            }
+        for (int block = 0; block < blockCount; block++) {
+            createECCBlock(result, block, blockCount, dataCapacity,
+                    symbolInfo.getErrorLengthForInterleavedBlock(block + 1));
         }
-        return sb.toString();
-        
+        return result;
     }
 
-    private static String createECCBlock(String codewords, int numECWords) {
-        return createECCBlock(codewords, 0, codewords.length(), numECWords);
-    }
-    
-    private static String createECCBlock(String codewords, int start, int len, int numECWords) {
+    /**
+     * Calculates the error correction codewords of one interleaved block. The block
+     * consists of every blockCount-th data codeword beginning at the block number, its
+     * error correction codewords are interleaved the same way after the data codewords.
+     */
+    private static void createECCBlock(byte[] codewords, int block, int blockCount,
+            int dataCapacity, int numECWords) {
         final int table = DataMatrixReedSolomonFactors.findEcTable(numECWords);
 
         if (table < 0) {
             throw new IllegalArgumentException(
                     "Illegal number of error correction codewords specified: " + numECWords);
         }
-        final int[] poly = DataMatrixReedSolomonFactors.getFactorTable(table);
-        char[] ecc = new char[numECWords];
-        for (int i = 0; i < numECWords; i++) {
-            ecc[i] = 0;
-        }
-        for (int i = start; i < start + len; i++) {
-            final int m = ecc[numECWords - 1] ^ codewords.charAt(i);
-            for (int k = numECWords - 1; k > 0; k--) {
-                if (m != 0 && poly[k] != 0) {
-                    ecc[k] = (char)(ecc[k - 1] ^ ALOG[(LOG[m] + LOG[poly[k]]) % 255]);
-                } else {
-                    ecc[k] = ecc[k - 1];
-                }
-            }
-            if (m != 0 && poly[0] != 0) {
-                ecc[0] = (char)(ALOG[(LOG[m] + LOG[poly[0]]) % 255]);
-            } else {
-                ecc[0] = 0;
-            }
-        }
-        char[] eccReversed = new char[numECWords];
-        for (int i = 0; i < numECWords; i++) {
-            eccReversed[i] = ecc[numECWords - i - 1]; 
-        }
-        return String.valueOf(eccReversed);
+        final int dataCount = (dataCapacity - block + blockCount - 1) / blockCount;
+        ENCODERS[table].encode(codewords, block, dataCount, blockCount,
+                codewords, dataCapacity + block, blockCount);
     }
 }
@@ -24,12 +24,13 @@ import org.krysalis.barcode4j.tools.URLUtil;
 import static org.krysalis.barcode4j.impl.datamatrix.DataMatrixConstants.*;
 import org.krysalis.barcode4j.impl.datamatrix.encoder.Encodation;
 import org.krysalis.barcode4j.impl.datamatrix.encoder.EncoderContext;
+import org.krysalis.barcode4j.impl.datamatrix.encoder.MinimalEncoder;
 
 /**
  * DataMatrix ECC 200 data encoder following the algorithm described in ISO/IEC
  * 16022:200(E) in annex S.
  *
- * @version 2.0
+ * @version 2.2
  */
 public class DataMatrixHighLevelEncoder {
 
@@ -70,7 +71,64 @@ public class DataMatrixHighLevelEncoder {
      */
     public static String encodeHighLevel(String msg,
             SymbolShapeHint shape, Dimension minSize, Dimension maxSize) throws IOException {
+        return encodeHighLevel(msg, shape, minSize, maxSize, EncodationStrategy.LOOK_AHEAD);
+    }
+
+    /**
+     * Performs message encoding of a DataMatrix message.
+     *
+     * @param msg the message
+     * @param shape requested shape. May be
+     * <code>SymbolShapeHint.FORCE_NONE</code>,
+     * <code>SymbolShapeHint.FORCE_SQUARE</code> or
+     * <code>SymbolShapeHint.FORCE_RECTANGLE</code>.
+     * @param minSize the minimum symbol size constraint or null for no
+     * constraint
+     * @param maxSize the maximum symbol size constraint or null for no
+     * constraint
+     * @param strategy the way the encodation modes are selected
+     * @return the encoded message (the char values range from 0 to 255)
+     * @throws IOException if an I/O error occurs while fetching external data
+     */
+    public static String encodeHighLevel(String msg,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize,
+            EncodationStrategy strategy) throws IOException {
         //the codewords 0..255 are encoded as Unicode characters
+        return encode(msg, shape, minSize, maxSize, strategy).getCodeword();
+    }
+
+    /**
+     * Performs message encoding of a DataMatrix message. Unlike
+     * {@link #encodeHighLevel(String, SymbolShapeHint, Dimension, Dimension,
+     * EncodationStrategy)}, the codewords are returned as bytes.
+     *
+     * @param msg the message
+     * @param shape requested shape. May be
+     * <code>SymbolShapeHint.FORCE_NONE</code>,
+     * <code>SymbolShapeHint.FORCE_SQUARE</code> or
+     * <code>SymbolShapeHint.FORCE_RECTANGLE</code>.
+     * @param minSize the minimum symbol size constraint or null for no
+     * constraint
+     * @param maxSize the maximum symbol size constraint or null for no
+     * constraint
+     * @param strategy the way the encodation modes are selected
+     * @return the data codewords including the padding (one byte per codeword), the length
+     *          is the data capacity of the smallest matching symbol
+     * @throws IOException if an I/O error occurs while fetching external data
+     */
+    public static byte[] encodeHighLevelBytes(String msg,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize,
+            EncodationStrategy strategy) throws IOException {
+        return encode(msg, shape, minSize, maxSize, strategy).getCodewords();
+    }
+
+    /**
+     * Performs message encoding of a DataMatrix message and returns the encoder context
+     * holding the data codewords (including the padding) and the selected symbol.
+     */
+    static EncoderContext encode(String msg,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize,
+            EncodationStrategy strategy) throws IOException {
         Encodation encodingMode = Encodation.ASCII_ENCODATION; //Default mode
         final EncoderContext context = createEncoderContext(msg);
         context.setSymbolShape(shape);
@@ -86,11 +144,15 @@ public class DataMatrixHighLevelEncoder {
             context.incPos(MACRO_06_HEADER.length());
         }
 
-        while (context.hasMoreCharacters()) {
-            context.encode(encodingMode);
-            if (context.getNewEncoding() != null) {
-                encodingMode = context.getNewEncoding();
-                context.resetEncoderSignal();
+        if (strategy == EncodationStrategy.MINIMAL) {
+            MinimalEncoder.encode(context); //ends in ASCII mode
+        } else {
+            while (context.hasMoreCharacters()) {
+                context.encode(encodingMode);
+                if (context.getNewEncoding() != null) {
+                    encodingMode = context.getNewEncoding();
+                    context.resetEncoderSignal();
+                }
             }
         }
         final int len = context.getCodewordCount();
@@ -109,7 +171,7 @@ public class DataMatrixHighLevelEncoder {
             context.writeCodeword(randomize253State(DataMatrixConstants.PAD, context.getCodewordCount() + 1));
         }
 
-        return context.getCodeword();
+        return context;
     }
 
     private static char randomize253State(char ch, int codewordPosition) {
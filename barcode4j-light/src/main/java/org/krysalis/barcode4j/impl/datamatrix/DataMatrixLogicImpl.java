@@ -21,86 +21,161 @@ import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.krysalis.barcode4j.BitMatrix;
+import org.krysalis.barcode4j.MatrixBarcodeLogicHandler;
 import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.datamatrix.encoder.EncoderContext;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * Top-level class for the logic part of the DataMatrix implementation.
  *
- * @version 1.2
+ * @version 1.5
  */
 public class DataMatrixLogicImpl {
+
+    private static final String METRICS_SOURCE = "datamatrix";
     private static final Logger LOGGER = Logger.getLogger(DataMatrixLogicImpl.class.getName());
 
     /**
-     * Generates the barcode logic.
-     * @param logic the logic handler to receive generated events
+     * Encodes a message into a DataMatrix symbol, i.e. performs the high-level encodation,
+     * selects the symbol size and generates the error correction codewords.
      * @param msg the message to encode
      * @param shape the symbol shape constraint
      * @param minSize the minimum symbol size constraint or null for no constraint
      * @param maxSize the maximum symbol size constraint or null for no constraint
+     * @return the encoded symbol
      */
-    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, String msg,
+    public DataMatrixSymbol encode(String msg,
             SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        return encode(msg, shape, minSize, maxSize, EncodationStrategy.LOOK_AHEAD);
+    }
 
+    /**
+     * Encodes a message into a DataMatrix symbol, i.e. performs the high-level encodation,
+     * selects the symbol size and generates the error correction codewords.
+     * @param msg the message to encode
+     * @param shape the symbol shape constraint
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     * @param strategy the way the encodation modes are selected
+     * @return the encoded symbol
+     */
+    public DataMatrixSymbol encode(String msg,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize,
+            EncodationStrategy strategy) {
         //ECC 200
         //1. step: Data encodation
-        String encoded;
+        long start = Metrics.start();
+        final EncoderContext context;
         try {
-            encoded = DataMatrixHighLevelEncoder.encodeHighLevel(msg, shape, minSize, maxSize);
+            context = DataMatrixHighLevelEncoder.encode(msg, shape, minSize, maxSize, strategy);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot fetch data", e);
         }
+        Metrics.stop(Stage.HIGH_LEVEL_ENCODING, METRICS_SOURCE, start);
 
-        final DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(encoded.length(),
-                shape, minSize, maxSize, true);
+        final DataMatrixSymbolInfo symbolInfo = context.getSymbolInfo();
         LOGGER.log(Level.FINE, symbolInfo.toString());
 
-        //2. step: ECC generation
-        final String codewords = DataMatrixErrorCorrection.encodeECC200(
-                encoded, symbolInfo);
+        //2. step: ECC generation (the data codewords are followed by room for the ECC)
+        start = Metrics.start();
+        final byte[] codewords = DataMatrixErrorCorrection.encodeECC200(
+                context.getCodewords(symbolInfo.getCodewordCount()), symbolInfo);
+        Metrics.stop(Stage.ERROR_CORRECTION, METRICS_SOURCE, start);
+        return new DataMatrixSymbol(codewords, symbolInfo);
+    }
+
+    /**
+     * Generates the barcode logic.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message to encode
+     * @param shape the symbol shape constraint
+     * @param minSize the minimum symbol size constraint or null for no constraint
+     * @param maxSize the maximum symbol size constraint or null for no constraint
+     */
+    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, String msg,
+            SymbolShapeHint shape, Dimension minSize, Dimension maxSize) {
+        generateBarcodeLogic(logic, msg, encode(msg, shape, minSize, maxSize));
+    }
 
-        //3. step: Module placement in Matrix
-        final DefaultDataMatrixPlacement placement = new DefaultDataMatrixPlacement(
-                    codewords,
-                    symbolInfo.getSymbolDataWidth(), symbolInfo.getSymbolDataHeight());
-        placement.place();
+    /**
+     * Generates the barcode logic for a message that has already been encoded.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message that has been encoded
+     * @param symbol the encoded symbol
+     */
+    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, String msg,
+            DataMatrixSymbol symbol) {
+        final BitMatrix matrix = createMatrix(symbol);
 
         //4. step: low-level encoding
+        final long start = Metrics.start();
         logic.startBarcode(msg, msg);
-        encodeLowLevel(logic, placement, symbolInfo);
+        if (logic instanceof MatrixBarcodeLogicHandler
+                && ((MatrixBarcodeLogicHandler)logic).isMatrixSupported()) {
+            ((MatrixBarcodeLogicHandler)logic).addMatrix(matrix);
+        } else {
+            matrix.writeModules(logic);
+        }
         logic.endBarcode();
+        Metrics.stop(Stage.DRAWING, METRICS_SOURCE, start);
     }
 
-    private void encodeLowLevel(TwoDimBarcodeLogicHandler logic,
-            DataMatrixPlacement placement, DataMatrixSymbolInfo symbolInfo) {
+    /**
+     * Creates the module matrix (including the finder and alignment patterns) for an encoded
+     * symbol.
+     * @param symbol the encoded symbol
+     * @return the module matrix
+     */
+    public BitMatrix createMatrix(DataMatrixSymbol symbol) {
+        final long start = Metrics.start();
+        final DataMatrixSymbolInfo symbolInfo = symbol.getSymbolInfo();
+
+        //3. step: Module placement in Matrix (the placement only depends on the symbol size)
+        final DataMatrixPlacementMap placement = DataMatrixPlacementMap.getInstance(symbolInfo);
+        final byte[] codewords = symbol.getCodewordBuffer();
+
+        final BitMatrix.Builder builder = new BitMatrix.Builder(
+                symbolInfo.getSymbolWidth(), symbolInfo.getSymbolHeight());
         final int symbolWidth = symbolInfo.getSymbolDataWidth();
         final int symbolHeight = symbolInfo.getSymbolDataHeight();
+        final int matrixWidth = symbolInfo.getMatrixWidth();
+        final int matrixHeight = symbolInfo.getMatrixHeight();
+        int row = 0;
         for (int y = 0; y < symbolHeight; y++) {
-            if ((y % symbolInfo.getMatrixHeight()) == 0) {
-                logic.startRow();
-                for (int x = 0; x < symbolInfo.getSymbolWidth(); x++) {
-                    logic.addBar((x % 2) == 0, 1);
+            if ((y % matrixHeight) == 0) {
+                //top finder edge (alternating)
+                for (int x = 0; x < symbolInfo.getSymbolWidth(); x += 2) {
+                    builder.set(x, row, true);
                 }
-                logic.endRow();
+                row++;
             }
-            logic.startRow();
+            int col = 0;
             for (int x = 0; x < symbolWidth; x++) {
-                if ((x % symbolInfo.getMatrixWidth()) == 0) {
-                    logic.addBar(true, 1); //left finder edge
+                if ((x % matrixWidth) == 0) {
+                    builder.set(col, row, true); //left finder edge
+                    col++;
                 }
-                logic.addBar(placement.getBit(x, y), 1);
-                if ((x % symbolInfo.getMatrixWidth()) == symbolInfo.getMatrixWidth() - 1) {
-                    logic.addBar((y % 2) == 0, 1); //right finder edge
+                builder.set(col, row, placement.getBit(codewords, x, y));
+                col++;
+                if ((x % matrixWidth) == matrixWidth - 1) {
+                    builder.set(col, row, (y % 2) == 0); //right finder edge
+                    col++;
                 }
             }
-            logic.endRow();
-            if ((y % symbolInfo.getMatrixHeight()) == symbolInfo.getMatrixHeight() - 1) {
-                logic.startRow();
+            row++;
+            if ((y % matrixHeight) == matrixHeight - 1) {
+                //bottom finder edge (solid)
                 for (int x = 0; x < symbolInfo.getSymbolWidth(); x++) {
-                    logic.addBar(true, 1);
+                    builder.set(x, row, true);
                 }
-                logic.endRow();
+                row++;
             }
         }
+        final BitMatrix matrix = builder.build();
+        Metrics.stop(Stage.MODULE_PLACEMENT, METRICS_SOURCE, start);
+        return matrix;
     }
 }
@@ -20,7 +20,7 @@ package org.krysalis.barcode4j.impl.datamatrix;
  *
  * Adapted from Annex M.1 in ISO/IEC 16022:2000(E).
  *
- * @version 1.2
+ * @version 1.3
  */
 public abstract class DataMatrixPlacement {
 
@@ -102,9 +102,20 @@ public abstract class DataMatrixPlacement {
             c += numcols;
             r += 4 - ((numcols + 4) % 8);
         }
+        setModule(c, r, pos, bit);
+    }
+
+    /**
+     * Sets the module at the given position to a bit of a codeword.
+     * @param col the column
+     * @param row the row
+     * @param pos the codeword position
+     * @param bit the bit number within the codeword (1 being the most significant bit)
+     */
+    protected void setModule(int col, int row, int pos, int bit) {
         int v = (int) codewords.charAt(pos);
         v &= 1 << (8 - bit);
-        setBit(c, r, v != 0);
+        setBit(col, row, v != 0);
     }
 
     /**
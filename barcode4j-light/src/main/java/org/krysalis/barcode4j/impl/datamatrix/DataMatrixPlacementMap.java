@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.datamatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Precomputed result of the symbol character placement for one symbol size. The placement
+ * only depends on the size of the data area, so the "utah" walk of {@link DataMatrixPlacement}
+ * is only run once per size and its result is kept in an immutable table which maps every
+ * module to the codeword bit it shows.
+ *
+ * @version 1.1
+ */
+final class DataMatrixPlacementMap {
+
+    /** Marker for a module which is always light (unused modules in the corner) */
+    private static final int FIXED_OFF = -1;
+    /** Marker for a module which is always dark (fixed pattern in the corner) */
+    private static final int FIXED_ON = -2;
+
+    private static final ConcurrentMap<Integer, DataMatrixPlacementMap> CACHE
+            = new ConcurrentHashMap<Integer, DataMatrixPlacementMap>();
+
+    private final int numcols;
+    private final int numrows;
+    /** Per module (row by row): codeword position * 8 + bit shift, or one of the markers */
+    private final int[] modules;
+
+    private DataMatrixPlacementMap(int numcols, int numrows) {
+        this.numcols = numcols;
+        this.numrows = numrows;
+        final Recorder recorder = new Recorder(numcols, numrows);
+        recorder.place();
+        this.modules = recorder.modules;
+    }
+
+    /**
+     * Returns the placement map for a data area size. The maps are created on first use and
+     * shared afterwards.
+     * @param numcols the number of columns of the data area (without the finder patterns)
+     * @param numrows the number of rows of the data area (without the finder patterns)
+     * @return the placement map
+     */
+    static DataMatrixPlacementMap getInstance(int numcols, int numrows) {
+        final Integer key = Integer.valueOf((numcols << 16) | numrows);
+        DataMatrixPlacementMap map = CACHE.get(key);
+        if (map == null) {
+            map = new DataMatrixPlacementMap(numcols, numrows);
+            final DataMatrixPlacementMap existing = CACHE.putIfAbsent(key, map);
+            if (existing != null) {
+                map = existing;
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the placement map for a symbol.
+     * @param symbolInfo the symbol info
+     * @return the placement map
+     */
+    static DataMatrixPlacementMap getInstance(DataMatrixSymbolInfo symbolInfo) {
+        return getInstance(symbolInfo.getSymbolDataWidth(), symbolInfo.getSymbolDataHeight());
+    }
+
+    /**
+     * Returns the value of a module in the data area.
+     * @param codewords the codewords (data and error correction, one byte per codeword)
+     * @param col the column
+     * @param row the row
+     * @return true if the module is dark
+     */
+    boolean getBit(byte[] codewords, int col, int row) {
+        final int index = modules[row * numcols + col];
+        if (index >= 0) {
+            return ((codewords[index >>> 3] >> (index & 7)) & 1) != 0;
+        } else {
+            return index == FIXED_ON;
+        }
+    }
+
+    /** Runs the placement algorithm and records the source of every module. */
+    private static class Recorder extends DataMatrixPlacement {
+
+        private static final int UNSET = Integer.MIN_VALUE;
+
+        private final int[] modules;
+
+        Recorder(int numcols, int numrows) {
+            super(null, numcols, numrows);
+            this.modules = new int[numcols * numrows];
+            Arrays.fill(this.modules, UNSET);
+        }
+
+        @Override
+        public void place() {
+            super.place();
+            for (int i = 0; i < modules.length; i++) {
+                if (modules[i] == UNSET) {
+                    modules[i] = FIXED_OFF;
+                }
+            }
+        }
+
+        @Override
+        protected void setModule(int col, int row, int pos, int bit) {
+            modules[row * numcols + col] = (pos << 3) | (8 - bit);
+        }
+
+        @Override
+        protected void setBit(int col, int row, boolean bit) {
+            modules[row * numcols + col] = (bit ? FIXED_ON : FIXED_OFF);
+        }
+
+        @Override
+        protected boolean getBit(int col, int row) {
+            return modules[row * numcols + col] == FIXED_ON;
+        }
+
+        @Override
+        protected boolean hasBit(int col, int row) {
+            return modules[row * numcols + col] != UNSET;
+        }
+    }
+}
@@ -21,7 +21,7 @@ import java.util.Arrays;
 /**
  * Precomputed factor tables for all the different variants in ECC200. 
  *
- * @version 1.1
+ * @version 1.2
  */
 class DataMatrixReedSolomonFactors {
 
@@ -105,6 +105,10 @@ class DataMatrixReedSolomonFactors {
         return -1;
     }
     
+    static int getTableCount() {
+        return FACTOR_SETS.length;
+    }
+
     static int[] getFactorTable(int table) {
         final int[] res = FACTORS[table];
         return Arrays.copyOf(res, res.length);
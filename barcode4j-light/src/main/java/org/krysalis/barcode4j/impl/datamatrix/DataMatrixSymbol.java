@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.datamatrix;
+
+/**
+ * Represents a message that has been fully encoded as a DataMatrix symbol, i.e. the
+ * high-level encodation and the error correction have been performed and the symbol size
+ * has been chosen. Instances are immutable and are produced once per message by
+ * {@link DataMatrixLogicImpl#encode(String, SymbolShapeHint, java.awt.Dimension,
+ * java.awt.Dimension)} so the barcode bean and the logic handlers don't have to encode the
+ * message more than once.
+ *
+ * @version 1.1
+ */
+public class DataMatrixSymbol {
+
+    private final byte[] codewords;
+    private final DataMatrixSymbolInfo symbolInfo;
+
+    /**
+     * Creates a new encoded symbol.
+     * @param codewords the data and error correction codewords (the char values range from
+     *          0 to 255)
+     * @param symbolInfo the selected symbol size
+     */
+    public DataMatrixSymbol(String codewords, DataMatrixSymbolInfo symbolInfo) {
+        this(toBytes(codewords), symbolInfo);
+    }
+
+    /**
+     * Creates a new encoded symbol. The array is not copied, so it must not be modified
+     * afterwards.
+     * @param codewords the data and error correction codewords (one byte per codeword)
+     * @param symbolInfo the selected symbol size
+     */
+    public DataMatrixSymbol(byte[] codewords, DataMatrixSymbolInfo symbolInfo) {
+        if (codewords == null || symbolInfo == null) {
+            throw new NullPointerException("codewords and symbolInfo must not be null");
+        }
+        this.codewords = codewords;
+        this.symbolInfo = symbolInfo;
+    }
+
+    private static byte[] toBytes(String codewords) {
+        if (codewords == null) {
+            return null;
+        }
+        final byte[] bytes = new byte[codewords.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)codewords.charAt(i);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the data and error correction codewords.
+     * @return the codewords (the char values range from 0 to 255)
+     */
+    public String getCodewords() {
+        final char[] chars = new char[codewords.length];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char)(codewords[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns a copy of the data and error correction codewords.
+     * @return the codewords (one byte per codeword)
+     */
+    public byte[] getCodewordBytes() {
+        return codewords.clone();
+    }
+
+    /** @return the codewords without copying them (must not be modified) */
+    byte[] getCodewordBuffer() {
+        return codewords;
+    }
+
+    /**
+     * Returns the number of data and error correction codewords.
+     * @return the number of codewords
+     */
+    public int getCodewordCount() {
+        return codewords.length;
+    }
+
+    /**
+     * Returns a single codeword.
+     * @param index the index of the codeword
+     * @return the codeword (0..255)
+     */
+    public int getCodeword(int index) {
+        return codewords[index] & 0xff;
+    }
+
+    /**
+     * Returns the selected symbol size.
+     * @return the symbol info
+     */
+    public DataMatrixSymbolInfo getSymbolInfo() {
+        return this.symbolInfo;
+    }
+
+    /** @return the width of the symbol in modules (excluding the quiet zone) */
+    public int getSymbolWidth() {
+        return this.symbolInfo.getSymbolWidth();
+    }
+
+    /** @return the height of the symbol in modules (excluding the quiet zone) */
+    public int getSymbolHeight() {
+        return this.symbolInfo.getSymbolHeight();
+    }
+
+    @Override
+    public String toString() {
+        return "DataMatrixSymbol: " + this.symbolInfo + ", " + this.codewords.length
+                + " codewords";
+    }
+}
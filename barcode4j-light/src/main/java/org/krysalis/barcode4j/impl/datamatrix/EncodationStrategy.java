@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.datamatrix;
+
+/**
+ * Enumeration for the way the DataMatrix high-level encoder selects the encodation modes
+ * (ASCII, C40, Text, X12, EDIFACT, Base 256) for the message.
+ *
+ * @version 1.0
+ */
+public enum EncodationStrategy {
+
+    /**
+     * The look-ahead test described in annex P of ISO/IEC 16022:2000(E). It decides on the
+     * next mode at every mode boundary using estimated character counts.
+     */
+    LOOK_AHEAD("look-ahead"),
+    /**
+     * Determines the mode sequence resulting in the smallest number of codewords. The
+     * message is processed once, so encoding time grows linearly with the message length.
+     */
+    MINIMAL("minimal");
+
+    private final String name;
+
+    /**
+     * Creates a new EncodationStrategy instance.
+     *
+     * @param name the name for the instance
+     */
+    private EncodationStrategy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the instance.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns an EncodationStrategy instance by name.
+     *
+     * @param name the name of the instance
+     * @return the requested instance
+     */
+    public static EncodationStrategy byName(String name) {
+        for (final EncodationStrategy ref : EncodationStrategy.values()) {
+            if (ref.name.equalsIgnoreCase(name)) {
+                return ref;
+            }
+        }
+        throw new IllegalArgumentException("Invalid EncodationStrategy: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
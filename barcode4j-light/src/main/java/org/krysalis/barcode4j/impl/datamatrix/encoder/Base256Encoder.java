@@ -28,12 +28,8 @@ class Base256Encoder implements Encoder {
 
     @Override
     public void encode(EncoderContext context) {
-        final StringBuilder buffer = new StringBuilder();
-        buffer.append('\0'); //Initialize length field
+        final int fieldStart = context.getPos();
         while (context.hasMoreCharacters()) {
-            final char c = context.getCurrentChar();
-            buffer.append(c);
-
             context.incPos();
 
             final Encodation newMode = LookAhead.lookAheadTest(context.getMessage(), context.getPos(), getEncodingMode());
@@ -42,29 +38,35 @@ class Base256Encoder implements Encoder {
                 break;
             }
         }
-        final int dataCount = buffer.length() - 1;
+        final int dataCount = context.getPos() - fieldStart;
         final int lengthFieldSize = 1;
         final int currentSize = context.getCodewordCount() + dataCount + lengthFieldSize;
         context.updateSymbolInfo(currentSize);
         final boolean mustPad = (context.getSymbolInfo().getDataCapacity() - currentSize) > 0;
         if (context.hasMoreCharacters() || mustPad) {
             if (dataCount <= 249) {
-                buffer.setCharAt(0, (char) dataCount);
+                writeCodeword(context, (char) dataCount);
             } else if (dataCount > 249 && dataCount <= 1555) {
-                buffer.setCharAt(0, (char) ((dataCount / 250) + 249));
-                buffer.insert(1, (char) (dataCount % 250));
+                writeCodeword(context, (char) ((dataCount / 250) + 249));
+                writeCodeword(context, (char) (dataCount % 250));
             } else {
                 throw new IllegalStateException(
                         "Message length not in valid ranges: " + dataCount);
             }
+        } else {
+            writeCodeword(context, '\0'); //Field extends to the end of the symbol
         }
-        for (int i = 0; i < buffer.length(); i++) {
-            context.writeCodeword(randomize255State(
-                    buffer.charAt(i), context.getCodewordCount() + 1));
+        final String msg = context.getMessage();
+        for (int i = fieldStart; i < fieldStart + dataCount; i++) {
+            writeCodeword(context, msg.charAt(i));
         }
     }
 
-    private static char randomize255State(char ch, int codewordPosition) {
+    private static void writeCodeword(EncoderContext context, char ch) {
+        context.writeCodeword(randomize255State(ch, context.getCodewordCount() + 1));
+    }
+
+    static char randomize255State(char ch, int codewordPosition) {
         final int pseudoRandom = ((149 * codewordPosition) % 255) + 1;
         final int tempVariable = ch + pseudoRandom;
         if (tempVariable <= 255) {
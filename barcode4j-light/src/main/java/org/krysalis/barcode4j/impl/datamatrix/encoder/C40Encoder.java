@@ -91,7 +91,7 @@ class C40Encoder implements Encoder {
     }
 
     protected void writeNextTriplet(EncoderContext context, StringBuilder buffer) {
-        context.writeCodewords(encodeToCodewords(buffer, 0));
+        writeCodewords(context, buffer, 0);
         buffer.delete(0, 3);
     }
 
@@ -165,14 +165,20 @@ class C40Encoder implements Encoder {
         return res;
     }
 
-    protected String encodeToCodewords(StringBuilder sb, int startPos) {
+    /**
+     * Packs a triplet of C40 values into two codewords and writes them.
+     *
+     * @param context the encoder context
+     * @param sb the buffer with the C40 values
+     * @param startPos the position of the triplet in the buffer
+     */
+    protected void writeCodewords(EncoderContext context, StringBuilder sb, int startPos) {
         final char c1 = sb.charAt(startPos);
         final char c2 = sb.charAt(startPos + 1);
         final char c3 = sb.charAt(startPos + 2);
         final int v = (1600 * c1) + (40 * c2) + c3 + 1;
-        final char cw1 = (char) (v / 256);
-        final char cw2 = (char) (v % 256);
-        return String.valueOf(cw1) + cw2;
+        context.writeCodeword(v / 256);
+        context.writeCodeword(v % 256);
     }
 
     protected int append(StringBuilder sb, char... chars) {
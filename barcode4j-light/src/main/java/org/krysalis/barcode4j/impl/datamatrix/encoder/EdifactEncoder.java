@@ -37,7 +37,7 @@ public class EdifactEncoder implements Encoder {
 
             final int count = buffer.length();
             if (count >= 4) {
-                context.writeCodewords(encodeToCodewords(buffer, 0));
+                writeCodewords(context, buffer, 0);
                 buffer.delete(0, 4);
 
                 final Encodation newMode = LookAhead.lookAheadTest(context.getMessage(), context.getPos(), getEncodingMode());
@@ -76,7 +76,7 @@ public class EdifactEncoder implements Encoder {
                 throw new IllegalStateException("Count must not exceed 4");
             }
             final int restChars = count - 1;
-            final String encoded = encodeToCodewords(buffer, 0);
+            final int encodedLength = getCodewordCount(count);
             final boolean endOfSymbolReached = !context.hasMoreCharacters();
             boolean restInAscii = endOfSymbolReached && restChars <= 2;
 
@@ -86,7 +86,7 @@ public class EdifactEncoder implements Encoder {
                 available = context.getSymbolInfo().getDataCapacity() - context.getCodewordCount();
                 if (available >= 3) {
                     restInAscii = false;
-                    context.updateSymbolInfo(context.getCodewordCount() + encoded.length());
+                    context.updateSymbolInfo(context.getCodewordCount() + encodedLength);
                         // TODO why was this code introduced?
                     //available = context.symbolInfo.dataCapacity - context.getCodewordCount();
                 }
@@ -96,7 +96,7 @@ public class EdifactEncoder implements Encoder {
                 context.resetSymbolInfo();
                 context.incPos(-restChars);
             } else {
-                context.writeCodewords(encoded);
+                writeCodewords(context, buffer, 0);
             }
         } finally {
             context.signalEncoderChange(Encodation.ASCII_ENCODATION);
@@ -113,7 +113,24 @@ public class EdifactEncoder implements Encoder {
         }
     }
 
-    protected String encodeToCodewords(StringBuilder sb, int startPos) {
+    /**
+     * Returns the number of codewords needed for up to four EDIFACT values.
+     *
+     * @param count the number of values
+     * @return the number of codewords
+     */
+    protected static int getCodewordCount(int count) {
+        return Math.min(count, 3);
+    }
+
+    /**
+     * Packs up to four EDIFACT values into up to three codewords and writes them.
+     *
+     * @param context the encoder context
+     * @param sb the buffer with the EDIFACT values
+     * @param startPos the position of the first value in the buffer
+     */
+    protected void writeCodewords(EncoderContext context, StringBuilder sb, int startPos) {
         final int len = sb.length() - startPos;
         if (len == 0) {
             throw new IllegalStateException("StringBuilder must not be empty");
@@ -124,17 +141,12 @@ public class EdifactEncoder implements Encoder {
         final char c4 = len >= 4 ? sb.charAt(startPos + 3) : 0;
 
         final int v = (c1 << 18) + (c2 << 12) + (c3 << 6) + c4;
-        final char cw1 = (char) ((v >> 16) & 255);
-        final char cw2 = (char) ((v >> 8) & 255);
-        final char cw3 = (char) (v & 255);
-        final StringBuilder res = new StringBuilder(3);
-        res.append(cw1);
+        context.writeCodeword((v >> 16) & 255);
         if (len >= 2) {
-            res.append(cw2);
+            context.writeCodeword((v >> 8) & 255);
         }
         if (len >= 3) {
-            res.append(cw3);
+            context.writeCodeword(v & 255);
         }
-        return res.toString();
     }
 }
@@ -34,7 +34,8 @@ public class EncoderContext {
     private SymbolShapeHint shape = SymbolShapeHint.FORCE_NONE;
     private Dimension minSize;
     private Dimension maxSize;
-    private final StringBuilder codewords;
+    private byte[] codewords;
+    private int codewordCount = 0;
     private int pos = 0;
     private Encodation newEncoding = null;
     private DataMatrixSymbolInfo symbolInfo;
@@ -53,7 +54,7 @@ public class EncoderContext {
             sb.append(ch);
         }
         this.msg = sb.toString(); //Not Unicode here!
-        this.codewords = new StringBuilder(msg.length());
+        this.codewords = new byte[Math.max(msg.length(), 8)];
         initializeEncoders();
     }
 
@@ -116,15 +117,30 @@ public class EncoderContext {
     }
 
     public void writeCodewords(String codewords) {
-        this.codewords.append(codewords);
+        for (int i = 0; i < codewords.length(); i++) {
+            writeCodeword(codewords.charAt(i));
+        }
     }
 
     public void writeCodeword(char codeword) {
-        this.codewords.append(codeword);
+        writeCodeword((int)codeword);
+    }
+
+    /**
+     * Appends a codeword.
+     * @param codeword the codeword (0..255)
+     */
+    public void writeCodeword(int codeword) {
+        if (codewordCount == codewords.length) {
+            final byte[] larger = new byte[codewords.length * 2];
+            System.arraycopy(codewords, 0, larger, 0, codewordCount);
+            codewords = larger;
+        }
+        codewords[codewordCount++] = (byte)codeword;
     }
 
     public int getCodewordCount() {
-        return this.codewords.length();
+        return this.codewordCount;
     }
 
     public void signalEncoderChange(Encodation encoding) {
@@ -157,6 +173,17 @@ public class EncoderContext {
         }
     }
 
+    /**
+     * Looks up the smallest symbol matching the shape and size constraints which can hold the
+     * given number of codewords. Unlike {@link #updateSymbolInfo(int)}, the current symbol
+     * info isn't changed.
+     * @param len the number of data codewords
+     * @return the symbol info or null if no symbol is large enough
+     */
+    public DataMatrixSymbolInfo findSymbolInfo(int len) {
+        return DataMatrixSymbolInfo.lookup(len, shape, minSize, maxSize, false);
+    }
+
     public void resetSymbolInfo() {
         this.symbolInfo = null;
     }
@@ -174,7 +201,36 @@ public class EncoderContext {
     }
 
     public String getCodeword() {
-        return codewords.toString();
+        final char[] chars = new char[codewordCount];
+        for (int i = 0; i < codewordCount; i++) {
+            chars[i] = (char)(codewords[i] & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns a copy of the codewords written so far.
+     * @return the codewords (one byte per codeword)
+     */
+    public byte[] getCodewords() {
+        return getCodewords(codewordCount);
+    }
+
+    /**
+     * Returns the codewords written so far at the beginning of a new array of the given
+     * length. The remaining bytes can be used by the caller, for example for the error
+     * correction codewords.
+     * @param length the length of the array (at least the number of codewords)
+     * @return the codewords (one byte per codeword)
+     */
+    public byte[] getCodewords(int length) {
+        if (length < codewordCount) {
+            throw new IllegalArgumentException("The array must hold at least "
+                    + codewordCount + " codewords");
+        }
+        final byte[] result = new byte[length];
+        System.arraycopy(codewords, 0, result, 0, codewordCount);
+        return result;
     }
 
     public void encode(Encodation enc) {
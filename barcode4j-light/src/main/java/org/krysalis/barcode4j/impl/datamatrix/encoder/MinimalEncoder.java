@@ -0,0 +1,495 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.datamatrix.encoder;
+
+import static org.krysalis.barcode4j.impl.datamatrix.DataMatrixConstants.*;
+
+import java.util.Arrays;
+
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixSymbolInfo;
+import org.krysalis.barcode4j.tools.CheckUtil;
+
+/**
+ * High-level encoder which selects the encodation modes so the message results in the
+ * smallest possible number of codewords.
+ * <p>
+ * The encoder runs a shortest path search over the message: for every character position it
+ * keeps the cheapest way to get there in each encodation mode. C40, Text and X12 pack three
+ * values into two codewords and EDIFACT four values into three codewords, so these modes have
+ * one state per position inside the group (mode switches are only possible at group
+ * boundaries). Every position is visited once, so the run time is linear in the message
+ * length. The end-of-data rules (omitted unlatches, trailing ASCII characters) depend on the
+ * symbol size and are evaluated for all final states afterwards.
+ *
+ * @version 1.0
+ */
+public final class MinimalEncoder {
+
+    private static final int ASCII = 0;
+    /** C40 state with 0, 1 or 2 values waiting for the rest of the triplet */
+    private static final int C40 = 1;
+    /** Text state with 0, 1 or 2 values waiting for the rest of the triplet */
+    private static final int TEXT = 4;
+    /** X12 state with 0, 1 or 2 values waiting for the rest of the triplet */
+    private static final int X12 = 7;
+    /** EDIFACT state with 0 to 3 values waiting for the rest of the group */
+    private static final int EDIFACT = 10;
+    private static final int BASE256 = 14;
+    private static final int STATES = 15;
+    private static final int[] TRIPLET_MODES = {C40, TEXT, X12};
+    private static final int[] ASCII_REST_STATES = {C40, TEXT, X12, EDIFACT};
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final char EDIFACT_UNLATCH = 31;
+    /** The Base 256 length field needs a second byte for longer fields */
+    private static final int BASE256_SHORT_LENGTH = 250;
+
+    /** The last state is the end of the message */
+    private static final int END_PLAIN = 0;
+    /** The characters after the last state are encoded in ASCII without an unlatch */
+    private static final int END_ASCII_REST = 1;
+    /** The last Base 256 field extends to the end of the symbol (length field 0) */
+    private static final int END_BASE256_REST_OF_SYMBOL = 2;
+
+    private final EncoderContext context;
+    private final String msg;
+    private final int start;
+    private final int end;
+    /** The number of codewords written before the message (macro codewords) */
+    private final int base;
+
+    /** Cost (in codewords) of the cheapest path to every position and state */
+    private final int[] cost;
+    /** The preceding node on the cheapest path */
+    private final int[] prev;
+    /** Base 256: start position of the current field */
+    private final int[] base256Start;
+    /** Base 256: true if the field is long enough to need the two-byte length */
+    private final boolean[] base256Long;
+
+    private final C40Encoder c40Encoder = new C40Encoder();
+    private final TextEncoder textEncoder = new TextEncoder();
+    private final X12Encoder x12Encoder = new X12Encoder();
+    private final EdifactEncoder edifactEncoder = new EdifactEncoder();
+
+    private MinimalEncoder(EncoderContext context) {
+        this.context = context;
+        this.msg = context.getMessage();
+        this.start = context.getPos();
+        this.end = start + context.getRemainingCharacters();
+        this.base = context.getCodewordCount();
+        final int positions = end - start + 1;
+        this.cost = new int[positions * STATES];
+        Arrays.fill(this.cost, UNREACHED);
+        this.prev = new int[positions * STATES];
+        this.base256Start = new int[positions];
+        this.base256Long = new boolean[positions];
+    }
+
+    /**
+     * Encodes the remaining characters of the context with the minimal number of codewords.
+     * After this method returns, all characters are consumed and the encoder is in ASCII mode,
+     * i.e. the symbol only needs to be padded.
+     * @param context the encoder context
+     */
+    public static void encode(EncoderContext context) {
+        new MinimalEncoder(context).encode();
+    }
+
+    private int node(int pos, int state) {
+        return (pos - start) * STATES + state;
+    }
+
+    private int pos(int node) {
+        return start + node / STATES;
+    }
+
+    private static int state(int node) {
+        return node % STATES;
+    }
+
+    private void relax(int from, int to, int add) {
+        final int c = cost[from] + add;
+        if (c < cost[to]) {
+            cost[to] = c;
+            prev[to] = from;
+        }
+    }
+
+    private void encode() {
+        final int first = node(start, ASCII);
+        cost[first] = 0;
+        prev[first] = -1;
+        for (int i = start; i <= end; i++) {
+            switchModes(i);
+            if (i < end) {
+                encodeChar(i);
+            }
+        }
+        encodeCheapestPath();
+    }
+
+    /** Mode switches which don't consume characters: back to ASCII, then latch from ASCII. */
+    private void switchModes(int i) {
+        final int ascii = node(i, ASCII);
+        for (final int mode : TRIPLET_MODES) {
+            if (cost[node(i, mode)] != UNREACHED) {
+                relax(node(i, mode), ascii, 1);
+            }
+        }
+        for (int k = 0; k < 4; k++) {
+            if (cost[node(i, EDIFACT + k)] != UNREACHED) {
+                relax(node(i, EDIFACT + k), ascii, getEdifactLength(k + 1));
+            }
+        }
+        if (cost[node(i, BASE256)] != UNREACHED) {
+            relax(node(i, BASE256), ascii, 0);
+        }
+
+        if (cost[ascii] == UNREACHED) {
+            return;
+        }
+        relax(ascii, node(i, C40), 1);
+        relax(ascii, node(i, TEXT), 1);
+        relax(ascii, node(i, X12), 1);
+        relax(ascii, node(i, EDIFACT), 1);
+        //Latch and the (initially) one-byte length field
+        relaxBase256(ascii, node(i, BASE256), 2, i, false);
+    }
+
+    /** Transitions which consume the character at the given position. */
+    private void encodeChar(int i) {
+        final char c = msg.charAt(i);
+        int from = node(i, ASCII);
+        if (cost[from] != UNREACHED) {
+            if (i + 1 < end && CheckUtil.isDigit(c) && CheckUtil.isDigit(msg.charAt(i + 1))) {
+                relax(from, node(i + 2, ASCII), 1);
+            }
+            relax(from, node(i + 1, ASCII), CheckUtil.isExtendedASCII(c) ? 2 : 1);
+        }
+
+        encodeTriplets(i, C40, getC40ValueCount(c));
+        encodeTriplets(i, TEXT, getTextValueCount(c));
+        if (isNativeX12(c)) {
+            encodeTriplets(i, X12, 1);
+        }
+
+        if (LookAhead.isNativeEDIFACT(c)) {
+            for (int k = 0; k < 4; k++) {
+                from = node(i, EDIFACT + k);
+                if (cost[from] != UNREACHED) {
+                    relax(from, node(i + 1, EDIFACT + ((k + 1) % 4)), k == 3 ? 3 : 0);
+                }
+            }
+        }
+
+        from = node(i, BASE256);
+        if (cost[from] != UNREACHED) {
+            final int fieldStart = base256Start[i - start];
+            final boolean lengthened = (i + 1 - fieldStart) == BASE256_SHORT_LENGTH;
+            relaxBase256(from, node(i + 1, BASE256), lengthened ? 2 : 1,
+                    fieldStart, base256Long[i - start] || lengthened);
+        }
+    }
+
+    private void encodeTriplets(int i, int mode, int values) {
+        for (int k = 0; k < 3; k++) {
+            final int from = node(i, mode + k);
+            if (cost[from] != UNREACHED) {
+                final int total = k + values;
+                relax(from, node(i + 1, mode + (total % 3)), (total / 3) * 2);
+            }
+        }
+    }
+
+    /**
+     * Base 256 fields are compared by their cost first. A field that already pays for the
+     * two-byte length field wins a tie (it won't get more expensive later), then the shorter
+     * field (it takes longer to need the two-byte length).
+     */
+    private void relaxBase256(int from, int to, int add, int fieldStart, boolean longField) {
+        final int c = cost[from] + add;
+        final int p = pos(to) - start;
+        if (c < cost[to]
+                || (c == cost[to] && longField && !base256Long[p])
+                || (c == cost[to] && longField == base256Long[p] && fieldStart > base256Start[p])) {
+            cost[to] = c;
+            prev[to] = from;
+            base256Start[p] = fieldStart;
+            base256Long[p] = longField;
+        }
+    }
+
+    private static int getC40ValueCount(char c) {
+        if (c >= 128) {
+            return 2 + getC40ValueCount((char)(c - 128));
+        }
+        return LookAhead.isNativeC40(c) ? 1 : 2;
+    }
+
+    private static int getTextValueCount(char c) {
+        if (c >= 128) {
+            return 2 + getTextValueCount((char)(c - 128));
+        }
+        return LookAhead.isNativeText(c) ? 1 : 2;
+    }
+
+    /** The characters supported by X12Encoder. */
+    private static boolean isNativeX12(char c) {
+        return c == '\r' || c == '*' || c == '>' || c == ' '
+                || CheckUtil.isDigit(c) || CheckUtil.isUpperAtoZ(c);
+    }
+
+    /** The number of codewords for an incomplete EDIFACT group. */
+    private static int getEdifactLength(int values) {
+        return Math.min(3, (values * 6 + 7) / 8);
+    }
+
+    private int getASCIILength(int from) {
+        if (end - from == 2 && CheckUtil.isDigit(msg.charAt(from))
+                && CheckUtil.isDigit(msg.charAt(from + 1))) {
+            return 1;
+        }
+        int len = 0;
+        for (int i = from; i < end; i++) {
+            len += CheckUtil.isExtendedASCII(msg.charAt(i)) ? 2 : 1;
+        }
+        return len;
+    }
+
+    private int getCapacity(int codewords) {
+        final DataMatrixSymbolInfo symbolInfo = context.findSymbolInfo(base + codewords);
+        return symbolInfo != null ? symbolInfo.getDataCapacity() - base : -1;
+    }
+
+    /** Evaluates the end-of-data rules for all final states and encodes the best one. */
+    private void encodeCheapestPath() {
+        int bestNode = -1;
+        int bestEnd = END_PLAIN;
+        int bestLength = UNREACHED;
+        int bestCapacity = UNREACHED;
+        for (int state = 0; state < STATES; state++) {
+            final int n = node(end, state);
+            int len = cost[n];
+            if (len == UNREACHED) {
+                continue;
+            }
+            int endType = END_PLAIN;
+            if (state == C40 + 2 || state == TEXT + 2) {
+                len += 2; //Padded triplet
+            } else if (state == C40 + 1 || state == TEXT + 1
+                    || state == X12 + 1 || state == X12 + 2) {
+                continue; //Not allowed, the last characters are encoded in ASCII instead
+            } else if (state == EDIFACT && getCapacity(len) >= 0
+                    && getCapacity(len) - len <= 2) {
+                //No unlatch
+            } else if (state >= EDIFACT && state < BASE256) {
+                len += getEdifactLength(state - EDIFACT + 1);
+            } else if (state == BASE256 && base256Long[end - start]
+                    && getCapacity(len - 1) == len - 1) {
+                len--;
+                endType = END_BASE256_REST_OF_SYMBOL;
+            }
+            final int capacity = getCapacity(len);
+            if (capacity < 0) {
+                continue;
+            }
+            if (len < capacity && (state == C40 || state == C40 + 2 || state == TEXT
+                    || state == TEXT + 2 || state == X12)) {
+                len++; //Unlatch before padding
+            }
+            if (capacity < bestCapacity || (capacity == bestCapacity && len < bestLength)) {
+                bestNode = n;
+                bestEnd = endType;
+                bestLength = len;
+                bestCapacity = capacity;
+            }
+        }
+
+        //The last character(s) in ASCII without unlatch if they fill up the symbol
+        for (int rest = 1; rest <= 2 && end - rest >= start; rest++) {
+            for (final int state : ASCII_REST_STATES) {
+                final int n = node(end - rest, state);
+                if (cost[n] == UNREACHED || (rest == 2 && state != EDIFACT)) {
+                    continue;
+                }
+                final int len = cost[n] + getASCIILength(end - rest);
+                final int capacity = getCapacity(len);
+                if (capacity < 0) {
+                    continue;
+                }
+                //EDIFACT: up to two codewords, the others: a single codeword filling the symbol
+                if (state == EDIFACT ? capacity - cost[n] > 2
+                        : (len != capacity || len - cost[n] != 1)) {
+                    continue;
+                }
+                if (capacity < bestCapacity || (capacity == bestCapacity && len < bestLength)) {
+                    bestNode = n;
+                    bestEnd = END_ASCII_REST;
+                    bestLength = len;
+                    bestCapacity = capacity;
+                }
+            }
+        }
+
+        if (bestNode < 0) {
+            //Provoke the usual exception
+            context.updateSymbolInfo(base + cost[node(end, ASCII)]);
+            throw new IllegalStateException("No valid encodation found");
+        }
+        writeCodewords(bestNode, bestEnd);
+    }
+
+    private void writeCodewords(int last, int endType) {
+        int count = 0;
+        for (int n = last; n >= 0; n = prev[n]) {
+            count++;
+        }
+        final int[] path = new int[count];
+        for (int n = last, i = count - 1; n >= 0; n = prev[n], i--) {
+            path[i] = n;
+        }
+
+        final StringBuilder buffer = new StringBuilder();
+        for (int i = 1; i < count; i++) {
+            final int fromPos = pos(path[i - 1]);
+            final int fromState = state(path[i - 1]);
+            final int toPos = pos(path[i]);
+            final int toState = state(path[i]);
+            if (fromPos == toPos) {
+                if (toState == ASCII) {
+                    writeUnlatch(fromState, toPos, buffer);
+                } else {
+                    writeLatch(toState);
+                }
+            } else {
+                writeChars(toState, fromPos, toPos, buffer);
+            }
+        }
+
+        writeEnd(state(last), pos(last), endType, buffer);
+        context.incPos(end - start);
+    }
+
+    private void writeLatch(int state) {
+        if (state == C40) {
+            context.writeCodeword(LATCH_TO_C40);
+        } else if (state == TEXT) {
+            context.writeCodeword(LATCH_TO_TEXT);
+        } else if (state == X12) {
+            context.writeCodeword(LATCH_TO_ANSIX12);
+        } else if (state == EDIFACT) {
+            context.writeCodeword(LATCH_TO_EDIFACT);
+        } else {
+            context.writeCodeword(LATCH_TO_BASE256);
+        }
+    }
+
+    private void writeUnlatch(int state, int pos, StringBuilder buffer) {
+        if (state >= EDIFACT && state < BASE256) {
+            buffer.append(EDIFACT_UNLATCH);
+            edifactEncoder.writeCodewords(context, buffer, 0);
+            buffer.setLength(0);
+        } else if (state == BASE256) {
+            writeBase256(pos, false);
+        } else {
+            context.writeCodeword(C40_UNLATCH);
+        }
+    }
+
+    /** Handles "end of data", the unlatch is omitted if the symbol is (almost) full. */
+    private void writeEnd(int state, int pos, int endType, StringBuilder buffer) {
+        final int len = context.getCodewordCount() - base;
+        if (endType == END_ASCII_REST) {
+            writeChars(ASCII, pos, end, buffer);
+        } else if (endType == END_BASE256_REST_OF_SYMBOL) {
+            writeBase256(end, true);
+        } else if (state == EDIFACT) {
+            if (getCapacity(len) - len > 2) {
+                writeUnlatch(state, end, buffer);
+            }
+        } else if (state == C40 + 2 || state == TEXT + 2) {
+            buffer.append('\0'); //Shift 1
+            writeTriplets(buffer);
+            if (len + 2 < getCapacity(len + 2)) {
+                writeUnlatch(state, end, buffer);
+            }
+        } else if (state == C40 || state == TEXT || state == X12) {
+            if (len < getCapacity(len)) {
+                writeUnlatch(state, end, buffer);
+            }
+        } else if (state != ASCII) {
+            writeUnlatch(state, end, buffer);
+        }
+    }
+
+    private void writeChars(int state, int from, int to, StringBuilder buffer) {
+        if (state == ASCII) {
+            for (int i = from; i < to; i++) {
+                final char c = msg.charAt(i);
+                if (i + 1 < to && CheckUtil.isDigit(c) && CheckUtil.isDigit(msg.charAt(i + 1))
+                        && to - from == 2) {
+                    context.writeCodeword((char)((c - '0') * 10 + (msg.charAt(i + 1) - '0') + 130));
+                    i++;
+                } else if (CheckUtil.isExtendedASCII(c)) {
+                    context.writeCodeword(UPPER_SHIFT);
+                    context.writeCodeword((char)(c - 128 + 1));
+                } else {
+                    context.writeCodeword((char)(c + 1));
+                }
+            }
+        } else if (state >= EDIFACT && state < BASE256) {
+            edifactEncoder.encodeChar(msg.charAt(from), buffer);
+            if (buffer.length() == 4) {
+                edifactEncoder.writeCodewords(context, buffer, 0);
+                buffer.setLength(0);
+            }
+        } else if (state != BASE256) {
+            //Base 256 fields are written at their end when the length is known
+            final C40Encoder encoder = state >= X12 ? x12Encoder
+                    : (state >= TEXT ? textEncoder : c40Encoder);
+            encoder.encodeChar(msg.charAt(from), buffer);
+            writeTriplets(buffer);
+        }
+    }
+
+    private void writeTriplets(StringBuilder buffer) {
+        while (buffer.length() >= 3) {
+            c40Encoder.writeCodewords(context, buffer, 0);
+            buffer.delete(0, 3);
+        }
+    }
+
+    private void writeBase256(int pos, boolean restOfSymbol) {
+        final int fieldStart = base256Start[pos - start];
+        final int len = pos - fieldStart;
+        if (restOfSymbol) {
+            writeBase256Codeword((char)0);
+        } else if (len < BASE256_SHORT_LENGTH) {
+            writeBase256Codeword((char)len);
+        } else {
+            writeBase256Codeword((char)((len / 250) + 249));
+            writeBase256Codeword((char)(len % 250));
+        }
+        for (int i = fieldStart; i < pos; i++) {
+            writeBase256Codeword(msg.charAt(i));
+        }
+    }
+
+    private void writeBase256Codeword(char c) {
+        context.writeCodeword(Base256Encoder.randomize255State(c, context.getCodewordCount() + 1));
+    }
+}
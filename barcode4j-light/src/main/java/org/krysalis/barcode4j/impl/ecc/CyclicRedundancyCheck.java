@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.ecc;
+
+/**
+ * Table-driven cyclic redundancy check processing the data most significant bit first. The
+ * register is updated a whole byte at a time using a table with 256 entries. Instances are
+ * immutable and can be shared between threads.
+ *
+ * @version 1.0
+ */
+public final class CyclicRedundancyCheck {
+
+    /** The 11 bit frame check sequence of the USPS Intelligent Mail barcode */
+    public static final CyclicRedundancyCheck INTELLIGENT_MAIL
+            = new CyclicRedundancyCheck(11, 0x0F35);
+
+    private final int width;
+    private final int polynomial;
+    private final int mask;
+    private final int[] table = new int[256];
+
+    /**
+     * Creates a new CRC.
+     * @param width the number of bits of the CRC (8 to 31)
+     * @param polynomial the generator polynomial without the highest bit
+     */
+    public CyclicRedundancyCheck(int width, int polynomial) {
+        if (width < 8 || width > 31) {
+            throw new IllegalArgumentException("Unsupported CRC width: " + width);
+        }
+        this.width = width;
+        this.polynomial = polynomial;
+        this.mask = (1 << width) - 1;
+        for (int i = 0; i < 256; i++) {
+            table[i] = updateBits(0, i, 8);
+        }
+    }
+
+    /** @return the number of bits of the CRC */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Processes the low-order bits of a value one bit at a time.
+     * @param crc the current value of the register
+     * @param data the bits to process
+     * @param bitCount the number of bits to process (at most 8)
+     * @return the new value of the register
+     */
+    public int updateBits(int crc, int data, int bitCount) {
+        final int top = 1 << (width - 1);
+        int bits = data << (width - bitCount);
+        for (int i = 0; i < bitCount; i++) {
+            if (((crc ^ bits) & top) != 0) {
+                crc = (crc << 1) ^ polynomial;
+            } else {
+                crc <<= 1;
+            }
+            bits <<= 1;
+        }
+        return crc & mask;
+    }
+
+    /**
+     * Processes whole bytes.
+     * @param crc the current value of the register
+     * @param data the data
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the new value of the register
+     */
+    public int update(int crc, byte[] data, int offset, int length) {
+        final int shift = width - 8;
+        for (int i = offset; i < offset + length; i++) {
+            crc = ((crc << 8) ^ table[((crc >>> shift) ^ data[i]) & 0xff]) & mask;
+        }
+        return crc;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.ecc;
+
+/**
+ * A finite field (Galois field) used by the Reed-Solomon codes. Multiplication is done
+ * through logarithm and antilogarithm tables which are laid out so the lookups need neither
+ * a modulo operation nor a test for zero: the logarithm of zero is mapped to an offset whose
+ * antilogarithms are all zero.
+ *
+ * @version 1.0
+ */
+public final class GaloisField {
+
+    /** GF(256) with the prime modulus polynomial 301 used by DataMatrix ECC 200 */
+    public static final GaloisField DATA_MATRIX_FIELD = new GaloisField(256, 0x12D, true);
+
+    /** GF(929) (integers modulo 929) with the generator 3 used by PDF417 */
+    public static final GaloisField PDF417_FIELD = new GaloisField(929, 3, false);
+
+    private final int size;
+    private final boolean binary;
+    /** Logarithms, the logarithm of 0 is twice the order of the multiplicative group */
+    final int[] log;
+    /** Antilogarithms, any sum of two logarithms can be looked up directly */
+    final int[] alog;
+
+    private GaloisField(int size, int modulus, boolean binary) {
+        this.size = size;
+        this.binary = binary;
+        final int order = size - 1;
+        this.log = new int[size];
+        //indexes 0..2*order-1 wrap around, all higher ones stand for a product with zero
+        this.alog = new int[4 * order + 1];
+        int p = 1;
+        for (int i = 0; i < order; i++) {
+            alog[i] = p;
+            alog[i + order] = p;
+            log[p] = i;
+            if (binary) {
+                p <<= 1;
+                if (p >= size) {
+                    p ^= modulus;
+                }
+            } else {
+                p = (p * modulus) % size;
+            }
+        }
+        log[0] = 2 * order;
+    }
+
+    /** @return the number of elements of the field */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Indicates whether the field has characteristic 2, i.e. addition and subtraction are
+     * both an exclusive or. Otherwise, the field is a prime field.
+     * @return true for a binary field
+     */
+    public boolean isBinary() {
+        return this.binary;
+    }
+
+    /**
+     * Multiplies two elements.
+     * @param a the first element
+     * @param b the second element
+     * @return the product
+     */
+    public int multiply(int a, int b) {
+        return alog[log[a] + log[b]];
+    }
+
+    /**
+     * Adds two elements.
+     * @param a the first element
+     * @param b the second element
+     * @return the sum
+     */
+    public int add(int a, int b) {
+        if (binary) {
+            return a ^ b;
+        }
+        final int sum = a + b - size;
+        return sum + ((sum >> 31) & size);
+    }
+
+    /**
+     * Subtracts two elements.
+     * @param a the minuend
+     * @param b the subtrahend
+     * @return the difference
+     */
+    public int subtract(int a, int b) {
+        if (binary) {
+            return a ^ b;
+        }
+        final int diff = a - b;
+        return diff + ((diff >> 31) & size);
+    }
+
+    @Override
+    public String toString() {
+        return "GF(" + size + ")";
+    }
+}
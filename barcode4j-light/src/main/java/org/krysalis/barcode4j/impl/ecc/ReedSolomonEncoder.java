@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.ecc;
+
+/**
+ * Systematic Reed-Solomon encoder for one generator polynomial. The encoder emulates the
+ * usual linear feedback shift register; the register is kept in the output array itself, so
+ * no memory is allocated while encoding. Instances are immutable and can be shared between
+ * threads.
+ *
+ * @version 1.0
+ */
+public final class ReedSolomonEncoder {
+
+    private final GaloisField field;
+    /** Logarithms of the generator polynomial coefficients (lowest degree first) */
+    private final int[] logGenerator;
+
+    /**
+     * Creates a new encoder.
+     * @param field the field the code is defined over
+     * @param generator the coefficients of the generator polynomial without the leading 1,
+     *          lowest degree first. The length of the array is the number of error correction
+     *          codewords.
+     */
+    public ReedSolomonEncoder(GaloisField field, int[] generator) {
+        if (generator.length == 0) {
+            throw new IllegalArgumentException("The generator polynomial must not be empty");
+        }
+        this.field = field;
+        this.logGenerator = new int[generator.length];
+        for (int i = 0; i < generator.length; i++) {
+            if (generator[i] < 0 || generator[i] >= field.getSize()) {
+                throw new IllegalArgumentException("Coefficient not in " + field + ": "
+                        + generator[i]);
+            }
+            this.logGenerator[i] = field.log[generator[i]];
+        }
+    }
+
+    /** @return the field the code is defined over */
+    public GaloisField getField() {
+        return this.field;
+    }
+
+    /** @return the number of error correction codewords generated */
+    public int getErrorCorrectionCodewordCount() {
+        return this.logGenerator.length;
+    }
+
+    /**
+     * Calculates the error correction codewords.
+     * @param data the array with the data codewords
+     * @param dataOffset the index of the first data codeword
+     * @param dataCount the number of data codewords
+     * @param dataStride the distance between two data codewords (1 for consecutive
+     *          codewords, the block count for interleaved blocks)
+     * @param ecc the array receiving the error correction codewords (may be the data array)
+     * @param eccOffset the index of the first error correction codeword
+     * @param eccStride the distance between two error correction codewords
+     */
+    public void encode(int[] data, int dataOffset, int dataCount, int dataStride,
+            int[] ecc, int eccOffset, int eccStride) {
+        final int[] log = field.log;
+        final int[] alog = field.alog;
+        final int[] gen = logGenerator;
+        final int n = gen.length;
+        final int last = eccOffset + (n - 1) * eccStride;
+        for (int e = eccOffset; e <= last; e += eccStride) {
+            ecc[e] = 0;
+        }
+        final int end = dataOffset + dataCount * dataStride;
+        if (field.isBinary()) {
+            for (int d = dataOffset; d < end; d += dataStride) {
+                final int feedback = log[data[d] ^ ecc[eccOffset]];
+                int e = eccOffset;
+                for (int j = n - 1; j > 0; j--) {
+                    ecc[e] = ecc[e + eccStride] ^ alog[feedback + gen[j]];
+                    e += eccStride;
+                }
+                ecc[e] = alog[feedback + gen[0]];
+            }
+        } else {
+            final int size = field.getSize();
+            for (int d = dataOffset; d < end; d += dataStride) {
+                int sum = data[d] + ecc[eccOffset] - size;
+                sum += (sum >> 31) & size;
+                final int feedback = log[sum];
+                int e = eccOffset;
+                for (int j = n - 1; j > 0; j--) {
+                    final int diff = ecc[e + eccStride] - alog[feedback + gen[j]];
+                    ecc[e] = diff + ((diff >> 31) & size);
+                    e += eccStride;
+                }
+                final int diff = -alog[feedback + gen[0]];
+                ecc[e] = diff + ((diff >> 31) & size);
+            }
+            //The register holds the negated remainder
+            for (int e = eccOffset; e <= last; e += eccStride) {
+                final int diff = -ecc[e];
+                ecc[e] = diff + ((diff >> 31) & size);
+            }
+        }
+    }
+
+    /**
+     * Calculates the error correction codewords for codewords stored in bytes. Only
+     * available for fields with 256 elements.
+     * @param data the array with the data codewords
+     * @param dataOffset the index of the first data codeword
+     * @param dataCount the number of data codewords
+     * @param dataStride the distance between two data codewords (1 for consecutive
+     *          codewords, the block count for interleaved blocks)
+     * @param ecc the array receiving the error correction codewords (may be the data array)
+     * @param eccOffset the index of the first error correction codeword
+     * @param eccStride the distance between two error correction codewords
+     */
+    public void encode(byte[] data, int dataOffset, int dataCount, int dataStride,
+            byte[] ecc, int eccOffset, int eccStride) {
+        if (!field.isBinary() || field.getSize() != 256) {
+            throw new IllegalStateException("Byte codewords are not supported in " + field);
+        }
+        final int[] log = field.log;
+        final int[] alog = field.alog;
+        final int[] gen = logGenerator;
+        final int n = gen.length;
+        final int last = eccOffset + (n - 1) * eccStride;
+        for (int e = eccOffset; e <= last; e += eccStride) {
+            ecc[e] = 0;
+        }
+        final int end = dataOffset + dataCount * dataStride;
+        for (int d = dataOffset; d < end; d += dataStride) {
+            final int feedback = log[(data[d] ^ ecc[eccOffset]) & 0xff];
+            int e = eccOffset;
+            for (int j = n - 1; j > 0; j--) {
+                ecc[e] = (byte)(ecc[e + eccStride] ^ alog[feedback + gen[j]]);
+                e += eccStride;
+            }
+            ecc[e] = (byte)alog[feedback + gen[0]];
+        }
+    }
+}
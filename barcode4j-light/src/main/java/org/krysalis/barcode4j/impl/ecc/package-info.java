@@ -0,0 +1,22 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * This package contains the error detection and correction codes shared by the
+ * symbologies: Reed-Solomon codes over GF(256) (DataMatrix) and GF(929) (PDF417) and the
+ * cyclic redundancy check of the USPS Intelligent Mail barcode.
+ */
+package org.krysalis.barcode4j.impl.ecc;
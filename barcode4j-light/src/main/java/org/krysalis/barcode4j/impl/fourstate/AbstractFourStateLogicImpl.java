@@ -18,6 +18,8 @@ package org.krysalis.barcode4j.impl.fourstate;
 import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * Provides a base class for "four-state" barcodes.
@@ -111,6 +113,7 @@ public abstract class AbstractFourStateLogicImpl {
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final String normalizedMsg = normalizeMessage(msg);
         final String[] encodedMsg = encodeHighLevel(normalizedMsg);
 
@@ -123,6 +126,7 @@ public abstract class AbstractFourStateLogicImpl {
         }
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "fourstate", start);
     }
 
 }
@@ -21,12 +21,14 @@ package org.krysalis.barcode4j.impl.fourstate;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
 import java.util.MissingResourceException;
 import java.util.StringTokenizer;
 
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.ecc.CyclicRedundancyCheck;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.tools.IOUtil;
 
 /**
@@ -159,7 +161,12 @@ public class USPSIntelligentMailLogicImpl extends AbstractFourStateLogicImpl {
         return 0; //Not used
     }
 
-    static BigInteger convertToBinary(String msg) {
+    /**
+     * Converts the message into the 102 bit binary data field.
+     * @param msg the message (20 digit tracking code followed by the routing code)
+     * @return the binary data as 13 byte big-endian value
+     */
+    static byte[] convertToBinary(String msg) {
         if (msg.length() < 20) {
             throw new IllegalArgumentException(
                     "Message is too short. It must have at least 20 digits");
@@ -168,107 +175,109 @@ public class USPSIntelligentMailLogicImpl extends AbstractFourStateLogicImpl {
             throw new IllegalArgumentException(
                     "Message must not be longer than 31 digits");
         }
-        final String routingCode = msg.substring(20);
-        final int routingLength = routingCode.length();
-        BigInteger routingBig;
+        final int routingLength = msg.length() - 20;
+        long routing;
         switch (routingLength) {
         case 0:
-            routingBig = BigInteger.ZERO;
+            routing = 0;
             break;
         case 5:
-            routingBig = new BigInteger(routingCode);
-            routingBig = routingBig.add(BigInteger.ONE);
+            routing = parseDigits(msg, 20, msg.length());
+            routing += 1L;
             break;
         case 9:
-            routingBig = new BigInteger(routingCode);
-            routingBig = routingBig.add(BigInteger.valueOf(100000L + 1L));
+            routing = parseDigits(msg, 20, msg.length());
+            routing += 100000L + 1L;
             break;
         case 11:
-            routingBig = new BigInteger(routingCode);
-            routingBig = routingBig.add(BigInteger.valueOf(1000000000L + 100000L + 1L));
+            routing = parseDigits(msg, 20, msg.length());
+            routing += 1000000000L + 100000L + 1L;
             break;
         default:
             throw new IllegalArgumentException(
                     "Invalid length for the routing code. Expected 0, 5, 9 or 11 but got "
                         + routingLength);
         }
-        BigInteger binary = routingBig; //Set the rightmost 37 bits
-
-        final BigInteger five = BigInteger.valueOf(5);
-        final BigInteger ten = BigInteger.valueOf(10);
-        final String trackingCode = msg.substring(0, 20);
+        final byte[] binary = new byte[13];
+        //Set the rightmost 37 bits
+        for (int i = binary.length - 1; routing != 0; i--) {
+            binary[i] = (byte)routing;
+            routing >>>= 8;
+        }
 
         //First tracking code digit
-        binary = binary.multiply(ten);
-        binary = binary.add(new BigInteger(trackingCode.substring(0, 1)));
+        multiplyAdd(binary, 10, toDigit(msg.charAt(0)));
 
         //Second tracking code digit
-        binary = binary.multiply(five);
-        binary = binary.add(new BigInteger(trackingCode.substring(1, 2)));
+        multiplyAdd(binary, 5, toDigit(msg.charAt(1)));
 
         //Remaining tracking code digits
         for (int i = 2; i < 20; i++) {
-            binary = binary.multiply(ten);
-            binary = binary.add(new BigInteger(trackingCode.substring(i, i + 1)));
+            multiplyAdd(binary, 10, toDigit(msg.charAt(i)));
         }
 
         return binary;
     }
 
-    static byte[] to13ByteArray(BigInteger binary) {
-        final byte[] result = new byte[13];
-        final byte[] bin = binary.toByteArray();
-        System.arraycopy(bin, 0, result, 13 - bin.length, bin.length);
-        return result;
+    private static long parseDigits(String msg, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + toDigit(msg.charAt(i));
+        }
+        return value;
+    }
+
+    private static int toDigit(char ch) {
+        final int digit = Character.digit(ch, 10);
+        if (digit < 0) {
+            throw new NumberFormatException("Not a digit: " + ch);
+        }
+        return digit;
+    }
+
+    /** binary = binary * factor + addend */
+    private static void multiplyAdd(byte[] binary, int factor, int addend) {
+        int carry = addend;
+        for (int i = binary.length - 1; i >= 0; i--) {
+            final int value = (binary[i] & 0xff) * factor + carry;
+            binary[i] = (byte)value;
+            carry = value >>> 8;
+        }
+    }
+
+    /** binary = binary / divisor, returns the remainder */
+    private static int divide(byte[] binary, int divisor) {
+        int remainder = 0;
+        for (int i = 0; i < binary.length; i++) {
+            final int value = (remainder << 8) | (binary[i] & 0xff);
+            binary[i] = (byte)(value / divisor);
+            remainder = value % divisor;
+        }
+        return remainder;
     }
 
-    private static final int GENERATOR_POLYNOMIAL = 0x0F35;
     private static final int ELEVEN_BITS = 0x07FF;
 
     static int calcFCS(byte[] binary) {
-        int frameCheckSequence = ELEVEN_BITS;
-        int data;
-        int startBit;
-
-        for (int byteIndex = 0; byteIndex < 13; byteIndex++) {
-            if (byteIndex == 0) {
-                //For the most significant byte skipping the 2 most significant bits
-                startBit = 2;
-                data = binary[0] << 5;
-            } else {
-                //For the rest of the bytes
-                startBit = 0;
-                data = binary[byteIndex] << 3;
-            }
-            for (int bit = startBit; bit < 8; bit++) {
-                if (((frameCheckSequence ^ data) & 0x400) != 0) {
-                    frameCheckSequence = (frameCheckSequence << 1) ^ GENERATOR_POLYNOMIAL;
-                } else {
-                    frameCheckSequence = (frameCheckSequence << 1);
-                }
-                frameCheckSequence &= ELEVEN_BITS;
-                data <<= 1;
-            }
-        }
-        return frameCheckSequence;
+        final CyclicRedundancyCheck crc = CyclicRedundancyCheck.INTELLIGENT_MAIL;
+        //For the most significant byte skipping the 2 most significant bits
+        final int frameCheckSequence = crc.updateBits(ELEVEN_BITS, binary[0] & 0x3F, 6);
+        return crc.update(frameCheckSequence, binary, 1, 12);
     }
 
-    static int[] convertToCodewords(BigInteger binary) {
-        int[] codewords = new int[10];
-        BigInteger[] quotRem;
+    static int[] convertToCodewords(byte[] binary) {
+        final int[] codewords = new int[10];
+        final byte[] quotient = binary.clone();
 
-        quotRem = binary.divideAndRemainder(BigInteger.valueOf(636));
-        codewords[9] = quotRem[1].intValue();
-        binary = quotRem[0];
+        codewords[9] = divide(quotient, 636);
 
-        final BigInteger const1365 = BigInteger.valueOf(1365);
         for (int i = 8; i >= 1; i--) {
-            quotRem = binary.divideAndRemainder(const1365);
-            codewords[i] = quotRem[1].intValue();
-            binary = quotRem[0];
+            codewords[i] = divide(quotient, 1365);
         }
 
-        codewords[0] = binary.intValue();
+        //The rest is codeword A (less than 659)
+        codewords[0] = ((quotient[quotient.length - 2] & 0xff) << 8)
+                | (quotient[quotient.length - 1] & 0xff);
 
         return codewords;
     }
@@ -331,8 +340,8 @@ public class USPSIntelligentMailLogicImpl extends AbstractFourStateLogicImpl {
 
     @Override
     protected String[] encodeHighLevel(String msg) {
-        final BigInteger binary = convertToBinary(msg);
-        final int fcs = calcFCS(to13ByteArray(binary));
+        final byte[] binary = convertToBinary(msg);
+        final int fcs = calcFCS(binary);
         final int[] codewords = convertToCodewords(binary);
         final int[] modified = modifyCodewords(codewords, fcs);
         final char[] chars = convertToCharacters(modified, fcs);
@@ -354,6 +363,7 @@ public class USPSIntelligentMailLogicImpl extends AbstractFourStateLogicImpl {
 
     @Override
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         //slightly specialized version of this method for USPS 4BC:
         //-> there's no direct correlation between the original msg chars and the effective chars
         final String normalizedMsg = normalizeMessage(msg);
@@ -370,5 +380,6 @@ public class USPSIntelligentMailLogicImpl extends AbstractFourStateLogicImpl {
         }
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "usps4cb", start);
     }
 }
@@ -16,8 +16,11 @@
 package org.krysalis.barcode4j.impl.int2of5;
 
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * This class is an implementation of the Interleaved 2 of 5 barcode.
@@ -184,12 +187,25 @@ public class Interleaved2Of5LogicImpl {
         }
     }
 
+    /**
+     * Creates the bar pattern for a message. The pattern contains the same bar groups and bars
+     * {@link #generateBarcodeLogic(ClassicBarcodeLogicHandler, String)} produces.
+     * @param msg the message to encode
+     * @return the bar pattern
+     */
+    public BarPattern createBarPattern(String msg) {
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        generateBarcodeLogic(builder, msg);
+        return builder.build();
+    }
+
     /**
      * Generates the barcode logic.
      * @param logic the logic handler to receive generated events
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         //Checksum handling as requested
         final StringBuilder sb = new StringBuilder(msg);
         final String formattedMsg = handleChecksum(sb);
@@ -224,5 +240,6 @@ public class Interleaved2Of5LogicImpl {
         logic.endBarGroup();
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "intl2of5", start);
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.pdf417;
+
+/**
+ * Enumeration for the way the PDF417 high-level encoder selects the compaction modes (Text,
+ * Byte, Numeric) for the message.
+ *
+ * @version 1.0
+ */
+public enum CompactionStrategy {
+
+    /**
+     * The mode selection described in annex P of ISO/IEC 15438:2001(E). It decides on the
+     * next mode by counting the consecutive digits and text characters ahead.
+     */
+    LOOK_AHEAD("look-ahead"),
+    /**
+     * Determines the mode sequence (including the sub-modes of Text Compaction) resulting in
+     * the smallest number of codewords. The message is processed once, so encoding time grows
+     * linearly with the message length.
+     */
+    MINIMAL("minimal");
+
+    private final String name;
+
+    /**
+     * Creates a new CompactionStrategy instance.
+     *
+     * @param name the name for the instance
+     */
+    private CompactionStrategy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the instance.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns an CompactionStrategy instance by name.
+     *
+     * @param name the name of the instance
+     * @return the requested instance
+     */
+    public static CompactionStrategy byName(String name) {
+        for (final CompactionStrategy ref : CompactionStrategy.values()) {
+            if (ref.name.equalsIgnoreCase(name)) {
+                return ref;
+            }
+        }
+        throw new IllegalArgumentException("Invalid CompactionStrategy: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
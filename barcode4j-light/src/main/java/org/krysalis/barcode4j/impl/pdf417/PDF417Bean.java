@@ -15,12 +15,11 @@
  */
 package org.krysalis.barcode4j.impl.pdf417;
 
-import java.awt.Dimension;
 import java.util.ArrayList;
 import java.util.Collection;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.ModuleMerging;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -31,7 +30,7 @@ import org.krysalis.barcode4j.tools.UnitConv;
 /**
  * This class is an implementation of the PDF417 barcode.
  *
- * @version 1.1
+ * @version 1.2
  */
 public class PDF417Bean extends AbstractBarcodeBean {
 
@@ -60,6 +59,10 @@ public class PDF417Bean extends AbstractBarcodeBean {
     /** Message encoding */
     private String encoding = "Cp437"; //ECI 000000
     private boolean enableECI = false;
+    /** The way the compaction modes are selected. */
+    private CompactionStrategy compactionStrategy = CompactionStrategy.LOOK_AHEAD;
+    /** The way dark modules are combined into rectangles. */
+    private ModuleMerging moduleMerging = ModuleMerging.NONE;
 
     /** Create a new instance. */
     public PDF417Bean() {
@@ -70,33 +73,45 @@ public class PDF417Bean extends AbstractBarcodeBean {
         setColumns(DEFAULT_COLUMN_COUNT);
     }
     
-    @Override
-    public void generateBarcode(CanvasProvider canvas, String msg) {
+    /**
+     * Encodes a message into a PDF417 symbol using the current settings of this bean.
+     * The result can be passed to {@link #calcDimensions(PDF417Symbol)} and is used
+     * internally by {@link #generateBarcode(CanvasProvider, String)} so the message only needs
+     * to be encoded once.
+     * @param msg the message to encode
+     * @return the encoded symbol
+     */
+    public PDF417Symbol encode(String msg) {
         if ((msg == null) || (msg.length() == 0)) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
+        return PDF417LogicImpl.encode(msg, this);
+    }
 
-        final TwoDimBarcodeLogicHandler handler = new DefaultTwoDimCanvasLogicHandler(
-                this, new Canvas(canvas));
+    @Override
+    public void generateBarcode(CanvasProvider canvas, String msg) {
+        final PDF417Symbol symbol = encode(msg);
 
-        PDF417LogicImpl.generateBarcodeLogic(handler, msg, this);
-    }
+        final DefaultTwoDimCanvasLogicHandler handler = new DefaultTwoDimCanvasLogicHandler(
+                this, new Canvas(canvas), calcDimensions(symbol));
+        handler.setModuleMerging(getModuleMerging());
 
+        PDF417LogicImpl.generateBarcodeLogic(handler, msg, symbol);
+    }
 
     @Override
     public BarcodeDimension calcDimensions(String msg) {
+        return calcDimensions(encode(msg));
+    }
 
-        final int sourceCodeWords = PDF417HighLevelEncoder.encodeHighLevel(msg,
-                getEncoding(), isECIEnabled()).length();
-        final Dimension dimension = PDF417LogicImpl.determineDimensions(this,
-                sourceCodeWords);
-
-        if (dimension == null) {
-            throw new IllegalArgumentException("Unable to fit message in columns");
-        }
-
-        final double width = (17 * dimension.width + 69) * getModuleWidth();
-        final double height = getBarHeight() * dimension.height;
+    /**
+     * Calculates the dimensions of an already encoded symbol.
+     * @param symbol the encoded symbol
+     * @return the barcode dimensions
+     */
+    public BarcodeDimension calcDimensions(PDF417Symbol symbol) {
+        final double width = symbol.getSymbolWidth() * getModuleWidth();
+        final double height = getBarHeight() * symbol.getRows();
         final double qzh = hasQuietZone() ? getQuietZone() : 0;
         final double qzv = hasQuietZone() ? getVerticalQuietZone() : 0;
         return new BarcodeDimension(width, height,
@@ -292,6 +307,49 @@ public class PDF417Bean extends AbstractBarcodeBean {
         this.enableECI = value;
     }
 
+    /**
+     * Sets the way the high-level encoder selects the compaction modes. The default,
+     * {@link CompactionStrategy#LOOK_AHEAD}, is the algorithm from the specification.
+     * {@link CompactionStrategy#MINIMAL} produces the smallest number of codewords and thus
+     * possibly fewer rows or columns. It requires a single-byte encoding.
+     * @param compactionStrategy the compaction strategy
+     */
+    public void setCompactionStrategy(CompactionStrategy compactionStrategy) {
+        if (compactionStrategy == null) {
+            throw new NullPointerException("compactionStrategy must not be null");
+        }
+        this.compactionStrategy = compactionStrategy;
+    }
+
+    /**
+     * Returns the way the high-level encoder selects the compaction modes.
+     * @return the compaction strategy
+     */
+    public CompactionStrategy getCompactionStrategy() {
+        return this.compactionStrategy;
+    }
+
+    /**
+     * Sets the way dark modules are combined into rectangles before they are painted. The
+     * default, {@link ModuleMerging#NONE}, paints each dark module as a rectangle of its own;
+     * {@link ModuleMerging#ROWS} paints each horizontal run of dark modules as one rectangle.
+     * @param moduleMerging the module merging mode
+     */
+    public void setModuleMerging(ModuleMerging moduleMerging) {
+        if (moduleMerging == null) {
+            throw new NullPointerException("moduleMerging must not be null");
+        }
+        this.moduleMerging = moduleMerging;
+    }
+
+    /**
+     * Returns the way dark modules are combined into rectangles before they are painted.
+     * @return the module merging mode
+     */
+    public ModuleMerging getModuleMerging() {
+        return this.moduleMerging;
+    }
+
     @Override
     public Collection<String> getAdditionalNames() {
         final Collection<String> res = new ArrayList<String>(0);
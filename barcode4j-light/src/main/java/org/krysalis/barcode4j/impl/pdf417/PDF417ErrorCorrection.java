@@ -16,17 +16,35 @@
 
 package org.krysalis.barcode4j.impl.pdf417;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import static org.krysalis.barcode4j.impl.pdf417.PDF417Constants.*;
+import org.krysalis.barcode4j.impl.ecc.GaloisField;
+import org.krysalis.barcode4j.impl.ecc.ReedSolomonEncoder;
 import org.krysalis.barcode4j.tools.CheckUtil;
 
 /**
  * PDF417 error correction code following the algorithm described in ISO/IEC 15438:2001(E) in
  * chapter 4.10.
  * 
- * @version 1.2
+ * @version 1.3
  */
 public class PDF417ErrorCorrection {
 
+    private static final Map<ErrorCorrectionLevel, ReedSolomonEncoder> ENCODERS
+            = new EnumMap<ErrorCorrectionLevel, ReedSolomonEncoder>(ErrorCorrectionLevel.class);
+
+    static {
+        for (final ErrorCorrectionLevel level : ErrorCorrectionLevel.values()) {
+            final int[] coefficients = new int[getErrorCorrectionCodewordCount(level)];
+            for (int j = 0; j < coefficients.length; j++) {
+                coefficients[j] = getEcCoefficient(level, j);
+            }
+            ENCODERS.put(level, new ReedSolomonEncoder(GaloisField.PDF417_FIELD, coefficients));
+        }
+    }
+
     private PDF417ErrorCorrection() {
         // hide public constructor
     }
@@ -70,30 +88,35 @@ public class PDF417ErrorCorrection {
      * @return the String representing the error correction codewords
      */
     public static String generateErrorCorrection(String dataCodewords, ErrorCorrectionLevel errorCorrectionLevel) {
-        final int k = getErrorCorrectionCodewordCount(errorCorrectionLevel);
-        char[] e = new char[k];
-        int t1;
-        int t2;
-        int t3;
-        for (int i = 0; i < dataCodewords.length(); i++) {
-            t1 = (dataCodewords.charAt(i) + e[e.length - 1]) % 929;
-            for (int j = k - 1; j >= 1; j--) {
-                t2 = (t1 * getEcCoefficient(errorCorrectionLevel, j)) % 929;
-                t3 = 929 - t2;
-                e[j] = (char)((e[j - 1] + t3) % 929);
-            }
-            t2 = (t1 * getEcCoefficient(errorCorrectionLevel, 0)) % 929;
-            t3 = 929 - t2;
-            e[0] = (char)(t3 % 929);
+        final int n = dataCodewords.length();
+        final int[] codewords = new int[n + getErrorCorrectionCodewordCount(errorCorrectionLevel)];
+        for (int i = 0; i < n; i++) {
+            codewords[i] = dataCodewords.charAt(i);
         }
-
-        final StringBuilder sb = new StringBuilder(k);
-        for (int j = k - 1; j >= 0; j--) {
-            if (e[j] != 0) {
-                e[j] = (char)(929 - e[j]);
-            }
-            sb.append(e[j]);
+        generateErrorCorrection(codewords, n, errorCorrectionLevel);
+        final StringBuilder sb = new StringBuilder(codewords.length - n);
+        for (int i = n; i < codewords.length; i++) {
+            sb.append((char)codewords[i]);
         }
         return sb.toString();
     }
+
+    /**
+     * Generates the error correction codewords according to 4.10 in ISO/IEC 15438:2001(E).
+     * The error correction codewords are written to the array directly after the data
+     * codewords.
+     * @param codewords the data codewords followed by room for the error correction
+     *          codewords
+     * @param dataCount the number of data codewords
+     * @param errorCorrectionLevel the error correction level (0-8)
+     */
+    public static void generateErrorCorrection(int[] codewords, int dataCount,
+            ErrorCorrectionLevel errorCorrectionLevel) {
+        final ReedSolomonEncoder encoder = ENCODERS.get(errorCorrectionLevel);
+        if (codewords.length < dataCount + encoder.getErrorCorrectionCodewordCount()) {
+            throw new IllegalArgumentException(
+                    "No room for the error correction codewords in the array");
+        }
+        encoder.encode(codewords, 0, dataCount, 1, codewords, dataCount, 1);
+    }
 }
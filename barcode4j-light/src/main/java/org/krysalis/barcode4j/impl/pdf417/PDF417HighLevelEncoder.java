@@ -18,7 +18,6 @@ package org.krysalis.barcode4j.impl.pdf417;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.math.BigInteger;
 import java.util.Arrays;
 
 import org.krysalis.barcode4j.tools.ECIUtil;
@@ -31,10 +30,14 @@ import org.krysalis.barcode4j.tools.CheckUtil;
  * PDF417 high-level encoder following the algorithm described in ISO/IEC 15438:2001(E) in
  * annex P.
  *
- * @version 1.1
+ * @version 1.3
  */
 public class PDF417HighLevelEncoder {
 
+    /** Number of decimal digits per limb in numeric compaction */
+    private static final int NUMERIC_LIMB_DIGITS = 9;
+    private static final long NUMERIC_LIMB_BASE = 1000000000L;
+
     private static final byte[] MIXED = new byte[128];
     private static final byte[] PUNCTUATION = new byte[128];
 
@@ -104,6 +107,19 @@ public class PDF417HighLevelEncoder {
      * @return the encoded message (the char values range from 0 to 928)
      */
     public static String encodeHighLevel(String msg, String encoding, boolean enableECI) {
+        return encodeHighLevel(msg, encoding, enableECI, CompactionStrategy.LOOK_AHEAD);
+    }
+
+    /**
+     * Performs high-level encoding of a PDF417 message.
+     * @param msg the message
+     * @param encoding the encoding used to convert characters to bytes for Byte Compaction
+     * @param enableECI true if an ECI sequence for the encoding shall be generated
+     * @param strategy the way the compaction modes are selected
+     * @return the encoded message (the char values range from 0 to 928)
+     */
+    public static String encodeHighLevel(String msg, String encoding, boolean enableECI,
+            CompactionStrategy strategy) {
         //the codewords 0..928 are encoded as Unicode characters
         final StringBuilder sb = new StringBuilder(msg.length());
 
@@ -128,6 +144,11 @@ public class PDF417HighLevelEncoder {
             return sb.toString();
         }
 
+        if (strategy == CompactionStrategy.MINIMAL) {
+            PDF417MinimalEncoder.encode(msg, getBytesForMessage(msg, encoding), sb);
+            return sb.toString();
+        }
+
         byte[] bytes = null; //Fill later and only if needed
 
 
@@ -350,28 +371,82 @@ public class PDF417HighLevelEncoder {
 
     public static void encodeNumeric(String msg, int startpos, int count, StringBuilder sb) {
         int idx = 0;
-        final StringBuilder tmp = new StringBuilder(count / 3 + 1);
-        final BigInteger num900 = BigInteger.valueOf(900);
-        final BigInteger num0 = BigInteger.valueOf(0);
-        while (idx < count - 1) {
-            tmp.setLength(0);
+        //A group of up to 44 digits plus the leading 1 fits into 5 limbs of 9 decimal digits
+        //(most significant first) and results in at most 16 codewords
+        final int[] limbs = new int[5];
+        final char[] tmp = new char[16];
+        while (idx < count) {
             final int len = Math.min(44, count - idx);
-            final String part = "1" + msg.substring(startpos + idx, startpos + idx + len);
-            BigInteger bigint = new BigInteger(part);
+            final int limbCount = (len + 1 + NUMERIC_LIMB_DIGITS - 1) / NUMERIC_LIMB_DIGITS;
+            int pos = startpos + idx;
+            int value = 1; //Leading 1, followed by the remaining digits of the first limb
+            int limbDigits = len - (limbCount - 1) * NUMERIC_LIMB_DIGITS;
+            for (int l = 0; l < limbCount; l++) {
+                for (; limbDigits > 0; limbDigits--) {
+                    value = value * 10 + toDigit(msg.charAt(pos++));
+                }
+                limbs[l] = value;
+                value = 0;
+                limbDigits = NUMERIC_LIMB_DIGITS;
+            }
+
+            //Repeated division by 900
+            int first = 0;
+            int n = 0;
             do {
-                final BigInteger c = bigint.mod(num900);
-                tmp.append((char)(c.intValue()));
-                bigint = bigint.divide(num900);
-            } while (!bigint.equals(num0));
-
-            //Reverse temporary string
-            for (int i = tmp.length() - 1; i >= 0; i--) {
-                sb.append(tmp.charAt(i));
+                long rem = 0;
+                for (int l = first; l < limbCount; l++) {
+                    final long cur = rem * NUMERIC_LIMB_BASE + limbs[l];
+                    limbs[l] = (int)(cur / 900);
+                    rem = cur % 900;
+                }
+                tmp[n++] = (char)rem;
+                while (first < limbCount && limbs[first] == 0) {
+                    first++;
+                }
+            } while (first < limbCount);
+
+            //Reverse temporary buffer
+            for (int i = n - 1; i >= 0; i--) {
+                sb.append(tmp[i]);
             }
             idx += len;
         }
     }
 
+    private static int toDigit(char ch) {
+        final int digit = Character.digit(ch, 10);
+        if (digit < 0) {
+            throw new NumberFormatException("Not a digit: " + ch);
+        }
+        return digit;
+    }
+
+    /**
+     * Returns the value of a character in one of the sub-modes of Text Compaction.
+     * @param ch the character
+     * @param submode the sub-mode (one of the SUBMODE_* constants)
+     * @return the value (0..28) or -1 if the sub-mode doesn't contain the character
+     */
+    static int getTextValue(char ch, int submode) {
+        switch (submode) {
+        case SUBMODE_ALPHA:
+            if (ch == ' ') {
+                return 26;
+            }
+            return (ch >= 'A' && ch <= 'Z') ? ch - 'A' : -1;
+        case SUBMODE_LOWER:
+            if (ch == ' ') {
+                return 26;
+            }
+            return (ch >= 'a' && ch <= 'z') ? ch - 'a' : -1;
+        case SUBMODE_MIXED:
+            return ch < 128 ? MIXED[ch] : -1;
+        default: //SUBMODE_PUNCTUATION
+            return ch < 128 ? PUNCTUATION[ch] : -1;
+        }
+    }
+
     private static boolean isAlphaUpper(char ch) {
         return ch == ' ' || (ch >= 'A' && ch <= 'Z');
     }
@@ -19,18 +19,24 @@ package org.krysalis.barcode4j.impl.pdf417;
 import java.awt.Dimension;
 
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BitMatrix;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.MatrixBarcodeLogicHandler;
 import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 import static org.krysalis.barcode4j.impl.pdf417.PDF417Constants.*;
 
 /**
  * Top-level class for the logic part of the PDF417 implementation.
  *
- * @version 1.3
+ * @version 1.6
  */
 public class PDF417LogicImpl {
 
+    private static final String METRICS_SOURCE = "pdf417";
+
     /**
      * Calculates the necessary number of rows as described in annex Q of ISO/IEC 15438:2001(E).
      * @param m the number of source codewords prior to the additional of the Symbol Length
@@ -128,6 +134,75 @@ public class PDF417LogicImpl {
         logic.addBar(last, width);
     }
 
+    private static int getLeftRowIndicator(int y, int c, int r,
+            ErrorCorrectionLevel errorCorrectionLevel) {
+        switch (y % 3) {
+        case 0:
+            return (30 * (y / 3)) + ((r - 1) / 3);
+        case 1:
+            return (30 * (y / 3)) + (errorCorrectionLevel.getLevel() * 3) + ((r - 1) % 3);
+        default:
+            return (30 * (y / 3)) + (c - 1);
+        }
+    }
+
+    private static int getRightRowIndicator(int y, int c, int r,
+            ErrorCorrectionLevel errorCorrectionLevel) {
+        switch (y % 3) {
+        case 0:
+            return (30 * (y / 3)) + (c - 1);
+        case 1:
+            return (30 * (y / 3)) + ((r - 1) / 3);
+        default:
+            return (30 * (y / 3)) + (errorCorrectionLevel.getLevel() * 3) + ((r - 1) % 3);
+        }
+    }
+
+    private static int setPattern(BitMatrix.Builder builder, int x, int y,
+            int pattern, int len) {
+        int map = 1 << len - 1;
+        for (int i = 0; i < len; i++) {
+            if ((pattern & map) != 0) {
+                builder.set(x + i, y, true);
+            }
+            map >>= 1;
+        }
+        return x + len;
+    }
+
+    /**
+     * Creates the module matrix for an encoded symbol. Each row of the matrix corresponds to
+     * one row of the symbol.
+     * @param symbol the encoded symbol
+     * @return the module matrix
+     */
+    public static BitMatrix createMatrix(PDF417Symbol symbol) {
+        final long start = Metrics.start();
+        final String fullCodewords = symbol.getCodewords();
+        final int c = symbol.getColumns();
+        final int r = symbol.getRows();
+        final ErrorCorrectionLevel errorCorrectionLevel = symbol.getErrorCorrectionLevel();
+        final BitMatrix.Builder builder = new BitMatrix.Builder(symbol.getSymbolWidth(), r);
+        int idx = 0;
+        for (int y = 0; y < r; y++) {
+            final int cluster = y % 3;
+            int x = setPattern(builder, 0, y, START_PATTERN, 17);
+            x = setPattern(builder, x, y, getCodeword(cluster,
+                    getLeftRowIndicator(y, c, r, errorCorrectionLevel)), 17);
+            for (int col = 0; col < c; col++) {
+                x = setPattern(builder, x, y,
+                        getCodeword(cluster, fullCodewords.charAt(idx)), 17);
+                idx++;
+            }
+            x = setPattern(builder, x, y, getCodeword(cluster,
+                    getRightRowIndicator(y, c, r, errorCorrectionLevel)), 17);
+            setPattern(builder, x, y, STOP_PATTERN, 18);
+        }
+        final BitMatrix matrix = builder.build();
+        Metrics.stop(Stage.MODULE_PLACEMENT, METRICS_SOURCE, start);
+        return matrix;
+    }
+
     private static void encodeLowLevel(String fullCodewords, int c, int r,
             ErrorCorrectionLevel errorCorrectionLevel, TwoDimBarcodeLogicHandler logic) {
         int idx = 0;
@@ -138,17 +213,8 @@ public class PDF417LogicImpl {
             encodeChar(START_PATTERN, 17, logic);
             logic.endBarGroup();
 
-            int left, right;
-            if (cluster == 0) {
-                left = (30 * (y / 3)) + ((r - 1) / 3);
-                right = (30 * (y / 3)) + (c - 1);
-            } else if (cluster == 1) {
-                left = (30 * (y / 3)) + (errorCorrectionLevel.getLevel() * 3) + ((r - 1) % 3);
-                right = (30 * (y / 3)) + ((r - 1) / 3);
-            } else {
-                left = (30 * (y / 3)) + (c - 1);
-                right = (30 * (y / 3)) + (errorCorrectionLevel.getLevel() * 3) + ((r - 1) % 3);
-            }
+            final int left = getLeftRowIndicator(y, c, r, errorCorrectionLevel);
+            final int right = getRightRowIndicator(y, c, r, errorCorrectionLevel);
             int pattern;
 
             logic.startBarGroup(BarGroup.MSG_CHARACTER, null);
@@ -177,21 +243,23 @@ public class PDF417LogicImpl {
     }
 
     /**
-     * Generates the barcode logic.
-     * @param logic the logic handler to receive generated events
+     * Encodes a message into a PDF417 symbol, i.e. performs the high-level encoding,
+     * determines the number of rows and columns and generates the error correction codewords.
      * @param msg the message to encode
      * @param pdf417Bean reference to the PDF417 bean for configuration access
+     * @return the encoded symbol
      */
-    public static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
-            String msg, PDF417Bean pdf417Bean) {
-
+    public static PDF417Symbol encode(String msg, PDF417Bean pdf417Bean) {
         final ErrorCorrectionLevel errorCorrectionLevel = pdf417Bean.getErrorCorrectionLevel();
 
         //1. step: High-level encoding
+        long start = Metrics.start();
         final int errorCorrectionCodeWords = PDF417ErrorCorrection.getErrorCorrectionCodewordCount(
                 errorCorrectionLevel);
         final String highLevel = PDF417HighLevelEncoder.encodeHighLevel(msg,
-                pdf417Bean.getEncoding(), pdf417Bean.isECIEnabled());
+                pdf417Bean.getEncoding(), pdf417Bean.isECIEnabled(),
+                pdf417Bean.getCompactionStrategy());
+        Metrics.stop(Stage.HIGH_LEVEL_ENCODING, METRICS_SOURCE, start);
         final int sourceCodeWords = highLevel.length();
 
         final Dimension dimension = determineDimensions(pdf417Bean, sourceCodeWords);
@@ -215,23 +283,61 @@ public class PDF417LogicImpl {
                             + msg.length() + " bytes)");
         }
 
-        final StringBuilder sb = new StringBuilder(n);
-        sb.append((char)n);
-        sb.append(highLevel);
+        final int[] codewords = new int[n + errorCorrectionCodeWords];
+        int dataCount = 0;
+        codewords[dataCount++] = n;
+        for (int i = 0; i < sourceCodeWords; i++) {
+            codewords[dataCount++] = highLevel.charAt(i);
+        }
         for (int i = 0; i < pad; i++) {
-            sb.append((char)900); //PAD characters
+            codewords[dataCount++] = 900; //PAD characters
         }
-        final String dataCodewords = sb.toString();
 
         //3. step: Error correction
-        final String ec = PDF417ErrorCorrection.generateErrorCorrection(
-                dataCodewords, errorCorrectionLevel);
-        final String fullCodewords = dataCodewords + ec;
+        start = Metrics.start();
+        PDF417ErrorCorrection.generateErrorCorrection(codewords, dataCount, errorCorrectionLevel);
+        Metrics.stop(Stage.ERROR_CORRECTION, METRICS_SOURCE, start);
+        final StringBuilder sb = new StringBuilder(codewords.length);
+        for (int i = 0; i < codewords.length; i++) {
+            sb.append((char)codewords[i]);
+        }
+        return new PDF417Symbol(sb.toString(), cols, rows, errorCorrectionLevel);
+    }
 
+    /**
+     * Generates the barcode logic.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message to encode
+     * @param pdf417Bean reference to the PDF417 bean for configuration access
+     */
+    public static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
+            String msg, PDF417Bean pdf417Bean) {
+        generateBarcodeLogic(logic, msg, encode(msg, pdf417Bean));
+    }
+
+    /**
+     * Generates the barcode logic for a message that has already been encoded.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message that has been encoded
+     * @param symbol the encoded symbol
+     */
+    public static void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic,
+            String msg, PDF417Symbol symbol) {
         //4. step: low-level encoding
+        final BitMatrix matrix = logic instanceof MatrixBarcodeLogicHandler
+                && ((MatrixBarcodeLogicHandler)logic).isMatrixSupported()
+                ? createMatrix(symbol) : null;
+        final long start = Metrics.start();
         logic.startBarcode(msg, msg);
-        encodeLowLevel(fullCodewords, cols, rows, errorCorrectionLevel, logic);
+        if (matrix != null) {
+            ((MatrixBarcodeLogicHandler)logic).addMatrix(matrix);
+        } else {
+            //the modules are placed while drawing them
+            encodeLowLevel(symbol.getCodewords(), symbol.getColumns(), symbol.getRows(),
+                    symbol.getErrorCorrectionLevel(), logic);
+        }
         logic.endBarcode();
+        Metrics.stop(Stage.DRAWING, METRICS_SOURCE, start);
     }
 
     /**
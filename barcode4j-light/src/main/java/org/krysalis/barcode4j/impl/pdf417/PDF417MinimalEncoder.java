@@ -0,0 +1,387 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.krysalis.barcode4j.impl.pdf417;
+
+import static org.krysalis.barcode4j.impl.pdf417.PDF417Constants.*;
+
+import java.util.Arrays;
+
+/**
+ * High-level encoder which selects the compaction modes so the message results in the
+ * smallest possible number of codewords.
+ * <p>
+ * The encoder runs a shortest path search over the message: for every character position it
+ * keeps the cheapest way to get there in each state. Text Compaction has one state per
+ * sub-mode, so sub-mode latches and shifts are part of the search. Costs are counted in
+ * half codewords (one Text Compaction value) and a partly filled Text Compaction codeword is
+ * padded when the mode is left. Byte Compaction packs six bytes into five codewords and
+ * Numeric Compaction groups up to 44 digits, so these modes have one state per position
+ * inside the group. Every position is visited once, so the run time is linear in the message
+ * length.
+ *
+ * @version 1.0
+ */
+final class PDF417MinimalEncoder {
+
+    /** Text Compaction: one state per sub-mode (the SUBMODE_* constants) */
+    private static final int TEXT = 0;
+    /** Byte Compaction with 0 to 5 bytes of an unfinished group of six */
+    private static final int BYTE = 4;
+    /** Numeric Compaction with 0 to 43 digits in the current group */
+    private static final int NUMERIC = 10;
+    private static final int STATES = 54;
+
+    private static final int BYTE_GROUP = 6;
+    private static final int NUMERIC_GROUP = 44;
+
+    /** A mode latch without consuming a character */
+    private static final byte VIA_LATCH = 0;
+    /** A character encoded in the target state (including any sub-mode latches) */
+    private static final byte VIA_CHAR = 1;
+    /** A character encoded using a sub-mode shift (ps or as) in Text Compaction */
+    private static final byte VIA_SHIFT = 2;
+    /** A character encoded using Shift to Byte from Text Compaction */
+    private static final byte VIA_BYTE_SHIFT = 3;
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    /** Text Compaction values for switching from one sub-mode to another (pl, al, ll, ml) */
+    private static final char[][][] SUBMODE_LATCHES = {
+        {{}, {27}, {28}, {28, 25}}, //from Alpha
+        {{28, 28}, {}, {28}, {28, 25}}, //from Lower
+        {{28}, {27}, {}, {25}}, //from Mixed
+        {{29}, {29, 27}, {29, 28}, {}}, //from Punctuation
+    };
+    private static final char SHIFT_TO_ALPHA = 27;
+    private static final char SHIFT_TO_PUNCTUATION = 29;
+    /** Pads a partly filled codeword (ps, or al in the Punctuation sub-mode) */
+    private static final char PAD = 29;
+
+    /** Half codewords added by the n-th digit of a Numeric Compaction group (1-based) */
+    private static final int[] NUMERIC_COST = new int[NUMERIC_GROUP + 1];
+
+    static {
+        final StringBuilder sb = new StringBuilder();
+        final char[] zeros = new char[NUMERIC_GROUP];
+        Arrays.fill(zeros, '0');
+        final String digits = new String(zeros);
+        int last = 0;
+        for (int i = 1; i <= NUMERIC_GROUP; i++) {
+            //All numbers with the same digit count result in the same codeword count
+            sb.setLength(0);
+            PDF417HighLevelEncoder.encodeNumeric(digits, 0, i, sb);
+            NUMERIC_COST[i] = 2 * (sb.length() - last);
+            last = sb.length();
+        }
+    }
+
+    private final String msg;
+    private final byte[] bytes;
+    private final int len;
+
+    /** Cost (in half codewords) of the cheapest path to every position and state */
+    private final int[] cost;
+    /** The preceding node on the cheapest path */
+    private final int[] prev;
+    /** The way the node was reached on the cheapest path (one of the VIA_* constants) */
+    private final byte[] via;
+    /** The values of the current character in the Text Compaction sub-modes (or -1) */
+    private final int[] values = new int[4];
+
+    private PDF417MinimalEncoder(String msg, byte[] bytes) {
+        this.msg = msg;
+        this.bytes = bytes;
+        this.len = msg.length();
+        final int nodes = (len + 1) * STATES;
+        this.cost = new int[nodes];
+        Arrays.fill(this.cost, UNREACHED);
+        this.prev = new int[nodes];
+        this.via = new byte[nodes];
+    }
+
+    /**
+     * Encodes the message with the minimal number of codewords. The encoder starts in Text
+     * Compaction mode (sub-mode Alpha) as defined for the beginning of a symbol.
+     * @param msg the message
+     * @param bytes the message converted to a byte array (one byte per character)
+     * @param sb receives the encoded codewords
+     */
+    static void encode(String msg, byte[] bytes, StringBuilder sb) {
+        if (bytes.length != msg.length()) {
+            throw new IllegalArgumentException(
+                    "The minimal compaction strategy requires a single-byte encoding");
+        }
+        new PDF417MinimalEncoder(msg, bytes).encode(sb);
+    }
+
+    private static int node(int pos, int state) {
+        return pos * STATES + state;
+    }
+
+    private static int pos(int node) {
+        return node / STATES;
+    }
+
+    private static int state(int node) {
+        return node % STATES;
+    }
+
+    private static boolean isText(int state) {
+        return state < BYTE;
+    }
+
+    private static int getMode(int state) {
+        if (state < BYTE) {
+            return TEXT_COMPACTION;
+        } else if (state < NUMERIC) {
+            return BYTE_COMPACTION;
+        } else {
+            return NUMERIC_COMPACTION;
+        }
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /** Half codewords needed to fill up a partly filled Text Compaction codeword */
+    private static int getPadding(int state, int cost) {
+        return isText(state) ? cost & 1 : 0;
+    }
+
+    private void relax(int from, int to, int add, byte how) {
+        final int c = cost[from] + add;
+        if (c < cost[to]) {
+            cost[to] = c;
+            prev[to] = from;
+            via[to] = how;
+        }
+    }
+
+    private void encode(StringBuilder sb) {
+        final int first = node(0, TEXT + SUBMODE_ALPHA); //see 4.4.2.1
+        cost[first] = 0;
+        prev[first] = -1;
+        for (int i = 0; i <= len; i++) {
+            switchModes(i);
+            if (i < len) {
+                encodeChar(i);
+            }
+        }
+
+        int last = -1;
+        int best = UNREACHED;
+        for (int s = 0; s < STATES; s++) {
+            final int n = node(len, s);
+            if (cost[n] != UNREACHED && cost[n] + getPadding(s, cost[n]) < best) {
+                best = cost[n] + getPadding(s, cost[n]);
+                last = n;
+            }
+        }
+        writeCodewords(last, sb);
+    }
+
+    /** Mode latches (the sub-mode latches of Text Compaction are part of the characters). */
+    private void switchModes(int i) {
+        //From Byte or Numeric Compaction (the same latch costs from every group position)
+        final int cheapestByte = getCheapest(i, BYTE, NUMERIC);
+        final int cheapestNumeric = getCheapest(i, NUMERIC, STATES);
+        if (cheapestByte >= 0) {
+            relax(cheapestByte, node(i, TEXT + SUBMODE_ALPHA), 2, VIA_LATCH);
+            relax(cheapestByte, node(i, NUMERIC), 2, VIA_LATCH);
+        }
+        if (cheapestNumeric >= 0) {
+            relax(cheapestNumeric, node(i, TEXT + SUBMODE_ALPHA), 2, VIA_LATCH);
+            relax(cheapestNumeric, node(i, BYTE), 2, VIA_LATCH);
+        }
+        //From Text Compaction
+        for (int s = TEXT; s < BYTE; s++) {
+            final int from = node(i, s);
+            if (cost[from] == UNREACHED) {
+                continue;
+            }
+            final int add = getPadding(s, cost[from]) + 2;
+            relax(from, node(i, BYTE), add, VIA_LATCH);
+            relax(from, node(i, NUMERIC), add, VIA_LATCH);
+        }
+    }
+
+    private int getCheapest(int i, int fromState, int toState) {
+        int cheapest = -1;
+        for (int n = node(i, fromState), end = node(i, toState); n < end; n++) {
+            if (cost[n] != UNREACHED && (cheapest < 0 || cost[n] < cost[cheapest])) {
+                cheapest = n;
+            }
+        }
+        return cheapest;
+    }
+
+    private void encodeChar(int i) {
+        final char ch = msg.charAt(i);
+        final boolean binary = bytes[i] != '?' || ch == '?';
+        boolean text = false;
+        for (int t = 0; t < values.length; t++) {
+            values[t] = PDF417HighLevelEncoder.getTextValue(ch, t);
+            text |= values[t] >= 0;
+        }
+        if (!text && !binary) {
+            //Sun returns a ASCII 63 (?) for a character that cannot be mapped
+            throw new IllegalArgumentException("Non-encodable character detected: "
+                    + ch + " (Unicode: " + (int)ch + ")");
+        }
+
+        for (int s = TEXT; s < BYTE; s++) {
+            final int from = node(i, s);
+            if (cost[from] == UNREACHED) {
+                continue;
+            }
+            for (int t = 0; t < values.length; t++) {
+                if (values[t] >= 0) {
+                    relax(from, node(i + 1, TEXT + t), SUBMODE_LATCHES[s][t].length + 1, VIA_CHAR);
+                }
+            }
+            if ((s != SUBMODE_PUNCTUATION && values[SUBMODE_PUNCTUATION] >= 0)
+                    || (s == SUBMODE_LOWER && ch >= 'A' && ch <= 'Z')) {
+                relax(from, node(i + 1, s), 2, VIA_SHIFT);
+            }
+            if (binary) {
+                //Shift to Byte keeps the sub-mode unless the padding is a latch (al)
+                final int padding = getPadding(s, cost[from]);
+                final int t = (padding > 0 && s == SUBMODE_PUNCTUATION) ? SUBMODE_ALPHA : s;
+                relax(from, node(i + 1, TEXT + t), padding + 4, VIA_BYTE_SHIFT);
+            }
+        }
+        if (binary) {
+            for (int k = 0; k < BYTE_GROUP; k++) {
+                final int from = node(i, BYTE + k);
+                if (cost[from] != UNREACHED) {
+                    //The sixth byte of a group is free (six bytes in five codewords)
+                    final int next = (k + 1) % BYTE_GROUP;
+                    relax(from, node(i + 1, BYTE + next), next == 0 ? 0 : 2, VIA_CHAR);
+                }
+            }
+        }
+        if (isDigit(ch)) {
+            for (int k = 0; k < NUMERIC_GROUP; k++) {
+                final int from = node(i, NUMERIC + k);
+                if (cost[from] != UNREACHED) {
+                    relax(from, node(i + 1, NUMERIC + (k + 1) % NUMERIC_GROUP),
+                            NUMERIC_COST[k + 1], VIA_CHAR);
+                }
+            }
+        }
+    }
+
+    private void writeCodewords(int last, StringBuilder sb) {
+        //The node reached by each character on the cheapest path
+        final int[] charNodes = new int[len];
+        for (int n = last; prev[n] >= 0; n = prev[n]) {
+            if (via[n] != VIA_LATCH) {
+                charNodes[pos(n) - 1] = n;
+            }
+        }
+
+        final TextWriter text = new TextWriter(sb);
+        boolean textMode = true;
+        int i = 0;
+        while (i < len) {
+            final int state = state(charNodes[i]);
+            final int mode = getMode(state);
+            if (mode == TEXT_COMPACTION) {
+                if (!textMode) {
+                    sb.append((char)LATCH_TO_TEXT);
+                    textMode = true;
+                    text.submode = SUBMODE_ALPHA;
+                }
+                writeText(i, state, via[charNodes[i]], text);
+                i++;
+            } else {
+                int end = i + 1;
+                while (end < len && getMode(state(charNodes[end])) == mode) {
+                    end++;
+                }
+                text.flush();
+                textMode = false;
+                if (mode == NUMERIC_COMPACTION) {
+                    sb.append((char)LATCH_TO_NUMERIC);
+                    PDF417HighLevelEncoder.encodeNumeric(msg, i, end - i, sb);
+                } else {
+                    //Latch (not shift) even for a single byte
+                    PDF417HighLevelEncoder.encodeBinary(msg, bytes, i, end - i,
+                            BYTE_COMPACTION, sb);
+                }
+                i = end;
+            }
+        }
+        text.flush();
+    }
+
+    private void writeText(int i, int state, byte how, TextWriter text) {
+        final char ch = msg.charAt(i);
+        if (how == VIA_BYTE_SHIFT) {
+            text.flush();
+            text.sb.append((char)SHIFT_TO_BYTE);
+            text.sb.append((char)(bytes[i] & 0xff));
+        } else if (how == VIA_SHIFT) {
+            if (text.submode == SUBMODE_LOWER && ch >= 'A' && ch <= 'Z') {
+                text.write(SHIFT_TO_ALPHA);
+                text.write(PDF417HighLevelEncoder.getTextValue(ch, SUBMODE_ALPHA));
+            } else {
+                text.write(SHIFT_TO_PUNCTUATION);
+                text.write(PDF417HighLevelEncoder.getTextValue(ch, SUBMODE_PUNCTUATION));
+            }
+        } else {
+            final int target = state - TEXT;
+            for (final char value : SUBMODE_LATCHES[text.submode][target]) {
+                text.write(value);
+            }
+            text.write(PDF417HighLevelEncoder.getTextValue(ch, target));
+            text.submode = target;
+        }
+    }
+
+    /** Combines the Text Compaction values into codewords (two values per codeword). */
+    private static class TextWriter {
+
+        private final StringBuilder sb;
+        private int submode = SUBMODE_ALPHA;
+        private int pending = -1;
+
+        TextWriter(StringBuilder sb) {
+            this.sb = sb;
+        }
+
+        void write(int value) {
+            if (pending < 0) {
+                pending = value;
+            } else {
+                sb.append((char)(pending * 30 + value));
+                pending = -1;
+            }
+        }
+
+        /** Completes a partly filled codeword before leaving Text Compaction or shifting. */
+        void flush() {
+            if (pending >= 0) {
+                write(PAD);
+                if (submode == SUBMODE_PUNCTUATION) {
+                    submode = SUBMODE_ALPHA; //the padding is a latch to Alpha here
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.pdf417;
+
+/**
+ * Represents a message that has been fully encoded as a PDF417 symbol, i.e. the high-level
+ * encoding and the error correction have been performed and the number of rows and columns
+ * has been determined. Instances are immutable and are produced once per message by
+ * {@link PDF417LogicImpl#encode(String, PDF417Bean)}.
+ *
+ * @version 1.0
+ */
+public class PDF417Symbol {
+
+    private final String codewords;
+    private final int columns;
+    private final int rows;
+    private final ErrorCorrectionLevel errorCorrectionLevel;
+
+    /**
+     * Creates a new encoded symbol.
+     * @param codewords the full codewords (data and error correction codewords)
+     * @param columns the number of data columns
+     * @param rows the number of rows
+     * @param errorCorrectionLevel the error correction level
+     */
+    public PDF417Symbol(String codewords, int columns, int rows,
+            ErrorCorrectionLevel errorCorrectionLevel) {
+        if (codewords == null || errorCorrectionLevel == null) {
+            throw new NullPointerException(
+                    "codewords and errorCorrectionLevel must not be null");
+        }
+        this.codewords = codewords;
+        this.columns = columns;
+        this.rows = rows;
+        this.errorCorrectionLevel = errorCorrectionLevel;
+    }
+
+    /**
+     * Returns the full codewords (data and error correction codewords).
+     * @return the codewords (the char values range from 0 to 928)
+     */
+    public String getCodewords() {
+        return this.codewords;
+    }
+
+    /** @return the number of data columns (excluding start, stop and row indicators) */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /** @return the number of rows */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /** @return the error correction level */
+    public ErrorCorrectionLevel getErrorCorrectionLevel() {
+        return this.errorCorrectionLevel;
+    }
+
+    /** @return the width of the symbol in modules (excluding the quiet zone) */
+    public int getSymbolWidth() {
+        return 17 * this.columns + 69;
+    }
+
+    @Override
+    public String toString() {
+        return "PDF417Symbol: " + this.columns + " columns, " + this.rows + " rows, "
+                + this.codewords.length() + " codewords, " + this.errorCorrectionLevel;
+    }
+}
@@ -16,8 +16,11 @@
 package org.krysalis.barcode4j.impl.postnet;
 
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * Implements the United States Postal Service Postnet barcode.
@@ -191,12 +194,25 @@ public class POSTNETLogicImpl {
         }
     }
 
+    /**
+     * Creates the bar pattern for a message. The pattern contains the same bar groups and bars
+     * {@link #generateBarcodeLogic(ClassicBarcodeLogicHandler, String)} produces.
+     * @param msg the message to encode
+     * @return the bar pattern
+     */
+    public BarPattern createBarPattern(String msg) {
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        generateBarcodeLogic(builder, msg);
+        return builder.build();
+    }
+
     /**
      * Generates the barcode logic
      * @param logic the logic handler to receive generated events
      * @param msg the message to encode
      */
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final StringBuilder sb = new StringBuilder(msg);
         final String formattedMsg = handleChecksum(sb);
 
@@ -219,6 +235,7 @@ public class POSTNETLogicImpl {
         logic.addBar(true, 2);
 
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "postnet", start);
     }
 
 
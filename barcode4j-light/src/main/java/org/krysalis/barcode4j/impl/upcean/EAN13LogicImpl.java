@@ -18,13 +18,15 @@ package org.krysalis.barcode4j.impl.upcean;
 import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.tools.CheckUtil;
 
 /**
  * This class is an implementation of the EAN-13 barcode.
  * 
  * @author Jeremias Maerki
- * @version 1.3
+ * @version 1.5
  */
 public class EAN13LogicImpl extends EAN8LogicImpl {
 
@@ -113,6 +115,7 @@ public class EAN13LogicImpl extends EAN8LogicImpl {
     
     @Override
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final String supp = retrieveSupplemental(msg);
         String s = removeSupplemental(msg); 
         validateMessage(s);
@@ -167,5 +170,6 @@ public class EAN13LogicImpl extends EAN8LogicImpl {
             drawSupplemental(logic, supp);
         }
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "ean-13", start);
     }
 }
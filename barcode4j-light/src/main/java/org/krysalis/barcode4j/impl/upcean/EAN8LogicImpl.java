@@ -18,13 +18,15 @@ package org.krysalis.barcode4j.impl.upcean;
 import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.tools.CheckUtil;
 
 /**
  * This class is an implementation of the EAN-8 barcode.
  *
  * @author Jeremias Maerki
- * @version 1.2
+ * @version 1.4
  */
 public class EAN8LogicImpl extends UPCEANLogicImpl {
 
@@ -106,6 +108,7 @@ public class EAN8LogicImpl extends UPCEANLogicImpl {
 
     @Override
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final String supp = retrieveSupplemental(msg);
         String s = removeSupplemental(msg);
         validateMessage(s);
@@ -155,5 +158,6 @@ public class EAN8LogicImpl extends UPCEANLogicImpl {
             drawSupplemental(logic, supp);
         }
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "ean-8", start);
     }
 }
@@ -18,13 +18,15 @@ package org.krysalis.barcode4j.impl.upcean;
 import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.tools.CheckUtil;
 
 /**
  * This class is an implementation of the UPC-A barcode.
  *
  * @author Jeremias Maerki
- * @version 1.3
+ * @version 1.5
  */
 public class UPCALogicImpl extends UPCEANLogicImpl {
 
@@ -110,6 +112,7 @@ public class UPCALogicImpl extends UPCEANLogicImpl {
 
     @Override
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final String supp = retrieveSupplemental(msg);
         String s = removeSupplemental(msg);
         validateMessage(s);
@@ -165,5 +168,6 @@ public class UPCALogicImpl extends UPCEANLogicImpl {
             drawSupplemental(logic, supp);
         }
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "upc-a", start);
     }
 }
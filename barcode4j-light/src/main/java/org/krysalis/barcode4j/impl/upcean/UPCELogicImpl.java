@@ -20,6 +20,8 @@ import java.util.logging.Logger;
 import org.krysalis.barcode4j.BarGroup;
 import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.ClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 /**
  * This class is an implementation of the UPC-E barcode.
@@ -269,6 +271,7 @@ public class UPCELogicImpl extends UPCEANLogicImpl {
 
     @Override
     public void generateBarcodeLogic(ClassicBarcodeLogicHandler logic, String msg) {
+        final long start = Metrics.start();
         final String supp = retrieveSupplemental(msg);
         String s = removeSupplemental(msg);
         s = convertUPCAtoUPCE(s);
@@ -316,6 +319,7 @@ public class UPCELogicImpl extends UPCEANLogicImpl {
             drawSupplemental(logic, supp);
         }
         logic.endBarcode();
+        Metrics.stop(Stage.BARCODE_LOGIC, "upc-e", start);
     }
 
     private String convertUPCAtoUPCE(String msg) {
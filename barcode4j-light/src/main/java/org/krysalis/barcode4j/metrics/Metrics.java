@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+/**
+ * Entry point of the instrumentation. The instrumented code brackets every stage with
+ * {@link #start()} and {@link #stop(Stage, String, long)}:
+ * <pre>
+ * final long start = Metrics.start();
+ * ...
+ * Metrics.stop(Stage.ERROR_CORRECTION, "datamatrix", start);
+ * </pre>
+ * As long as no listener is installed, this costs a single field read per stage. If the
+ * system property <code>org.krysalis.barcode4j.metrics</code> is set to true, a
+ * {@link MetricsAggregator} is installed and registered with the platform MBean server
+ * when this class is loaded.
+ *
+ * @version 1.0
+ */
+public final class Metrics {
+
+    /** System property enabling the default aggregator */
+    public static final String ENABLE_PROPERTY = "org.krysalis.barcode4j.metrics";
+
+    /** Returned by {@link #start()} if the instrumentation is disabled */
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static volatile MetricsListener listener;
+
+    static {
+        if (Boolean.getBoolean(ENABLE_PROPERTY)) {
+            MetricsAggregator.install();
+        }
+    }
+
+    private Metrics() {
+        // hide default public constructor
+    }
+
+    /**
+     * Installs the listener receiving the timings.
+     * @param listener the listener or null to disable the instrumentation
+     */
+    public static void setListener(MetricsListener listener) {
+        Metrics.listener = listener;
+    }
+
+    /**
+     * Returns the installed listener.
+     * @return the listener or null if the instrumentation is disabled
+     */
+    public static MetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Indicates whether a listener is installed.
+     * @return true if the instrumentation is enabled
+     */
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+
+    /**
+     * Marks the start of a stage.
+     * @return the start time to be passed to {@link #stop(Stage, String, long)}
+     */
+    public static long start() {
+        return listener != null ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Marks the successful end of a stage and reports it to the listener.
+     * @param stage the stage
+     * @param source the symbology or output format
+     * @param start the value returned by {@link #start()}
+     */
+    public static void stop(Stage stage, String source, long start) {
+        if (start != DISABLED) {
+            final MetricsListener l = listener;
+            if (l != null) {
+                l.stageCompleted(stage, source, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Default {@link MetricsListener}: counts the completed stages and sums up their times per
+ * stage and source. The statistics are available through JMX under the name
+ * {@value #OBJECT_NAME} if the aggregator has been installed with {@link #install()}.
+ *
+ * @version 1.0
+ */
+public class MetricsAggregator implements MetricsListener, MetricsAggregatorMXBean {
+
+    /** The JMX object name of the installed aggregator */
+    public static final String OBJECT_NAME = "org.krysalis.barcode4j:type=MetricsAggregator";
+
+    private static final Logger LOGGER = Logger.getLogger(MetricsAggregator.class.getName());
+
+    /** The counters of a stage and source */
+    private static final class Counter {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+    }
+
+    private final ConcurrentMap<Stage, ConcurrentMap<String, Counter>> counters =
+            new ConcurrentHashMap<Stage, ConcurrentMap<String, Counter>>();
+
+    /**
+     * Creates a new aggregator and installs it as the listener of {@link Metrics}. The
+     * aggregator is registered with the platform MBean server (replacing a previously
+     * installed aggregator).
+     * @return the new aggregator
+     */
+    public static synchronized MetricsAggregator install() {
+        final MetricsAggregator aggregator = new MetricsAggregator();
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(aggregator, name);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Cannot register the metrics aggregator with JMX", e);
+        } catch (SecurityException e) {
+            LOGGER.log(Level.WARNING, "Cannot register the metrics aggregator with JMX", e);
+        }
+        Metrics.setListener(aggregator);
+        return aggregator;
+    }
+
+    @Override
+    public void stageCompleted(Stage stage, String source, long nanos) {
+        ConcurrentMap<String, Counter> bySource = counters.get(stage);
+        if (bySource == null) {
+            bySource = new ConcurrentHashMap<String, Counter>();
+            final ConcurrentMap<String, Counter> existing = counters.putIfAbsent(stage, bySource);
+            if (existing != null) {
+                bySource = existing;
+            }
+        }
+        Counter counter = bySource.get(source);
+        if (counter == null) {
+            counter = new Counter();
+            final Counter existing = bySource.putIfAbsent(source, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        counter.add(nanos);
+    }
+
+    /**
+     * Returns the statistics of a stage and source.
+     * @param stage the stage
+     * @param source the symbology or output format
+     * @return the statistics (all values are 0 if the stage hasn't been reported yet)
+     */
+    public StageStatistics getStatistics(Stage stage, String source) {
+        final ConcurrentMap<String, Counter> bySource = counters.get(stage);
+        final Counter counter = bySource != null ? bySource.get(source) : null;
+        if (counter == null) {
+            return new StageStatistics(stage.name(), source, 0, 0, 0);
+        }
+        return createStatistics(stage, source, counter);
+    }
+
+    private static StageStatistics createStatistics(Stage stage, String source, Counter counter) {
+        return new StageStatistics(stage.name(), source, counter.count.get(),
+                counter.totalNanos.get(), counter.maxNanos.get());
+    }
+
+    @Override
+    public List<StageStatistics> getStatistics() {
+        final List<StageStatistics> res = new ArrayList<StageStatistics>();
+        for (Map.Entry<Stage, ConcurrentMap<String, Counter>> stage
+                : counters.entrySet()) {
+            for (Map.Entry<String, Counter> source : stage.getValue().entrySet()) {
+                res.add(createStatistics(stage.getKey(), source.getKey(), source.getValue()));
+            }
+        }
+        Collections.sort(res);
+        return res;
+    }
+
+    @Override
+    public List<String> getSummary() {
+        final List<String> res = new ArrayList<String>();
+        for (StageStatistics statistics : getStatistics()) {
+            res.add(statistics.toString());
+        }
+        return res;
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+    }
+}
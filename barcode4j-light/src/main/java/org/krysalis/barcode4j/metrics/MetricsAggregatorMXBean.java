@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+import java.util.List;
+
+/**
+ * Management interface of the {@link MetricsAggregator}.
+ *
+ * @version 1.0
+ */
+public interface MetricsAggregatorMXBean {
+
+    /**
+     * Returns the statistics of all stages and sources seen so far.
+     * @return the statistics, sorted by stage and source
+     */
+    List<StageStatistics> getStatistics();
+
+    /**
+     * Returns the statistics as human-readable lines.
+     * @return one line per stage and source
+     */
+    List<String> getSummary();
+
+    /**
+     * Resets all statistics.
+     */
+    void reset();
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+/**
+ * Receives the timings of the barcode generation. Implementations must be thread-safe and
+ * fast, since they are called synchronously by the threads generating barcodes.
+ *
+ * @version 1.0
+ * @see Metrics#setListener(MetricsListener)
+ */
+public interface MetricsListener {
+
+    /**
+     * Called when a stage of the barcode generation has been completed successfully.
+     * @param stage the stage
+     * @param source the symbology (for example "datamatrix") or the output format (a MIME
+     *          type) the stage belongs to
+     * @param nanos the time spent in the stage in nanoseconds
+     */
+    void stageCompleted(Stage stage, String source, long nanos);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+/**
+ * The stages of the barcode generation reported to a {@link MetricsListener}.
+ *
+ * @version 1.0
+ */
+public enum Stage {
+
+    /** Encoding the message into codewords (2D symbologies) */
+    HIGH_LEVEL_ENCODING,
+
+    /** Calculating the error correction codewords (2D symbologies) */
+    ERROR_CORRECTION,
+
+    /** Placing the codewords into the module matrix (2D symbologies) */
+    MODULE_PLACEMENT,
+
+    /**
+     * Generating the bars of a 1D symbology. As the bars are painted while they are
+     * generated, this includes the drawing on the canvas.
+     */
+    BARCODE_LOGIC,
+
+    /** Drawing the module matrix of a 2D symbology on the canvas */
+    DRAWING,
+
+    /** Writing the finished output: image encoding or serialization */
+    OUTPUT_ENCODING
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Locale;
+
+/**
+ * Snapshot of the statistics of a stage of one symbology or output format.
+ *
+ * @version 1.0
+ */
+public final class StageStatistics implements Comparable<StageStatistics> {
+
+    private final String stage;
+    private final String source;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    /**
+     * Creates a new snapshot.
+     * @param stage the name of the stage
+     * @param source the symbology or output format
+     * @param count the number of completed stages
+     * @param totalNanos the total time in nanoseconds
+     * @param maxNanos the longest time in nanoseconds
+     */
+    @ConstructorProperties({"stage", "source", "count", "totalNanos", "maxNanos"})
+    public StageStatistics(String stage, String source, long count, long totalNanos,
+            long maxNanos) {
+        this.stage = stage;
+        this.source = source;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Returns the name of the stage.
+     * @return the stage (see {@link Stage})
+     */
+    public String getStage() {
+        return this.stage;
+    }
+
+    /**
+     * Returns the symbology or output format.
+     * @return the source
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the number of completed stages.
+     * @return the count
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the total time spent in the stage.
+     * @return the total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * Returns the longest time spent in the stage.
+     * @return the maximum time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * Returns the average time spent in the stage.
+     * @return the average time in nanoseconds
+     */
+    public long getAverageNanos() {
+        return count > 0 ? totalNanos / count : 0;
+    }
+
+    @Override
+    public int compareTo(StageStatistics o) {
+        final int res = Stage.valueOf(stage).compareTo(Stage.valueOf(o.stage));
+        return res != 0 ? res : source.compareTo(o.source);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH, "%s %s: count=%d, total=%.3fms, avg=%.1fus, max=%.1fus",
+                stage, source, count, totalNanos / 1e6, getAverageNanos() / 1e3, maxNanos / 1e3);
+    }
+}
@@ -22,7 +22,7 @@ import org.krysalis.barcode4j.TextAlignment;
  * Abstract base class for most CanvasProvider implementations.
  * 
  * @author Jeremias Maerki
- * @version 1.1
+ * @version 1.2
  */
 public abstract class AbstractCanvasProvider implements CanvasProvider {
 
@@ -31,6 +31,9 @@ public abstract class AbstractCanvasProvider implements CanvasProvider {
 
     /** the barcode orientation (0, 90, 180, 270) */
     private final Orientation orientation;
+
+    /** true if identical barcodes have to result in byte-identical output */
+    private boolean deterministic;
     
     /**
      * Main constructor.
@@ -48,6 +51,28 @@ public abstract class AbstractCanvasProvider implements CanvasProvider {
         this(Orientation.fromInt(orientation));
     }
     
+    /**
+     * Enables or disables the deterministic output mode. In this mode, painting the same
+     * barcode always produces byte-identical output: no timestamps or other information
+     * depending on the time or the environment is written. Subclasses producing output
+     * which is deterministic anyway simply ignore this setting. Must be set before the
+     * barcode is painted.
+     *
+     * @param deterministic true to enable the deterministic output mode
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Indicates whether the deterministic output mode is enabled.
+     *
+     * @return true if the deterministic output mode is enabled
+     */
+    public boolean isDeterministic() {
+        return this.deterministic;
+    }
+
     @Override
     public void establishDimensions(BarcodeDimension dim) {
         this.bardim = dim;
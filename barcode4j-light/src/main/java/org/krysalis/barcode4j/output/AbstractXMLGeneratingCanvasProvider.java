@@ -18,6 +18,8 @@ package org.krysalis.barcode4j.output;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 
+import org.krysalis.barcode4j.tools.NumberFormatter;
+
 /**
  * Abstract base class that provides some commonly used methods for generating
  * XML representations of barcodes.
@@ -28,7 +30,8 @@ import java.text.DecimalFormatSymbols;
 public abstract class AbstractXMLGeneratingCanvasProvider
         extends AbstractCanvasProvider {
 
-    private final DecimalFormat decimalFormat;
+    private final NumberFormatter numberFormatter = new NumberFormatter(4);
+    private DecimalFormat decimalFormat;
 
     /**
      * Base Constructor for xml-Canvas.
@@ -37,20 +40,43 @@ public abstract class AbstractXMLGeneratingCanvasProvider
      */
     public AbstractXMLGeneratingCanvasProvider(Orientation orientation) {
         super(orientation);
-        final DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-        dfs.setDecimalSeparator('.');
-        this.decimalFormat = new DecimalFormat("0.####", dfs);
     }
 
     /**
-     * Returns the DecimalFormat instance to use internally to format numbers.
+     * Returns the NumberFormatter instance to use internally to format numbers.
+     *
+     * @return a NumberFormatter instance
+     */
+    protected NumberFormatter getNumberFormatter() {
+        return this.numberFormatter;
+    }
+
+    /**
+     * Returns a DecimalFormat instance equivalent to the NumberFormatter used internally.
      *
      * @return a DecimalFormat instance
+     * @deprecated use {@link #getNumberFormatter()} instead which is considerably faster
      */
+    @Deprecated
     protected DecimalFormat getDecimalFormat() {
+        if (this.decimalFormat == null) {
+            final DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+            dfs.setDecimalSeparator('.');
+            this.decimalFormat = new DecimalFormat("0.####", dfs);
+        }
         return this.decimalFormat;
     }
 
+    /**
+     * Formats a value.
+     *
+     * @param value the value to format
+     * @return the formatted value
+     */
+    protected String format(double value) {
+        return getNumberFormatter().format(value);
+    }
+
     /**
      * Formats a value and adds the unit specifier at the end.
      *
@@ -58,6 +84,6 @@ public abstract class AbstractXMLGeneratingCanvasProvider
      * @return the formatted value
      */
     protected String addUnit(double value) {
-        return getDecimalFormat().format(value) + "mm"; //was mm
+        return format(value) + "mm";
     }
 }
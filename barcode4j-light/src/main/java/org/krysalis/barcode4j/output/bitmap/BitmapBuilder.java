@@ -25,7 +25,6 @@ import java.io.OutputStream;
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.BarcodeGenerator;
 import org.krysalis.barcode4j.output.Orientation;
-import org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider;
 import org.krysalis.barcode4j.tools.UnitConv;
 
 /**
@@ -87,6 +86,25 @@ public class BitmapBuilder {
     public static Graphics2D prepareGraphics2D(BufferedImage image, 
                 BarcodeDimension dim, Orientation orientation,
                 boolean antiAlias) {
+        return prepareGraphics2D(image,
+                image.getWidth() / dim.getWidthPlusQuiet(orientation),
+                image.getHeight() / dim.getHeightPlusQuiet(orientation),
+                antiAlias, true);
+    }
+
+    /**
+     * Prepares a Graphics2D object for painting on a given BufferedImage using the given
+     * scaling factors.
+     * @param image the BufferedImage instance
+     * @param scaleX the horizontal scaling factor (pixels per mm)
+     * @param scaleY the vertical scaling factor (pixels per mm)
+     * @param antiAlias true enables anti-aliasing
+     * @param clear true if the image shall be cleared to white
+     * @return the Graphics2D object to paint on
+     */
+    static Graphics2D prepareGraphics2D(BufferedImage image,
+                double scaleX, double scaleY,
+                boolean antiAlias, boolean clear) {
         final Graphics2D g2d = image.createGraphics();
         if (antiAlias) {
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
@@ -98,9 +116,10 @@ public class BitmapBuilder {
             RenderingHints.VALUE_FRACTIONALMETRICS_ON);
         g2d.setBackground(Color.white);
         g2d.setColor(Color.black);
-        g2d.clearRect(0, 0, image.getWidth(), image.getHeight());
-        g2d.scale(image.getWidth() / dim.getWidthPlusQuiet(orientation), 
-                image.getHeight() / dim.getHeightPlusQuiet(orientation));
+        if (clear) {
+            g2d.clearRect(0, 0, image.getWidth(), image.getHeight());
+        }
+        g2d.scale(scaleX, scaleY);
         return g2d;
     }
 
@@ -112,12 +131,12 @@ public class BitmapBuilder {
      * @return the requested BufferedImage
      */
     public static BufferedImage getImage(BarcodeGenerator bargen, String msg, int resolution) {
-        final BarcodeDimension dim = bargen.calcDimensions(msg);
-        final BufferedImage bi = prepareImage(dim, resolution, BufferedImage.TYPE_BYTE_GRAY);
-        final Orientation orientation = Orientation.ZERO;
-        final Graphics2D g2d = prepareGraphics2D(bi, dim, orientation, true);
-        final Java2DCanvasProvider provider = new Java2DCanvasProvider(g2d, orientation);
+        //The image is prepared by the canvas provider once the barcode dimensions are known,
+        //so the message doesn't have to be encoded a second time by calcDimensions().
+        final BitmapCanvasProvider provider = new BitmapCanvasProvider(
+                resolution, BufferedImage.TYPE_BYTE_GRAY, true, Orientation.ZERO);
         bargen.generateBarcode(provider, msg);
+        final BufferedImage bi = provider.getBufferedImage();
         bi.flush();
         return bi;
     }
@@ -15,24 +15,40 @@
  */
 package org.krysalis.barcode4j.output.bitmap;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.OutputStream;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.output.AbstractCanvasProvider;
 import org.krysalis.barcode4j.output.Orientation;
 import org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider;
+import org.krysalis.barcode4j.tools.UnitConv;
 
 /**
  * CanvasProvider implementation for generating bitmaps.
  *
- * This class wraps Java2DCanvasProvider to do the actual rendering.
+ * This class wraps Java2DCanvasProvider to do the actual rendering. If anti-aliasing is
+ * disabled and the image type is {@link BufferedImage#TYPE_BYTE_BINARY} or
+ * {@link BufferedImage#TYPE_BYTE_GRAY}, bars and modules are written directly into the
+ * image's raster with their edges snapped to the pixel grid. Java2D is then only used to
+ * paint the human-readable text.
+ * <p>
+ * By default, the barcode is scaled to the requested resolution so modules may start and
+ * end at fractional pixel positions. When a module width is set through
+ * {@link #setModuleWidth(double)}, the provider switches to the pixel grid mode: every module
+ * is made exactly {@link #getPixelsPerModule()} pixels wide and the image is sized
+ * accordingly, so all bars that are a whole number of modules wide start and end at exact
+ * pixel boundaries. In this mode, bars are always written directly into the raster (if the
+ * image type allows it) as anti-aliasing would not change them.
  *
  * @author Jeremias Maerki
  * @author mk
- * @version 1.2
+ * @version 1.3
  */
 public class BitmapCanvasProvider extends AbstractCanvasProvider {
 
@@ -43,6 +59,10 @@ public class BitmapCanvasProvider extends AbstractCanvasProvider {
     private boolean antiAlias;
     private BufferedImage image;
     private Java2DCanvasProvider delegate;
+    private RasterPainter painter;
+    private double moduleWidth;
+    private double scaleX;
+    private double scaleY;
 
     /**
      * Creates a new BitmapCanvasProvider.
@@ -122,8 +142,14 @@ public class BitmapCanvasProvider extends AbstractCanvasProvider {
     public void finish() throws IOException {
         this.image.flush();
         if (this.out != null) {
+            final long start = Metrics.start();
             final BitmapEncoder encoder = BitmapEncoderRegistry.getInstance(mime);
-            encoder.encode(this.image, out, mime, resolution);
+            if (isDeterministic() && encoder instanceof ImageIOBitmapEncoder) {
+                ((ImageIOBitmapEncoder)encoder).encode(this.image, out, mime, resolution, true);
+            } else {
+                encoder.encode(this.image, out, mime, resolution);
+            }
+            Metrics.stop(Stage.OUTPUT_ENCODING, mime, start);
         }
     }
 
@@ -136,26 +162,97 @@ public class BitmapCanvasProvider extends AbstractCanvasProvider {
         return this.image;
     }
 
+    /**
+     * Sets the module width of the barcode to be painted. Setting a module width enables the
+     * pixel grid mode where each module is painted with a whole number of pixels. Note that
+     * the physical size of the barcode changes slightly as the module width is rounded to
+     * whole pixels at the given resolution.
+     * @param moduleWidth the module width (in mm), or 0 to disable the pixel grid mode
+     */
+    public void setModuleWidth(double moduleWidth) {
+        if (moduleWidth < 0) {
+            throw new IllegalArgumentException("moduleWidth must not be negative");
+        }
+        this.moduleWidth = moduleWidth;
+    }
+
+    /**
+     * Returns the module width used for the pixel grid mode.
+     * @return the module width (in mm), or 0 if the pixel grid mode is disabled
+     */
+    public double getModuleWidth() {
+        return this.moduleWidth;
+    }
+
+    /**
+     * Returns the number of pixels each module is painted with in the pixel grid mode. This
+     * is the module width at the requested resolution, rounded to whole pixels (at least 1).
+     * @return the number of pixels per module, or 0 if the pixel grid mode is disabled
+     */
+    public int getPixelsPerModule() {
+        if (this.moduleWidth == 0) {
+            return 0;
+        }
+        return Math.max(1, UnitConv.mm2px(this.moduleWidth, this.resolution));
+    }
+
     @Override
     public void establishDimensions(BarcodeDimension dim) {
         super.establishDimensions(dim);
-        this.image = BitmapBuilder.prepareImage(dim, getOrientation(),
-                this.resolution, this.imageType);
-        this.delegate = new Java2DCanvasProvider(
-                BitmapBuilder.prepareGraphics2D(this.image, dim, getOrientation(),
-                        this.antiAlias), getOrientation());
-        this.delegate.establishDimensions(dim);
+        final boolean pixelGrid = (this.moduleWidth > 0);
+        if (pixelGrid) {
+            this.scaleX = getPixelsPerModule() / this.moduleWidth;
+            this.scaleY = this.scaleX;
+            this.image = new BufferedImage(
+                    toPixels(dim.getWidthPlusQuiet(getOrientation()), this.scaleX),
+                    toPixels(dim.getHeightPlusQuiet(getOrientation()), this.scaleY),
+                    this.imageType);
+        } else {
+            this.image = BitmapBuilder.prepareImage(dim, getOrientation(),
+                    this.resolution, this.imageType);
+            this.scaleX = this.image.getWidth() / dim.getWidthPlusQuiet(getOrientation());
+            this.scaleY = this.image.getHeight() / dim.getHeightPlusQuiet(getOrientation());
+        }
+        this.delegate = null;
+        this.painter = null;
+        if ((pixelGrid || !this.antiAlias) && RasterPainter.isSupported(this.imageType)) {
+            this.painter = new RasterPainter(this.image, dim, getOrientation(),
+                    this.scaleX, this.scaleY);
+        } else {
+            this.delegate = createDelegate(BitmapBuilder.prepareGraphics2D(
+                    this.image, this.scaleX, this.scaleY, this.antiAlias, true));
+        }
+    }
+
+    private static int toPixels(double mm, double scale) {
+        //Tolerate rounding errors so a whole number of modules doesn't get an extra pixel
+        return Math.max(1, (int)Math.ceil(mm * scale - 1E-6));
+    }
+
+    private Java2DCanvasProvider createDelegate(Graphics2D g2d) {
+        final Java2DCanvasProvider java2d = new Java2DCanvasProvider(g2d, getOrientation());
+        java2d.establishDimensions(getDimensions());
+        return java2d;
     }
 
     @Override
     public void deviceFillRect(double x, double y, double w, double h) {
-        this.delegate.deviceFillRect(x, y, w, h);
+        if (this.painter != null) {
+            this.painter.fillRect(x, y, w, h);
+        } else {
+            this.delegate.deviceFillRect(x, y, w, h);
+        }
     }
 
     @Override
     public void deviceText(String text,
             double x1, double x2, double y1,
             String fontName, double fontSize, TextAlignment textAlign) {
+        if (this.delegate == null) {
+            //Only set up Java2D once text needs to be painted
+            this.delegate = createDelegate(BitmapBuilder.prepareGraphics2D(
+                    this.image, this.scaleX, this.scaleY, this.antiAlias, false));
+        }
         this.delegate.deviceText(text, x1, x2, y1, fontName, fontSize, textAlign);
     }
 }
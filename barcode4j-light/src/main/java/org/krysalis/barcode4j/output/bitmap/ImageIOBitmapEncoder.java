@@ -38,7 +38,7 @@ import org.krysalis.barcode4j.tools.UnitConv;
  *
  * @author Jeremias Maerki
  * @author mk
- * @version 1.2
+ * @version 1.3
  */
 public class ImageIOBitmapEncoder implements BitmapEncoder {
 
@@ -67,10 +67,43 @@ public class ImageIOBitmapEncoder implements BitmapEncoder {
     @Override
     public void encode(BufferedImage image, OutputStream out,
             String mime, int resolution) throws IOException {
+        encode(image, out, mime, resolution, false);
+    }
+
+    /**
+     * Encodes a BufferedImage to a target format and writes it to the OutputStream. In
+     * deterministic mode, the ImageWriter is chosen independently of the order in which the
+     * ImageIO plug-ins have been registered, so encoding the same image always results in
+     * the same bytes as long as the same ImageIO plug-ins are available. The metadata
+     * written by this class only contains the resolution and the name of the software.
+     *
+     * @param image the image to encode
+     * @param out the OutputStream to write the image to
+     * @param mime the MIME type in which to encode the image
+     * @param resolution the resolution in dpi of the image
+     * @param deterministic true to enable the deterministic mode
+     * @throws IOException in case of an I/O problem
+     */
+    public void encode(BufferedImage image, OutputStream out,
+            String mime, int resolution, boolean deterministic) throws IOException {
 
-        //Simply get first offered writer
         final Iterator<ImageWriter> i = ImageIO.getImageWritersByMIMEType(mime);
-        final ImageWriter writer = i.next();
+        if (!i.hasNext()) {
+            throw new IOException("No ImageWriter available for " + mime);
+        }
+        ImageWriter writer = i.next();
+        if (deterministic) {
+            //Use the writer with the lowest class name instead of the first one registered
+            while (i.hasNext()) {
+                final ImageWriter candidate = i.next();
+                if (candidate.getClass().getName().compareTo(writer.getClass().getName()) < 0) {
+                    writer.dispose();
+                    writer = candidate;
+                } else {
+                    candidate.dispose();
+                }
+            }
+        }
 
         //Prepare output
         final ImageOutputStream imout = ImageIO.createImageOutputStream(out);
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.SampleModel;
+import java.util.Arrays;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.output.Orientation;
+
+/**
+ * Paints black rectangles directly into the data buffer of a {@link BufferedImage} of type
+ * {@link BufferedImage#TYPE_BYTE_BINARY} or {@link BufferedImage#TYPE_BYTE_GRAY}, bypassing
+ * Java2D. Rectangle edges are snapped to the pixel grid using the rule Java2D uses for
+ * non-anti-aliased fills with normalized strokes. Unlike Java2D, edges which are meant to
+ * coincide (like the end of one module and the start of the next) always snap to the same
+ * pixel boundary even if they differ in the last bits due to rounding errors.
+ * <p>
+ * The coordinates passed to {@link #fillRect(double, double, double, double)} are the
+ * same as for a {@link org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider}, i.e.
+ * millimeters in the coordinate system of the barcode before the orientation is applied.
+ * Instances are not thread-safe.
+ *
+ * @version 1.0
+ */
+final class RasterPainter {
+
+    /** Tolerance (in pixels) for rounding errors in the transformed coordinates. */
+    private static final double SNAP_TOLERANCE = 1E-6;
+
+    private final byte[] data;
+    private final boolean binary;
+    private final int scanlineStride;
+    private final int offset;
+    private final int bitOffset;
+    private final int imageWidth;
+    private final int imageHeight;
+    private final AffineTransform transform;
+    private final double[] coords = new double[4];
+
+    /**
+     * Creates a new painter and clears the image to white.
+     * @param image the image to paint on
+     * @param dim the barcode dimensions
+     * @param orientation the barcode orientation
+     */
+    RasterPainter(BufferedImage image, BarcodeDimension dim, Orientation orientation) {
+        this(image, dim, orientation,
+                image.getWidth() / dim.getWidthPlusQuiet(orientation),
+                image.getHeight() / dim.getHeightPlusQuiet(orientation));
+    }
+
+    /**
+     * Creates a new painter using the given scaling factors and clears the image to white.
+     * @param image the image to paint on
+     * @param dim the barcode dimensions
+     * @param orientation the barcode orientation
+     * @param scaleX the horizontal scaling factor (pixels per mm)
+     * @param scaleY the vertical scaling factor (pixels per mm)
+     */
+    RasterPainter(BufferedImage image, BarcodeDimension dim, Orientation orientation,
+            double scaleX, double scaleY) {
+        if (!isSupported(image.getType())) {
+            throw new IllegalArgumentException("Unsupported image type: " + image.getType());
+        }
+        this.binary = (image.getType() == BufferedImage.TYPE_BYTE_BINARY);
+        final DataBufferByte buffer = (DataBufferByte)image.getRaster().getDataBuffer();
+        this.data = buffer.getData();
+        final SampleModel sm = image.getRaster().getSampleModel();
+        final int tx = image.getRaster().getSampleModelTranslateX();
+        final int ty = image.getRaster().getSampleModelTranslateY();
+        if (binary) {
+            final MultiPixelPackedSampleModel mpsm = (MultiPixelPackedSampleModel)sm;
+            this.scanlineStride = mpsm.getScanlineStride();
+            this.bitOffset = mpsm.getDataBitOffset() - tx;
+            this.offset = buffer.getOffset() - ty * scanlineStride;
+        } else {
+            final ComponentSampleModel csm = (ComponentSampleModel)sm;
+            this.scanlineStride = csm.getScanlineStride();
+            this.bitOffset = 0;
+            this.offset = buffer.getOffset() + csm.getOffset(0, 0) - tx - ty * scanlineStride;
+        }
+        this.imageWidth = image.getWidth();
+        this.imageHeight = image.getHeight();
+        //Same transformation as set up by BitmapBuilder and Java2DCanvasProvider
+        final double w = dim.getWidthPlusQuiet(orientation);
+        final double h = dim.getHeightPlusQuiet(orientation);
+        this.transform = AffineTransform.getScaleInstance(scaleX, scaleY);
+        switch (orientation) {
+        case NINETY:
+            transform.rotate(-Math.PI / 2);
+            transform.translate(-h, 0);
+            break;
+        case ONEHUNDRED_EIGHTY:
+            transform.rotate(-Math.PI);
+            transform.translate(-w, -h);
+            break;
+        case TWOHUNDRED_SEVENTY:
+            transform.rotate(-Math.PI * 1.5);
+            transform.translate(0, -w);
+            break;
+        default:
+            //nop
+        }
+
+        //Index 1 is white for TYPE_BYTE_BINARY, 255 is white for TYPE_BYTE_GRAY
+        Arrays.fill(this.data, (byte)0xff);
+    }
+
+    /**
+     * Indicates whether the given image type can be painted on by this class.
+     * @param imageType the image type (one of BufferedImage.TYPE_*)
+     * @return true if the image type is supported
+     */
+    static boolean isSupported(int imageType) {
+        return imageType == BufferedImage.TYPE_BYTE_BINARY
+                || imageType == BufferedImage.TYPE_BYTE_GRAY;
+    }
+
+    /**
+     * Paints a black rectangle.
+     * @param x the x coordinate (in mm)
+     * @param y the y coordinate (in mm)
+     * @param w the width (in mm)
+     * @param h the height (in mm)
+     */
+    void fillRect(double x, double y, double w, double h) {
+        coords[0] = x;
+        coords[1] = y;
+        coords[2] = x + w;
+        coords[3] = y + h;
+        transform.transform(coords, 0, coords, 0, 2);
+        final int x1 = Math.max(0, snap(Math.min(coords[0], coords[2])));
+        final int x2 = Math.min(imageWidth, snap(Math.max(coords[0], coords[2])));
+        final int y1 = Math.max(0, snap(Math.min(coords[1], coords[3])));
+        final int y2 = Math.min(imageHeight, snap(Math.max(coords[1], coords[3])));
+        if (x1 >= x2) {
+            return;
+        }
+        for (int row = y1; row < y2; row++) {
+            if (binary) {
+                clearBits(offset + row * scanlineStride, bitOffset + x1, bitOffset + x2);
+            } else {
+                final int start = offset + row * scanlineStride;
+                Arrays.fill(data, start + x1, start + x2, (byte)0);
+            }
+        }
+    }
+
+    /**
+     * Snaps a device coordinate to the pixel grid. Java2D normalizes coordinates to
+     * floor(coord + 0.25) + 0.25 and then paints the pixels whose centers lie within the
+     * shape, so the first painted pixel is floor(coord + 0.25).
+     */
+    private static int snap(double coord) {
+        return (int)Math.floor(coord + 0.25 + SNAP_TOLERANCE);
+    }
+
+    /**
+     * Clears the bits from (inclusive) and to (exclusive) in a row of a packed binary image
+     * (most significant bit first, set bits are white).
+     */
+    private void clearBits(int rowStart, int from, int to) {
+        int index = rowStart + (from >> 3);
+        final int last = rowStart + ((to - 1) >> 3);
+        final int firstMask = 0xff >>> (from & 7);
+        final int lastMask = 0xff << (7 - ((to - 1) & 7)) & 0xff;
+        if (index == last) {
+            data[index] &= ~(firstMask & lastMask);
+            return;
+        }
+        data[index] &= ~firstMask;
+        index++;
+        if (index < last) {
+            Arrays.fill(data, index, last, (byte)0);
+        }
+        data[last] &= ~lastMask;
+    }
+}
@@ -17,20 +17,32 @@ package org.krysalis.barcode4j.output.eps;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
-import java.io.Writer;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.SimpleDateFormat;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 import org.krysalis.barcode4j.output.AbstractCanvasProvider;
 import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.tools.MimeTypes;
+import org.krysalis.barcode4j.tools.NumberFormatter;
 import org.krysalis.barcode4j.tools.UnitConv;
 
 /**
  * CanvasProvider implementation for EPS output (Encapsulated PostScript).
+ * <p>
+ * By default, every bar is painted with its own "rf" (rect fill) call. With the compact
+ * encoding enabled (see {@link #setCompactEncoding(boolean)}), consecutive bars with the
+ * same vertical position and height (i.e. the bars of a linear symbol or of a row of a 2D
+ * symbol) are written as a list of x/width pairs which is painted by a loop in the "ra"
+ * procedure. This results in smaller files which are also processed faster by PostScript
+ * interpreters.
+ * <p>
+ * In deterministic output mode (see {@link #setDeterministic(boolean)}), the optional
+ * "%%CreationDate" comment is omitted.
  *
  * @author Jeremias Maerki
  * @version $Id$
@@ -39,10 +51,20 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
 
     private static final String EPS_END_DEF = "} def\n";
 
-    private Writer writer;
+    /** Maximum number of bars per "ra" call (keeps well within the operand stack limit) */
+    private static final int MAX_BATCH_SIZE = 100;
+    /** Number of x/width pairs per line in compact encoding */
+    private static final int PAIRS_PER_LINE = 10;
+
+    private final EPSWriter writer;
+    private final NumberFormatter numberFormatter = new NumberFormatter(4);
     private DecimalFormat df;
     private IOException firstError;
     private double height;
+    private boolean compactEncoding;
+    private int batchSize;
+    private double batchY;
+    private double batchHeight;
 
     /**
      * Main constructor.
@@ -53,11 +75,7 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
      */
     public EPSCanvasProvider(OutputStream out, Orientation orientation) throws IOException {
         super(orientation);
-        try {
-            this.writer = new java.io.OutputStreamWriter(out, "US-ASCII");
-        } catch (UnsupportedEncodingException uee) {
-            throw new IllegalStateException("Incompatible VM: Need US-ASCII encoding.", uee);
-        }
+        this.writer = new EPSWriter(out, numberFormatter);
     }
 
     /**
@@ -76,10 +94,40 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
     }
 
     /**
-     * Returns the DecimalFormat instance to use internally to format numbers.
+     * Enables or disables the compact encoding where the bars of a row are painted by a
+     * single procedure call. Must be set before the barcode is painted.
+     *
+     * @param compact true to enable the compact encoding
+     */
+    public void setCompactEncoding(boolean compact) {
+        this.compactEncoding = compact;
+    }
+
+    /**
+     * Indicates whether the compact encoding is enabled.
+     *
+     * @return true if the compact encoding is enabled
+     */
+    public boolean isCompactEncoding() {
+        return this.compactEncoding;
+    }
+
+    /**
+     * Returns the NumberFormatter instance to use internally to format numbers.
+     *
+     * @return a NumberFormatter instance
+     */
+    protected NumberFormatter getNumberFormatter() {
+        return this.numberFormatter;
+    }
+
+    /**
+     * Returns a DecimalFormat instance equivalent to the NumberFormatter used internally.
      *
      * @return a DecimalFormat instance
+     * @deprecated use {@link #getNumberFormatter()} instead which is considerably faster
      */
+    @Deprecated
     protected DecimalFormat getDecimalFormat() {
         if (this.df == null) {
             final DecimalFormatSymbols dfs = new DecimalFormatSymbols();
@@ -89,31 +137,38 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         return this.df;
     }
 
-    private String format(double coord) {
-        return getDecimalFormat().format(coord);
+    private void write(double value) throws IOException {
+        writer.write(value);
     }
 
-    private String formatmm(double coord) {
-        return getDecimalFormat().format(UnitConv.mm2pt(coord));
+    private void writemm(double coord) throws IOException {
+        writer.write(UnitConv.mm2pt(coord));
     }
 
-    private String formatmm(double x, double y) {
-        return formatmm(x) + " " + formatmm(this.height - y);
+    private void writemm(double x, double y) throws IOException {
+        writemm(x);
+        writer.write(' ');
+        writemm(this.height - y);
     }
 
     private void writeHeader(double width, double height) throws IOException {
         writer.write("%!PS-Adobe-3.0 EPSF-3.0\n");
         final double widthpt = UnitConv.mm2pt(width);
         final double heightpt = UnitConv.mm2pt(height);
-        writer.write("%%BoundingBox: 0 0 "
-                + Math.round(Math.ceil(widthpt)) + " "
-                + Math.round(Math.ceil(heightpt)) + "\n");
-        writer.write("%%HiResBoundingBox: 0 0 "
-                + format(widthpt) + " "
-                + format(heightpt) + "\n");
+        writer.write("%%BoundingBox: 0 0 ");
+        write(Math.ceil(widthpt));
+        writer.write(' ');
+        write(Math.ceil(heightpt));
+        writer.write("\n%%HiResBoundingBox: 0 0 ");
+        write(widthpt);
+        writer.write(' ');
+        write(heightpt);
+        writer.write('\n');
         writer.write("%%Creator: Barcode4J (http://barcode4j.krysalis.org)\n");
-        final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-        writer.write("%%CreationDate: " + sdf.format(new java.util.Date()) + "\n");
+        if (!isDeterministic()) {
+            final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+            writer.write("%%CreationDate: " + sdf.format(new java.util.Date()) + "\n");
+        }
         writer.write("%%LanguageLevel: 1\n");
         writer.write("%%EndComments\n");
         writer.write("%%BeginProlog\n");
@@ -127,6 +182,16 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         writer.write("closepath fill\n");
         writer.write(EPS_END_DEF);
 
+        if (isCompactEncoding()) {
+            //rect fill array: x1 w1 ... xn wn n y h ra
+            writer.write("/ra {\n");
+            writer.write("3 -1 roll {\n");
+            writer.write("4 2 roll 3 index exch 3 index rf\n");
+            writer.write("} repeat\n");
+            writer.write("pop pop\n");
+            writer.write(EPS_END_DEF);
+        }
+
         writer.write("/ct {\n"); //centered text: (text) middle-x y ct
         writer.write("moveto dup stringwidth\n");
         writer.write("2 div neg exch 2 div neg exch\n");
@@ -176,8 +241,11 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         if (firstError != null) {
             throw firstError;
         }
+        final long start = Metrics.start();
+        flushBatch();
         writer.write("%%EOF\n");
         writer.flush();
+        Metrics.stop(Stage.OUTPUT_ENCODING, MimeTypes.MIME_EPS, start);
     }
 
     @Override
@@ -191,17 +259,25 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         try {
             writeHeader(dim.getWidthPlusQuiet(orientation),
                     dim.getHeightPlusQuiet(orientation));
-            final String w = formatmm(dim.getWidthPlusQuiet());
-            final String h = formatmm(dim.getHeightPlusQuiet());
+            final double w = dim.getWidthPlusQuiet();
+            final double h = dim.getHeightPlusQuiet();
             switch (orientation) {
                 case NINETY:
-                    writer.write("90 rotate 0" + " -" + h + " translate\n");
+                    writer.write("90 rotate 0 -");
+                    writemm(h);
+                    writer.write(" translate\n");
                     break;
                 case ONEHUNDRED_EIGHTY:
-                    writer.write("180 rotate -" + w + " -" + h + " translate\n");
+                    writer.write("180 rotate -");
+                    writemm(w);
+                    writer.write(" -");
+                    writemm(h);
+                    writer.write(" translate\n");
                     break;
                 case TWOHUNDRED_SEVENTY:
-                    writer.write("270 rotate -" + w + " 0 translate\n");
+                    writer.write("270 rotate -");
+                    writemm(w);
+                    writer.write(" 0 translate\n");
                     break;
                 default:
                 //nop
@@ -217,8 +293,16 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
             return;
         }
         try {
-            writer.write(formatmm(x, y) + " "
-                    + formatmm(w) + " " + formatmm(h) + " rf\n");
+            if (isCompactEncoding()) {
+                addToBatch(x, y, w, h);
+                return;
+            }
+            writemm(x, y);
+            writer.write(' ');
+            writemm(w);
+            writer.write(' ');
+            writemm(h);
+            writer.write(" rf\n");
         } catch (IOException ioe) {
             firstError = ioe;
         }
@@ -241,8 +325,12 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         }
         checkFontName(fontName);
         try {
-            writer.write("/" + fontName + " findfont "
-                    + UnitConv.mm2pt(fontSize) + " scalefont setfont\n");
+            flushBatch();
+            writer.write('/');
+            writer.write(fontName);
+            writer.write(" findfont ");
+            writemm(fontSize);
+            writer.write(" scalefont setfont\n");
             switch (textAlign) {
                 case TA_LEFT:
                     writeLeftTextAlign(x1, y1, text);
@@ -265,26 +353,73 @@ public class EPSCanvasProvider extends AbstractCanvasProvider {
         }
     }
 
+    private void addToBatch(double x, double y, double w, double h) throws IOException {
+        if (batchSize > 0
+                && (y != batchY || h != batchHeight || batchSize == MAX_BATCH_SIZE)) {
+            flushBatch();
+        }
+        if (batchSize > 0) {
+            writer.write(batchSize % PAIRS_PER_LINE == 0 ? '\n' : ' ');
+        }
+        writemm(x);
+        writer.write(' ');
+        writemm(w);
+        batchY = y;
+        batchHeight = h;
+        batchSize++;
+    }
+
+    private void flushBatch() throws IOException {
+        if (batchSize == 0) {
+            return;
+        }
+        writer.write(' ');
+        write(batchSize);
+        writer.write(' ');
+        writemm(this.height - batchY);
+        writer.write(' ');
+        writemm(batchHeight);
+        writer.write(" ra\n");
+        batchSize = 0;
+    }
+
     private void writeJustifyTextAlign(String text, double x1, double x2, double y1) throws IOException {
-        writer.write("(" + text + ") "
-                + formatmm(x1) + " "
-                + formatmm(x2) + " "
-                + formatmm(this.height - y1) + " jt\n");
+        writeText(text);
+        writemm(x1);
+        writer.write(' ');
+        writemm(x2);
+        writer.write(' ');
+        writemm(this.height - y1);
+        writer.write(" jt\n");
     }
 
     private void writeRightTextAlign(String text, double x1, double x2, double y1) throws IOException {
-        writer.write("(" + text + ") "
-                + formatmm(x1) + " "
-                + formatmm(x2) + " "
-                + formatmm(this.height - y1) + " rt\n");
+        writeText(text);
+        writemm(x1);
+        writer.write(' ');
+        writemm(x2);
+        writer.write(' ');
+        writemm(this.height - y1);
+        writer.write(" rt\n");
     }
 
     private void writeCenterTextAlign(String text, double x1, double x2, double y1) throws IOException {
-        writer.write("(" + text + ") " + formatmm((x1 + x2) / 2, y1) + " ct\n");
+        writeText(text);
+        writemm((x1 + x2) / 2, y1);
+        writer.write(" ct\n");
     }
 
     private void writeLeftTextAlign(double x1, double y1, String text) throws IOException {
-        writer.write(formatmm(x1, y1) + " moveto (" + text + ") show\n");
+        writemm(x1, y1);
+        writer.write(" moveto ");
+        writeText(text);
+        writer.write("show\n");
+    }
+
+    private void writeText(String text) throws IOException {
+        writer.write('(');
+        writer.write(text);
+        writer.write(") ");
     }
 
     private void checkFontName(String fontName) {
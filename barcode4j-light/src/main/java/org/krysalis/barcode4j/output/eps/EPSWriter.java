@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.eps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.krysalis.barcode4j.tools.NumberFormatter;
+
+/**
+ * Buffered writer for PostScript code. All text is written as US-ASCII bytes directly into
+ * a byte buffer which is only passed on to the underlying OutputStream when it is full or
+ * when the writer is flushed. Characters outside US-ASCII are replaced by '?' like the
+ * US-ASCII charset encoder does. Numbers are formatted without creating intermediate
+ * strings.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @version 1.0
+ */
+final class EPSWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Numbers up to this (absolute) value always fit into the number buffer */
+    private static final double MAX_BUFFERED_NUMBER = 1E10;
+
+    private final OutputStream out;
+    private final NumberFormatter numberFormatter;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final char[] numberBuffer = new char[NumberFormatter.MAX_LENGTH];
+    private int count;
+
+    /**
+     * Creates a new writer.
+     * @param out the OutputStream to write to
+     * @param numberFormatter the formatter for numbers
+     */
+    EPSWriter(OutputStream out, NumberFormatter numberFormatter) {
+        this.out = out;
+        this.numberFormatter = numberFormatter;
+    }
+
+    /**
+     * Writes a single character.
+     * @param c the character
+     * @throws IOException if an I/O error occurs
+     */
+    void write(char c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte)(c < 0x80 ? c : '?');
+    }
+
+    /**
+     * Writes a string.
+     * @param s the string
+     * @throws IOException if an I/O error occurs
+     */
+    void write(String s) throws IOException {
+        for (int i = 0, c = s.length(); i < c; i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a number.
+     * @param value the number
+     * @throws IOException if an I/O error occurs
+     */
+    void write(double value) throws IOException {
+        if (!(Math.abs(value) < MAX_BUFFERED_NUMBER)) {
+            write(numberFormatter.format(value));
+            return;
+        }
+        final int len = numberFormatter.format(value, numberBuffer, 0);
+        if (count + len > buffer.length) {
+            flushBuffer();
+        }
+        for (int i = 0; i < len; i++) {
+            buffer[count++] = (byte)numberBuffer[i];
+        }
+    }
+
+    /**
+     * Writes the buffered bytes and flushes the underlying OutputStream.
+     * @throws IOException if an I/O error occurs
+     */
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -201,35 +201,43 @@ public class SVGCanvasProvider extends AbstractXMLGeneratingCanvasProvider {
         final Element svg = doc.getDocumentElement();
         svg.setAttribute("width", addUnit(dim.getWidthPlusQuiet(orientation)));
         svg.setAttribute("height", addUnit(dim.getHeightPlusQuiet(orientation)));
-        final String w = getDecimalFormat().format(dim.getWidthPlusQuiet(orientation));
-        final String h = getDecimalFormat().format(dim.getHeightPlusQuiet(orientation));
+        final String w = format(dim.getWidthPlusQuiet(orientation));
+        final String h = format(dim.getHeightPlusQuiet(orientation));
         svg.setAttribute("viewBox", "0 0 " + w + " " + h);
-        String transform;
+        final String transform = createTransform(orientation, w, h);
+        if (transform != null) {
+            detailGroup.setAttribute("transform", transform);
+        }
+    }
+
+    /**
+     * Creates the SVG transform for the orientation of the barcode.
+     *
+     * @param orientation the barcode orientation
+     * @param w the formatted width of the barcode (including quiet zones)
+     * @param h the formatted height of the barcode (including quiet zones)
+     * @return the value for the transform attribute, or null if no transform is necessary
+     */
+    static String createTransform(Orientation orientation, String w, String h) {
         switch (orientation) {
             case NINETY:
-                transform = "rotate(-90) translate(-" + h + ")";
-                break;
+                return "rotate(-90) translate(-" + h + ")";
             case ONEHUNDRED_EIGHTY:
-                transform = "rotate(-180) translate(-" + w + " -" + h + ")";
-                break;
+                return "rotate(-180) translate(-" + w + " -" + h + ")";
             case TWOHUNDRED_SEVENTY:
-                transform = "rotate(-270) translate(0 -" + w + ")";
-                break;
+                return "rotate(-270) translate(0 -" + w + ")";
             default:
-                transform = null;
-        }
-        if (transform != null) {
-            detailGroup.setAttribute("transform", transform);
+                return null;
         }
     }
 
     @Override
     public void deviceFillRect(double x, double y, double w, double h) {
         final Element el = createElement("rect");
-        el.setAttribute("x", getDecimalFormat().format(x));
-        el.setAttribute("y", getDecimalFormat().format(y));
-        el.setAttribute("width", getDecimalFormat().format(w));
-        el.setAttribute("height", getDecimalFormat().format(h));
+        el.setAttribute("x", format(x));
+        el.setAttribute("y", format(y));
+        el.setAttribute("width", format(w));
+        el.setAttribute("height", format(h));
         detailGroup.appendChild(el);
     }
 
@@ -250,12 +258,12 @@ public class SVGCanvasProvider extends AbstractXMLGeneratingCanvasProvider {
             tx = x1 + (x2 - x1) / 2;
         }
         el.setAttribute("font-family", fontName);
-        el.setAttribute("font-size", getDecimalFormat().format(fontSize));
+        el.setAttribute("font-size", format(fontSize));
         el.setAttribute("text-anchor", anchor);
-        el.setAttribute("x", getDecimalFormat().format(tx));
-        el.setAttribute("y", getDecimalFormat().format(y1));
+        el.setAttribute("x", format(tx));
+        el.setAttribute("y", format(y1));
         if (textAlign == TextAlignment.TA_JUSTIFY) {
-            el.setAttribute("textLength", getDecimalFormat().format(x2 - x1));
+            el.setAttribute("textLength", format(x2 - x1));
         }
         el.appendChild(doc.createTextNode(text));
         detailGroup.appendChild(el);
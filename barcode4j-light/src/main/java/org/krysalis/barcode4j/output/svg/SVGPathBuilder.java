@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.svg;
+
+/**
+ * Accumulates rectangles into the data of a single SVG path ("d" attribute). Every
+ * rectangle becomes a closed subpath made of relative commands (<code>m</code>,
+ * <code>h</code>, <code>v</code>, <code>z</code>), and numbers are written with at most four
+ * fraction digits and without redundant characters (leading zeros, trailing zeros and
+ * separators in front of negative numbers).
+ * <p>
+ * Coordinates are rounded to the output precision before the relative offsets are
+ * calculated, so rounding errors don't accumulate over long paths. All rectangles are
+ * drawn in the same direction so overlapping rectangles don't cancel each other out.
+ * Instances are not thread-safe.
+ *
+ * @version 1.0
+ */
+final class SVGPathBuilder {
+
+    /** Fixed-point scale: four fraction digits like the "0.####" format of the providers */
+    private static final long SCALE = 10000;
+
+    private final StringBuilder sb = new StringBuilder(256);
+    private long currentX;
+    private long currentY;
+
+    /**
+     * Adds a rectangle to the path.
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param w the width
+     * @param h the height
+     */
+    void addRect(double x, double y, double w, double h) {
+        long x1 = toFixed(x);
+        long y1 = toFixed(y);
+        long x2 = toFixed(x + w);
+        long y2 = toFixed(y + h);
+        if (x1 > x2) {
+            final long t = x1;
+            x1 = x2;
+            x2 = t;
+        }
+        if (y1 > y2) {
+            final long t = y1;
+            y1 = y2;
+            y2 = t;
+        }
+        if (x1 == x2 || y1 == y2) {
+            return; //Nothing visible at the output precision
+        }
+        if (sb.length() == 0) {
+            sb.append('M');
+            appendPair(x1, y1);
+        } else {
+            //After "z" the current point is the start point of the previous rectangle
+            sb.append('m');
+            appendPair(x1 - currentX, y1 - currentY);
+        }
+        sb.append('h');
+        appendNumber(x2 - x1);
+        sb.append('v');
+        appendNumber(y2 - y1);
+        sb.append('h');
+        appendNumber(x1 - x2);
+        sb.append('z');
+        currentX = x1;
+        currentY = y1;
+    }
+
+    /**
+     * Indicates whether no rectangle has been added since the last reset.
+     * @return true if the path is empty
+     */
+    boolean isEmpty() {
+        return sb.length() == 0;
+    }
+
+    /**
+     * Returns the path data.
+     * @return the path data
+     */
+    String getPathData() {
+        return sb.toString();
+    }
+
+    /**
+     * Removes all rectangles so the builder can be reused for a new path.
+     */
+    void reset() {
+        sb.setLength(0);
+        currentX = 0;
+        currentY = 0;
+    }
+
+    private static long toFixed(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    private void appendPair(long a, long b) {
+        appendNumber(a);
+        //A separator is only necessary if the second number could be read as part of the first
+        if (b >= 0 && !(hasFraction(a) && startsWithPoint(b))) {
+            sb.append(' ');
+        }
+        appendNumber(b);
+    }
+
+    private static boolean hasFraction(long value) {
+        return value % SCALE != 0;
+    }
+
+    private static boolean startsWithPoint(long value) {
+        return value > 0 && value < SCALE;
+    }
+
+    private void appendNumber(long value) {
+        if (value < 0) {
+            sb.append('-');
+            value = -value;
+        }
+        final long intPart = value / SCALE;
+        long fraction = value % SCALE;
+        if (intPart != 0 || fraction == 0) {
+            sb.append(intPart);
+        }
+        if (fraction != 0) {
+            sb.append('.');
+            long divisor = SCALE / 10;
+            while (fraction != 0) {
+                sb.append((char)('0' + fraction / divisor));
+                fraction %= divisor;
+                divisor /= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.svg;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
+import org.krysalis.barcode4j.output.AbstractXMLGeneratingCanvasProvider;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+/**
+ * Implementation that writes SVG directly to a stream without building a DOM. The output
+ * is equivalent to serializing the document built by {@link SVGCanvasProvider}. Use
+ * {@link SVGCanvasProvider} instead if you need the barcode as a DOM.
+ * <p>
+ * {@link #finish()} must be called after the barcode has been painted to close the SVG
+ * document.
+ * <p>
+ * In compact path mode (see {@link #setCompactPath(boolean)}) all bars are combined into
+ * a single <code>path</code> element instead of one <code>rect</code> element per bar.
+ * This considerably reduces the size of the output, especially for 2D symbols and long
+ * linear symbols.
+ *
+ * @version 1.1
+ */
+public class SVGStreamCanvasProvider extends AbstractXMLGeneratingCanvasProvider {
+
+    private final Writer writer;
+    private final boolean useNamespace;
+    private final boolean xmlDeclaration;
+    private IOException firstError;
+    private boolean started;
+    private SVGPathBuilder path;
+
+    /**
+     * Creates a new SVGStreamCanvasProvider writing an SVG document (including the XML
+     * declaration) to an OutputStream using UTF-8 encoding.
+     *
+     * @param out OutputStream to write the SVG to
+     * @param useNamespace Controls whether namespaces should be used
+     * @param orientation the barcode orientation
+     */
+    public SVGStreamCanvasProvider(OutputStream out, boolean useNamespace,
+            Orientation orientation) {
+        super(orientation);
+        try {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+        } catch (UnsupportedEncodingException uee) {
+            throw new IllegalStateException("Incompatible VM: Need UTF-8 encoding.", uee);
+        }
+        this.useNamespace = useNamespace;
+        this.xmlDeclaration = true;
+    }
+
+    /**
+     * Creates a new SVGStreamCanvasProvider writing an SVG document (including the XML
+     * declaration) to an OutputStream using UTF-8 encoding. Namespaces are enabled.
+     *
+     * @param out OutputStream to write the SVG to
+     * @param orientation the barcode orientation
+     */
+    public SVGStreamCanvasProvider(OutputStream out, Orientation orientation) {
+        this(out, true, orientation);
+    }
+
+    /**
+     * Creates a new SVGStreamCanvasProvider writing the SVG element to a Writer. No XML
+     * declaration is written so the output can be embedded in other documents (like HTML
+     * pages).
+     *
+     * @param writer Writer to write the SVG to
+     * @param useNamespace Controls whether namespaces should be used
+     * @param orientation the barcode orientation
+     */
+    public SVGStreamCanvasProvider(Writer writer, boolean useNamespace,
+            Orientation orientation) {
+        super(orientation);
+        this.writer = writer;
+        this.useNamespace = useNamespace;
+        this.xmlDeclaration = false;
+    }
+
+    /**
+     * Indicates whether namespaces are enabled.
+     *
+     * @return true if namespaces are enabled
+     */
+    public boolean isNamespaceEnabled() {
+        return this.useNamespace;
+    }
+
+    /**
+     * Enables or disables the compact path mode. In this mode, all bars are written as a
+     * single path with relative coordinates instead of individual rectangles. Must be set
+     * before the barcode is painted.
+     *
+     * @param compact true to enable the compact path mode
+     */
+    public void setCompactPath(boolean compact) {
+        if (compact) {
+            if (this.path == null) {
+                this.path = new SVGPathBuilder();
+            }
+        } else {
+            this.path = null;
+        }
+    }
+
+    /**
+     * Indicates whether the compact path mode is enabled.
+     *
+     * @return true if all bars are written as a single path
+     */
+    public boolean isCompactPath() {
+        return this.path != null;
+    }
+
+    /**
+     * Closes the SVG document. Must be called after barcode painting call returns.
+     *
+     * @throws IOException if an I/O error happened during SVG generation
+     */
+    public void finish() throws IOException {
+        if (firstError != null) {
+            throw firstError;
+        }
+        final long start = Metrics.start();
+        if (!started) {
+            writeStart(null);
+        }
+        writePath();
+        writer.write("</g></svg>");
+        writer.flush();
+        Metrics.stop(Stage.OUTPUT_ENCODING, MimeTypes.MIME_SVG, start);
+    }
+
+    @Override
+    public void establishDimensions(BarcodeDimension dim) {
+        super.establishDimensions(dim);
+        if (firstError != null) {
+            return;
+        }
+        try {
+            writeStart(dim);
+        } catch (IOException ioe) {
+            firstError = ioe;
+        }
+    }
+
+    private void writeStart(BarcodeDimension dim) throws IOException {
+        if (started) {
+            throw new IllegalStateException("The barcode dimensions have already been set");
+        }
+        started = true;
+        if (xmlDeclaration) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        }
+        writer.write("<svg");
+        if (isNamespaceEnabled()) {
+            writer.write(" xmlns=\"");
+            writer.write(SVGCanvasProvider.SVG_NAMESPACE);
+            writer.write('"');
+        }
+        String transform = null;
+        if (dim != null) {
+            final Orientation orientation = getOrientation();
+            final String w = format(dim.getWidthPlusQuiet(orientation));
+            final String h = format(dim.getHeightPlusQuiet(orientation));
+            writeAttribute("width", w + "mm");
+            writeAttribute("height", h + "mm");
+            writeAttribute("viewBox", "0 0 " + w + " " + h);
+            transform = SVGCanvasProvider.createTransform(orientation, w, h);
+        }
+        writer.write("><g fill=\"black\" stroke=\"none\"");
+        if (transform != null) {
+            writeAttribute("transform", transform);
+        }
+        writer.write('>');
+    }
+
+    @Override
+    public void deviceFillRect(double x, double y, double w, double h) {
+        if (firstError != null) {
+            return;
+        }
+        if (path != null) {
+            path.addRect(x, y, w, h);
+            return;
+        }
+        try {
+            writer.write("<rect");
+            writeAttribute("x", x);
+            writeAttribute("y", y);
+            writeAttribute("width", w);
+            writeAttribute("height", h);
+            writer.write("/>");
+        } catch (IOException ioe) {
+            firstError = ioe;
+        }
+    }
+
+    @Override
+    public void deviceText(String text, double x1, double x2, double y1,
+            String fontName, double fontSize, TextAlignment textAlign) {
+        if (firstError != null) {
+            return;
+        }
+        String anchor;
+        double tx;
+        if (textAlign == TextAlignment.TA_LEFT) {
+            anchor = "start";
+            tx = x1;
+        } else if (textAlign == TextAlignment.TA_RIGHT) {
+            anchor = "end";
+            tx = x2;
+        } else {
+            anchor = "middle";
+            tx = x1 + (x2 - x1) / 2;
+        }
+        try {
+            writePath();
+            writer.write("<text");
+            writeAttribute("font-family", fontName);
+            writeAttribute("font-size", fontSize);
+            writeAttribute("text-anchor", anchor);
+            writeAttribute("x", tx);
+            writeAttribute("y", y1);
+            if (textAlign == TextAlignment.TA_JUSTIFY) {
+                writeAttribute("textLength", x2 - x1);
+            }
+            writer.write('>');
+            writeEscaped(text);
+            writer.write("</text>");
+        } catch (IOException ioe) {
+            firstError = ioe;
+        }
+    }
+
+    /**
+     * Writes the bars accumulated so far (if any) as a path element.
+     */
+    private void writePath() throws IOException {
+        if (path == null || path.isEmpty()) {
+            return;
+        }
+        writer.write("<path d=\"");
+        writer.write(path.getPathData());
+        writer.write("\"/>");
+        path.reset();
+    }
+
+    private void writeAttribute(String name, double value) throws IOException {
+        writer.write(' ');
+        writer.write(name);
+        writer.write("=\"");
+        getNumberFormatter().format(value, writer);
+        writer.write('"');
+    }
+
+    private void writeAttribute(String name, String value) throws IOException {
+        writer.write(' ');
+        writer.write(name);
+        writer.write("=\"");
+        writeEscaped(value);
+        writer.write('"');
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0, c = text.length(); i < c; i++) {
+            final char ch = text.charAt(i);
+            switch (ch) {
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '"':
+                writer.write("&quot;");
+                break;
+            default:
+                writer.write(ch);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fast formatter for numbers in text-based output formats (SVG, EPS). Numbers are written
+ * with a fixed maximum number of fraction digits, a '.' as decimal separator, without
+ * grouping and without trailing zeros, like a {@link java.text.DecimalFormat} with the
+ * pattern "0.####" (including its HALF_EVEN rounding of the exact value of the double).
+ * Unlike DecimalFormat, formatting a number into a Writer or a char array doesn't allocate
+ * any objects (except for rare ties and huge numbers), and negative numbers which round to
+ * zero are written as "0" rather than "-0".
+ * <p>
+ * Instances are not thread-safe as they use an internal buffer.
+ *
+ * @version 1.0
+ */
+public final class NumberFormatter {
+
+    /** The maximum number of chars a formatted number below 1E15 (absolute) can take */
+    public static final int MAX_LENGTH = 32;
+
+    /** Beyond this value the scaled number cannot be rounded reliably on the fast path */
+    private static final double FAST_PATH_LIMIT = 1E15;
+
+    private final int fractionDigits;
+    private final long factor;
+    private final char[] buffer = new char[MAX_LENGTH];
+
+    /**
+     * Creates a new formatter with four fraction digits.
+     */
+    public NumberFormatter() {
+        this(4);
+    }
+
+    /**
+     * Creates a new formatter.
+     * @param fractionDigits the maximum number of fraction digits (0 to 9)
+     */
+    public NumberFormatter(int fractionDigits) {
+        if (fractionDigits < 0 || fractionDigits > 9) {
+            throw new IllegalArgumentException("fractionDigits must be between 0 and 9");
+        }
+        this.fractionDigits = fractionDigits;
+        long f = 1;
+        for (int i = 0; i < fractionDigits; i++) {
+            f *= 10;
+        }
+        this.factor = f;
+    }
+
+    /**
+     * Returns the maximum number of fraction digits.
+     * @return the maximum number of fraction digits
+     */
+    public int getFractionDigits() {
+        return this.fractionDigits;
+    }
+
+    /**
+     * Formats a number into a char array.
+     * @param value the number
+     * @param dest the destination array (should have room for {@link #MAX_LENGTH} chars
+     *          starting at the offset)
+     * @param offset the index of the first char to write
+     * @return the index after the last char written
+     * @throws IndexOutOfBoundsException if the formatted number doesn't fit into the array
+     */
+    public int format(double value, char[] dest, int offset) {
+        final double scaled = value * factor;
+        if (isSlowPath(scaled)) {
+            final String s = formatSlow(value);
+            s.getChars(0, s.length(), dest, offset);
+            return offset + s.length();
+        }
+        long l = (long)Math.rint(scaled);
+        int pos = offset;
+        if (l < 0) {
+            dest[pos++] = '-';
+            l = -l;
+        }
+        pos = writeDigits(l / factor, 0, dest, pos);
+        long fraction = l % factor;
+        if (fraction != 0) {
+            int digits = fractionDigits;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            dest[pos++] = '.';
+            pos = writeDigits(fraction, digits, dest, pos);
+        }
+        return pos;
+    }
+
+    /**
+     * Formats a number and writes it to a Writer.
+     * @param value the number
+     * @param writer the Writer
+     * @throws IOException if an I/O error occurs
+     */
+    public void format(double value, Writer writer) throws IOException {
+        if (isSlowPath(value * factor)) {
+            writer.write(formatSlow(value));
+            return;
+        }
+        final int len = format(value, buffer, 0);
+        writer.write(buffer, 0, len);
+    }
+
+    /**
+     * Formats a number and appends it to a StringBuilder.
+     * @param value the number
+     * @param sb the StringBuilder
+     */
+    public void format(double value, StringBuilder sb) {
+        if (isSlowPath(value * factor)) {
+            sb.append(formatSlow(value));
+            return;
+        }
+        final int len = format(value, buffer, 0);
+        sb.append(buffer, 0, len);
+    }
+
+    /**
+     * Formats a number.
+     * @param value the number
+     * @return the formatted number
+     */
+    public String format(double value) {
+        if (isSlowPath(value * factor)) {
+            return formatSlow(value);
+        }
+        final int len = format(value, buffer, 0);
+        return new String(buffer, 0, len);
+    }
+
+    /**
+     * Indicates whether a number has to be formatted on the slow path. This is the case
+     * for numbers which are too large for a long and for numbers where rounding the scaled
+     * value could give a different result than rounding the exact decimal value of the
+     * double (i.e. the scaled value is within rounding errors of a tie).
+     */
+    private static boolean isSlowPath(double scaled) {
+        if (!(Math.abs(scaled) < FAST_PATH_LIMIT)) {
+            return true; //Also true for NaN
+        }
+        final double distanceToTie = Math.abs(scaled - Math.floor(scaled) - 0.5);
+        return distanceToTie <= Math.ulp(scaled);
+    }
+
+    /**
+     * Writes the decimal digits of a non-negative number, padded with leading zeros to a
+     * minimum number of digits.
+     */
+    private static int writeDigits(long value, int minDigits, char[] dest, int offset) {
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        long v = value;
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dest[i] = (char)('0' + (int)(v % 10));
+            v /= 10;
+        }
+        return offset + digits;
+    }
+
+    /**
+     * Formats a number using the exact decimal value of the double. Used for (near) ties,
+     * very large numbers, NaN and infinity.
+     */
+    private String formatSlow(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return String.valueOf(value);
+        }
+        final BigDecimal rounded = new BigDecimal(value).setScale(
+                fractionDigits, RoundingMode.HALF_EVEN);
+        if (rounded.signum() == 0) {
+            return "0";
+        }
+        return rounded.stripTrailingZeros().toPlainString();
+    }
+}
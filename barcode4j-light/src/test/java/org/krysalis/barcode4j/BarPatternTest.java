@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.krysalis.barcode4j.impl.MockClassicBarcodeLogicHandler;
+import org.krysalis.barcode4j.impl.codabar.CodabarLogicImpl;
+import org.krysalis.barcode4j.impl.code128.Code128LogicImpl;
+import org.krysalis.barcode4j.impl.code128.EAN128LogicImpl;
+import org.krysalis.barcode4j.impl.code39.Code39LogicImpl;
+import org.krysalis.barcode4j.impl.int2of5.Interleaved2Of5LogicImpl;
+import org.krysalis.barcode4j.impl.postnet.POSTNETLogicImpl;
+import org.krysalis.barcode4j.impl.upcean.EAN13LogicImpl;
+import org.krysalis.barcode4j.impl.upcean.EAN8LogicImpl;
+import org.krysalis.barcode4j.impl.upcean.UPCALogicImpl;
+import org.krysalis.barcode4j.impl.upcean.UPCEANLogicImpl;
+import org.krysalis.barcode4j.impl.upcean.UPCELogicImpl;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the BarPattern class and its creation by the linear symbologies.
+ */
+public class BarPatternTest {
+
+    /** Returns the events of a pattern as serialized by the mock logic handler. */
+    private String replay(BarPattern pattern) {
+        final StringBuilder sb = new StringBuilder();
+        pattern.generate(new MockClassicBarcodeLogicHandler(sb, true));
+        return sb.toString();
+    }
+
+    private String stream(Object logicImpl, String msg) {
+        final StringBuilder sb = new StringBuilder();
+        final ClassicBarcodeLogicHandler logic = new MockClassicBarcodeLogicHandler(sb, true);
+        if (logicImpl instanceof Code39LogicImpl) {
+            ((Code39LogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        } else if (logicImpl instanceof Code128LogicImpl) {
+            ((Code128LogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        } else if (logicImpl instanceof EAN128LogicImpl) {
+            ((EAN128LogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        } else if (logicImpl instanceof CodabarLogicImpl) {
+            ((CodabarLogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        } else if (logicImpl instanceof Interleaved2Of5LogicImpl) {
+            ((Interleaved2Of5LogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        } else if (logicImpl instanceof POSTNETLogicImpl) {
+            ((POSTNETLogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        } else {
+            ((UPCEANLogicImpl)logicImpl).generateBarcodeLogic(logic, msg);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testSameEvents() throws Exception {
+        System.out.println("testSameEvents");
+        final Code39LogicImpl code39 = new Code39LogicImpl(ChecksumMode.CP_AUTO,
+                true, true, false);
+        assertEquals(stream(code39, "CODE39"), replay(code39.createBarPattern("CODE39")));
+
+        final Code128LogicImpl code128 = new Code128LogicImpl();
+        assertEquals(stream(code128, "Code\t128"),
+                replay(code128.createBarPattern("Code\t128")));
+
+        final EAN128LogicImpl ean128 = new EAN128LogicImpl(ChecksumMode.CP_AUTO, null);
+        assertEquals(stream(ean128, "0112345678901231"),
+                replay(ean128.createBarPattern("0112345678901231")));
+
+        final CodabarLogicImpl codabar = new CodabarLogicImpl(ChecksumMode.CP_AUTO);
+        assertEquals(stream(codabar, "a31117013206375b"),
+                replay(codabar.createBarPattern("a31117013206375b")));
+
+        final Interleaved2Of5LogicImpl int2of5 = new Interleaved2Of5LogicImpl(
+                ChecksumMode.CP_AUTO, false);
+        assertEquals(stream(int2of5, "123456"), replay(int2of5.createBarPattern("123456")));
+
+        final POSTNETLogicImpl postnet = new POSTNETLogicImpl(ChecksumMode.CP_AUTO, false);
+        assertEquals(stream(postnet, "55555-1237"),
+                replay(postnet.createBarPattern("55555-1237")));
+
+        final EAN13LogicImpl ean13 = new EAN13LogicImpl(ChecksumMode.CP_AUTO);
+        assertEquals(stream(ean13, "4006381333931+12"),
+                replay(ean13.createBarPattern("4006381333931+12")));
+        final EAN8LogicImpl ean8 = new EAN8LogicImpl(ChecksumMode.CP_AUTO);
+        assertEquals(stream(ean8, "9638507"), replay(ean8.createBarPattern("9638507")));
+        final UPCALogicImpl upca = new UPCALogicImpl(ChecksumMode.CP_AUTO);
+        assertEquals(stream(upca, "01234567890"),
+                replay(upca.createBarPattern("01234567890")));
+        final UPCELogicImpl upce = new UPCELogicImpl(ChecksumMode.CP_AUTO);
+        assertEquals(stream(upce, "0425261"), replay(upce.createBarPattern("0425261")));
+    }
+
+    @Test
+    public void testPattern() throws Exception {
+        System.out.println("testPattern");
+        final BarPattern pattern = new Interleaved2Of5LogicImpl(ChecksumMode.CP_IGNORE, false)
+                .createBarPattern("12");
+        assertEquals("12", pattern.getMessage());
+        assertEquals("12", pattern.getFormattedMessage());
+        assertEquals("B1W1B1W1B2W1B1W2B1W1B1W1B2W2B2W1B1", pattern.toString());
+        assertEquals(17, pattern.getBarCount());
+        assertTrue(pattern.isDark(4));
+        assertEquals(2, pattern.getWeight(4));
+        assertFalse(pattern.isDark(7));
+        assertEquals(6, pattern.getGroupEventCount());
+
+        //The inter-character gap of Code 39 has the special weight -1
+        final BarPattern code39 = new Code39LogicImpl(ChecksumMode.CP_IGNORE,
+                false, false, false).createBarPattern("A");
+        assertEquals(-1, code39.getWeight(9));
+        assertFalse(code39.isDark(9));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        System.out.println("testEquals");
+        final Code128LogicImpl impl = new Code128LogicImpl();
+        final BarPattern pattern = impl.createBarPattern("Barcode4J");
+        assertEquals(pattern, impl.createBarPattern("Barcode4J"));
+        assertEquals(pattern.hashCode(), impl.createBarPattern("Barcode4J").hashCode());
+        assertFalse(pattern.equals(impl.createBarPattern("Barcode4j")));
+
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bout);
+        out.writeObject(pattern);
+        out.close();
+        final ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()));
+        assertEquals(pattern, in.readObject());
+    }
+
+    @Test
+    public void testBuilder() throws Exception {
+        System.out.println("testBuilder");
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        builder.startBarcode("msg", "formatted");
+        builder.startBarGroup(BarGroup.START_CHARACTER, null);
+        builder.endBarGroup();
+        builder.addBar(true, 3);
+        builder.startBarGroup(BarGroup.MSG_CHARACTER, "m");
+        builder.startBarGroup(BarGroup.MSG_CHARACTER, "s");
+        builder.addBar(false, 1);
+        builder.endBarGroup();
+        builder.endBarGroup();
+        builder.endBarcode();
+        final BarPattern pattern = builder.build();
+        assertEquals("<BC:formatted><SBG:start-char:null></SBG>B3"
+                + "<SBG:msg-char:m><SBG:msg-char:s>W1</SBG></SBG></BC>", replay(pattern));
+        try {
+            builder.addBar(true, 1);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.krysalis.barcode4j.impl.FrozenBarcodeGenerator;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.code128.EAN128Bean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
+
+import com.github.mbhk.barcode4j.Configuration;
+import com.github.mbhk.barcode4j.ConfigurationException;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the BarcodeGeneratorCache class and frozen barcode generators.
+ */
+public class BarcodeGeneratorCacheTest {
+
+    private static final BarcodeGeneratorCache.Factory FACTORY = new BarcodeGeneratorCache.Factory() {
+        @Override
+        public BarcodeGenerator createBarcodeGenerator(Configuration cfg) throws BarcodeException {
+            final Code128Bean bean = new Code128Bean();
+            try {
+                bean.setModuleWidth(Double.parseDouble(
+                        cfg.getChild("module-width").getValue("0.21")));
+            } catch (ConfigurationException ce) {
+                throw new BarcodeException(ce.getMessage());
+            }
+            return bean;
+        }
+    };
+
+    private static String render(BarcodeGenerator gen, String msg) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(out, Orientation.ZERO);
+        gen.generateBarcode(svg, msg);
+        svg.finish();
+        return out.toString("UTF-8");
+    }
+
+    private static Configuration createConfiguration(boolean reversed) {
+        final Configuration cfg = new Configuration("code128");
+        final Configuration mw = new Configuration("module-width", "0.3");
+        final Configuration height = new Configuration("height", "10");
+        if (reversed) {
+            cfg.setAttribute("b", "2");
+            cfg.setAttribute("a", "1");
+            cfg.addChild(height);
+            cfg.addChild(mw);
+        } else {
+            cfg.setAttribute("a", "1");
+            cfg.setAttribute("b", "2");
+            cfg.addChild(mw);
+            cfg.addChild(height);
+        }
+        return cfg;
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        System.out.println("freeze");
+        final Code128Bean bean = new Code128Bean();
+        final String expected = render(bean, "Hello");
+        final FrozenBarcodeGenerator frozen = bean.freeze();
+        bean.setModuleWidth(1);
+        bean.setMsgPosition(HumanReadablePlacement.HRP_TOP);
+        assertEquals(expected, render(frozen, "Hello"));
+        assertEquals(bean.getId(), frozen.getId());
+
+        //The bean returned by the frozen generator is a copy
+        final Code128Bean copy = (Code128Bean)frozen.getBean();
+        copy.setModuleWidth(2);
+        assertEquals(expected, render(frozen, "Hello"));
+        assertEquals(new Code128Bean().getModuleWidth(),
+                ((Code128Bean)frozen.getBean()).getModuleWidth(), 0.0);
+
+        try {
+            frozen.configure(new Configuration("code128"));
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException uoe) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testCreateKey() throws Exception {
+        System.out.println("createKey");
+        assertEquals(BarcodeGeneratorCache.createKey(createConfiguration(false)),
+                BarcodeGeneratorCache.createKey(createConfiguration(true)));
+
+        final Configuration cfg1 = new Configuration("code128");
+        cfg1.addChild(new Configuration("height", "10"));
+        final Configuration cfg2 = new Configuration("code128");
+        cfg2.setAttribute("height", "10");
+        final Configuration cfg3 = new Configuration("code128", "height");
+        assertFalse(BarcodeGeneratorCache.createKey(cfg1).equals(
+                BarcodeGeneratorCache.createKey(cfg2)));
+        assertFalse(BarcodeGeneratorCache.createKey(cfg1).equals(
+                BarcodeGeneratorCache.createKey(cfg3)));
+        assertFalse(BarcodeGeneratorCache.createKey(cfg2).equals(
+                BarcodeGeneratorCache.createKey(cfg3)));
+        assertFalse(BarcodeGeneratorCache.createKey(new Configuration("a", "")).equals(
+                BarcodeGeneratorCache.createKey(new Configuration("a"))));
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        System.out.println("cache");
+        final BarcodeGeneratorCache cache = new BarcodeGeneratorCache(FACTORY, 2);
+        final BarcodeGenerator gen = cache.getBarcodeGenerator(createConfiguration(false));
+        assertTrue(gen instanceof FrozenBarcodeGenerator);
+        assertSame(gen, cache.getBarcodeGenerator(createConfiguration(true)));
+        assertEquals(1, cache.size());
+        assertEquals(0.3, ((Code128Bean)((FrozenBarcodeGenerator)gen).getBean()).getModuleWidth(), 0.0);
+
+        //The cache is bounded and evicts the least recently used generator
+        final BarcodeGenerator gen1 = cache.getBarcodeGenerator(new Configuration("code128"));
+        assertEquals(2, cache.size());
+        assertSame(gen, cache.getBarcodeGenerator(createConfiguration(false)));
+        final Configuration cfg = new Configuration("code128");
+        cfg.addChild(new Configuration("module-width", "0.5"));
+        final BarcodeGenerator gen2 = cache.getBarcodeGenerator(cfg);
+        assertSame(gen2, cache.getBarcodeGenerator(cfg));
+        assertEquals(2, cache.size());
+        assertSame(gen, cache.getBarcodeGenerator(createConfiguration(true)));
+        assertNotSame(gen1, cache.getBarcodeGenerator(new Configuration("code128")));
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(gen, cache.getBarcodeGenerator(createConfiguration(false)));
+    }
+
+    @Test
+    public void testProvider() throws Exception {
+        System.out.println("provider");
+        final BarcodeGeneratorProvider provider = BarcodeGeneratorProvider.getInstance();
+        final Configuration cfg = new Configuration("ean-13");
+        cfg.addChild(new Configuration("module-width", "0.3mm"));
+        final BarcodeGenerator gen = provider.getBarcodeGenerator(cfg);
+        assertTrue(gen instanceof FrozenBarcodeGenerator);
+        assertSame(gen, provider.getBarcodeGenerator(cfg));
+        assertEquals("ean-13", gen.getId());
+        try {
+            provider.getBarcodeGenerator(new Configuration("foobar"));
+            fail("Expected BarcodeException");
+        } catch (BarcodeException be) {
+            //expected
+        }
+    }
+
+    /**
+     * EAN-128 keeps the encoded message in its logic implementation. A frozen generator must
+     * still produce correct output when used by several threads at the same time.
+     */
+    @Test
+    public void testConcurrentUse() throws Exception {
+        System.out.println("concurrentUse");
+        final FrozenBarcodeGenerator gen = new EAN128Bean().freeze();
+        final String[] msgs = new String[16];
+        final String[] expected = new String[msgs.length];
+        for (int i = 0; i < msgs.length; i++) {
+            msgs[i] = "10" + (1000 + i) + EAN128Bean.DEFAULT_GROUP_SEPARATOR + "21" + (i * 7);
+            expected[i] = render(gen, msgs[i]);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int round = 0; round < 20; round++) {
+                            for (int i = 0; i < msgs.length; i++) {
+                                if (!expected[i].equals(render(gen, msgs[i]))) {
+                                    return Boolean.FALSE;
+                                }
+                            }
+                        }
+                        return Boolean.TRUE;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get().booleanValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
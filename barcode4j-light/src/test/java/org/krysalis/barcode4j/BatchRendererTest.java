@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.krysalis.barcode4j.impl.upcean.EAN13Bean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+import com.github.mbhk.barcode4j.Configuration;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the BatchRenderer class.
+ */
+public class BatchRendererTest {
+
+    /** Collects the results and checks their order. */
+    private static class CollectingSink implements BatchRenderer.Sink {
+
+        private final List<byte[]> results = new ArrayList<byte[]>();
+        private final List<Integer> failures = new ArrayList<Integer>();
+        private int expectedIndex;
+
+        @Override
+        public void barcodeRendered(int index, String msg, byte[] data) throws IOException {
+            assertEquals(expectedIndex++, index);
+            results.add(data);
+        }
+
+        @Override
+        public void barcodeFailed(int index, String msg, Exception e) throws IOException {
+            assertEquals(expectedIndex++, index);
+            assertTrue(e instanceof IllegalArgumentException);
+            results.add(null);
+            failures.add(Integer.valueOf(index));
+        }
+    }
+
+    private static List<String> createMessages(int count) {
+        final List<String> msgs = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            final String msg = Integer.toString(100000000 + i * 7919);
+            //Every 50th message has an invalid check digit
+            msgs.add("400" + msg + (i % 50 == 49 ? "X" : ""));
+        }
+        return msgs;
+    }
+
+    @Test
+    public void testParallelInOrder() throws Exception {
+        System.out.println("parallelInOrder");
+        final List<String> msgs = createMessages(300);
+        for (String format : Arrays.asList("svg", "eps", "png")) {
+            final BatchRenderer renderer = new BatchRenderer(new EAN13Bean(), format);
+            renderer.setDeterministic(true);
+            renderer.setThreads(1);
+            final CollectingSink expected = new CollectingSink();
+            assertEquals(294, renderer.render(msgs, expected));
+            assertEquals(Arrays.asList(49, 99, 149, 199, 249, 299), expected.failures);
+
+            renderer.setThreads(4);
+            final CollectingSink actual = new CollectingSink();
+            assertEquals(294, renderer.render(msgs, actual));
+            assertEquals(expected.failures, actual.failures);
+            assertEquals(msgs.size(), actual.results.size());
+            for (int i = 0; i < msgs.size(); i++) {
+                if (expected.results.get(i) != null) {
+                    assertArrayEquals(format + " " + i, expected.results.get(i),
+                            actual.results.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSinkError() throws Exception {
+        System.out.println("sinkError");
+        final BatchRenderer renderer = new BatchRenderer(new Configuration("ean-13"), "svg");
+        renderer.setThreads(2);
+        try {
+            renderer.render(createMessages(100), new BatchRenderer.Sink() {
+                @Override
+                public void barcodeRendered(int index, String msg, byte[] data)
+                        throws IOException {
+                    if (index == 10) {
+                        throw new IOException("disk full");
+                    }
+                }
+
+                @Override
+                public void barcodeFailed(int index, String msg, Exception e) {
+                    //ignore
+                }
+            });
+            fail("Expected IOException");
+        } catch (IOException ioe) {
+            assertEquals("disk full", ioe.getMessage());
+        }
+    }
+
+    @Test
+    public void testPixelGrid() throws Exception {
+        System.out.println("pixelGrid");
+        final EAN13Bean bean = new EAN13Bean();
+        final BatchRenderer renderer = new BatchRenderer(bean, "png");
+        renderer.setDeterministic(true);
+        renderer.setModuleWidth(bean.getModuleWidth());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final BitmapCanvasProvider bitmap = new BitmapCanvasProvider(out, MimeTypes.MIME_PNG,
+                300, BufferedImage.TYPE_BYTE_BINARY, false, Orientation.ZERO);
+        bitmap.setDeterministic(true);
+        bitmap.setModuleWidth(bean.getModuleWidth());
+        bean.generateBarcode(bitmap, "4006381333931");
+        bitmap.finish();
+        assertArrayEquals(out.toByteArray(), renderer.render("4006381333931"));
+
+        renderer.setModuleWidth(0);
+        assertFalse(Arrays.equals(out.toByteArray(), renderer.render("4006381333931")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedFormat() throws Exception {
+        new BatchRenderer(new EAN13Bean(), "application/x-unknown");
+    }
+}
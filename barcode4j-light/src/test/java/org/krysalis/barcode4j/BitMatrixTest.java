@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the BitMatrix class.
+ */
+public class BitMatrixTest {
+
+    private BitMatrix createSample() {
+        BitMatrix.Builder builder = new BitMatrix.Builder(40, 3);
+        for (int x = 3; x < 36; x++) {
+            builder.set(x, 0, true);
+        }
+        builder.set(0, 1, true);
+        builder.set(39, 1, true);
+        builder.set(31, 2, true);
+        builder.set(32, 2, true);
+        return builder.build();
+    }
+
+    @Test
+    public void testGet() {
+        BitMatrix matrix = createSample();
+        assertEquals(40, matrix.getWidth());
+        assertEquals(3, matrix.getHeight());
+        assertFalse(matrix.get(2, 0));
+        assertTrue(matrix.get(3, 0));
+        assertTrue(matrix.get(35, 0));
+        assertFalse(matrix.get(36, 0));
+        assertTrue(matrix.get(39, 1));
+        try {
+            matrix.get(40, 0);
+            fail("IndexOutOfBoundsException expected");
+        } catch (IndexOutOfBoundsException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testNextModule() {
+        BitMatrix matrix = createSample();
+        assertEquals(3, matrix.nextModule(0, 0, true));
+        assertEquals(36, matrix.nextModule(0, 3, false));
+        assertEquals(40, matrix.nextModule(0, 36, true));
+        assertEquals(0, matrix.nextModule(1, 0, true));
+        assertEquals(1, matrix.nextModule(1, 0, false));
+        assertEquals(39, matrix.nextModule(1, 1, true));
+        assertEquals(40, matrix.nextModule(1, 39, false));
+        assertEquals(31, matrix.nextModule(2, 0, true));
+        assertEquals(33, matrix.nextModule(2, 31, false));
+    }
+
+    @Test
+    public void testEqualsAndSerialization() throws Exception {
+        BitMatrix matrix = createSample();
+        assertEquals(matrix, createSample());
+        assertEquals(matrix.hashCode(), createSample().hashCode());
+        assertFalse(matrix.isRowEqual(0, 1));
+        assertTrue(matrix.isRowEqual(2, 2));
+
+        ByteArrayOutputStream baout = new ByteArrayOutputStream();
+        ObjectOutputStream oout = new ObjectOutputStream(baout);
+        oout.writeObject(matrix);
+        oout.close();
+        ObjectInputStream oin = new ObjectInputStream(
+                new ByteArrayInputStream(baout.toByteArray()));
+        assertEquals(matrix, oin.readObject());
+    }
+}
@@ -20,8 +20,11 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BarPattern;
 import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.ChecksumMode;
 import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.int2of5.Interleaved2Of5LogicImpl;
 import org.krysalis.barcode4j.output.Canvas;
 import org.krysalis.barcode4j.output.CanvasProvider;
 import org.krysalis.barcode4j.output.Orientation;
@@ -137,6 +140,52 @@ public class DefaultCanvasLogicHandlerTest {
         assertEquals("<svg xmlns=\"http://www.w3.org/2000/svg\"><g fill=\"black\" stroke=\"none\"><rect height=\"15\" width=\"10\" x=\"10\" y=\"0\"/></g></svg>", getDomString());
     }
 
+    /**
+     * Test of addBarPattern method, of class DefaultCanvasLogicHandler. The bars must be
+     * painted like with the individual addBar calls.
+     */
+    @Test
+    public void testAddBarPattern() {
+        System.out.println("addBarPattern");
+        final BarPattern.Builder builder = new BarPattern.Builder();
+        builder.startBarGroup(BarGroup.START_CHARACTER, null);
+        builder.addBar(false, 10);
+        builder.addBar(true, 10);
+        builder.endBarGroup();
+        builder.addBar(true, 2);
+        builder.addBar(false, 1);
+        builder.addBar(true, 3);
+        final BarPattern pattern = builder.build();
+        instance.addBarPattern(pattern);
+        final String expected = getDomString();
+
+        setUp();
+        pattern.writeBars(instance);
+        assertEquals(expected, getDomString());
+        assertTrue(expected.contains("<rect height=\"15\" width=\"3\" x=\"23\" y=\"0\"/>"));
+    }
+
+    /**
+     * Test of isBarPatternSupported method, of class DefaultCanvasLogicHandler. Subclasses
+     * overriding addBar must still receive the individual bars.
+     */
+    @Test
+    public void testIsBarPatternSupported() {
+        System.out.println("isBarPatternSupported");
+        assertTrue(instance.isBarPatternSupported());
+        final StringBuilder bars = new StringBuilder();
+        final DefaultCanvasLogicHandler subclass = new DefaultCanvasLogicHandler(bean, canvas) {
+            @Override
+            public void addBar(boolean black, int width) {
+                bars.append(black ? 'B' : 'W').append(width);
+            }
+        };
+        assertFalse(subclass.isBarPatternSupported());
+        new Interleaved2Of5LogicImpl(ChecksumMode.CP_IGNORE, false)
+                .createBarPattern("12").generate(subclass);
+        assertEquals("B1W1B1W1B2W1B1W2B1W1B1W1B2W2B2W1B1", bars.toString());
+    }
+
     /**
      * Test of endBarGroup method, of class DefaultCanvasLogicHandler.
      */
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.code128;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.krysalis.barcode4j.ChecksumMode;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the Code 128 encoder selecting the minimal number of symbol characters by decoding
+ * the character set indexes again and comparing their number with the default encoder.
+ *
+ * @version 1.0
+ */
+public class MinimalCode128EncoderTest {
+
+    private static final String[] ALPHABETS = {
+        "0123456789",
+        "0123456789\u00f1",
+        "ABCDEFabcdef0123",
+        "AB\t\r\nab01",
+        "a\u0001\u001f`~\u007f 5",
+        "\u00f1\u00f2\u00f3\u00f4Aa1",
+    };
+
+    private static final Code128Constants[] CODESETS = {
+        Code128Constants.CODESET_ALL,
+        Code128Constants.CODESET_A,
+        Code128Constants.CODESET_B,
+        Code128Constants.CODESET_C,
+        Code128Constants.and(Code128Constants.CODESET_A, Code128Constants.CODESET_C),
+        Code128Constants.and(Code128Constants.CODESET_B, Code128Constants.CODESET_C),
+        Code128Constants.and(Code128Constants.CODESET_A, Code128Constants.CODESET_B),
+    };
+
+    private void assertRoundTrip(String msg, Code128Constants codeset) {
+        final int[] minimal;
+        try {
+            minimal = new MinimalCode128Encoder(codeset).encode(msg);
+        } catch (IllegalArgumentException iae) {
+            //Then the default encoder can't encode the message either
+            try {
+                assertFalse("Only the default encoder can encode: " + msg,
+                        msg.equals(decode(new Code128Encoder(codeset).encode(msg), codeset)));
+            } catch (RuntimeException e) {
+                //expected
+            }
+            return;
+        }
+        assertEquals(Code128LogicImpl.toString(minimal), msg, decode(minimal, codeset));
+        final int[] greedy;
+        try {
+            greedy = new Code128Encoder(codeset).encode(msg);
+        } catch (RuntimeException re) {
+            //The default encoder fails for some messages with restricted code sets
+            return;
+        }
+        if (msg.equals(decode(greedy, codeset))) {
+            assertTrue("More symbol characters than the default encoder for: " + msg,
+                    minimal.length <= greedy.length);
+        }
+    }
+
+    @Test
+    public void testFewerSymbolCharacters() throws Exception {
+        System.out.println("testFewerSymbolCharacters");
+        //Starting in code set B with a single shift for the control character is cheaper
+        //than starting in code set A and shifting for each lower case letter
+        int[] minimal = new MinimalCode128Encoder().encode("\ta7a8a");
+        assertEquals("StartB|Shift/98|idx73|idx65|idx23|idx65|idx24|idx65",
+                Code128LogicImpl.toString(minimal));
+        assertEquals(10, new Code128Encoder().encode("\ta7a8a").length);
+
+        //Odd number of digits before an FNC1
+        minimal = new MinimalCode128Encoder().encode("293\u00f195");
+        assertEquals("StartB|idx18|CodeC/99|idx93|FNC1|idx95",
+                Code128LogicImpl.toString(minimal));
+        assertEquals(7, new Code128Encoder().encode("293\u00f195").length);
+    }
+
+    @Test
+    public void testSameAsDefault() throws Exception {
+        System.out.println("testSameAsDefault");
+        final String[] messages = {"Code128", "1234", "\u00f1123456", "Code\t128",
+            "before\u00f4after\u007f"};
+        for (final String msg : messages) {
+            assertArrayEquals(msg, new Code128Encoder().encode(msg),
+                    new MinimalCode128Encoder().encode(msg));
+        }
+    }
+
+    @Test
+    public void testBuffer() throws Exception {
+        System.out.println("testBuffer");
+        final MinimalCode128Encoder encoder = new MinimalCode128Encoder();
+        final String msg = "Code56789a";
+        final int[] buffer = new int[Code128Encoder.getMaxEncodedLength(msg.length())];
+        final int len = encoder.encode(new StringBuilder(msg), buffer);
+        assertArrayEquals(encoder.encode(msg), Arrays.copyOf(buffer, len));
+
+        final int[] greedy = new Code128Encoder().encode(msg);
+        assertEquals(greedy.length, new Code128Encoder().encode(msg, buffer));
+        assertArrayEquals(greedy, Arrays.copyOf(buffer, greedy.length));
+
+        try {
+            encoder.encode(msg, new int[msg.length()]);
+            fail("Buffer too small");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testIllegalCharacters() throws Exception {
+        System.out.println("testIllegalCharacters");
+        try {
+            new MinimalCode128Encoder().encode("before\u00f5after");
+            fail("Illegal character");
+        } catch (IllegalArgumentException iae) {
+            assertTrue(iae.getMessage().startsWith("Illegal character"));
+        }
+        try {
+            new MinimalCode128Encoder(Code128Constants.CODESET_C).encode("12345");
+            fail("Odd number of digits");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+        try {
+            new MinimalCode128Encoder(Code128Constants.CODESET_A).encode("Code");
+            fail("Lower case letters are not in code set A");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testRandomMessages() throws Exception {
+        System.out.println("testRandomMessages");
+        final Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int segments = 1 + random.nextInt(3);
+            for (int s = 0; s < segments; s++) {
+                final String alphabet = ALPHABETS[random.nextInt(ALPHABETS.length)];
+                final int len = 1 + random.nextInt(12);
+                for (int j = 0; j < len; j++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            assertRoundTrip(sb.toString(), CODESETS[random.nextInt(CODESETS.length)]);
+        }
+    }
+
+    @Test
+    public void testEAN128() throws Exception {
+        System.out.println("testEAN128");
+        final String msg = "01123456789012311029A";
+        final EAN128Bean bean = new EAN128Bean();
+        bean.setChecksumMode(ChecksumMode.CP_CHECK);
+        final double width = bean.calcDimensions(msg).getWidthPlusQuiet();
+        bean.setCodesetSelection(CodesetSelection.MINIMAL);
+        assertTrue(bean.calcDimensions(msg).getWidthPlusQuiet() <= width);
+
+        final EAN128LogicImpl impl = new EAN128LogicImpl(ChecksumMode.CP_CHECK, null);
+        impl.setCodesetSelection(CodesetSelection.MINIMAL);
+        final int[] encoded = impl.getEncodedMessage(msg);
+        assertEquals(encoded.length, impl.getEncodedLength(msg));
+        assertEquals(impl.getCode128Msg(), decode(encoded, Code128Constants.CODESET_ALL));
+    }
+
+    /**
+     * Decodes character set indexes to the message. Returns null for illegal sequences.
+     */
+    private static String decode(int[] encoded, Code128Constants codeset) {
+        final StringBuilder sb = new StringBuilder();
+        char set = (char)('A' + encoded[0] - Code128Encoder.START_A);
+        for (int i = 1; i < encoded.length; i++) {
+            if (!isAllowed(set, codeset)) {
+                return null;
+            }
+            final int idx = encoded[i];
+            if (set == 'C') {
+                if (idx < 100) {
+                    sb.append((char)('0' + idx / 10)).append((char)('0' + idx % 10));
+                } else if (idx == Code128Encoder.FNC_1) {
+                    sb.append(Code128LogicImpl.FNC_1);
+                } else if (idx == Code128Encoder.GOTO_A || idx == Code128Encoder.GOTO_B) {
+                    set = (idx == Code128Encoder.GOTO_A) ? 'A' : 'B';
+                } else {
+                    return null;
+                }
+            } else if (idx == Code128Encoder.SHIFT) {
+                final char other = (set == 'A') ? 'B' : 'A';
+                if (!isAllowed(other, codeset) || ++i == encoded.length
+                        || !decodeChar(encoded[i], other, sb)) {
+                    return null;
+                }
+            } else if (idx == Code128Encoder.GOTO_C) {
+                set = 'C';
+            } else if ((set == 'A' && idx == Code128Encoder.GOTO_B)
+                    || (set == 'B' && idx == Code128Encoder.GOTO_A)) {
+                set = (char)('A' + 'B' - set);
+            } else if (!decodeChar(idx, set, sb)) {
+                return null;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isAllowed(char set, Code128Constants codeset) {
+        return (set == 'A' && codeset.isAIncluded()) || (set == 'B' && codeset.isBIncluded())
+                || (set == 'C' && codeset.isCIncluded());
+    }
+
+    private static boolean decodeChar(int idx, char set, StringBuilder sb) {
+        if (idx < 64) {
+            sb.append((char)(idx + 32));
+        } else if (idx < 96) {
+            sb.append((char)(set == 'A' ? idx - 64 : idx + 32));
+        } else if (idx == Code128Encoder.FNC_1) {
+            sb.append(Code128LogicImpl.FNC_1);
+        } else if (idx == Code128Encoder.FNC_2) {
+            sb.append(Code128LogicImpl.FNC_2);
+        } else if (idx == Code128Encoder.FNC_3) {
+            sb.append(Code128LogicImpl.FNC_3);
+        } else if ((set == 'A' && idx == Code128Encoder.FNC_4_A)
+                || (set == 'B' && idx == Code128Encoder.FNC_4)) {
+            sb.append(Code128LogicImpl.FNC_4);
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.datamatrix;
+
+import java.awt.Dimension;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.ModuleMerging;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests the DataMatrixBean.
+ */
+public class DataMatrixBeanTest {
+
+    @Test
+    public void testEncode() {
+        DataMatrixBean bean = new DataMatrixBean();
+        DataMatrixSymbol symbol = bean.encode("Hello World");
+        assertEquals(16, symbol.getSymbolWidth());
+        assertEquals(16, symbol.getSymbolHeight());
+        assertEquals(symbol.getSymbolInfo().getCodewordCount(), symbol.getCodewords().length());
+    }
+
+    @Test
+    public void testCalcDimensionsHonoursSizeConstraints() {
+        DataMatrixBean bean = new DataMatrixBean();
+        bean.setMinSize(new Dimension(24, 24));
+        BarcodeDimension dim = bean.calcDimensions("Hello World");
+        assertEquals(24 * bean.getModuleWidth(), dim.getWidth(), 0.0001);
+        assertEquals(24 * bean.getModuleWidth(), dim.getHeight(), 0.0001);
+
+        //The dimensions established on the canvas must match calcDimensions()
+        SVGCanvasProvider svg = new SVGCanvasProvider(Orientation.ZERO);
+        bean.generateBarcode(svg, "Hello World");
+        assertEquals(dim.getWidthPlusQuiet(), svg.getDimensions().getWidthPlusQuiet(), 0.0001);
+        assertEquals(dim.getHeightPlusQuiet(), svg.getDimensions().getHeightPlusQuiet(), 0.0001);
+    }
+
+    @Test
+    public void testModuleMerging() {
+        DataMatrixBean bean = new DataMatrixBean();
+        bean.setModuleWidth(1);
+        bean.doQuietZone(false);
+        assertEquals(ModuleMerging.NONE, bean.getModuleMerging());
+        final String msg = "Hello World";
+        RectStats none = paint(bean, msg, ModuleMerging.NONE);
+        RectStats rows = paint(bean, msg, ModuleMerging.ROWS);
+        RectStats blocks = paint(bean, msg, ModuleMerging.BLOCKS);
+
+        //The dark area must not depend on the merging mode
+        assertEquals(none.area, rows.area, 0.0001);
+        assertEquals(none.area, blocks.area, 0.0001);
+        assertTrue(rows.rects < none.rects);
+        assertTrue(blocks.rects <= rows.rects);
+    }
+
+    private static RectStats paint(DataMatrixBean bean, String msg,
+            ModuleMerging merging) {
+        bean.setModuleMerging(merging);
+        SVGCanvasProvider svg = new SVGCanvasProvider(Orientation.ZERO);
+        bean.generateBarcode(svg, msg);
+        NodeList nodes = svg.getDOM().getElementsByTagName("rect");
+        RectStats stats = new RectStats();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Element rect = (Element)nodes.item(i);
+            stats.rects++;
+            stats.area += Double.parseDouble(rect.getAttribute("width"))
+                    * Double.parseDouble(rect.getAttribute("height"));
+        }
+        return stats;
+    }
+
+    private static class RectStats {
+        private int rects;
+        private double area;
+    }
+}
@@ -370,4 +370,19 @@ public class DataMatrixHighLevelEncodeTest {
         visualized = encodeHighLevel("url(data:;base64,flRlc3R+)");
         assertEquals("127 85 102 116 117 127 129 56", visualized);
     }
+
+    @Test
+    public void testBinaryResult() throws Exception {
+        final String msg = "AIMAIMAIM\u00e4 1234 aimaim";
+        for (EncodationStrategy strategy : EncodationStrategy.values()) {
+            final byte[] bytes = DataMatrixHighLevelEncoder.encodeHighLevelBytes(msg,
+                    SymbolShapeHint.FORCE_NONE, null, null, strategy);
+            final String chars = DataMatrixHighLevelEncoder.encodeHighLevel(msg,
+                    SymbolShapeHint.FORCE_NONE, null, null, strategy);
+            assertEquals(chars.length(), bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                assertEquals(chars.charAt(i), bytes[i] & 0xff);
+            }
+        }
+    }
 }
@@ -43,4 +43,31 @@ public class ECC200Test {
         s = DataMatrixErrorCorrection.encodeECC200(String.valueOf(cw), symbolInfo);
         assertEquals("66 129 70 138 234 82 82 95", TestHelper.visualize(s));
     }
+
+    @Test
+    public void testRSBytes() throws Exception {
+        System.out.println("testRSBytes");
+        DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(3);
+        byte[] cw = new byte[symbolInfo.getCodewordCount()];
+        cw[0] = (byte)142;
+        cw[1] = (byte)164;
+        cw[2] = (byte)186;
+        //The error correction is written into the array if it has the full length
+        assertSame(cw, DataMatrixErrorCorrection.encodeECC200(cw, symbolInfo));
+        assertEquals("142 164 186 114 25 5 88 102",
+                TestHelper.visualize(new DataMatrixSymbol(cw, symbolInfo).getCodewords()));
+
+        //Interleaved blocks of different lengths (144x144)
+        symbolInfo = DataMatrixSymbolInfo.lookup(1558);
+        final byte[] data = new byte[symbolInfo.getDataCapacity()];
+        final char[] chars = new char[data.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i * 7);
+            chars[i] = (char)(data[i] & 0xff);
+        }
+        final byte[] result = DataMatrixErrorCorrection.encodeECC200(data, symbolInfo);
+        final String expected = DataMatrixErrorCorrection.encodeECC200(
+                String.valueOf(chars), symbolInfo);
+        assertEquals(expected, new DataMatrixSymbol(result, symbolInfo).getCodewords());
+    }
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/* $Id$ */
+package org.krysalis.barcode4j.impl.datamatrix;
+
+import java.util.Random;
+
+import org.krysalis.barcode4j.tools.TestHelper;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the minimal encodation strategy of the high-level encoder by decoding the codewords
+ * again and comparing the codeword count with the look-ahead strategy.
+ */
+public class MinimalEncodationTest {
+
+    private static final String[] ALPHABETS = {
+        "0123456789",
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ",
+        "abcdefghijklmnopqrstuvwxyz0123456789 ",
+        "ABCDEFGHIJ0123456789*> \r",
+        "ABCDEFGHIJ0123456789 !\"#$%&'()*+,-./:;<=>?@[\\]^",
+        "aB3-.\u00e4\u00b7\u00ff\u0080\u0001",
+    };
+
+    private String encode(String msg, EncodationStrategy strategy) throws Exception {
+        return DataMatrixHighLevelEncoder.encodeHighLevel(msg,
+                SymbolShapeHint.FORCE_NONE, null, null, strategy);
+    }
+
+    private void assertRoundTrip(String msg) throws Exception {
+        final String minimal = encode(msg, EncodationStrategy.MINIMAL);
+        assertEquals(TestHelper.visualize(minimal), msg, new Decoder(minimal).decode());
+        final String lookAhead = encode(msg, EncodationStrategy.LOOK_AHEAD);
+        if (decodes(lookAhead, msg)) {
+            assertTrue("More codewords than the look-ahead strategy for: " + msg,
+                    new Decoder(minimal).getDataLength()
+                        <= new Decoder(lookAhead).getDataLength());
+        }
+    }
+
+    /** The look-ahead strategy doesn't produce valid codewords for all messages. */
+    private boolean decodes(String codewords, String msg) {
+        try {
+            return msg.equals(new Decoder(codewords).decode());
+        } catch (AssertionError e) {
+            return false;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testModes() throws Exception {
+        System.out.println("testModes");
+        assertRoundTrip("123456");
+        assertRoundTrip("AIMAIMAIM");
+        assertRoundTrip("aimaimaim");
+        assertRoundTrip("ABC>ABC123>AB");
+        assertRoundTrip(".A.C1.3.DATA.123DATA.123DATA");
+        assertRoundTrip("\u00ab\u00e4\u00f6\u00fc\u00e9\u00e0\u00e1-\u00ab");
+        assertRoundTrip("Hello World!");
+        assertRoundTrip("[)>\u001E05\u001D5555\u001C6666\u001E\u0004");
+    }
+
+    @Test
+    public void testFewerCodewords() throws Exception {
+        System.out.println("testFewerCodewords");
+        final String msg = "94FF>1B8G6";
+        final String minimal = encode(msg, EncodationStrategy.MINIMAL);
+        final String lookAhead = encode(msg, EncodationStrategy.LOOK_AHEAD);
+        assertEquals(8, new Decoder(minimal).getDataLength());
+        assertEquals(9, new Decoder(lookAhead).getDataLength());
+        //14x14 instead of 8x32 modules
+        assertEquals(8, minimal.length());
+        assertEquals(10, lookAhead.length());
+    }
+
+    @Test
+    public void testRandomMessages() throws Exception {
+        System.out.println("testRandomMessages");
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int segments = 1 + random.nextInt(4);
+            for (int s = 0; s < segments; s++) {
+                final String alphabet = ALPHABETS[random.nextInt(ALPHABETS.length)];
+                final int len = 1 + random.nextInt(random.nextInt(10) == 0 ? 300 : 20);
+                for (int j = 0; j < len; j++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            assertRoundTrip(sb.toString());
+        }
+    }
+
+    @Test
+    public void testLongMessage() throws Exception {
+        System.out.println("testLongMessage");
+        final Random random = new Random(7);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append(ALPHABETS[1].charAt(random.nextInt(ALPHABETS[1].length())));
+        }
+        assertRoundTrip(sb.toString());
+    }
+
+    /**
+     * Decodes the data codewords of an ECC 200 symbol (ISO/IEC 16022:2006, 5.2).
+     */
+    private static class Decoder {
+
+        private static final int ASCII = 0;
+        private static final int C40 = 1;
+        private static final int TEXT = 2;
+        private static final int X12 = 3;
+        private static final int EDIFACT = 4;
+        private static final int BASE256 = 5;
+
+        private final String codewords;
+        private final StringBuilder result = new StringBuilder();
+        private int idx;
+        private int dataLength = -1;
+        private String trailer = "";
+
+        Decoder(String codewords) {
+            this.codewords = codewords;
+        }
+
+        int getDataLength() {
+            decode();
+            return dataLength;
+        }
+
+        String decode() {
+            idx = 0;
+            result.setLength(0);
+            int mode = ASCII;
+            while (idx < codewords.length()) {
+                switch (mode) {
+                case ASCII:
+                    mode = decodeASCII();
+                    break;
+                case C40:
+                case TEXT:
+                    mode = decodeC40(mode == TEXT);
+                    break;
+                case X12:
+                    mode = decodeX12();
+                    break;
+                case EDIFACT:
+                    mode = decodeEdifact();
+                    break;
+                default:
+                    mode = decodeBase256();
+                }
+                if (mode < 0) {
+                    break;
+                }
+            }
+            if (dataLength < 0) {
+                dataLength = idx;
+            }
+            return result.toString() + trailer;
+        }
+
+        private int decodeASCII() {
+            final int cw = codewords.charAt(idx++);
+            if (cw >= 1 && cw <= 128) {
+                result.append((char)(cw - 1));
+            } else if (cw == DataMatrixConstants.PAD) {
+                dataLength = idx - 1;
+                return -1;
+            } else if (cw >= 130 && cw <= 229) {
+                final int num = cw - 130;
+                result.append((char)('0' + num / 10)).append((char)('0' + num % 10));
+            } else if (cw == DataMatrixConstants.LATCH_TO_C40) {
+                return C40;
+            } else if (cw == DataMatrixConstants.LATCH_TO_TEXT) {
+                return TEXT;
+            } else if (cw == DataMatrixConstants.LATCH_TO_ANSIX12) {
+                return X12;
+            } else if (cw == DataMatrixConstants.LATCH_TO_EDIFACT) {
+                return EDIFACT;
+            } else if (cw == DataMatrixConstants.LATCH_TO_BASE256) {
+                return BASE256;
+            } else if (cw == DataMatrixConstants.UPPER_SHIFT) {
+                result.append((char)(codewords.charAt(idx++) - 1 + 128));
+            } else if (cw == DataMatrixConstants.MACRO_05) {
+                result.append(DataMatrixConstants.MACRO_05_HEADER);
+                trailer = DataMatrixConstants.MACRO_TRAILER;
+            } else if (cw == DataMatrixConstants.MACRO_06) {
+                result.append(DataMatrixConstants.MACRO_06_HEADER);
+                trailer = DataMatrixConstants.MACRO_TRAILER;
+            } else {
+                fail("Unexpected codeword in ASCII mode: " + cw + " at " + (idx - 1));
+            }
+            return ASCII;
+        }
+
+        private int decodeC40(boolean text) {
+            int shift = 0;
+            boolean upperShift = false;
+            while (idx < codewords.length()) {
+                final int cw1 = codewords.charAt(idx);
+                if (cw1 == DataMatrixConstants.C40_UNLATCH) {
+                    idx++;
+                    return ASCII;
+                } else if (idx + 1 >= codewords.length()) {
+                    return ASCII; //single codeword left: ASCII without unlatch
+                }
+                int v = cw1 * 256 + codewords.charAt(idx + 1) - 1;
+                idx += 2;
+                final int[] values = {v / 1600, (v / 40) % 40, v % 40};
+                for (final int value : values) {
+                    int ch = -1;
+                    if (shift == 0) {
+                        if (value < 3) {
+                            shift = value + 1;
+                        } else if (value == 3) {
+                            ch = ' ';
+                        } else if (value < 14) {
+                            ch = '0' + value - 4;
+                        } else {
+                            ch = (text ? 'a' : 'A') + value - 14;
+                        }
+                    } else if (shift == 1) {
+                        ch = value;
+                        shift = 0;
+                    } else if (shift == 2) {
+                        shift = 0;
+                        if (value < 15) {
+                            ch = '!' + value;
+                        } else if (value < 22) {
+                            ch = ':' + value - 15;
+                        } else if (value < 27) {
+                            ch = '[' + value - 22;
+                        } else if (value == 30) {
+                            upperShift = true;
+                        } else {
+                            fail("Unexpected Shift 2 value: " + value);
+                        }
+                    } else {
+                        shift = 0;
+                        if (!text) {
+                            ch = '`' + value;
+                        } else if (value == 0) {
+                            ch = '`';
+                        } else if (value < 27) {
+                            ch = 'A' + value - 1;
+                        } else {
+                            ch = '{' + value - 27;
+                        }
+                    }
+                    if (ch >= 0) {
+                        result.append((char)(upperShift ? ch + 128 : ch));
+                        upperShift = false;
+                    }
+                }
+            }
+            return ASCII;
+        }
+
+        private int decodeX12() {
+            final String set = "\r*> 0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+            while (idx < codewords.length()) {
+                final int cw1 = codewords.charAt(idx);
+                if (cw1 == DataMatrixConstants.X12_UNLATCH) {
+                    idx++;
+                    return ASCII;
+                } else if (idx + 1 >= codewords.length()) {
+                    return ASCII;
+                }
+                final int v = cw1 * 256 + codewords.charAt(idx + 1) - 1;
+                idx += 2;
+                result.append(set.charAt(v / 1600)).append(set.charAt((v / 40) % 40))
+                        .append(set.charAt(v % 40));
+            }
+            return ASCII;
+        }
+
+        private int decodeEdifact() {
+            while (codewords.length() - idx > 2) {
+                int bits = 0;
+                for (int i = 0; i < 3; i++) {
+                    bits = (bits << 8) | codewords.charAt(idx + i);
+                }
+                for (int i = 0; i < 4; i++) {
+                    final int value = (bits >> (18 - 6 * i)) & 0x3F;
+                    if (value == 31) {
+                        idx += ((i + 1) * 6 + 7) / 8;
+                        return ASCII;
+                    }
+                    result.append((char)((value & 0x20) == 0 ? value | 0x40 : value));
+                }
+                idx += 3;
+            }
+            return ASCII; //up to two codewords left: ASCII without unlatch
+        }
+
+        private int decodeBase256() {
+            final int d1 = unrandomize255State(codewords.charAt(idx), ++idx);
+            int len;
+            if (d1 == 0) {
+                len = codewords.length() - idx;
+                dataLength = codewords.length();
+            } else if (d1 <= 249) {
+                len = d1;
+            } else {
+                len = 250 * (d1 - 249) + unrandomize255State(codewords.charAt(idx), ++idx);
+            }
+            for (int i = 0; i < len; i++) {
+                result.append((char)unrandomize255State(codewords.charAt(idx), ++idx));
+            }
+            return ASCII;
+        }
+
+        private static int unrandomize255State(int ch, int codewordPosition) {
+            final int pseudoRandom = ((149 * codewordPosition) % 255) + 1;
+            final int tempVariable = ch - pseudoRandom;
+            return tempVariable >= 0 ? tempVariable : tempVariable + 256;
+        }
+    }
+}
@@ -17,6 +17,8 @@
 /* $Id$ */
 package org.krysalis.barcode4j.impl.datamatrix;
 
+import java.util.Random;
+
 import org.krysalis.barcode4j.tools.TestHelper;
 
 import static org.junit.Assert.*;
@@ -52,6 +54,35 @@ public class PlacementTest {
         }
     }
 
+    @Test
+    public void testPlacementMap() throws Exception {
+        System.out.println("testPlacementMap");
+        final Random random = new Random(42);
+        DataMatrixSymbolInfo previous = null;
+        for (int capacity = 1; capacity <= 1558; capacity++) {
+            final DataMatrixSymbolInfo symbolInfo = DataMatrixSymbolInfo.lookup(capacity);
+            if (symbolInfo == previous) {
+                continue;
+            }
+            previous = symbolInfo;
+            final int numcols = symbolInfo.getSymbolDataWidth();
+            final int numrows = symbolInfo.getSymbolDataHeight();
+            final byte[] codewords = new byte[symbolInfo.getCodewordCount()];
+            random.nextBytes(codewords);
+            final DefaultDataMatrixPlacement placement = new DefaultDataMatrixPlacement(
+                    new DataMatrixSymbol(codewords, symbolInfo).getCodewords(), numcols, numrows);
+            placement.place();
+            final DataMatrixPlacementMap map = DataMatrixPlacementMap.getInstance(symbolInfo);
+            assertSame(map, DataMatrixPlacementMap.getInstance(numcols, numrows));
+            for (int y = 0; y < numrows; y++) {
+                for (int x = 0; x < numcols; x++) {
+                    assertEquals(symbolInfo + " x=" + x + " y=" + y,
+                            placement.getBit(x, y), map.getBit(codewords, x, y));
+                }
+            }
+        }
+    }
+
     private class DebugPlacement extends DefaultDataMatrixPlacement {
 
         public DebugPlacement(String codewords, int numcols, int numrows) {
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.impl.ecc;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for the shared error correction codes.
+ */
+public class ReedSolomonEncoderTest {
+
+    @Test
+    public void testGaloisField() throws Exception {
+        System.out.println("testGaloisField");
+        final GaloisField gf256 = GaloisField.DATA_MATRIX_FIELD;
+        for (int a = 0; a < 256; a++) {
+            for (int b = 0; b < 256; b++) {
+                //shift-and-add multiplication modulo the polynomial 301
+                int product = 0;
+                int x = a;
+                for (int bit = 0; bit < 8; bit++) {
+                    if ((b & (1 << bit)) != 0) {
+                        product ^= x;
+                    }
+                    x <<= 1;
+                    if (x >= 256) {
+                        x ^= 0x12D;
+                    }
+                }
+                assertEquals(product, gf256.multiply(a, b));
+            }
+        }
+        final GaloisField gf929 = GaloisField.PDF417_FIELD;
+        for (int a = 0; a < 929; a++) {
+            for (int b = 0; b < 929; b += 7) {
+                assertEquals((a * b) % 929, gf929.multiply(a, b));
+                assertEquals((a + b) % 929, gf929.add(a, b));
+                assertEquals((a - b + 929) % 929, gf929.subtract(a, b));
+            }
+        }
+    }
+
+    @Test
+    public void testKnownValues() throws Exception {
+        System.out.println("testKnownValues");
+        //Annex R of ISO/IEC 16022:2000(E)
+        final ReedSolomonEncoder dataMatrix = new ReedSolomonEncoder(
+                GaloisField.DATA_MATRIX_FIELD, new int[] {228, 48, 15, 111, 62});
+        final byte[] bytes = new byte[] {(byte)142, (byte)164, (byte)186, 0, 0, 0, 0, 0};
+        dataMatrix.encode(bytes, 0, 3, 1, bytes, 3, 1);
+        final int[] ints = new int[] {142, 164, 186, 0, 0, 0, 0, 0};
+        dataMatrix.encode(ints, 0, 3, 1, ints, 3, 1);
+        final int[] expected = new int[] {142, 164, 186, 114, 25, 5, 88, 102};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], bytes[i] & 0xff);
+            assertEquals(expected[i], ints[i]);
+        }
+
+        //PDF417, error correction level 1
+        final ReedSolomonEncoder pdf417 = new ReedSolomonEncoder(
+                GaloisField.PDF417_FIELD, new int[] {522, 568, 723, 809});
+        final int[] codewords = new int[] {5, 453, 178, 121, 239, 0, 0, 0, 0};
+        pdf417.encode(codewords, 0, 5, 1, codewords, 5, 1);
+        assertArrayEquals(new int[] {5, 453, 178, 121, 239, 452, 327, 657, 619}, codewords);
+    }
+
+    @Test
+    public void testRoots() throws Exception {
+        System.out.println("testRoots");
+        //DataMatrix: roots 2^1..2^n, PDF417: roots 3^1..3^n
+        checkRoots(GaloisField.DATA_MATRIX_FIELD, 2, 24);
+        checkRoots(GaloisField.PDF417_FIELD, 3, 64);
+    }
+
+    private void checkRoots(GaloisField field, int alpha, int n) {
+        //generator polynomial: product of (x - alpha^i) for i = 1..n, highest degree first
+        int[] poly = new int[] {1};
+        int root = 1;
+        for (int i = 1; i <= n; i++) {
+            root = field.multiply(root, alpha);
+            final int[] next = new int[poly.length + 1];
+            for (int j = 0; j < poly.length; j++) {
+                next[j] = field.add(next[j], poly[j]);
+                next[j + 1] = field.subtract(next[j + 1], field.multiply(poly[j], root));
+            }
+            poly = next;
+        }
+        final int[] generator = new int[n];
+        for (int i = 0; i < n; i++) {
+            generator[i] = poly[n - i];
+        }
+        final ReedSolomonEncoder encoder = new ReedSolomonEncoder(field, generator);
+
+        final Random random = new Random(n);
+        final int dataCount = 50;
+        final int blocks = 3;
+        final int[] codewords = new int[(dataCount + n) * blocks];
+        for (int i = 0; i < dataCount * blocks; i++) {
+            codewords[i] = random.nextInt(field.getSize());
+        }
+        for (int block = 0; block < blocks; block++) {
+            encoder.encode(codewords, block, dataCount, blocks,
+                    codewords, dataCount * blocks + block, blocks);
+        }
+        for (int block = 0; block < blocks; block++) {
+            root = 1;
+            for (int i = 1; i <= n; i++) {
+                root = field.multiply(root, alpha);
+                int value = 0;
+                for (int j = block; j < codewords.length; j += blocks) {
+                    value = field.add(field.multiply(value, root), codewords[j]);
+                }
+                assertEquals(field + " block " + block + " root " + i, 0, value);
+            }
+        }
+    }
+
+    @Test
+    public void testCyclicRedundancyCheck() throws Exception {
+        System.out.println("testCyclicRedundancyCheck");
+        final CyclicRedundancyCheck crc = CyclicRedundancyCheck.INTELLIGENT_MAIL;
+        final byte[] data = new byte[13];
+        new Random(11).nextBytes(data);
+        int bitwise = 0x7FF;
+        for (byte b : data) {
+            bitwise = crc.updateBits(bitwise, b & 0xff, 8);
+        }
+        assertEquals(bitwise, crc.update(0x7FF, data, 0, data.length));
+    }
+}
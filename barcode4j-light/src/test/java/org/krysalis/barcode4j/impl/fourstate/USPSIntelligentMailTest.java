@@ -17,7 +17,6 @@
 /* $Id$ */
 package org.krysalis.barcode4j.impl.fourstate;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 
 import org.krysalis.barcode4j.impl.MockClassicBarcodeLogicHandler;
@@ -74,8 +73,8 @@ public class USPSIntelligentMailTest {
         //non-formatted messages
         for (int i = 0; i < EXAMPLE_MESSAGES.length; i++) {
             String msg = EXAMPLE_MESSAGES[i];
-            BigInteger binary = USPSIntelligentMailLogicImpl.convertToBinary(msg);
-            String hexBinary = toHex(binary.toByteArray());
+            byte[] binary = USPSIntelligentMailLogicImpl.convertToBinary(msg);
+            String hexBinary = toHex(binary);
             assertEquals(results[i], hexBinary);
         }
     }
@@ -86,9 +85,8 @@ public class USPSIntelligentMailTest {
     public void testFCS() throws Exception {
         for (int i = 0; i < EXAMPLE_MESSAGES.length; i++) {
             String msg = EXAMPLE_MESSAGES[i];
-            BigInteger binary = USPSIntelligentMailLogicImpl.convertToBinary(msg);
-            int fcs = USPSIntelligentMailLogicImpl.calcFCS(
-                    USPSIntelligentMailLogicImpl.to13ByteArray(binary));
+            byte[] binary = USPSIntelligentMailLogicImpl.convertToBinary(msg);
+            int fcs = USPSIntelligentMailLogicImpl.calcFCS(binary);
             assertEquals(EXAMPLE_FCS[i], fcs);
         }
     }
@@ -104,7 +102,7 @@ public class USPSIntelligentMailTest {
     public void testCodewords() throws Exception {
         for (int i = 0; i < EXAMPLE_MESSAGES.length; i++) {
             String msg = EXAMPLE_MESSAGES[i];
-            BigInteger binary = USPSIntelligentMailLogicImpl.convertToBinary(msg);
+            byte[] binary = USPSIntelligentMailLogicImpl.convertToBinary(msg);
             int[] codewords = USPSIntelligentMailLogicImpl.convertToCodewords(binary);
             assertTrue(Arrays.equals(EXAMPLE_CODEWORDS[i], codewords));
         }
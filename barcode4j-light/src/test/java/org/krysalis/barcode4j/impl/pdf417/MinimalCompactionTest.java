@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/* $Id$ */
+package org.krysalis.barcode4j.impl.pdf417;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.krysalis.barcode4j.tools.TestHelper;
+
+import static org.krysalis.barcode4j.impl.pdf417.PDF417Constants.*;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the minimal compaction strategy of the high-level encoder by decoding the codewords
+ * again and comparing the codeword count with the look-ahead strategy.
+ */
+public class MinimalCompactionTest {
+
+    private static final String[] ALPHABETS = {
+        "0123456789",
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZ ",
+        "abcdefghijklmnopqrstuvwxyz ",
+        "ABCabc0123456789 ",
+        "ABCDEF0123456789-./:$",
+        ";<>@[\\]_`~!\"|()?{}'\r\n\t,",
+        "aB3-.\u00e4\u00b7\u00ff\u00c7\u0001",
+    };
+
+    private String encode(String msg, CompactionStrategy strategy) {
+        return PDF417HighLevelEncoder.encodeHighLevel(msg, DEFAULT_ENCODING, false, strategy);
+    }
+
+    private void assertRoundTrip(String msg) throws Exception {
+        final String minimal = encode(msg, CompactionStrategy.MINIMAL);
+        assertEquals(TestHelper.visualize(minimal), msg, decode(minimal));
+        final String lookAhead = encode(msg, CompactionStrategy.LOOK_AHEAD);
+        if (decodes(lookAhead, msg)) {
+            assertTrue("More codewords than the look-ahead strategy for: " + msg,
+                    minimal.length() <= lookAhead.length());
+        }
+    }
+
+    /** The look-ahead strategy doesn't produce valid codewords for all messages. */
+    private boolean decodes(String codewords, String msg) {
+        try {
+            return msg.equals(decode(codewords));
+        } catch (AssertionError e) {
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testModes() throws Exception {
+        System.out.println("testModes");
+        assertRoundTrip("PDF417");
+        assertRoundTrip("000213298174000PDF417");
+        assertRoundTrip("A10200124040182000");
+        assertRoundTrip("A1234567890123456789012 1365465465464");
+        assertRoundTrip("<FIELDS><FIELD NAME=\"DEALER #\">550");
+        assertRoundTrip("UNT+11+123'");
+        assertRoundTrip("45789\u001dB0KLT3215\u001e\u0004");
+        assertRoundTrip("TestTest\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4");
+        assertRoundTrip("M1DESMARAIS/LUC       EABC123 YULFRAAC 0834 326J001A0025 100");
+    }
+
+    @Test
+    public void testFewerCodewords() throws Exception {
+        System.out.println("testFewerCodewords");
+        //Numeric Compaction already pays off for the 11 digits at the end
+        String msg = "1Z999AA10123456784";
+        String minimal = encode(msg, CompactionStrategy.MINIMAL);
+        assertEquals(msg, decode(minimal));
+        assertEquals("841 865 849 279 840 29 902 151 54 796 384",
+                TestHelper.visualize(minimal));
+        assertEquals(12, encode(msg, CompactionStrategy.LOOK_AHEAD).length());
+
+        //Numeric Compaction for 12 digits between Byte Compaction segments
+        msg = "\u00e4123456789012\u00e4";
+        minimal = encode(msg, CompactionStrategy.MINIMAL);
+        assertEquals(msg, decode(minimal));
+        assertEquals(13, encode(msg, CompactionStrategy.LOOK_AHEAD).length());
+        assertEquals(10, minimal.length());
+    }
+
+    @Test
+    public void testNumericGroups() throws Exception {
+        System.out.println("testNumericGroups");
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 90; i++) {
+            sb.append((char)('0' + (i * 7) % 10));
+            assertRoundTrip(sb.toString());
+            //The look-ahead strategy uses the same Numeric Compaction groups
+            final String lookAhead = encode(sb.toString(), CompactionStrategy.LOOK_AHEAD);
+            assertEquals(sb.toString(), decode(lookAhead));
+        }
+    }
+
+    @Test
+    public void testNonEncodable() throws Exception {
+        System.out.println("testNonEncodable");
+        try {
+            encode("Test\u20ac", CompactionStrategy.MINIMAL);
+            fail("The Euro character is not encodable in cp437");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testRandomMessages() throws Exception {
+        System.out.println("testRandomMessages");
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int segments = 1 + random.nextInt(4);
+            for (int s = 0; s < segments; s++) {
+                final String alphabet = ALPHABETS[random.nextInt(ALPHABETS.length)];
+                final int len = 1 + random.nextInt(random.nextInt(10) == 0 ? 300 : 20);
+                for (int j = 0; j < len; j++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            assertRoundTrip(sb.toString());
+        }
+    }
+
+    /**
+     * Decodes the codewords produced by the high-level encoder
+     * (ISO/IEC 15438:2001(E), chapter 4.4).
+     */
+    private static String decode(String codewords) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int mode = LATCH_TO_TEXT;
+        int idx = 0;
+        final int[] submode = {SUBMODE_ALPHA};
+        while (idx < codewords.length()) {
+            final int cw = codewords.charAt(idx);
+            if (cw == LATCH_TO_TEXT || cw == LATCH_TO_BYTE || cw == LATCH_TO_BYTE_PADDED
+                    || cw == LATCH_TO_NUMERIC) {
+                mode = cw;
+                submode[0] = SUBMODE_ALPHA;
+                idx++;
+            } else if (cw >= 900 && (cw != SHIFT_TO_BYTE || mode != LATCH_TO_TEXT)) {
+                fail("Unexpected codeword " + cw + " at " + idx);
+            }
+            int end = idx;
+            while (end < codewords.length() && (codewords.charAt(end) < 900
+                    || (mode == LATCH_TO_TEXT && codewords.charAt(end) == SHIFT_TO_BYTE))) {
+                end++;
+            }
+            if (mode == LATCH_TO_TEXT) {
+                decodeText(codewords, idx, end, submode, out);
+            } else if (mode == LATCH_TO_NUMERIC) {
+                decodeNumeric(codewords, idx, end, out);
+            } else {
+                decodeBinary(codewords, idx, end, mode == LATCH_TO_BYTE, out);
+            }
+            idx = end;
+        }
+        return new String(out.toByteArray(), DEFAULT_ENCODING);
+    }
+
+    private static void decodeText(String codewords, int start, int end, int[] submode,
+            ByteArrayOutputStream out) {
+        final byte[] mixed = getTextMixedRaw();
+        final byte[] punctuation = getTextPunctuationRaw();
+        int shift = -1;
+        for (int i = start; i < end; i++) {
+            final int cw = codewords.charAt(i);
+            if (cw == SHIFT_TO_BYTE) {
+                shift = -1; //a pending shift is padding
+                out.write(codewords.charAt(++i));
+                continue;
+            }
+            for (final int value : new int[] {cw / 30, cw % 30}) {
+                if (shift == SUBMODE_ALPHA) {
+                    out.write('A' + value);
+                    shift = -1;
+                } else if (shift == SUBMODE_PUNCTUATION) {
+                    out.write(punctuation[value]);
+                    shift = -1;
+                } else if (submode[0] == SUBMODE_PUNCTUATION) {
+                    if (value == 29) {
+                        submode[0] = SUBMODE_ALPHA;
+                    } else {
+                        out.write(punctuation[value]);
+                    }
+                } else if (value == 29) {
+                    shift = SUBMODE_PUNCTUATION;
+                } else if (value == 26) {
+                    out.write(' ');
+                } else if (submode[0] == SUBMODE_MIXED) {
+                    if (value == 25) {
+                        submode[0] = SUBMODE_PUNCTUATION;
+                    } else if (value == 27) {
+                        submode[0] = SUBMODE_LOWER;
+                    } else if (value == 28) {
+                        submode[0] = SUBMODE_ALPHA;
+                    } else {
+                        out.write(mixed[value]);
+                    }
+                } else if (value == 27) {
+                    if (submode[0] == SUBMODE_LOWER) {
+                        shift = SUBMODE_ALPHA;
+                    } else {
+                        submode[0] = SUBMODE_LOWER;
+                    }
+                } else if (value == 28) {
+                    submode[0] = SUBMODE_MIXED;
+                } else {
+                    out.write((submode[0] == SUBMODE_LOWER ? 'a' : 'A') + value);
+                }
+            }
+        }
+    }
+
+    private static void decodeNumeric(String codewords, int start, int end,
+            ByteArrayOutputStream out) {
+        final BigInteger base = BigInteger.valueOf(900);
+        for (int i = start; i < end; i += 15) {
+            BigInteger value = BigInteger.ZERO;
+            for (int j = i; j < Math.min(end, i + 15); j++) {
+                value = value.multiply(base).add(BigInteger.valueOf(codewords.charAt(j)));
+            }
+            final String digits = value.toString();
+            assertEquals('1', digits.charAt(0));
+            for (int j = 1; j < digits.length(); j++) {
+                out.write(digits.charAt(j));
+            }
+        }
+    }
+
+    private static void decodeBinary(String codewords, int start, int end, boolean sixpack,
+            ByteArrayOutputStream out) {
+        if (sixpack) {
+            assertEquals(0, (end - start) % 5);
+        }
+        int i = start;
+        while (end - i > 5 || (sixpack && end - i == 5)) {
+            long value = 0;
+            for (int j = 0; j < 5; j++) {
+                value = value * 900 + codewords.charAt(i++);
+            }
+            for (int j = 5; j >= 0; j--) {
+                out.write((int)(value >> (8 * j)) & 0xff);
+            }
+        }
+        while (i < end) {
+            out.write(codewords.charAt(i++));
+        }
+    }
+}
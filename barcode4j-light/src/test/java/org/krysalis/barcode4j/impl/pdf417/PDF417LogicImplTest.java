@@ -19,6 +19,8 @@ import java.awt.Dimension;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Before;
+import org.krysalis.barcode4j.BarGroup;
+import org.krysalis.barcode4j.BitMatrix;
 import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -53,6 +55,36 @@ public class PDF417LogicImplTest {
         assertTrue("sth long has been printed...", SVGCanvasProviderTest.getStringFromDoc(svg.getDOM()).length() > 200);
     }
 
+    /**
+     * Test of createMatrix method, of class PDF417LogicImpl. The matrix must contain the same
+     * modules as the bars sent to a classic logic handler.
+     */
+    @Test
+    public void testCreateMatrix() {
+        PDF417Bean pdf417Bean = new PDF417Bean();
+        PDF417Symbol symbol = pdf417Bean.encode("url(data:;encoding=UTF-8,Barcode4J)");
+        BitMatrix matrix = PDF417LogicImpl.createMatrix(symbol);
+        assertEquals(symbol.getSymbolWidth(), matrix.getWidth());
+        assertEquals(symbol.getRows(), matrix.getHeight());
+
+        final StringBuilder sb = new StringBuilder();
+        TwoDimBarcodeLogicHandler logic = new NullTwoDimBarcodeLogicHandler() {
+            @Override
+            public void addBar(boolean black, int weight) {
+                for (int i = 0; i < weight; i++) {
+                    sb.append(black ? 'X' : '.');
+                }
+            }
+
+            @Override
+            public void endRow() {
+                sb.append('\n');
+            }
+        };
+        PDF417LogicImpl.generateBarcodeLogic(logic, "dummy", symbol);
+        assertEquals(sb.toString(), matrix.toString());
+    }
+
     /**
      * Test of determineDimensions method, of class PDF417LogicImpl.
      */
@@ -69,4 +101,35 @@ public class PDF417LogicImplTest {
         result = PDF417LogicImpl.determineDimensions(pdf417Bean, sourceCodeWords);
         assertEquals(expResult, result);
     }
+
+    private static class NullTwoDimBarcodeLogicHandler implements TwoDimBarcodeLogicHandler {
+
+        @Override
+        public void startBarcode(String msg, String formattedMsg) {
+        }
+
+        @Override
+        public void startRow() {
+        }
+
+        @Override
+        public void startBarGroup(BarGroup type, String submsg) {
+        }
+
+        @Override
+        public void addBar(boolean black, int weight) {
+        }
+
+        @Override
+        public void endBarGroup() {
+        }
+
+        @Override
+        public void endRow() {
+        }
+
+        @Override
+        public void endBarcode() {
+        }
+    }
 }
@@ -104,6 +104,24 @@ public class OutputFormatTest {
         assertEquals(BarcodeFormat.DATA_MATRIX, res.getBarcodeFormat());
     }
 
+    @Test
+    public void createAndDecodePDF417Code() throws BarcodeException, IOException, NotFoundException {
+        String message = "visit http://barcode4j.sourceforge.net";
+        BarcodeGenerator gen = provider.getBarcodeGenerator("pdf417");
+        BitmapCanvasProvider bitmap = new BitmapCanvasProvider(out,
+                "image/x-png", 300, BufferedImage.TYPE_BYTE_GRAY, true, Orientation.ZERO);
+        gen.generateBarcode(bitmap, message);
+        bitmap.finish();
+        try {
+            out.close();
+        } catch (IOException ex) {
+            LOGGER.log(Level.SEVERE, null, ex);
+        }
+        Result res = decode(outFile.getAbsolutePath());
+        assertEquals(message, res.getText());
+        assertEquals(BarcodeFormat.PDF_417, res.getBarcodeFormat());
+    }
+
     private Result decode(String filename) throws IOException, NotFoundException {
         InputStream barCodeInputStream = new FileInputStream(filename);
         BufferedImage barCodeBufferedImage = ImageIO.read(barCodeInputStream);
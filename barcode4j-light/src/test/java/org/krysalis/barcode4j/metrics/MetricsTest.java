@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the instrumentation of the barcode generation.
+ */
+public class MetricsTest {
+
+    /** Records the reported stages. */
+    private static class RecordingListener implements MetricsListener {
+
+        private final List<String> stages = new ArrayList<String>();
+
+        @Override
+        public void stageCompleted(Stage stage, String source, long nanos) {
+            assertTrue(nanos >= 0);
+            stages.add(stage + " " + source);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setListener(null);
+    }
+
+    private static void generateSVG(BarcodeGenerator gen, String msg)
+            throws Exception {
+        final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(
+                new ByteArrayOutputStream(), Orientation.ZERO);
+        gen.generateBarcode(svg, msg);
+        svg.finish();
+    }
+
+    @Test
+    public void testStages() throws Exception {
+        System.out.println("stages");
+        final RecordingListener listener = new RecordingListener();
+        Metrics.setListener(listener);
+        assertTrue(Metrics.isEnabled());
+        generateSVG(new DataMatrixBean(), "Hello World");
+        generateSVG(new Code128Bean(), "Hello World");
+
+        final List<String> expected = new ArrayList<String>();
+        expected.add("HIGH_LEVEL_ENCODING datamatrix");
+        expected.add("ERROR_CORRECTION datamatrix");
+        expected.add("MODULE_PLACEMENT datamatrix");
+        expected.add("DRAWING datamatrix");
+        expected.add("OUTPUT_ENCODING " + MimeTypes.MIME_SVG);
+        expected.add("BARCODE_LOGIC code128");
+        expected.add("OUTPUT_ENCODING " + MimeTypes.MIME_SVG);
+        assertEquals(expected, listener.stages);
+
+        Metrics.setListener(null);
+        assertFalse(Metrics.isEnabled());
+        generateSVG(new DataMatrixBean(), "Hello World");
+        assertEquals(expected.size(), listener.stages.size());
+    }
+
+    @Test
+    public void testAggregator() throws Exception {
+        System.out.println("aggregator");
+        final MetricsAggregator aggregator = MetricsAggregator.install();
+        assertSame(aggregator, Metrics.getListener());
+        aggregator.stageCompleted(Stage.ERROR_CORRECTION, "pdf417", 3000);
+        aggregator.stageCompleted(Stage.ERROR_CORRECTION, "pdf417", 1000);
+        aggregator.stageCompleted(Stage.HIGH_LEVEL_ENCODING, "pdf417", 500);
+
+        final StageStatistics statistics = aggregator.getStatistics(Stage.ERROR_CORRECTION, "pdf417");
+        assertEquals(2, statistics.getCount());
+        assertEquals(4000, statistics.getTotalNanos());
+        assertEquals(3000, statistics.getMaxNanos());
+        assertEquals(2000, statistics.getAverageNanos());
+        assertEquals(0, aggregator.getStatistics(Stage.DRAWING, "pdf417").getCount());
+
+        //sorted by stage
+        final List<StageStatistics> all = aggregator.getStatistics();
+        assertEquals(2, all.size());
+        assertEquals("HIGH_LEVEL_ENCODING", all.get(0).getStage());
+        assertEquals("ERROR_CORRECTION", all.get(1).getStage());
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final CompositeData[] data = (CompositeData[])server.getAttribute(
+                new ObjectName(MetricsAggregator.OBJECT_NAME), "Statistics");
+        assertEquals(2, data.length);
+        assertEquals(Long.valueOf(4000), data[1].get("totalNanos"));
+
+        aggregator.reset();
+        assertTrue(aggregator.getStatistics().isEmpty());
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.bitmap;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.HumanReadablePlacement;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.output.java2d.Java2DCanvasProvider;
+
+/**
+ * Tests the BitmapCanvasProvider.
+ */
+public class BitmapCanvasProviderTest {
+
+    private static final int[] IMAGE_TYPES = new int[] {
+        BufferedImage.TYPE_BYTE_BINARY, BufferedImage.TYPE_BYTE_GRAY};
+
+    /**
+     * Rectangles are snapped to whole pixels and rotated according to the orientation.
+     */
+    @Test
+    public void testFillRect() {
+        System.out.println("fillRect");
+        BarcodeDimension dim = new BarcodeDimension(10, 10);
+        //x, y, width and height of the expected pixel area per orientation
+        int[][] expected = new int[][] {
+            {10, 20, 30, 40}, {20, 60, 40, 30}, {60, 40, 30, 40}, {40, 10, 40, 30}};
+        Orientation[] orientations = new Orientation[] {
+            Orientation.ZERO, Orientation.NINETY,
+            Orientation.ONEHUNDRED_EIGHTY, Orientation.TWOHUNDRED_SEVENTY};
+        for (int type : IMAGE_TYPES) {
+            for (int i = 0; i < orientations.length; i++) {
+                BufferedImage image = new BufferedImage(100, 100, type);
+                RasterPainter painter = new RasterPainter(image, dim, orientations[i]);
+                painter.fillRect(1, 2, 3, 4);
+                for (int y = 0; y < 100; y++) {
+                    for (int x = 0; x < 100; x++) {
+                        boolean inside = x >= expected[i][0]
+                                && x < expected[i][0] + expected[i][2]
+                                && y >= expected[i][1]
+                                && y < expected[i][1] + expected[i][3];
+                        assertEquals(orientations[i] + ", type " + type
+                                + ": pixel (" + x + ", " + y + ")",
+                                inside ? 0xff000000 : 0xffffffff, image.getRGB(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Painting directly into the raster must give (nearly) the same result as painting with
+     * Java2D. Small differences are expected where Java2D's rounding errors let an edge
+     * fall on the other side of a pixel boundary.
+     */
+    @Test
+    public void testDirectRasterMatchesJava2D() {
+        System.out.println("directRasterMatchesJava2D");
+        Code128Bean code128 = new Code128Bean();
+        code128.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        DataMatrixBean dataMatrix = new DataMatrixBean();
+        for (int type : IMAGE_TYPES) {
+            for (Orientation orientation : Orientation.values()) {
+                assertSimilarImage(code128, "Barcode4J", 300, type, orientation);
+                assertSimilarImage(code128, "Barcode4J", 97, type, orientation);
+                assertSimilarImage(dataMatrix, "Barcode4J", 150, type, orientation);
+            }
+        }
+    }
+
+    /**
+     * The human-readable text is painted with Java2D on top of the directly painted bars.
+     */
+    @Test
+    public void testDirectRasterWithText() {
+        System.out.println("directRasterWithText");
+        Code128Bean bean = new Code128Bean();
+        BitmapCanvasProvider withText = new BitmapCanvasProvider(300,
+                BufferedImage.TYPE_BYTE_BINARY, false, Orientation.ZERO);
+        bean.generateBarcode(withText, "Barcode4J");
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        BitmapCanvasProvider withoutText = new BitmapCanvasProvider(300,
+                BufferedImage.TYPE_BYTE_BINARY, false, Orientation.ZERO);
+        bean.generateBarcode(withoutText, "Barcode4J");
+
+        BufferedImage image = withText.getBufferedImage();
+        BufferedImage bars = withoutText.getBufferedImage();
+        int textPixels = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (y < bars.getHeight() && image.getRGB(x, y) != bars.getRGB(x, y)) {
+                    fail("The bars must not be changed by painting the text");
+                }
+                if (y >= bars.getHeight() && (image.getRGB(x, y) & 0xffffff) == 0) {
+                    textPixels++;
+                }
+            }
+        }
+        assertTrue("The text must have been painted", textPixels > 0);
+    }
+
+    /**
+     * In the pixel grid mode every module must be painted with the same whole number of
+     * pixels, even with anti-aliasing enabled.
+     */
+    @Test
+    public void testPixelGrid() {
+        System.out.println("pixelGrid");
+        Code128Bean bean = new Code128Bean();
+        bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
+        BitmapCanvasProvider provider = new BitmapCanvasProvider(300,
+                BufferedImage.TYPE_BYTE_GRAY, true, Orientation.ZERO);
+        provider.setModuleWidth(bean.getModuleWidth());
+        //0.21mm at 300dpi is 2.48 pixels
+        assertEquals(2, provider.getPixelsPerModule());
+        bean.generateBarcode(provider, "Barcode4J");
+        BufferedImage image = provider.getBufferedImage();
+
+        BarcodeDimension dim = bean.calcDimensions("Barcode4J");
+        int modules = (int)Math.round(dim.getWidthPlusQuiet() / bean.getModuleWidth());
+        assertEquals(modules * 2, image.getWidth());
+        int y = image.getHeight() / 2;
+        int previous = image.getRGB(0, y);
+        for (int x = 0; x < image.getWidth(); x++) {
+            int rgb = image.getRGB(x, y);
+            assertTrue("Only black and white pixels expected",
+                    rgb == 0xff000000 || rgb == 0xffffffff);
+            if (rgb != previous) {
+                assertEquals("Bar edge at pixel " + x, 0, x % 2);
+                previous = rgb;
+            }
+        }
+
+        provider.setModuleWidth(0);
+        assertEquals(0, provider.getPixelsPerModule());
+    }
+
+    /**
+     * In deterministic mode, the same barcode always results in the same bytes.
+     */
+    @Test
+    public void testDeterministic() throws Exception {
+        System.out.println("deterministic");
+        final Code128Bean bean = new Code128Bean();
+        final String[] formats = {"image/png", "image/jpeg", "image/gif", "image/bmp"};
+        for (String format : formats) {
+            if (!BitmapEncoderRegistry.supports(format)) {
+                continue;
+            }
+            byte[] first = null;
+            for (int i = 0; i < 2; i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                BitmapCanvasProvider provider = new BitmapCanvasProvider(out, format, 300,
+                        BufferedImage.TYPE_BYTE_GRAY, true, Orientation.ZERO);
+                provider.setDeterministic(true);
+                bean.generateBarcode(provider, "Hello");
+                provider.finish();
+                if (first == null) {
+                    first = out.toByteArray();
+                } else {
+                    assertArrayEquals(format, first, out.toByteArray());
+                }
+            }
+        }
+    }
+
+    private static void assertSimilarImage(AbstractBarcodeBean bean, String msg, int resolution,
+            int imageType, Orientation orientation) {
+        BitmapCanvasProvider provider = new BitmapCanvasProvider(resolution, imageType,
+                false, orientation);
+        bean.generateBarcode(provider, msg);
+        BufferedImage actual = provider.getBufferedImage();
+
+        BarcodeDimension dim = bean.calcDimensions(msg);
+        BufferedImage expected = BitmapBuilder.prepareImage(dim, orientation, resolution,
+                imageType);
+        Graphics2D g2d = BitmapBuilder.prepareGraphics2D(expected, dim, orientation, false);
+        bean.generateBarcode(new Java2DCanvasProvider(g2d, orientation), msg);
+        g2d.dispose();
+
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        int differences = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differences++;
+                }
+            }
+        }
+        assertTrue(bean.getId() + " at " + resolution + "dpi, " + orientation
+                + ", type " + imageType + ": " + differences + " pixels differ",
+                differences * 20 <= expected.getWidth() * expected.getHeight());
+    }
+}
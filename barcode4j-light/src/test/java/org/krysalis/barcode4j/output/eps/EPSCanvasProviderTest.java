@@ -19,10 +19,18 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.krysalis.barcode4j.BarcodeDimension;
 import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
 import org.krysalis.barcode4j.output.Orientation;
+import org.krysalis.barcode4j.tools.NumberFormatter;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -58,6 +66,23 @@ public class EPSCanvasProviderTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of getNumberFormatter method, of class EPSCanvasProvider.
+     */
+    @Test
+    public void testGetNumberFormatter() throws Exception {
+        System.out.println("getNumberFormatter");
+        EPSCanvasProvider instance = new EPSCanvasProvider(out, orientation);
+        DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+        dfs.setDecimalSeparator('.');
+        DecimalFormat expResult = new DecimalFormat("0.####", dfs);
+        NumberFormatter result = instance.getNumberFormatter();
+        assertEquals(4, result.getFractionDigits());
+        for (double value : new double[] {0, 1, -2.5, 0.35275, 12.345678, 1234567.8}) {
+            assertEquals(expResult.format(value), result.format(value));
+        }
+    }
+
     /**
      * Test of finish method, of class EPSCanvasProvider.
      */
@@ -140,4 +165,149 @@ public class EPSCanvasProviderTest {
         assertThat(result, containsString("0 0 moveto (Barcode4J) show"));
         assertThat(result, containsString("(Barcode4J) 0 283.5 0 rt"));
     }
+
+    /**
+     * In deterministic mode, the same barcode always results in the same bytes.
+     */
+    @Test
+    public void testDeterministic() throws Exception {
+        System.out.println("deterministic");
+        Code128Bean bean = new Code128Bean();
+        EPSCanvasProvider instance = new EPSCanvasProvider(out, orientation);
+        bean.generateBarcode(instance, "Hello");
+        instance.finish();
+        assertThat(out.toString(), containsString("%%CreationDate: "));
+
+        String[] results = new String[2];
+        for (int i = 0; i < results.length; i++) {
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            instance = new EPSCanvasProvider(bout, orientation);
+            instance.setDeterministic(true);
+            assertTrue(instance.isDeterministic());
+            bean.generateBarcode(instance, "Hello");
+            instance.finish();
+            results[i] = bout.toString("US-ASCII");
+        }
+        assertThat(results[0], not(containsString("%%CreationDate")));
+        assertEquals(results[0], results[1]);
+    }
+
+    /**
+     * The compact encoding must paint exactly the same rectangles as the default encoding.
+     * The "ra" procedure is checked by running the generated PostScript code through a
+     * minimal interpreter for the few operators used.
+     */
+    @Test
+    public void testCompactEncoding() throws Exception {
+        System.out.println("compactEncoding");
+        Code128Bean code128 = new Code128Bean();
+        assertSameRects(code128, "Barcode4J 0123456789");
+        DataMatrixBean dataMatrix = new DataMatrixBean();
+        assertSameRects(dataMatrix, "Compact EPS output for Barcode4J");
+    }
+
+    private static void assertSameRects(AbstractBarcodeBean bean, String msg) throws Exception {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        EPSCanvasProvider provider = new EPSCanvasProvider(plain, Orientation.ZERO);
+        bean.generateBarcode(provider, msg);
+        provider.finish();
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        provider = new EPSCanvasProvider(compact, Orientation.ZERO);
+        provider.setCompactEncoding(true);
+        assertTrue(provider.isCompactEncoding());
+        bean.generateBarcode(provider, msg);
+        provider.finish();
+
+        List<String> expected = paintedRects(plain.toString("US-ASCII"));
+        List<String> actual = paintedRects(compact.toString("US-ASCII"));
+        assertFalse(expected.isEmpty());
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+        assertTrue(bean.getId() + ": " + compact.size() + " bytes instead of " + plain.size(),
+                compact.size() < plain.size());
+    }
+
+    /**
+     * Returns the operands of all "rf" calls made by the page description.
+     */
+    private static List<String> paintedRects(String eps) {
+        List<String> ra = new ArrayList<String>();
+        int start = eps.indexOf("/ra {");
+        if (start >= 0) {
+            start += 5;
+            ra = tokenize(eps.substring(start, eps.indexOf("} def", start)));
+        }
+        String body = eps.substring(eps.indexOf("%%EndProlog") + 11, eps.indexOf("%%EOF"));
+        List<String> rects = new ArrayList<String>();
+        List<Object> stack = new ArrayList<Object>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("/") || line.startsWith("(")) {
+                continue; //Text, not of interest here
+            }
+            execute(tokenize(line), stack, ra, rects);
+        }
+        assertTrue("Stack not empty: " + stack, stack.isEmpty());
+        return rects;
+    }
+
+    private static List<String> tokenize(String code) {
+        List<String> tokens = new ArrayList<String>(Arrays.asList(code.trim().split("\\s+")));
+        tokens.remove("");
+        return tokens;
+    }
+
+    private static void execute(List<String> tokens, List<Object> stack, List<String> ra,
+            List<String> rects) {
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ("{".equals(token)) {
+                int depth = 1;
+                int end = i + 1;
+                for (; depth > 0; end++) {
+                    if ("{".equals(tokens.get(end))) {
+                        depth++;
+                    } else if ("}".equals(tokens.get(end))) {
+                        depth--;
+                    }
+                }
+                stack.add(new ArrayList<String>(tokens.subList(i + 1, end - 1)));
+                i = end - 1;
+            } else if ("rf".equals(token)) {
+                String h = pop(stack);
+                String w = pop(stack);
+                String y = pop(stack);
+                String x = pop(stack);
+                rects.add(x + " " + y + " " + w + " " + h);
+            } else if ("ra".equals(token)) {
+                execute(ra, stack, ra, rects);
+            } else if ("roll".equals(token)) {
+                int j = Integer.parseInt(pop(stack));
+                int n = Integer.parseInt(pop(stack));
+                List<Object> top = stack.subList(stack.size() - n, stack.size());
+                Collections.rotate(top, j);
+            } else if ("index".equals(token)) {
+                int n = Integer.parseInt(pop(stack));
+                stack.add(stack.get(stack.size() - 1 - n));
+            } else if ("exch".equals(token)) {
+                Collections.swap(stack, stack.size() - 1, stack.size() - 2);
+            } else if ("pop".equals(token)) {
+                stack.remove(stack.size() - 1);
+            } else if ("repeat".equals(token)) {
+                @SuppressWarnings("unchecked")
+                List<String> proc = (List<String>)stack.remove(stack.size() - 1);
+                int n = Integer.parseInt(pop(stack));
+                for (int k = 0; k < n; k++) {
+                    execute(proc, stack, ra, rects);
+                }
+            } else {
+                Double.parseDouble(token); //Only numbers expected otherwise
+                stack.add(token);
+            }
+        }
+    }
+
+    private static String pop(List<Object> stack) {
+        return (String)stack.remove(stack.size() - 1);
+    }
 }
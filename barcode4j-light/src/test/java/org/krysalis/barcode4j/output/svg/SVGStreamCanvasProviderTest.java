@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.output.svg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.krysalis.barcode4j.BarcodeDimension;
+import org.krysalis.barcode4j.ModuleMerging;
+import org.krysalis.barcode4j.TextAlignment;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.datamatrix.DataMatrixBean;
+import org.krysalis.barcode4j.output.Orientation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the SVGStreamCanvasProvider.
+ */
+public class SVGStreamCanvasProviderTest {
+
+    @Test
+    public void testOutput() throws Exception {
+        System.out.println("output - default");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SVGStreamCanvasProvider instance = new SVGStreamCanvasProvider(out, Orientation.ZERO);
+        instance.establishDimensions(new BarcodeDimension(110, 110));
+        instance.deviceFillRect(0, 0, 100, 100);
+        instance.finish();
+        String expResult = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"110mm\" height=\"110mm\""
+                + " viewBox=\"0 0 110 110\"><g fill=\"black\" stroke=\"none\">"
+                + "<rect x=\"0\" y=\"0\" width=\"100\" height=\"100\"/></g></svg>";
+        assertEquals(expResult, out.toString("UTF-8"));
+
+        System.out.println("output - no namespace, writer");
+        StringWriter writer = new StringWriter();
+        instance = new SVGStreamCanvasProvider(writer, false, Orientation.NINETY);
+        instance.establishDimensions(new BarcodeDimension(20, 10));
+        instance.deviceText("<A&B>", 0, 20, 8, "Helvetica", 2, TextAlignment.TA_LEFT);
+        instance.finish();
+        expResult = "<svg width=\"10mm\" height=\"20mm\" viewBox=\"0 0 10 20\">"
+                + "<g fill=\"black\" stroke=\"none\" transform=\"rotate(-90) translate(-20)\">"
+                + "<text font-family=\"Helvetica\" font-size=\"2\" text-anchor=\"start\""
+                + " x=\"0\" y=\"8\">&lt;A&amp;B&gt;</text></g></svg>";
+        assertEquals(expResult, writer.toString());
+    }
+
+    @Test
+    public void testSameAsDOM() throws Exception {
+        System.out.println("sameAsDOM");
+        Code128Bean bean = new Code128Bean();
+        for (Orientation orientation : Orientation.values()) {
+            SVGCanvasProvider dom = new SVGCanvasProvider(orientation);
+            bean.generateBarcode(dom, "Barcode4J");
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            SVGStreamCanvasProvider stream = new SVGStreamCanvasProvider(out, orientation);
+            bean.generateBarcode(stream, "Barcode4J");
+            stream.finish();
+
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            Document parsed = dbf.newDocumentBuilder().parse(
+                    new ByteArrayInputStream(out.toByteArray()));
+            assertSameElement(dom.getDOM().getDocumentElement(), parsed.getDocumentElement());
+        }
+    }
+
+    @Test
+    public void testCompactPath() throws Exception {
+        System.out.println("compactPath");
+        StringWriter writer = new StringWriter();
+        SVGStreamCanvasProvider instance = new SVGStreamCanvasProvider(writer, false,
+                Orientation.ZERO);
+        instance.setCompactPath(true);
+        assertTrue(instance.isCompactPath());
+        instance.establishDimensions(new BarcodeDimension(20, 10));
+        instance.deviceFillRect(1, 0, 2, 8);
+        instance.deviceFillRect(4.5, 0, 0.25, 8);
+        instance.deviceFillRect(5.12345, 0.5, 1.0000001, 7.5);
+        instance.deviceFillRect(3, 2, -1, 0);
+        instance.deviceText("A", 0, 20, 10, "Helvetica", 2, TextAlignment.TA_CENTER);
+        instance.deviceFillRect(0, 9, 20, 1);
+        instance.finish();
+        String expResult = "<svg width=\"20mm\" height=\"10mm\" viewBox=\"0 0 20 10\">"
+                + "<g fill=\"black\" stroke=\"none\">"
+                + "<path d=\"M1 0h2v8h-2zm3.5 0h.25v8h-.25zm.6235.5h1v7.5h-1z\"/>"
+                + "<text font-family=\"Helvetica\" font-size=\"2\" text-anchor=\"middle\""
+                + " x=\"10\" y=\"10\">A</text>"
+                + "<path d=\"M0 9h20v1h-20z\"/></g></svg>";
+        assertEquals(expResult, writer.toString());
+
+        System.out.println("compactPath - size");
+        DataMatrixBean dataMatrix = new DataMatrixBean();
+        dataMatrix.setModuleMerging(ModuleMerging.NONE);
+        assertSmaller(dataMatrix, "Compact SVG output for Barcode4J", 2);
+        Code128Bean code128 = new Code128Bean();
+        assertSmaller(code128, "Barcode4J 0123456789 Barcode4J", 2);
+    }
+
+    private static void assertSmaller(AbstractBarcodeBean bean, String msg, int factor)
+            throws Exception {
+        ByteArrayOutputStream rects = new ByteArrayOutputStream();
+        SVGStreamCanvasProvider provider = new SVGStreamCanvasProvider(rects, Orientation.ZERO);
+        bean.generateBarcode(provider, msg);
+        provider.finish();
+        ByteArrayOutputStream path = new ByteArrayOutputStream();
+        provider = new SVGStreamCanvasProvider(path, Orientation.ZERO);
+        provider.setCompactPath(true);
+        bean.generateBarcode(provider, msg);
+        provider.finish();
+        assertTrue(bean.getId() + ": " + path.size() + " bytes instead of " + rects.size(),
+                path.size() * factor < rects.size());
+    }
+
+    private static void assertSameElement(Element expected, Element actual) {
+        assertEquals(expected.getNamespaceURI(), actual.getNamespaceURI());
+        assertEquals(expected.getNodeName(), actual.getNodeName());
+        NamedNodeMap attributes = expected.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            String name = attributes.item(i).getNodeName();
+            assertEquals(name, expected.getAttribute(name), actual.getAttribute(name));
+        }
+        NodeList expectedChildren = expected.getChildNodes();
+        NodeList actualChildren = actual.getChildNodes();
+        assertEquals(expectedChildren.getLength(), actualChildren.getLength());
+        for (int i = 0; i < expectedChildren.getLength(); i++) {
+            Node child = expectedChildren.item(i);
+            if (child instanceof Element) {
+                assertSameElement((Element)child, (Element)actualChildren.item(i));
+            } else {
+                assertEquals(child.getNodeValue(), actualChildren.item(i).getNodeValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.tools;
+
+import java.io.StringWriter;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the NumberFormatter class.
+ */
+public class NumberFormatterTest {
+
+    @Test
+    public void testFormat() throws Exception {
+        System.out.println("format");
+        NumberFormatter nf = new NumberFormatter();
+        assertEquals("0", nf.format(0));
+        assertEquals("0", nf.format(-0.0));
+        assertEquals("0", nf.format(-0.00001));
+        assertEquals("1", nf.format(1));
+        assertEquals("-1", nf.format(-1));
+        assertEquals("0.5", nf.format(0.5));
+        assertEquals("-0.0001", nf.format(-0.0001));
+        assertEquals("0.0001", nf.format(0.00009));
+        assertEquals("2.835", nf.format(UnitConv.mm2pt(1)));
+        assertEquals("0.3333", nf.format(1.0 / 3));
+        assertEquals("0.6667", nf.format(2.0 / 3));
+        assertEquals("1234567.8901", nf.format(1234567.89012));
+        assertEquals("1", nf.format(0.99999));
+        assertEquals("100000000000000000000", nf.format(1E20));
+        assertEquals("NaN", nf.format(Double.NaN));
+
+        nf = new NumberFormatter(0);
+        assertEquals("3", nf.format(Math.PI));
+        assertEquals("-12", nf.format(-12.4));
+
+        nf = new NumberFormatter(2);
+        assertEquals(2, nf.getFractionDigits());
+        assertEquals("3.14", nf.format(Math.PI));
+        assertEquals("0.1", nf.format(0.1));
+
+        try {
+            new NumberFormatter(10);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException iae) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testTargets() throws Exception {
+        System.out.println("targets");
+        NumberFormatter nf = new NumberFormatter();
+        char[] buf = new char[NumberFormatter.MAX_LENGTH + 2];
+        buf[0] = '[';
+        int pos = nf.format(-12.34567, buf, 1);
+        buf[pos++] = ']';
+        assertEquals("[-12.3457]", new String(buf, 0, pos));
+
+        StringWriter writer = new StringWriter();
+        nf.format(0.21, writer);
+        writer.write(' ');
+        nf.format(1E20, writer);
+        assertEquals("0.21 100000000000000000000", writer.toString());
+
+        StringBuilder sb = new StringBuilder("x=");
+        nf.format(15.0, sb);
+        assertEquals("x=15", sb.toString());
+    }
+
+    /**
+     * The output must be the same as the one produced by DecimalFormat("0.####") which has
+     * been used before.
+     */
+    @Test
+    public void testSameAsDecimalFormat() throws Exception {
+        System.out.println("sameAsDecimalFormat");
+        DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+        dfs.setDecimalSeparator('.');
+        DecimalFormat df = new DecimalFormat("0.####", dfs);
+        NumberFormatter nf = new NumberFormatter();
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            double value;
+            switch (i % 3) {
+            case 0:
+                value = random.nextDouble() * 500;
+                break;
+            case 1:
+                //Typical multiples of a module width
+                value = (random.nextInt(200) - 20) * 0.21;
+                break;
+            default:
+                value = UnitConv.mm2pt(random.nextInt(100000) / 1000.0);
+            }
+            String expected = df.format(value);
+            if ("-0".equals(expected)) {
+                expected = "0";
+            }
+            assertEquals(Double.toString(value), expected, nf.format(value));
+        }
+    }
+}
@@ -19,7 +19,7 @@ package org.krysalis.barcode4j.impl.qr;
 import java.awt.Dimension;
 
 import org.krysalis.barcode4j.BarcodeDimension;
-import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.ModuleMerging;
 import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
 import org.krysalis.barcode4j.impl.DefaultTwoDimCanvasLogicHandler;
 import org.krysalis.barcode4j.output.Canvas;
@@ -29,7 +29,6 @@ import org.krysalis.barcode4j.tools.UnitConv;
 
 import com.google.zxing.WriterException;
 import com.google.zxing.qrcode.encoder.ByteMatrix;
-import com.google.zxing.qrcode.encoder.Encoder;
 import com.google.zxing.qrcode.encoder.QRCode;
 import java.util.Collection;
 import java.util.Set;
@@ -53,6 +52,8 @@ public class QRCodeBean extends AbstractBarcodeBean {
     private Dimension minSize;
     /** Optional: the maximum size of the symbol. */
     private Dimension maxSize;
+    /** The way dark modules are combined into rectangles. */
+    private ModuleMerging moduleMerging = ModuleMerging.NONE;
 
     /** Create a new instance. */
     public QRCodeBean() {
@@ -141,34 +142,78 @@ public class QRCodeBean extends AbstractBarcodeBean {
         return this.maxSize == null ? null : new Dimension(this.maxSize);
     }
 
-    @Override
-    public void generateBarcode(CanvasProvider canvas, String msg) {
+    /**
+     * Sets the way dark modules are combined into rectangles before they are painted. The
+     * default, {@link ModuleMerging#NONE}, paints each dark module as a rectangle of its own;
+     * {@link ModuleMerging#ROWS} paints each horizontal run of dark modules as one rectangle.
+     * @param moduleMerging the module merging mode
+     */
+    public void setModuleMerging(ModuleMerging moduleMerging) {
+        if (moduleMerging == null) {
+            throw new NullPointerException("moduleMerging must not be null");
+        }
+        this.moduleMerging = moduleMerging;
+    }
+
+    /**
+     * Returns the way dark modules are combined into rectangles before they are painted.
+     * @return the module merging mode
+     */
+    public ModuleMerging getModuleMerging() {
+        return this.moduleMerging;
+    }
+
+    /**
+     * Encodes a message into a QR Code symbol using the current settings of this bean and
+     * checks the size constraints. The result can be passed to
+     * {@link #calcDimensions(QRCode)} and is used internally by
+     * {@link #generateBarcode(CanvasProvider, String)} so the message only needs to be
+     * encoded once.
+     * @param msg the message to encode
+     * @return the encoded symbol
+     */
+    public QRCode encode(String msg) {
         if (msg == null || msg.isEmpty()) {
             throw new NullPointerException("Parameter msg must not be empty");
         }
+        QRCode code = null;
+        try {
+            code = QRLogicImpl.encode(msg, encoding, errorCorrectionLevel);
+        } catch (WriterException e) {
+            throw new IllegalStateException(e);
+        }
+        final ByteMatrix matrix = code.getMatrix();
+        checkSizeConstraints(matrix.getWidth(), matrix.getHeight());
+        return code;
+    }
 
-        final TwoDimBarcodeLogicHandler handler =
-                new DefaultTwoDimCanvasLogicHandler(this, new Canvas(canvas));
+    @Override
+    public void generateBarcode(CanvasProvider canvas, String msg) {
+        final QRCode code = encode(msg);
+
+        final DefaultTwoDimCanvasLogicHandler handler =
+                new DefaultTwoDimCanvasLogicHandler(this, new Canvas(canvas),
+                        calcDimensions(code));
+        handler.setModuleMerging(getModuleMerging());
 
         final QRLogicImpl impl = new QRLogicImpl();
-        impl.generateBarcodeLogic(handler, msg, encoding, errorCorrectionLevel,
-                getMinSize(), getMaxSize());
+        impl.generateBarcodeLogic(handler, msg, code);
     }
 
     @Override
     public BarcodeDimension calcDimensions(String msg) {
-        QRCode code = null;
-        try {
-            code = Encoder.encode(msg,
-                    QRLogicImpl.getZXingErrorLevel(errorCorrectionLevel),
-                    QRLogicImpl.createHints(encoding));
-        } catch (WriterException e) {
-            throw new IllegalStateException(e);
-        }
+        return calcDimensions(encode(msg));
+    }
+
+    /**
+     * Calculates the dimensions of an already encoded symbol.
+     * @param code the encoded symbol
+     * @return the barcode dimensions
+     */
+    public BarcodeDimension calcDimensions(QRCode code) {
         final ByteMatrix matrix = code.getMatrix();
         final int effWidth = matrix.getWidth();
         final int effHeight = matrix.getHeight();
-        checkSizeConstraints(effWidth, effHeight);
 
         final double width = effWidth * getModuleWidth();
         final double height = effHeight * getBarHeight();
@@ -18,7 +18,11 @@ package org.krysalis.barcode4j.impl.qr;
 
 import java.awt.Dimension;
 
+import org.krysalis.barcode4j.BitMatrix;
+import org.krysalis.barcode4j.MatrixBarcodeLogicHandler;
 import org.krysalis.barcode4j.TwoDimBarcodeLogicHandler;
+import org.krysalis.barcode4j.metrics.Metrics;
+import org.krysalis.barcode4j.metrics.Stage;
 
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
@@ -34,10 +38,30 @@ import static org.krysalis.barcode4j.impl.qr.QRConstants.*;
 /**
  * Top-level class for the logic part of the DataMatrix implementation.
  *
- * @version 1.2
+ * @version 1.3
  */
 public class QRLogicImpl {
 
+    private static final String METRICS_SOURCE = "qr";
+
+    /**
+     * Encodes a message into a QR Code symbol.
+     * @param msg the message to encode
+     * @param encoding the message encoding
+     * @param errorCorrectionLevel the error correction level (one of L, M, Q, H)
+     * @return the encoded symbol
+     * @throws WriterException if the message cannot be encoded
+     */
+    public static QRCode encode(String msg, String encoding, char errorCorrectionLevel)
+            throws WriterException {
+        //ZXing performs all encoding steps (including error correction and masking) at once
+        final long start = Metrics.start();
+        final QRCode code = Encoder.encode(msg, getZXingErrorLevel(errorCorrectionLevel),
+                createHints(encoding));
+        Metrics.stop(Stage.HIGH_LEVEL_ENCODING, METRICS_SOURCE, start);
+        return code;
+    }
+
     /**
      * Generates the barcode logic.
      * @param logic the logic handler to receive generated events
@@ -54,21 +78,59 @@ public class QRLogicImpl {
 
         //TODO ZXing doesn't allow to set minSize/maxSize through its API
 
-        final ErrorCorrectionLevel zxingErrLevel = getZXingErrorLevel(errorCorrectionLevel);
-        final Map<EncodeHintType, ?> hints = createHints(encoding);
-
         QRCode code = null;
         try {
-            code = Encoder.encode(msg, zxingErrLevel, hints);
+            code = encode(msg, encoding, errorCorrectionLevel);
         } catch (WriterException e) {
             throw new RuntimeException(e.getMessage(), e);
         }
-        final ByteMatrix matrix = code.getMatrix();
+        generateBarcodeLogic(logic, msg, code);
+    }
+
+    /**
+     * Generates the barcode logic for a message that has already been encoded.
+     * @param logic the logic handler to receive generated events
+     * @param msg the message that has been encoded
+     * @param code the encoded symbol
+     */
+    public void generateBarcodeLogic(TwoDimBarcodeLogicHandler logic, String msg,
+            QRCode code) {
+        final BitMatrix matrix = createMatrix(code);
 
         //finally, paint the barcode
+        final long start = Metrics.start();
         logic.startBarcode(msg, msg);
-        encodeLowLevel(logic, matrix);
+        if (logic instanceof MatrixBarcodeLogicHandler
+                && ((MatrixBarcodeLogicHandler)logic).isMatrixSupported()) {
+            ((MatrixBarcodeLogicHandler)logic).addMatrix(matrix);
+        } else {
+            matrix.writeModules(logic);
+        }
         logic.endBarcode();
+        Metrics.stop(Stage.DRAWING, METRICS_SOURCE, start);
+    }
+
+    /**
+     * Creates the module matrix for an encoded symbol.
+     * @param code the encoded symbol
+     * @return the module matrix
+     */
+    public static BitMatrix createMatrix(QRCode code) {
+        final long start = Metrics.start();
+        final ByteMatrix matrix = code.getMatrix();
+        final int symbolWidth = matrix.getWidth();
+        final int symbolHeight = matrix.getHeight();
+        final BitMatrix.Builder builder = new BitMatrix.Builder(symbolWidth, symbolHeight);
+        for (int y = 0; y < symbolHeight; y++) {
+            for (int x = 0; x < symbolWidth; x++) {
+                if (matrix.get(x, y) == 1) {
+                    builder.set(x, y, true);
+                }
+            }
+        }
+        final BitMatrix bitMatrix = builder.build();
+        Metrics.stop(Stage.MODULE_PLACEMENT, METRICS_SOURCE, start);
+        return bitMatrix;
     }
 
     static Map<EncodeHintType, ?> createHints(String encoding) {
@@ -101,16 +163,4 @@ public class QRLogicImpl {
         }
         return zxingErrLevel;
     }
-
-    private void encodeLowLevel(TwoDimBarcodeLogicHandler logic, ByteMatrix matrix) {
-        final int symbolWidth = matrix.getWidth();
-        final int symbolHeight = matrix.getHeight();
-        for (int y = 0; y < symbolHeight; y++) {
-            logic.startRow();
-            for (int x = 0; x < symbolWidth; x++) {
-                logic.addBar(matrix.get(x, y) == 1, 1);
-            }
-            logic.endRow();
-        }
-    }
 }
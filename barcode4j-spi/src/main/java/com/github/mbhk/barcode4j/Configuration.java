@@ -58,6 +58,15 @@ public class Configuration {
         return attributes.get(attributeName);
     }
 
+    /**
+     * Returns the names of all attributes of this element.
+     *
+     * @return the attribute names (an empty array if there are no attributes)
+     */
+    public String[] getAttributeNames() {
+        return attributes.keySet().toArray(new String[attributes.size()]);
+    }
+
     public boolean getAttributeAsBoolean(String attributeName, boolean defaultValue) {
         return attributes.containsKey(attributeName) ? Boolean.parseBoolean(attributes.get(attributeName))
                 : defaultValue;
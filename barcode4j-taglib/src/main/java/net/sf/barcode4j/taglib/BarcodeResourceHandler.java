@@ -28,20 +28,12 @@ import javax.faces.application.ResourceHandlerWrapper;
 import javax.faces.application.ResourceWrapper;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import org.krysalis.barcode4j.BarcodeException;
 import org.krysalis.barcode4j.BarcodeGenerator;
 import org.krysalis.barcode4j.BarcodeGeneratorProvider;
 import org.krysalis.barcode4j.output.Orientation;
-import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
-import org.w3c.dom.DocumentFragment;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
+import com.github.mbhk.barcode4j.Configuration;
 
 /**
  *
@@ -105,24 +97,15 @@ public class BarcodeResourceHandler extends ResourceHandlerWrapper {
             try {
                 if (params.get("orientation") != null && params.get("symbologie") != null && params.get("message") != null) {
                     externalContext.setResponseContentType("image/svg+xml");
-                    final SVGCanvasProvider svgCanvasProvider = new SVGCanvasProvider(true, Orientation.valueOf(params.get("orientation")));
-                    final BarcodeGenerator gen = BarcodeGeneratorProvider.getInstance().getBarcodeGenerator(params.get("symbologie"));
+                    final SVGStreamCanvasProvider svgCanvasProvider = new SVGStreamCanvasProvider(os, true, Orientation.valueOf(params.get("orientation")));
+                    final BarcodeGenerator gen = BarcodeGeneratorProvider.getInstance().getBarcodeGenerator(
+                            new Configuration(params.get("symbologie")));
                     gen.generateBarcode(svgCanvasProvider, params.get("message"));
-                    final DocumentFragment frag = svgCanvasProvider.getDOMFragment();
-
-                    final Transformer trans = TransformerFactory.newInstance()
-                            .newTransformer();
-                    final Source src = new DOMSource(frag);
-                    final Result res = new StreamResult(os);
-                    trans.transform(src, res);
+                    svgCanvasProvider.finish();
                 }
                 os.flush();
             } catch (BarcodeException ex) {
                 LOGGER.log(Level.SEVERE, null, ex);
-            } catch (TransformerConfigurationException ex) {
-                LOGGER.log(Level.SEVERE, null, ex);
-            } catch (TransformerException ex) {
-                LOGGER.log(Level.SEVERE, null, ex);
             }
             return new ByteArrayInputStream(os.toByteArray());
         }
@@ -63,6 +63,7 @@ public class ImageConverterBarcode2EPS extends AbstractImageConverter {
 
             final ByteArrayOutputStream bout = new ByteArrayOutputStream();
             final EPSCanvasProvider canvas = new EPSCanvasProvider(bout, orientation);
+            canvas.setCompactEncoding(true);
             bargen.generateBarcode(canvas, expandedMsg);
             canvas.finish();
 
@@ -42,6 +42,20 @@ public class BarcodeUtil {
 
     private final BarcodeClassResolver classResolver = new DefaultBarcodeClassResolver();
 
+    private final BarcodeGeneratorCache cache = new BarcodeGeneratorCache(
+            new BarcodeGeneratorCache.Factory() {
+                @Override
+                public BarcodeGenerator createBarcodeGenerator(Configuration cfg)
+                        throws BarcodeException {
+                    final BarcodeGenerator gen = BarcodeUtil.this.createBarcodeGenerator(cfg);
+                    if (gen instanceof ConfigurableBarcodeGenerator) {
+                        //The configuration proxy is not needed anymore
+                        return ((ConfigurableBarcodeGenerator)gen).getBean();
+                    }
+                    return gen;
+                }
+            });
+
     /**
      * Creates a new BarcodeUtil object. This constructor is protected because
      * this class is designed as a singleton.
@@ -55,7 +69,7 @@ public class BarcodeUtil {
      *
      * @return the singleton
      */
-    public static BarcodeUtil getInstance() {
+    public static synchronized BarcodeUtil getInstance() {
         if (instance == null) {
             instance = new BarcodeUtil();
         }
@@ -165,6 +179,31 @@ public class BarcodeUtil {
         return createBarcodeGenerator(cfg, this.classResolver);
     }
 
+    /**
+     * Returns a configured, immutable BarcodeGenerator. Unlike
+     * {@link #createBarcodeGenerator(Configuration)} the generators are cached, so the
+     * barcode implementation is looked up and configured only once for equivalent
+     * configurations. The returned generator may be shared by several threads but must
+     * not be configured again.
+     *
+     * @param cfg Configuration object that specifies the barcode to produce.
+     * @return the (possibly shared) BarcodeGenerator
+     * @throws BarcodeException if setting up a BarcodeGenerator fails
+     */
+    public BarcodeGenerator getBarcodeGenerator(Configuration cfg)
+            throws BarcodeException {
+        return this.cache.getBarcodeGenerator(cfg);
+    }
+
+    /**
+     * Returns the cache used by {@link #getBarcodeGenerator(Configuration)}.
+     *
+     * @return the generator cache
+     */
+    public BarcodeGeneratorCache getGeneratorCache() {
+        return this.cache;
+    }
+
     /**
      * Convenience method to create an SVG barocde as a DOM fragment.
      *
@@ -176,7 +215,7 @@ public class BarcodeUtil {
     public DocumentFragment generateSVGBarcode(Configuration cfg,
             String msg)
             throws BarcodeException {
-        final BarcodeGenerator gen = createBarcodeGenerator(cfg);
+        final BarcodeGenerator gen = getBarcodeGenerator(cfg);
         final SVGCanvasProvider svg = new SVGCanvasProvider(false, Orientation.ZERO);
 
         //Create Barcode and render it to SVG
@@ -17,36 +17,53 @@ package org.krysalis.barcode4j.ant;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
-
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Task;
 import org.krysalis.barcode4j.BarcodeException;
 import org.krysalis.barcode4j.BarcodeGenerator;
+import org.krysalis.barcode4j.BarcodeGeneratorCache;
 import org.krysalis.barcode4j.BarcodeUtil;
+import org.krysalis.barcode4j.BatchRenderer;
 import org.krysalis.barcode4j.output.Orientation;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
-import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
 import org.krysalis.barcode4j.tools.MimeTypes;
 
 import com.github.mbhk.barcode4j.Configuration;
 
 /**
  * Ant task for Barcode4J.
+ * <p>
+ * The task either generates a single barcode (attributes <code>message</code> and
+ * <code>output</code>) or, with the <code>messageFile</code> attribute, a barcode for every
+ * entry of a properties file. The keys of the properties file are the output filenames
+ * (relative to <code>destDir</code>), the values are the messages. Files whose message and
+ * settings haven't changed since the last run are skipped (see <code>manifest</code>), the
+ * others are generated in parallel.
  *
  * @author Didier Donsez
- * @version 1.1
+ * @version 1.3
  */
 public class BarcodeTask extends Task {
 
+    /** SVG output is written without the SVG namespace, for single messages and batches alike */
+    private static final boolean SVG_NAMESPACE = false;
+
     /** The barcode symbology to select */
     private String symbol;
 
@@ -70,6 +87,24 @@ public class BarcodeTask extends Task {
     /** the message */
     private String message;
 
+    /** omit timestamps so the same input always produces the same output */
+    private boolean deterministic;
+
+    /** the properties file with the output filenames and messages */
+    private File messageFile;
+
+    /** the base directory for the output filenames of the message file */
+    private File destDir;
+
+    /** the file recording the inputs of the generated barcodes */
+    private File manifest;
+
+    /** regenerate all barcodes of the message file */
+    private boolean force;
+
+    /** the number of threads generating the barcodes of the message file */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
     /**
      * Handles the command line. The method calls the exit handler upon
      * completion.
@@ -78,6 +113,14 @@ public class BarcodeTask extends Task {
     @Override
     public void execute() throws BuildException {
 
+        if (messageFile != null) {
+            if (message != null || output != null) {
+                throw new BuildException("messageFile cannot be combined with message or output");
+            }
+            executeMessageFile();
+            return;
+        }
+
         if (message == null || message.length() == 0) {
             throw new BuildException("No message");
         }
@@ -97,22 +140,14 @@ public class BarcodeTask extends Task {
             final BarcodeGenerator gen = util.createBarcodeGenerator(getConfiguration());
 
             if (MimeTypes.MIME_SVG.equals(format)) {
-                // Create Barcode and render it to SVG
-                final SVGCanvasProvider svg = new SVGCanvasProvider(false, orientation);
+                // Create Barcode and write it as SVG
+                final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(out,
+                        SVG_NAMESPACE, orientation);
                 gen.generateBarcode(svg, message);
-
-                // Serialize SVG barcode
-                try {
-                    final TransformerFactory factory = TransformerFactory.newInstance();
-                    final Transformer trans = factory.newTransformer();
-                    final Source src = new javax.xml.transform.dom.DOMSource(svg.getDOMFragment());
-                    final Result res = new javax.xml.transform.stream.StreamResult(out);
-                    trans.transform(src, res);
-                } catch (TransformerException te) {
-                    throw new BuildException("XML/XSLT library error", te);
-                }
+                svg.finish();
             } else if (MimeTypes.MIME_EPS.equals(format)) {
                 final EPSCanvasProvider eps = new EPSCanvasProvider(out, orientation);
+                eps.setDeterministic(deterministic);
                 gen.generateBarcode(eps, message);
                 eps.finish();
             } else {
@@ -124,6 +159,7 @@ public class BarcodeTask extends Task {
                     bitmap = new BitmapCanvasProvider(out, format, dpi,
                             BufferedImage.TYPE_BYTE_GRAY, true, orientation);
                 }
+                bitmap.setDeterministic(deterministic);
                 gen.generateBarcode(bitmap, message);
                 bitmap.finish();
             }
@@ -136,6 +172,105 @@ public class BarcodeTask extends Task {
         }
     }
 
+    private void executeMessageFile() throws BuildException {
+        final Properties entries = loadMessageFile();
+        final File baseDir = destDir != null ? destDir : messageFile.getAbsoluteFile().getParentFile();
+        final File manifestFile = manifest != null ? manifest : new File(baseDir, ".barcode4j-manifest");
+        try {
+            final Configuration cfg = getConfiguration();
+            final BatchRenderer renderer = new BatchRenderer(
+                    BarcodeUtil.getInstance().getBarcodeGenerator(cfg), format);
+            renderer.setThreads(threads);
+            renderer.setResolution(dpi);
+            renderer.setGrayscale(!bw);
+            renderer.setDeterministic(deterministic);
+            renderer.setUseNamespace(SVG_NAMESPACE);
+
+            //Everything that influences the output except for the message
+            final String settings = BarcodeGeneratorCache.createKey(cfg) + "|" + renderer.getFormat()
+                    + "|" + dpi + "|" + bw + "|" + deterministic + "|"
+                    + BarcodeTask.class.getPackage().getImplementationVersion();
+            final BuildManifest buildManifest = new BuildManifest(manifestFile);
+            buildManifest.retainAll(entries.stringPropertyNames());
+
+            final List<String> names = new ArrayList<String>();
+            final List<String> messages = new ArrayList<String>();
+            for (String name : new TreeSet<String>(entries.stringPropertyNames())) {
+                final String msg = entries.getProperty(name);
+                final File file = resolveOutput(baseDir, name);
+                if (force || !buildManifest.isUpToDate(name, file, BuildManifest.hash(settings, msg))) {
+                    names.add(name);
+                    messages.add(msg);
+                }
+            }
+            log(names.size() + " of " + entries.size() + " barcodes out of date, generating "
+                    + renderer.getFormat() + " with " + renderer.getThreads() + " threads...");
+
+            final Set<String> failed = new HashSet<String>();
+            try {
+                renderer.render(messages, new BatchRenderer.Sink() {
+                    @Override
+                    public void barcodeRendered(int index, String msg, byte[] data) throws IOException {
+                        final String name = names.get(index);
+                        final File file = resolveOutput(baseDir, name);
+                        final File dir = file.getParentFile();
+                        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                            throw new IOException("Cannot create directory: " + dir);
+                        }
+                        final OutputStream out = new FileOutputStream(file);
+                        try {
+                            out.write(data);
+                        } finally {
+                            out.close();
+                        }
+                        buildManifest.update(name, BuildManifest.hash(settings, msg));
+                    }
+
+                    @Override
+                    public void barcodeFailed(int index, String msg, Exception e) {
+                        final String name = names.get(index);
+                        buildManifest.remove(name);
+                        failed.add(name);
+                        log("Error generating " + name + " (" + msg + "): " + e.getMessage(),
+                                Project.MSG_ERR);
+                    }
+                });
+            } finally {
+                //Keep the barcodes generated so far even if the batch was aborted
+                buildManifest.save();
+            }
+            if (!failed.isEmpty()) {
+                throw new BuildException(failed.size() + " barcodes could not be generated");
+            }
+        } catch (IOException ioe) {
+            throw new BuildException("Error writing output file: " + ioe.getMessage());
+        } catch (IllegalArgumentException iae) {
+            throw new BuildException(iae.getMessage());
+        } catch (BarcodeException be) {
+            throw new BuildException("Error generating the barcodes", be);
+        }
+    }
+
+    private Properties loadMessageFile() throws BuildException {
+        final Properties entries = new Properties();
+        try {
+            final InputStream in = new FileInputStream(messageFile);
+            try {
+                entries.load(new InputStreamReader(in, "UTF-8"));
+            } finally {
+                in.close();
+            }
+        } catch (IOException ioe) {
+            throw new BuildException("Error reading message file: " + ioe.getMessage());
+        }
+        return entries;
+    }
+
+    private static File resolveOutput(File baseDir, String name) {
+        final File file = new File(name);
+        return file.isAbsolute() ? file : new File(baseDir, name);
+    }
+
     private Configuration getConfiguration() {
         if (symbol != null) {
             return new Configuration(symbol);
@@ -207,6 +342,62 @@ public class BarcodeTask extends Task {
         this.output = output;
     }
 
+    /**
+     * Sets a properties file with the output filenames (keys) and messages (values) of the
+     * barcodes to generate. Cannot be combined with a message or an output file. The file
+     * is read as UTF-8.
+     * @param messageFile the message file
+     */
+    public void setMessageFile(File messageFile) {
+        this.messageFile = messageFile;
+    }
+
+    /**
+     * Sets the directory relative output filenames of the message file are resolved against.
+     * Default: the directory of the message file
+     * @param destDir the destination directory
+     */
+    public void setDestDir(File destDir) {
+        this.destDir = destDir;
+    }
+
+    /**
+     * Sets the manifest file which records a hash of the inputs of every barcode generated
+     * from the message file. Barcodes whose output file exists and whose hash is unchanged
+     * are skipped. Default: <code>.barcode4j-manifest</code> in the destination directory
+     * @param manifest the manifest file
+     */
+    public void setManifest(File manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * Controls whether all barcodes of the message file are generated, even if they are
+     * up to date.
+     * @param force true to regenerate all barcodes
+     */
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    /**
+     * Sets the number of threads generating the barcodes of the message file.
+     * Default: the number of available processors
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Controls whether timestamps are omitted from the output so the same input always
+     * produces byte-identical files.
+     * @param deterministic true for deterministic output
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
     /**
      * Controls whether to generate monochrome (black and white, 1 bit) images. Only applicable
      * when generating bitmap formats.
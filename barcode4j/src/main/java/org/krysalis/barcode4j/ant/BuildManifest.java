@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.ant;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Records a content hash for every generated file, so files whose inputs (message and
+ * settings) haven't changed since the last build can be skipped. The manifest is stored as
+ * a properties file mapping the output names to the hashes.
+ *
+ * @version 1.0
+ */
+class BuildManifest {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final File file;
+    private final Properties hashes = new Properties();
+
+    /**
+     * Creates a new manifest and loads the existing hashes if the file exists.
+     * @param file the manifest file
+     * @throws IOException if the manifest cannot be read
+     */
+    BuildManifest(File file) throws IOException {
+        this.file = file;
+        if (file.isFile()) {
+            final InputStream in = new FileInputStream(file);
+            try {
+                hashes.load(in);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * Calculates the hash of the inputs of a generated file.
+     * @param settings the normalized settings used for all files
+     * @param message the message
+     * @return the hash as hexadecimal string
+     */
+    static String hash(String settings, String message) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+            digest.update(settings.getBytes("UTF-8"));
+            digest.update((byte)0);
+            digest.update(message.getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException nsae) {
+            //Every Java platform is required to support SHA-1
+            throw new IllegalStateException(nsae);
+        } catch (UnsupportedEncodingException uee) {
+            throw new IllegalStateException(uee);
+        }
+        final StringBuilder sb = new StringBuilder(40);
+        for (byte b : digest.digest()) {
+            sb.append(HEX_DIGITS[(b >> 4) & 0x0F]);
+            sb.append(HEX_DIGITS[b & 0x0F]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Indicates whether an output file has been generated from the same inputs before.
+     * @param name the output name
+     * @param output the output file
+     * @param hash the hash of the current inputs
+     * @return true if the output file exists and the hash is unchanged
+     */
+    boolean isUpToDate(String name, File output, String hash) {
+        return hash.equals(hashes.getProperty(name)) && output.isFile();
+    }
+
+    /**
+     * Records the hash of a generated file.
+     * @param name the output name
+     * @param hash the hash of the inputs
+     */
+    void update(String name, String hash) {
+        hashes.setProperty(name, hash);
+    }
+
+    /**
+     * Removes the hash of a file (for example, because it couldn't be generated).
+     * @param name the output name
+     */
+    void remove(String name) {
+        hashes.remove(name);
+    }
+
+    /**
+     * Removes the hashes of all files which are not in the given set of names.
+     * @param names the names to keep
+     */
+    void retainAll(Set<String> names) {
+        hashes.keySet().retainAll(names);
+    }
+
+    /**
+     * Writes the manifest.
+     * @throws IOException if an I/O error occurs
+     */
+    void save() throws IOException {
+        final File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create directory: " + dir);
+        }
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            hashes.store(out, "Barcode4J build manifest");
+        } finally {
+            out.close();
+        }
+    }
+}
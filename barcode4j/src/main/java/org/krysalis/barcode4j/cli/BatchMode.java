@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.cli;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.krysalis.barcode4j.BatchRenderer;
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+/**
+ * Batch mode of the command-line application: reads the messages from a file (one per
+ * line, empty lines are skipped) and writes every barcode to its own file in the output
+ * directory. In CSV mode, every line consists of the output filename and the message,
+ * separated by the first comma (surrounding white space is removed from both). Otherwise,
+ * the files are numbered in the order of the messages. The file extension is added if the
+ * filename doesn't have one. A warning is logged if a filename occurs more than once.
+ *
+ * @version 1.1
+ */
+final class BatchMode implements BatchRenderer.Sink {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchMode.class.getName());
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final File outputDir;
+    private final String outputDirPath;
+    private final String extension;
+
+    /** Output names of the messages read but not yet written (null: numbered name) */
+    private final LinkedList<String> names = new LinkedList<String>();
+    private IOException readError;
+    private int rendered;
+    private int failed;
+
+    /**
+     * Creates a new instance.
+     * @param reader the reader for the messages
+     * @param csv true if every line contains the output filename and the message
+     * @param outputDir the output directory
+     * @param format the MIME type of the output format
+     * @throws IOException if the output directory cannot be resolved
+     */
+    BatchMode(BufferedReader reader, boolean csv, File outputDir, String format)
+            throws IOException {
+        this.reader = reader;
+        this.csv = csv;
+        this.outputDir = outputDir;
+        this.outputDirPath = outputDir.getCanonicalPath() + File.separator;
+        this.extension = getExtension(format);
+    }
+
+    /**
+     * Returns a file extension for a format.
+     * @param format the MIME type
+     * @return the file extension (without the dot)
+     */
+    static String getExtension(String format) {
+        if (MimeTypes.MIME_SVG.equals(format)) {
+            return "svg";
+        } else if (MimeTypes.MIME_EPS.equals(format)) {
+            return "eps";
+        } else if (MimeTypes.MIME_PNG.equals(format)) {
+            return "png";
+        } else if (MimeTypes.MIME_JPEG.equals(format)) {
+            return "jpg";
+        } else if (MimeTypes.MIME_TIFF.equals(format)) {
+            return "tif";
+        } else if (MimeTypes.MIME_GIF.equals(format)) {
+            return "gif";
+        } else if (MimeTypes.MIME_BMP.equals(format)) {
+            return "bmp";
+        }
+        final String subtype = format.substring(format.indexOf('/') + 1);
+        return subtype.startsWith("x-") ? subtype.substring(2) : subtype;
+    }
+
+    /**
+     * Returns the messages. The lines are read lazily, so the messages can only be iterated
+     * once.
+     * @return the messages
+     */
+    Iterable<String> getMessages() {
+        return new Iterable<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new MessageIterator();
+            }
+        };
+    }
+
+    /**
+     * Returns the first error that occurred while reading the messages.
+     * @return the error or null
+     */
+    IOException getReadError() {
+        return this.readError;
+    }
+
+    /**
+     * Returns the number of barcodes written.
+     * @return the number of barcodes written
+     */
+    int getRendered() {
+        return this.rendered;
+    }
+
+    /**
+     * Returns the number of barcodes that could not be generated or written.
+     * @return the number of failures
+     */
+    int getFailed() {
+        return this.failed;
+    }
+
+    @Override
+    public void barcodeRendered(int index, String msg, byte[] data) throws IOException {
+        final File file = getOutputFile(index, names.removeFirst());
+        if (file == null) {
+            failed++;
+            return;
+        }
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+        rendered++;
+    }
+
+    @Override
+    public void barcodeFailed(int index, String msg, Exception e) {
+        names.removeFirst();
+        failed++;
+        LOGGER.log(Level.WARNING, "Error generating barcode #{0} for \"{1}\": {2}",
+                new Object[] {index + 1, msg, e.getMessage()});
+    }
+
+    private String getFilename(String name) {
+        if (name.lastIndexOf('.') <= Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\'))) {
+            return name + "." + extension;
+        }
+        return name;
+    }
+
+    private File getOutputFile(int index, String name) throws IOException {
+        final String filename = getFilename(name != null ? name : String.format("%06d", index + 1));
+        final File file = new File(outputDir, filename);
+        if (!file.getCanonicalPath().startsWith(outputDirPath)) {
+            LOGGER.log(Level.WARNING, "Output file outside of the output directory: {0}", filename);
+            return null;
+        }
+        return file;
+    }
+
+    /** Reads the messages line by line and records the output names. */
+    private class MessageIterator implements Iterator<String> {
+
+        private String next;
+        private boolean eof;
+        private final Set<String> filenames = new HashSet<String>();
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !eof) {
+                final String line;
+                try {
+                    line = reader.readLine();
+                } catch (IOException ioe) {
+                    readError = ioe;
+                    eof = true;
+                    break;
+                }
+                if (line == null) {
+                    eof = true;
+                } else if (line.trim().length() > 0) {
+                    next = line;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String msg = next;
+            next = null;
+            String name = null;
+            final int comma = msg.indexOf(',');
+            if (csv && comma >= 0) {
+                name = stripQuotes(msg.substring(0, comma).trim());
+                msg = stripQuotes(msg.substring(comma + 1).trim());
+                if (name.length() == 0) {
+                    name = null;
+                } else if (!filenames.add(getFilename(name))) {
+                    LOGGER.log(Level.WARNING,
+                            "Duplicate output filename, the file will be overwritten: {0}", name);
+                }
+            }
+            names.add(name);
+            return msg;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static String stripQuotes(String s) {
+        if (s.length() >= 2 && s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"') {
+            return s.substring(1, s.length() - 1).replace("\"\"", "\"");
+        }
+        return s;
+    }
+}
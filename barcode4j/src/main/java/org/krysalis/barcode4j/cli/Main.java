@@ -16,19 +16,21 @@
 package org.krysalis.barcode4j.cli;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.Locale;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -41,11 +43,14 @@ import org.apache.commons.cli.ParseException;
 import org.krysalis.barcode4j.BarcodeException;
 import org.krysalis.barcode4j.BarcodeGenerator;
 import org.krysalis.barcode4j.BarcodeUtil;
+import org.krysalis.barcode4j.BatchRenderer;
+import org.krysalis.barcode4j.impl.AbstractBarcodeBean;
+import org.krysalis.barcode4j.impl.ConfigurableBarcodeGenerator;
 import org.krysalis.barcode4j.output.Orientation;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 import org.krysalis.barcode4j.output.bitmap.BitmapEncoderRegistry;
 import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
-import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
 import org.krysalis.barcode4j.tools.MimeTypes;
 
 import com.github.mbhk.barcode4j.Configuration;
@@ -55,7 +60,7 @@ import com.github.mbhk.barcode4j.Configuration;
  *
  * @author Jeremias Maerki
  * @author mk
- * @version 1.3
+ * @version 1.4
  */
 public class Main {
 
@@ -102,12 +107,26 @@ public class Main {
 
             //Message
             String[] msg = res.getArgs();
-            if (msg.length == 0) {
+            if (res.hasOption("b")) {
+                if (msg.length > 0) {
+                    throw new ParseException("No message allowed in batch mode");
+                }
+            } else if (msg.length == 0) {
                 throw new ParseException("No message");
             }
             if (msg.length > 1) {
                 throw new ParseException("Too many parameters: " + msg.length);
             }
+            if (res.hasOption("t")) {
+                final String threads = res.getOptionValue("t");
+                try {
+                    if (Integer.parseInt(threads.trim()) < 1) {
+                        throw new ParseException("At least one thread is required: " + threads);
+                    }
+                } catch (NumberFormatException nfe) {
+                    throw new ParseException("Invalid number of threads: " + threads);
+                }
+            }
         } catch (MissingOptionException moe) {
             printHelp(new PrintWriter(stdout));
             exitHandler.failureExit(this,
@@ -133,6 +152,10 @@ public class Main {
         if (cl == null) {
             return;
         }
+        if (cl.hasOption("b")) {
+            handleBatch(cl);
+            return;
+        }
 
         final String message = cl.getArgs()[0];
 
@@ -163,11 +186,12 @@ public class Main {
 
             final boolean renderRes;
             if (MimeTypes.MIME_SVG.equals(format)) {
-                renderRes = renderSvg(message, gen, out, orientation);
+                renderRes = renderSvg(message, gen, out, orientation, cl.hasOption("compact"));
             } else if (MimeTypes.MIME_EPS.equals(format)) {
-                renderRes = renderEps(message, gen, out, orientation);
+                renderRes = renderEps(message, gen, out, orientation, cl.hasOption("deterministic"));
             } else {
-                renderRes = renderBitmap(message, gen, out, orientation, format, Integer.parseInt(cl.getOptionValue('d', "300")), cl.hasOption("bw"));
+                renderRes = renderBitmap(message, gen, out, orientation, format, Integer.parseInt(cl.getOptionValue('d', "300")), cl.hasOption("bw"),
+                        cl.hasOption("pixel-grid"), cl.hasOption("deterministic"));
             }
 
             if (!renderRes) {
@@ -194,6 +218,77 @@ public class Main {
         }
     }
 
+    private void handleBatch(CommandLine cl) {
+        if (cl.hasOption('v')) {
+            Logger.getGlobal().setLevel(Level.ALL);
+        }
+        printAppHeader();
+        final String input = cl.getOptionValue("b");
+        InputStream in = null;
+        try {
+            final String format = MimeTypes.expandFormat(cl.getOptionValue("f", MimeTypes.MIME_SVG));
+            final BarcodeGenerator gen = BarcodeUtil.getInstance().getBarcodeGenerator(
+                    getConfiguration(cl));
+            final BatchRenderer renderer = new BatchRenderer(gen, format);
+            if (cl.hasOption("t")) {
+                renderer.setThreads(Integer.parseInt(cl.getOptionValue("t").trim()));
+            }
+            renderer.setResolution(Integer.parseInt(cl.getOptionValue('d', "300")));
+            renderer.setGrayscale(!cl.hasOption("bw"));
+            renderer.setCompact(cl.hasOption("compact"));
+            renderer.setDeterministic(cl.hasOption("deterministic"));
+            if (cl.hasOption("pixel-grid")) {
+                renderer.setModuleWidth(getModuleWidth(gen));
+            }
+
+            final File outputDir = new File(cl.getOptionValue("output-dir", "."));
+            if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+                throw new IOException("Cannot create output directory: " + outputDir);
+            }
+            in = "-".equals(input) ? System.in : new FileInputStream(input);
+            final BatchMode batch = new BatchMode(
+                    new BufferedReader(new InputStreamReader(in, "UTF-8")),
+                    cl.hasOption("csv"), outputDir, renderer.getFormat());
+            LOGGER.log(Level.INFO, "Generating {0} with {1} threads...",
+                    new Object[] {renderer.getFormat(), renderer.getThreads()});
+
+            final long start = System.nanoTime();
+            renderer.render(batch.getMessages(), batch);
+            final double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            if (batch.getReadError() != null) {
+                throw batch.getReadError();
+            }
+            stdout.println(String.format(Locale.ENGLISH,
+                    "%d barcodes written, %d failed in %.3f s (%.1f barcodes/s)",
+                    batch.getRendered(), batch.getFailed(), seconds,
+                    (batch.getRendered() + batch.getFailed()) / seconds));
+            stdout.flush();
+            if (batch.getFailed() > 0) {
+                exitHandler.failureExit(this,
+                        batch.getFailed() + " barcodes could not be generated", null, -6);
+            } else {
+                exitHandler.successfulExit(this);
+            }
+        } catch (IOException ioe) {
+            exitHandler.failureExit(this,
+                    "Error in batch mode: " + ioe.getMessage(), null, -5);
+        } catch (IllegalArgumentException e) {
+            exitHandler.failureExit(this,
+                    "Error generating the barcodes", e, -6);
+        } catch (BarcodeException be) {
+            exitHandler.failureExit(this,
+                    "Error generating the barcodes", be, -3);
+        } finally {
+            if (in != null && in != System.in) {
+                try {
+                    in.close();
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Error closing input file", ex);
+                }
+            }
+        }
+    }
+
     private Options getOptions() {
         if (options == null) {
             this.options = new Options();
@@ -219,11 +314,34 @@ public class Main {
                     .format("the output format: MIME type or file extension%nDefault: %s (SVG)", MimeTypes.MIME_SVG))
                     .build());
 
+            options.addOption(Option.builder().longOpt("deterministic")
+                    .desc("omit timestamps so the same input always produces the same output").build());
+
+            // SVG-specific options
+            options.addOption(Option.builder().longOpt("compact")
+                    .desc("(for SVG) write all bars as a single path").build());
+
             // Bitmap-specific options
             options.addOption(Option.builder("d").longOpt("dpi").hasArg().argName("integer").type(Integer.class)
                     .desc(String.format("(for bitmaps) the image resolution in dpi%nDefault: 300")).build());
             options.addOption(Option.builder().longOpt("bw")
                     .desc("(for bitmaps) create monochrome (1-bit) image instead of grayscale (8-bit)").build());
+            options.addOption(Option.builder().longOpt("pixel-grid")
+                    .desc("(for bitmaps) paint every module with a whole number of pixels").build());
+
+            // Batch mode
+            options.addOption(Option.builder("b").longOpt("batch").hasArg().argName("file")
+                    .desc("generate a barcode for every line of the file (- for stdin)").build());
+            options.addOption(Option.builder().longOpt("csv")
+                    .desc("(batch mode) every line contains the output filename and the message, "
+                            + "separated by a comma").build());
+            options.addOption(Option.builder().longOpt("output-dir").hasArg().argName("dir")
+                    .desc(String.format("(batch mode) the output directory%nDefault: current directory"))
+                    .build());
+            options.addOption(Option.builder("t").longOpt("threads").hasArg().argName("integer")
+                    .type(Integer.class)
+                    .desc(String.format("(batch mode) the number of threads%n"
+                            + "Default: number of processors")).build());
 
         }
         return this.options;
@@ -293,7 +411,9 @@ public class Main {
         help.printHelp(writer, HelpFormatter.DEFAULT_WIDTH,
                 "java -jar barcode4j.jar "
                 + "[-v] [[-s <symbology>]|[-c <cfg-file>]] [-f <format>] "
-                + "[-d <dpi>] [-bw] [-o <file>] <message>",
+                + "[--deterministic] [--compact] [-d <dpi>] [-bw] [--pixel-grid] [-o <file>] <message>\n"
+                + "   or: java -jar barcode4j.jar [options] -b <file> [--csv] [--output-dir <dir>] "
+                + "[-t <threads>]",
                 null,
                 getOptions(),
                 HelpFormatter.DEFAULT_LEFT_PAD, HelpFormatter.DEFAULT_DESC_PAD,
@@ -326,7 +446,8 @@ public class Main {
         return formats.toString();
     }
 
-    private boolean renderBitmap(String message, BarcodeGenerator gen, OutputStream out, Orientation orientation, String format, int dpi, boolean bw) {
+    private boolean renderBitmap(String message, BarcodeGenerator gen, OutputStream out, Orientation orientation, String format, int dpi, boolean bw,
+            boolean pixelGrid, boolean deterministic) {
         final BitmapCanvasProvider bitmap;
         boolean res = true;
         final boolean antiAlias = !bw;
@@ -336,6 +457,11 @@ public class Main {
         LOGGER.log(Level.FINE, "AntiAlias: {}, ImageType: {}", new Object[]{antiAlias, imageType});
 
         bitmap = new BitmapCanvasProvider(out, format, dpi, imageType, antiAlias, orientation);
+        bitmap.setDeterministic(deterministic);
+        if (pixelGrid) {
+            bitmap.setModuleWidth(getModuleWidth(gen));
+            LOGGER.log(Level.FINE, "Pixels per module: {}", bitmap.getPixelsPerModule());
+        }
         gen.generateBarcode(bitmap, message);
         try {
             bitmap.finish();
@@ -346,10 +472,22 @@ public class Main {
         return res;
     }
 
-    private boolean renderEps(String message, BarcodeGenerator gen, OutputStream out, Orientation orientation) {
+    private static double getModuleWidth(BarcodeGenerator gen) {
+        if (gen instanceof ConfigurableBarcodeGenerator) {
+            return ((ConfigurableBarcodeGenerator)gen).getBean().getModuleWidth();
+        } else if (gen instanceof AbstractBarcodeBean) {
+            return ((AbstractBarcodeBean)gen).getModuleWidth();
+        } else {
+            return 0; //unknown module width: no pixel grid
+        }
+    }
+
+    private boolean renderEps(String message, BarcodeGenerator gen, OutputStream out, Orientation orientation,
+            boolean deterministic) {
         boolean res = true;
         try {
             final EPSCanvasProvider eps = new EPSCanvasProvider(out, orientation);
+            eps.setDeterministic(deterministic);
             gen.generateBarcode(eps, message);
             eps.finish();
         } catch (IOException e) {
@@ -359,14 +497,15 @@ public class Main {
         return res;
     }
 
-    private boolean renderSvg(String message, BarcodeGenerator gen, OutputStream out, Orientation orientation) {
-        final SVGCanvasProvider svg = new SVGCanvasProvider(true, orientation);
-        gen.generateBarcode(svg, message);
+    private boolean renderSvg(String message, BarcodeGenerator gen, OutputStream out, Orientation orientation,
+            boolean compact) {
         try {
-            TransformerFactory.newInstance().newTransformer()
-                    .transform(new javax.xml.transform.dom.DOMSource(svg.getDOMFragment()), new javax.xml.transform.stream.StreamResult(out));
-        } catch (TransformerException te) {
-            exitHandler.failureExit(this, "XML/XSLT library error", te, -6);
+            final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(out, true, orientation);
+            svg.setCompactPath(compact);
+            gen.generateBarcode(svg, message);
+            svg.finish();
+        } catch (IOException e) {
+            exitHandler.failureExit(this, "Error writing SVG output", e, -6);
         }
         return true;
     }
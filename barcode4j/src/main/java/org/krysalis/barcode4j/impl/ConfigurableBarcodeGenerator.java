@@ -81,10 +81,14 @@ public abstract class ConfigurableBarcodeGenerator
         elements.add("min-rows"); //PDF417
         elements.add("max-rows"); //PDF417
         elements.add("ec-level"); //PDF417
+        elements.add("compaction"); //PDF417
         elements.add("width-to-height-ratio");
         elements.add("min-symbol-size"); //DataMatrix
         elements.add("max-symbol-size"); //DataMatrix
+        elements.add("encodation"); //DataMatrix
+        elements.add("module-merging"); //DataMatrix, PDF417
         elements.add("codesets"); //Code128
+        elements.add("codeset-selection"); //Code128
         elements.add("bearer-bar-width"); //ITF-14
         elements.add("bearer-box"); //ITF-14
     }
@@ -176,6 +180,17 @@ public abstract class ConfigurableBarcodeGenerator
         return this.bean;
     }
 
+    /**
+     * Creates an immutable and thread-safe generator with the current settings of the
+     * underlying barcode bean.
+     *
+     * @return the immutable generator
+     * @see AbstractBarcodeBean#freeze()
+     */
+    public FrozenBarcodeGenerator freeze() {
+        return getBean().freeze();
+    }
+
     @Override
     public void generateBarcode(CanvasProvider canvas, String msg) {
         getBean().generateBarcode(canvas, msg);
@@ -57,6 +57,11 @@ public class Code128 extends ConfigurableBarcodeGenerator {
             }
             getCode128Bean().setCodeset(bits);
         }
+
+        final String codesetSelection = cfg.getChild("codeset-selection").getValue(null);
+        if (codesetSelection != null) {
+            getCode128Bean().setCodesetSelection(CodesetSelection.byName(codesetSelection));
+        }
     }
 
     /**
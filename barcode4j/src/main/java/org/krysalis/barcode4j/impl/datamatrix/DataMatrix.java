@@ -17,6 +17,7 @@ package org.krysalis.barcode4j.impl.datamatrix;
 
 import java.awt.Dimension;
 
+import org.krysalis.barcode4j.ModuleMerging;
 import org.krysalis.barcode4j.impl.ConfigurableBarcodeGenerator;
 import org.krysalis.barcode4j.tools.Length;
 
@@ -60,6 +61,16 @@ public class DataMatrix extends ConfigurableBarcodeGenerator {
         if (size != null) {
             getDataMatrixBean().setMaxSize(parseSymbolSize(size));
         }
+
+        final String encodation = cfg.getChild("encodation").getValue(null);
+        if (encodation != null) {
+            getDataMatrixBean().setEncodationStrategy(EncodationStrategy.byName(encodation));
+        }
+
+        final String merging = cfg.getChild("module-merging").getValue(null);
+        if (merging != null) {
+            getDataMatrixBean().setModuleMerging(ModuleMerging.byName(merging));
+        }
     }
 
     private Dimension parseSymbolSize(String size) {
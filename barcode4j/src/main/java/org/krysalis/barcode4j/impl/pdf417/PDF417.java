@@ -15,6 +15,7 @@
  */
 package org.krysalis.barcode4j.impl.pdf417;
 
+import org.krysalis.barcode4j.ModuleMerging;
 import org.krysalis.barcode4j.impl.ConfigurableBarcodeGenerator;
 import org.krysalis.barcode4j.tools.Length;
 
@@ -94,6 +95,16 @@ public class PDF417 extends ConfigurableBarcodeGenerator {
             getPDF417Bean().setEncoding(child.getValue(null));
             getPDF417Bean().setECIEnabled(child.getAttributeAsBoolean("enable-eci", false));
         }
+
+        child = cfg.getChild("compaction", false);
+        if (child != null) {
+            getPDF417Bean().setCompactionStrategy(CompactionStrategy.byName(child.getValue()));
+        }
+
+        final String merging = cfg.getChild("module-merging").getValue(null);
+        if (merging != null) {
+            getPDF417Bean().setModuleMerging(ModuleMerging.byName(merging));
+        }
     }
 
     /**
@@ -25,11 +25,6 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 
 import org.krysalis.barcode4j.BarcodeException;
 import org.krysalis.barcode4j.BarcodeGenerator;
@@ -37,7 +32,7 @@ import org.krysalis.barcode4j.BarcodeUtil;
 import org.krysalis.barcode4j.output.Orientation;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 import org.krysalis.barcode4j.output.eps.EPSCanvasProvider;
-import org.krysalis.barcode4j.output.svg.SVGCanvasProvider;
+import org.krysalis.barcode4j.output.svg.SVGStreamCanvasProvider;
 import org.krysalis.barcode4j.tools.MimeTypes;
 
 import com.github.mbhk.barcode4j.Configuration;
@@ -71,6 +66,8 @@ public class BarcodeServlet extends HttpServlet {
     public static final String BARCODE_IMAGE_RESOLUTION = "res";
     /** Parameter name for the grayscale or b/w image (for bitmaps) */
     public static final String BARCODE_IMAGE_GRAYSCALE = "gray";
+    /** Parameter name for the compact path mode (for SVG) */
+    public static final String BARCODE_SVG_COMPACT = "compact";
     /** Parameter name for the font size of the human readable display */
     public static final String BARCODE_HUMAN_READABLE_SIZE = "hrsize";
     /** Parameter name for the font name of the human readable display */
@@ -78,80 +75,112 @@ public class BarcodeServlet extends HttpServlet {
     /** Parameter name for the pattern to format the human readable message */
     public static final String BARCODE_HUMAN_READABLE_PATTERN = "hrpattern";
 
+    /** Init parameter for the size of the response cache in bytes (0 disables the cache) */
+    public static final String INIT_CACHE_SIZE = "cache-size";
+    /** Init parameter for the max-age of the Cache-Control header in seconds */
+    public static final String INIT_MAX_AGE = "max-age";
+
+    /** Default size of the response cache in bytes */
+    public static final long DEFAULT_CACHE_SIZE = 4L * 1024 * 1024;
+    /** Default max-age of the Cache-Control header in seconds */
+    public static final int DEFAULT_MAX_AGE = 86400;
+
+    /**
+     * Prefix of the servlet context attribute the response cache is published under (followed
+     * by the servlet name), so its hit, miss and eviction counts can be monitored.
+     */
+    public static final String RESPONSE_CACHE_ATTRIBUTE_PREFIX
+            = ResponseCache.class.getName() + ".";
+
     private static final String ERROR_WHILE_GENERATING_BARCODE = "Error while generating barcode";
 
     private static final Logger LOGGER = Logger.getLogger(BarcodeServlet.class.getName());
 
+    /** The other request parameters which have an influence on the generated barcode */
+    private static final String[] CACHE_KEY_PARAMS = {
+        BARCODE_HEIGHT, BARCODE_HUMAN_READABLE_FONT, BARCODE_HUMAN_READABLE_PATTERN,
+        BARCODE_HUMAN_READABLE_POS, BARCODE_HUMAN_READABLE_SIZE, BARCODE_MODULE_WIDTH,
+        BARCODE_QUIET_ZONE, BARCODE_WIDE_FACTOR};
+
+    private transient ResponseCache responseCache;
+    private String cacheControl = "public, max-age=" + DEFAULT_MAX_AGE;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        long cacheSize = DEFAULT_CACHE_SIZE;
+        int maxAge = DEFAULT_MAX_AGE;
+        try {
+            final String cacheSizeText = getInitParameter(INIT_CACHE_SIZE);
+            if (cacheSizeText != null) {
+                cacheSize = Long.parseLong(cacheSizeText.trim());
+            }
+            final String maxAgeText = getInitParameter(INIT_MAX_AGE);
+            if (maxAgeText != null) {
+                maxAge = Integer.parseInt(maxAgeText.trim());
+            }
+        } catch (NumberFormatException nfe) {
+            throw new ServletException("Invalid init parameter: " + nfe.getMessage());
+        }
+        this.responseCache = cacheSize > 0 ? new ResponseCache(cacheSize) : null;
+        this.cacheControl = maxAge > 0 ? "public, max-age=" + maxAge : "no-cache";
+        if (responseCache != null) {
+            getServletContext().setAttribute(getResponseCacheAttribute(), responseCache);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (responseCache != null) {
+            LOGGER.log(Level.INFO, "{0}: {1}", new Object[] {getServletName(), responseCache});
+            getServletContext().removeAttribute(getResponseCacheAttribute());
+        }
+        super.destroy();
+    }
+
+    private String getResponseCacheAttribute() {
+        return RESPONSE_CACHE_ATTRIBUTE_PREFIX + getServletName();
+    }
+
+    /**
+     * Returns the cache for rendered barcodes. The cache is also available as the servlet
+     * context attribute {@link #RESPONSE_CACHE_ATTRIBUTE_PREFIX} plus the servlet name.
+     *
+     * @return the response cache or null if caching is disabled
+     */
+    public ResponseCache getResponseCache() {
+        return this.responseCache;
+    }
+
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
         try {
             final String format = determineFormat(request);
-            final Orientation orientation = Orientation.ZERO;
+            final String key = createCacheKey(request, format);
 
-            final Configuration cfg = buildCfg(request);
-
-            String msg = request.getParameter(BARCODE_MSG);
-            if (msg == null) {
-                msg = "0123456789";
+            ResponseCache.Entry entry = responseCache != null ? responseCache.get(key) : null;
+            if (entry == null) {
+                entry = new ResponseCache.Entry(format, render(request, format));
+                if (responseCache != null) {
+                    responseCache.put(key, entry);
+                }
             }
 
-            final BarcodeUtil util = BarcodeUtil.getInstance();
-            final BarcodeGenerator gen = util.createBarcodeGenerator(cfg);
-
-            final ByteArrayOutputStream bout = new ByteArrayOutputStream(4096);
-            try {
-                if (format.equals(MimeTypes.MIME_SVG)) {
-                    // Create Barcode and render it to SVG
-                    final SVGCanvasProvider svg = new SVGCanvasProvider(true, orientation);
-                    gen.generateBarcode(svg, msg);
-                    final org.w3c.dom.DocumentFragment frag = svg.getDOMFragment();
-
-                    // Serialize SVG barcode
-                    final TransformerFactory factory = TransformerFactory.newInstance();
-                    final Transformer trans = factory.newTransformer();
-                    final Source src = new javax.xml.transform.dom.DOMSource(frag);
-                    final Result res = new javax.xml.transform.stream.StreamResult(bout);
-                    trans.transform(src, res);
-                } else if (format.equals(MimeTypes.MIME_EPS)) {
-                    final EPSCanvasProvider eps = new EPSCanvasProvider(bout, orientation);
-                    gen.generateBarcode(eps, msg);
-                    eps.finish();
-                } else {
-                    final String resText = request.getParameter(BARCODE_IMAGE_RESOLUTION);
-                    int resolution = 300; // dpi
-                    if (resText != null) {
-                        resolution = Integer.parseInt(resText);
-                    }
-                    if (resolution > 2400) {
-                        throw new IllegalArgumentException("Resolutions above 2400dpi are not allowed");
-                    }
-                    if (resolution < 10) {
-                        throw new IllegalArgumentException("Minimum resolution must be 10dpi");
-                    }
-                    final String gray = request.getParameter(BARCODE_IMAGE_GRAYSCALE);
-                    final BitmapCanvasProvider bitmap = "true".equalsIgnoreCase(gray)
-                            ? new BitmapCanvasProvider(bout, format, resolution, BufferedImage.TYPE_BYTE_GRAY, true,
-                                    orientation)
-                            : new BitmapCanvasProvider(bout, format, resolution, BufferedImage.TYPE_BYTE_BINARY, false,
-                                    orientation);
-                    gen.generateBarcode(bitmap, msg);
-                    bitmap.finish();
-                }
-            } finally {
-                bout.close();
+            response.setHeader("ETag", entry.getETag());
+            response.setHeader("Cache-Control", cacheControl);
+            if (matchesETag(request.getHeader("If-None-Match"), entry.getETag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
             }
-            response.setContentType(format);
-            response.setContentLength(bout.size());
-            response.getOutputStream().write(bout.toByteArray());
+            response.setContentType(entry.getContentType());
+            response.setContentLength(entry.getContent().length);
+            response.getOutputStream().write(entry.getContent());
             response.getOutputStream().flush();
         } catch (BarcodeException e) {
             LOGGER.log(Level.SEVERE, ERROR_WHILE_GENERATING_BARCODE, e);
             throw new ServletException(e);
-        } catch (TransformerException e) {
-            LOGGER.log(Level.SEVERE, ERROR_WHILE_GENERATING_BARCODE, e);
-            throw new ServletException(e);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, ERROR_WHILE_GENERATING_BARCODE, e);
             throw new ServletException(e);
@@ -161,6 +190,141 @@ public class BarcodeServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Generates the barcode requested.
+     *
+     * @param request the request to use
+     * @param format the MIME type of the output format
+     * @return the generated barcode
+     * @throws BarcodeException if setting up the barcode generator fails
+     * @throws IOException if an I/O error occurs
+     */
+    protected byte[] render(HttpServletRequest request, String format)
+            throws BarcodeException, IOException {
+        final Orientation orientation = Orientation.ZERO;
+
+        final Configuration cfg = buildCfg(request);
+
+        String msg = request.getParameter(BARCODE_MSG);
+        if (msg == null) {
+            msg = "0123456789";
+        }
+
+        final BarcodeUtil util = BarcodeUtil.getInstance();
+        final BarcodeGenerator gen = util.getBarcodeGenerator(cfg);
+
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream(4096);
+        try {
+            if (format.equals(MimeTypes.MIME_SVG)) {
+                // Create Barcode and write it as SVG
+                final SVGStreamCanvasProvider svg = new SVGStreamCanvasProvider(bout, true, orientation);
+                svg.setCompactPath("true".equalsIgnoreCase(request.getParameter(BARCODE_SVG_COMPACT)));
+                gen.generateBarcode(svg, msg);
+                svg.finish();
+            } else if (format.equals(MimeTypes.MIME_EPS)) {
+                final EPSCanvasProvider eps = new EPSCanvasProvider(bout, orientation);
+                //Identical requests have to result in identical bytes for the ETag
+                eps.setDeterministic(true);
+                gen.generateBarcode(eps, msg);
+                eps.finish();
+            } else {
+                final String resText = request.getParameter(BARCODE_IMAGE_RESOLUTION);
+                int resolution = 300; // dpi
+                if (resText != null) {
+                    resolution = Integer.parseInt(resText);
+                }
+                if (resolution > 2400) {
+                    throw new IllegalArgumentException("Resolutions above 2400dpi are not allowed");
+                }
+                if (resolution < 10) {
+                    throw new IllegalArgumentException("Minimum resolution must be 10dpi");
+                }
+                final String gray = request.getParameter(BARCODE_IMAGE_GRAYSCALE);
+                final BitmapCanvasProvider bitmap = "true".equalsIgnoreCase(gray)
+                        ? new BitmapCanvasProvider(bout, format, resolution, BufferedImage.TYPE_BYTE_GRAY, true,
+                                orientation)
+                        : new BitmapCanvasProvider(bout, format, resolution, BufferedImage.TYPE_BYTE_BINARY, false,
+                                orientation);
+                bitmap.setDeterministic(true);
+                gen.generateBarcode(bitmap, msg);
+                bitmap.finish();
+            }
+        } finally {
+            bout.close();
+        }
+        return bout.toByteArray();
+    }
+
+    /**
+     * Creates the key for the response cache from all request parameters that have an
+     * influence on the generated barcode. The type, the message and the output options are
+     * normalized the way {@link #render(HttpServletRequest, String)} interprets them, so
+     * equivalent requests share the same key. The output options are only part of the key
+     * for the formats using them.
+     *
+     * @param request the request to use
+     * @param format the MIME type of the output format
+     * @return the cache key
+     */
+    protected String createCacheKey(HttpServletRequest request, String format) {
+        final StringBuilder sb = new StringBuilder(64);
+        String type = request.getParameter(BARCODE_TYPE);
+        if (type == null || type.trim().isEmpty()) {
+            type = "code128";
+        }
+        //The barcode types are resolved case-insensitively
+        appendKeyPart(sb, BARCODE_TYPE, type.trim().toLowerCase());
+        appendKeyPart(sb, BARCODE_FORMAT, format);
+        final String msg = request.getParameter(BARCODE_MSG);
+        appendKeyPart(sb, BARCODE_MSG, msg != null ? msg : "0123456789");
+        if (format.equals(MimeTypes.MIME_SVG)) {
+            appendKeyPart(sb, BARCODE_SVG_COMPACT, String.valueOf(
+                    "true".equalsIgnoreCase(request.getParameter(BARCODE_SVG_COMPACT))));
+        } else if (!format.equals(MimeTypes.MIME_EPS)) {
+            final String resText = request.getParameter(BARCODE_IMAGE_RESOLUTION);
+            appendKeyPart(sb, BARCODE_IMAGE_RESOLUTION,
+                    String.valueOf(resText != null ? Integer.parseInt(resText) : 300));
+            appendKeyPart(sb, BARCODE_IMAGE_GRAYSCALE, String.valueOf(
+                    "true".equalsIgnoreCase(request.getParameter(BARCODE_IMAGE_GRAYSCALE))));
+        }
+        for (final String name : CACHE_KEY_PARAMS) {
+            final String value = request.getParameter(name);
+            if (value != null) {
+                appendKeyPart(sb, name, value);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendKeyPart(StringBuilder sb, String name, String value) {
+        //The length prefix keeps the key unambiguous whatever the value contains
+        sb.append(name).append('=').append(value.length()).append(':').append(value);
+    }
+
+    /**
+     * Checks an If-None-Match header against the ETag of the response.
+     *
+     * @param ifNoneMatch the header value (may be null)
+     * @param eTag the ETag of the response
+     * @return true if the client's copy is still valid
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                //Weak comparison is used for If-None-Match
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Check the request for the desired output format.
      * 
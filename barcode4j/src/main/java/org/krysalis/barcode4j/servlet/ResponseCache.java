@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.servlet;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache for rendered barcodes. The size of the cache is measured in bytes (the
+ * size of the rendered barcodes plus the approximate size of the keys) rather than in
+ * entries, so a few large bitmaps can't take up more memory than configured. When a new
+ * entry doesn't fit, the least recently used entries are evicted. Entries larger than the
+ * whole cache are not cached at all.
+ * <p>
+ * The cache counts hits, misses and evictions to help finding a suitable size. The
+ * {@link BarcodeServlet} publishes its cache as a servlet context attribute and logs the
+ * counts when it is taken out of service. All methods are thread-safe.
+ *
+ * @version 1.0
+ */
+public class ResponseCache {
+
+    /** Approximate fixed overhead of an entry in bytes (objects, map entry, ETag) */
+    private static final int ENTRY_OVERHEAD = 160;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * A rendered barcode.
+     */
+    public static final class Entry {
+
+        private final String contentType;
+        private final byte[] content;
+        private final String eTag;
+
+        /**
+         * Creates a new entry. A strong ETag is derived from the content.
+         * @param contentType the MIME type of the content
+         * @param content the rendered barcode (must not be changed afterwards)
+         */
+        public Entry(String contentType, byte[] content) {
+            this.contentType = contentType;
+            this.content = content;
+            this.eTag = createETag(content);
+        }
+
+        /**
+         * Returns the MIME type of the content.
+         * @return the MIME type
+         */
+        public String getContentType() {
+            return this.contentType;
+        }
+
+        /**
+         * Returns the rendered barcode. The returned array must not be changed.
+         * @return the content
+         */
+        public byte[] getContent() {
+            return this.content;
+        }
+
+        /**
+         * Returns the strong ETag (including the quotes) of the content.
+         * @return the ETag
+         */
+        public String getETag() {
+            return this.eTag;
+        }
+    }
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private long bytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a new cache.
+     * @param maxBytes the maximum size of the cache in bytes
+     */
+    public ResponseCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Looks up a rendered barcode and marks it as recently used.
+     * @param key the normalized request parameters
+     * @return the cached entry or null if there is none
+     */
+    public synchronized Entry get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * Adds a rendered barcode to the cache, evicting the least recently used entries if
+     * necessary.
+     * @param key the normalized request parameters
+     * @param entry the rendered barcode
+     * @return true if the entry has been cached, false if it is too large for this cache
+     */
+    public synchronized boolean put(String key, Entry entry) {
+        final long weight = weigh(key, entry);
+        if (weight > maxBytes) {
+            return false;
+        }
+        final Entry previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= weigh(key, previous);
+        }
+        final Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator();
+        while (bytes + weight > maxBytes && iter.hasNext()) {
+            final Map.Entry<String, Entry> eldest = iter.next();
+            bytes -= weigh(eldest.getKey(), eldest.getValue());
+            iter.remove();
+            evictionCount++;
+        }
+        entries.put(key, entry);
+        bytes += weight;
+        return true;
+    }
+
+    /**
+     * Removes all entries. The counters are not reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Returns the maximum size of the cache.
+     * @return the maximum size in bytes
+     */
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Returns the current size of the cache.
+     * @return the approximate number of bytes used by the cached entries
+     */
+    public synchronized long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     * @return the number of entries
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of successful lookups.
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups which didn't find an entry.
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the number of entries that have been removed to make room for new ones.
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ResponseCache[entries=" + entries.size() + ", bytes=" + bytes + "/" + maxBytes
+                + ", hits=" + hitCount + ", misses=" + missCount
+                + ", evictions=" + evictionCount + "]";
+    }
+
+    private static long weigh(String key, Entry entry) {
+        return ENTRY_OVERHEAD + 2L * key.length() + entry.getContent().length;
+    }
+
+    /**
+     * Creates a strong ETag from the MD5 digest of the content.
+     * @param content the content
+     * @return the ETag including the quotes
+     */
+    static String createETag(byte[] content) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(content);
+        } catch (NoSuchAlgorithmException nsae) {
+            //Every Java platform is required to support MD5
+            throw new IllegalStateException(nsae);
+        }
+        final StringBuilder sb = new StringBuilder(digest.length * 2 + 2);
+        sb.append('"');
+        for (byte b : digest) {
+            sb.append(HEX_DIGITS[(b >> 4) & 0x0F]);
+            sb.append(HEX_DIGITS[b & 0x0F]);
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.ant;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the message file mode of the Ant task.
+ */
+public class BarcodeTaskTest {
+
+    private static final long OLD = 1000000000000L;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("krba", ".dir");
+        assertTrue(dir.delete() && dir.mkdir());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        delete(dir);
+    }
+
+    private static void delete(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        assertTrue("Could not delete " + file, file.delete());
+    }
+
+    private File writeMessageFile(String content) throws Exception {
+        final File file = new File(dir, "barcodes.properties");
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static String readFile(File file) throws IOException {
+        final byte[] data = new byte[(int)file.length()];
+        final InputStream in = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < data.length) {
+                offset += in.read(data, offset, data.length - offset);
+            }
+        } finally {
+            in.close();
+        }
+        return new String(data, "UTF-8");
+    }
+
+    private void runTask(File messageFile, String format) {
+        final BarcodeTask task = new BarcodeTask();
+        task.setProject(new Project());
+        task.setSymbol("ean-13");
+        task.setFormat(format);
+        task.setMessageFile(messageFile);
+        task.setDestDir(new File(dir, "out"));
+        task.setThreads(2);
+        task.execute();
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        System.out.println("incremental");
+        final File messageFile = writeMessageFile(
+                "a.svg=9771422985503\nsub/b.svg=4006381333931\nc.svg=5901234123457\n");
+        runTask(messageFile, "svg");
+        final File a = new File(dir, "out/a.svg");
+        final File b = new File(dir, "out/sub/b.svg");
+        final File c = new File(dir, "out/c.svg");
+        assertTrue(a.length() > 0 && b.length() > 0 && c.length() > 0);
+        assertTrue(new File(dir, "out/.barcode4j-manifest").isFile());
+        //Same as for a single message: no SVG namespace
+        assertFalse(readFile(a).contains("xmlns"));
+
+        //Nothing has changed: no file is written
+        assertTrue(a.setLastModified(OLD) && b.setLastModified(OLD) && c.setLastModified(OLD));
+        runTask(messageFile, "svg");
+        assertEquals(OLD, a.lastModified());
+        assertEquals(OLD, b.lastModified());
+        assertEquals(OLD, c.lastModified());
+
+        //Changed message and deleted output
+        writeMessageFile("a.svg=9771422985503\nsub/b.svg=4006381333948\nc.svg=5901234123457\n");
+        assertTrue(c.delete());
+        runTask(messageFile, "svg");
+        assertEquals(OLD, a.lastModified());
+        assertTrue(b.lastModified() != OLD);
+        assertTrue(c.isFile());
+
+        //Changed settings regenerate everything
+        assertTrue(b.setLastModified(OLD) && c.setLastModified(OLD));
+        runTask(messageFile, "eps");
+        assertTrue(a.lastModified() != OLD);
+        assertTrue(b.lastModified() != OLD);
+        assertTrue(c.lastModified() != OLD);
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        System.out.println("failure");
+        final File messageFile = writeMessageFile("a.svg=9771422985503\nb.svg=123\n");
+        try {
+            runTask(messageFile, "svg");
+            fail("Expected BuildException");
+        } catch (BuildException be) {
+            assertEquals("1 barcodes could not be generated", be.getMessage());
+        }
+        final File a = new File(dir, "out/a.svg");
+        assertTrue(a.isFile());
+        assertFalse(new File(dir, "out/b.svg").exists());
+
+        //The successfully generated barcode is up to date
+        assertTrue(a.setLastModified(OLD));
+        writeMessageFile("a.svg=9771422985503\nb.svg=4006381333931\n");
+        runTask(messageFile, "svg");
+        assertEquals(OLD, a.lastModified());
+        assertTrue(new File(dir, "out/b.svg").isFile());
+    }
+}
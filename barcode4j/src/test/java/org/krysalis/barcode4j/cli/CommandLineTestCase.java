@@ -16,6 +16,7 @@
 package org.krysalis.barcode4j.cli;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -23,6 +24,8 @@ import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 
 import org.junit.Before;
@@ -212,4 +215,83 @@ public class CommandLineTestCase {
             fail("Target file could not be deleted. Not closed?");
         } 
     }
+
+    private static File createBatchDir(String content) throws Exception {
+        final File dir = File.createTempFile("krba", ".dir");
+        if (!dir.delete() || !dir.mkdir()) {
+            fail("Could not create temporary directory");
+        }
+        final OutputStream in = new FileOutputStream(new File(dir, "input.txt"));
+        try {
+            in.write(content.getBytes("UTF-8"));
+        } finally {
+            in.close();
+        }
+        return dir;
+    }
+
+    private static void deleteBatchDir(File dir) {
+        for (File f : dir.listFiles()) {
+            if (!f.delete()) {
+                fail("File could not be deleted. Not closed? " + f);
+            }
+        }
+        if (!dir.delete()) {
+            fail("Directory could not be deleted: " + dir);
+        }
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        System.out.println("batch");
+        final File dir = createBatchDir("9771422985503\n\n4006381333931\n");
+        final File outDir = new File(dir, "out");
+        final String[] args = {"-s", "ean-13", "-b", new File(dir, "input.txt").getAbsolutePath(),
+                "--output-dir", outDir.getAbsolutePath(), "-t", "2", "-f", "png"};
+        callCLI(args);
+        assertEquals("Exit code must be 0", 0, this.exitHandler.getLastExitCode());
+        assertTrue(new String(this.out.toByteArray(), "US-ASCII").contains("2 barcodes written"));
+        assertTrue(new File(outDir, "000001.png").length() > 0);
+        assertTrue(new File(outDir, "000002.png").length() > 0);
+        assertEquals(2, outDir.list().length);
+        deleteBatchDir(outDir);
+        deleteBatchDir(dir);
+    }
+
+    @Test
+    public void testBatchCSV() throws Exception {
+        System.out.println("batchCSV");
+        final File dir = createBatchDir(
+                "first, 9771422985503 \n second.eps ,\"4006381333931\"\nthird,123\n"
+                + "../escape,4006381333931\n");
+        final String[] args = {"-s", "ean-13", "-b", new File(dir, "input.txt").getAbsolutePath(),
+                "--csv", "--output-dir", dir.getAbsolutePath(), "-f", "eps"};
+        callCLI(args);
+        assertEquals("Exit code must be -6", -6, this.exitHandler.getLastExitCode());
+        assertEquals("2 barcodes could not be generated", this.exitHandler.getLastMsg());
+        assertTrue(new File(dir, "first.eps").length() > 0);
+        assertTrue(new File(dir, "second.eps").length() > 0);
+        assertEquals(3, dir.list().length);
+        assertFalse(new File(dir.getParentFile(), "escape.eps").exists());
+        deleteBatchDir(dir);
+    }
+
+    @Test
+    public void testBatchThreads() throws Exception {
+        System.out.println("batchThreads");
+        final String[] args = {"-s", "ean-13", "-b", "-", "-t", "0"};
+        callCLI(args);
+        assertEquals("Exit code must be -2", -2, this.exitHandler.getLastExitCode());
+        args[5] = "many";
+        callCLI(args);
+        assertEquals("Exit code must be -2", -2, this.exitHandler.getLastExitCode());
+    }
+
+    @Test
+    public void testBatchWithMessage() throws Exception {
+        System.out.println("batchWithMessage");
+        final String[] args = {"-s", "ean-13", "-b", "-", "9771422985503"};
+        callCLI(args);
+        assertEquals("Exit code must be -2", -2, this.exitHandler.getLastExitCode());
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 agent.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.krysalis.barcode4j.servlet;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.krysalis.barcode4j.tools.MimeTypes;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests the response cache of the barcode servlet.
+ */
+public class ResponseCacheTest {
+
+    private static ResponseCache.Entry createEntry(int size, byte fill) {
+        final byte[] content = new byte[size];
+        Arrays.fill(content, fill);
+        return new ResponseCache.Entry("image/png", content);
+    }
+
+    @Test
+    public void testLRU() throws Exception {
+        System.out.println("LRU");
+        //Room for three entries of 1000 bytes (plus overhead and key)
+        final ResponseCache cache = new ResponseCache(3600);
+        assertNull(cache.get("a"));
+        assertTrue(cache.put("a", createEntry(1000, (byte)1)));
+        assertTrue(cache.put("b", createEntry(1000, (byte)2)));
+        assertTrue(cache.put("c", createEntry(1000, (byte)3)));
+        assertEquals(3, cache.getEntryCount());
+        assertTrue(cache.getBytes() <= cache.getMaxBytes());
+
+        //"a" is used, so "b" is the least recently used entry
+        assertNotNull(cache.get("a"));
+        assertTrue(cache.put("d", createEntry(1000, (byte)4)));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(1, cache.getEvictionCount());
+
+        //A large entry evicts several small ones
+        assertTrue(cache.put("e", createEntry(2500, (byte)5)));
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(4, cache.getEvictionCount());
+
+        //Entries larger than the cache are not cached
+        assertFalse(cache.put("f", createEntry(4000, (byte)6)));
+        assertNull(cache.get("f"));
+        assertNotNull(cache.get("e"));
+
+        assertEquals(5, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        System.out.println("replace");
+        final ResponseCache cache = new ResponseCache(10000);
+        cache.put("a", createEntry(1000, (byte)1));
+        final long bytes = cache.getBytes();
+        final ResponseCache.Entry entry = createEntry(1000, (byte)2);
+        cache.put("a", entry);
+        assertEquals(bytes, cache.getBytes());
+        assertSame(entry, cache.get("a"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testETag() throws Exception {
+        System.out.println("ETag");
+        final String etag1 = createEntry(100, (byte)1).getETag();
+        assertEquals(etag1, createEntry(100, (byte)1).getETag());
+        assertFalse(etag1.equals(createEntry(100, (byte)2).getETag()));
+        assertEquals("\"d41d8cd98f00b204e9800998ecf8427e\"",
+                ResponseCache.createETag(new byte[0]));
+
+        assertFalse(BarcodeServlet.matchesETag(null, etag1));
+        assertTrue(BarcodeServlet.matchesETag(etag1, etag1));
+        assertTrue(BarcodeServlet.matchesETag("\"x\", W/" + etag1, etag1));
+        assertTrue(BarcodeServlet.matchesETag("*", etag1));
+        assertFalse(BarcodeServlet.matchesETag("\"x\"", etag1));
+    }
+
+    /** Creates a request which only answers getParameter() calls. */
+    private static HttpServletRequest createRequest(String... params) {
+        final Map<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i < params.length; i += 2) {
+            map.put(params[i], params[i + 1]);
+        }
+        return (HttpServletRequest)Proxy.newProxyInstance(
+                ResponseCacheTest.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("getParameter".equals(method.getName())) {
+                            return map.get(args[0]);
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Test
+    public void testCacheKey() throws Exception {
+        System.out.println("testCacheKey");
+        final BarcodeServlet servlet = new BarcodeServlet();
+        final String png = servlet.createCacheKey(createRequest(), MimeTypes.MIME_PNG);
+        assertEquals(png, servlet.createCacheKey(createRequest("type", "Code128",
+                "msg", "0123456789", "res", "300", "gray", "FALSE"), MimeTypes.MIME_PNG));
+        assertFalse(png.equals(servlet.createCacheKey(createRequest("res", "600"),
+                MimeTypes.MIME_PNG)));
+        assertFalse(png.equals(servlet.createCacheKey(createRequest("gray", "true"),
+                MimeTypes.MIME_PNG)));
+
+        //Options of other formats don't matter
+        final String svg = servlet.createCacheKey(createRequest(), MimeTypes.MIME_SVG);
+        assertEquals(svg, servlet.createCacheKey(createRequest("res", "600", "compact", "no"),
+                MimeTypes.MIME_SVG));
+        assertEquals(servlet.createCacheKey(createRequest("compact", "true"), MimeTypes.MIME_SVG),
+                servlet.createCacheKey(createRequest("compact", "TRUE"), MimeTypes.MIME_SVG));
+        assertFalse(svg.equals(servlet.createCacheKey(createRequest("compact", "true"),
+                MimeTypes.MIME_SVG)));
+    }
+}